@@ -0,0 +1,103 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package swim.benchmark;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import swim.collections.BTreeMap;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class BTreeMapBenchmark {
+
+  @Param({"16", "1024", "65536"})
+  int size;
+
+  Integer[] keys;
+  BTreeMap<Integer, Integer, Integer> map;
+  int index;
+
+  @Setup
+  public void setup() {
+    this.keys = BenchmarkData.shuffledKeys(this.size);
+    BTreeMap<Integer, Integer, Integer> map = BTreeMap.empty();
+    for (int i = 0; i < this.size; i += 1) {
+      map = map.updated(this.keys[i], i);
+    }
+    this.map = map;
+  }
+
+  Integer nextKey() {
+    final int index = this.index;
+    this.index = (index + 1) % this.size;
+    return this.keys[index];
+  }
+
+  @Benchmark
+  public Integer get() {
+    return this.map.get(nextKey());
+  }
+
+  @Benchmark
+  public BTreeMap<Integer, Integer, Integer> updateExisting() {
+    return this.map.updated(nextKey(), -1);
+  }
+
+  @Benchmark
+  public BTreeMap<Integer, Integer, Integer> insert() {
+    return this.map.updated(-1 - nextKey(), -1);
+  }
+
+  @Benchmark
+  public BTreeMap<Integer, Integer, Integer> remove() {
+    return this.map.removed(nextKey());
+  }
+
+  @Benchmark
+  public BTreeMap<Integer, Integer, Integer> build() {
+    BTreeMap<Integer, Integer, Integer> map = BTreeMap.empty();
+    for (int i = 0; i < this.size; i += 1) {
+      map = map.updated(this.keys[i], i);
+    }
+    return map;
+  }
+
+  @Benchmark
+  public void iterate(Blackhole blackhole) {
+    final Iterator<Map.Entry<Integer, Integer>> entries = this.map.iterator();
+    while (entries.hasNext()) {
+      blackhole.consume(entries.next());
+    }
+  }
+
+}
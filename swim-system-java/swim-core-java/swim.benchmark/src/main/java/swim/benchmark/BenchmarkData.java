@@ -0,0 +1,71 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package swim.benchmark;
+
+import java.util.Random;
+import swim.structure.Record;
+import swim.structure.Value;
+
+/**
+ * Representative payloads shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+  private BenchmarkData() {
+    // static
+  }
+
+  /**
+   * Returns the keys {@code 0} through {@code size - 1} in a fixed
+   * pseudorandom order, so that successive runs touch the same keys.
+   */
+  static Integer[] shuffledKeys(int size) {
+    final Integer[] keys = new Integer[size];
+    for (int i = 0; i < size; i += 1) {
+      keys[i] = i;
+    }
+    final Random random = new Random(size);
+    for (int i = size - 1; i > 0; i -= 1) {
+      final int j = random.nextInt(i + 1);
+      final Integer key = keys[i];
+      keys[i] = keys[j];
+      keys[j] = key;
+    }
+    return keys;
+  }
+
+  /**
+   * Returns a record resembling the body of a typical lane event, with
+   * {@code itemCount} nested entries.
+   */
+  static Value eventBody(int itemCount) {
+    final Record items = Record.create(itemCount);
+    for (int i = 0; i < itemCount; i += 1) {
+      final Record item = Record.create(5)
+          .attr("sample")
+          .slot("id", "sensor-" + i)
+          .slot("time", 1577836800000L + 1000L * i)
+          .slot("value", 0.5 * i)
+          .slot("ok", (i & 1) == 0);
+      items.add(item);
+    }
+    return Record.create(3)
+        .attr("update", Record.create(1).slot("key", "region/" + itemCount))
+        .slot("count", itemCount)
+        .slot("items", items);
+  }
+
+}
@@ -0,0 +1,90 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package swim.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import swim.codec.Binary;
+import swim.codec.Decoder;
+import swim.codec.Encoder;
+import swim.codec.OutputBuffer;
+import swim.deflate.Deflate;
+import swim.deflate.Inflate;
+import swim.recon.Recon;
+
+/**
+ * Measures DEFLATE throughput over Recon text.  Each operation compresses,
+ * or decompresses, the Recon form of {@code itemCount} event items;
+ * multiply the reported rate by the size of that payload to get bytes per
+ * second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DeflateBenchmark {
+
+  @Param({"16", "256", "4096"})
+  int itemCount;
+
+  @Param({"1", "6", "9"})
+  int level;
+
+  byte[] inflated;
+  byte[] deflated;
+  byte[] buffer;
+
+  @Setup
+  public void setup() {
+    this.inflated = Recon.toString(BenchmarkData.eventBody(this.itemCount)).getBytes(StandardCharsets.UTF_8);
+    this.buffer = new byte[this.inflated.length + 1024];
+    final OutputBuffer<?> output = Binary.outputBuffer(this.buffer);
+    newDeflate().pull(output);
+    this.deflated = new byte[output.index()];
+    System.arraycopy(this.buffer, 0, this.deflated, 0, this.deflated.length);
+  }
+
+  Deflate<byte[]> newDeflate() {
+    return new Deflate<byte[]>(Binary.byteArrayWriter(this.inflated), Deflate.Z_NO_WRAP, this.level,
+                               Deflate.MAX_WBITS).flush(Deflate.Z_SYNC_FLUSH);
+  }
+
+  @Benchmark
+  public Encoder<?, byte[]> deflate() {
+    return newDeflate().pull(Binary.outputBuffer(this.buffer));
+  }
+
+  @Benchmark
+  public byte[] inflate() {
+    final Decoder<byte[]> inflate = new Inflate<byte[]>(Binary.outputParser(Binary.byteArrayOutput(this.inflated.length)),
+                                                        Deflate.Z_NO_WRAP, Deflate.MAX_WBITS);
+    return inflate.feed(Binary.inputBuffer(this.deflated)).bind();
+  }
+
+}
@@ -0,0 +1,104 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package swim.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import swim.codec.Binary;
+import swim.codec.Decoder;
+import swim.codec.Encoder;
+import swim.structure.Data;
+import swim.warp.Envelope;
+import swim.warp.EnvelopeDictionary;
+import swim.warp.EventMessage;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EnvelopeBenchmark {
+
+  @Param({"1", "16", "256"})
+  int itemCount;
+
+  Envelope envelope;
+  byte[] recon;
+  byte[] buffer;
+  Data binary;
+  EnvelopeDictionary encoderDictionary;
+  EnvelopeDictionary decoderDictionary;
+  Data internedBinary;
+
+  @Setup
+  public void setup() {
+    this.envelope = new EventMessage("/sensor/north", "samples", BenchmarkData.eventBody(this.itemCount));
+    this.recon = this.envelope.toRecon().getBytes(StandardCharsets.UTF_8);
+    this.buffer = new byte[2 * this.recon.length];
+    // A zero capacity dictionary sends every URI inline, like the first
+    // envelope on a new connection.
+    this.binary = this.envelope.toBinary(new EnvelopeDictionary(0));
+    // Primed dictionaries reference already interned URIs by id, like every
+    // later envelope on an established connection.
+    this.encoderDictionary = new EnvelopeDictionary();
+    this.decoderDictionary = new EnvelopeDictionary();
+    Envelope.fromBinary(this.envelope.toBinary(this.encoderDictionary), this.decoderDictionary);
+    this.internedBinary = this.envelope.toBinary(this.encoderDictionary);
+  }
+
+  @Benchmark
+  public Encoder<?, Envelope> encodeRecon() {
+    return this.envelope.reconEncoder().pull(Binary.outputBuffer(this.buffer));
+  }
+
+  @Benchmark
+  public Envelope decodeRecon() {
+    return Envelope.decoder().feed(Binary.inputBuffer(this.recon)).bind();
+  }
+
+  @Benchmark
+  public Data encodeBinary() {
+    return this.envelope.toBinary(new EnvelopeDictionary(0));
+  }
+
+  @Benchmark
+  public Envelope decodeBinary() {
+    return Envelope.fromBinary(this.binary, new EnvelopeDictionary(0));
+  }
+
+  @Benchmark
+  public Data encodeInternedBinary() {
+    return this.envelope.toBinary(this.encoderDictionary);
+  }
+
+  @Benchmark
+  public Envelope decodeInternedBinary() {
+    return Envelope.fromBinary(this.internedBinary, this.decoderDictionary);
+  }
+
+}
@@ -0,0 +1,107 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package swim.benchmark;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import swim.collections.FingerTrieSeq;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FingerTrieSeqBenchmark {
+
+  @Param({"16", "1024", "65536"})
+  int size;
+
+  Integer[] indexes;
+  FingerTrieSeq<Integer> seq;
+  int index;
+
+  @Setup
+  public void setup() {
+    this.indexes = BenchmarkData.shuffledKeys(this.size);
+    FingerTrieSeq<Integer> seq = FingerTrieSeq.empty();
+    for (int i = 0; i < this.size; i += 1) {
+      seq = seq.appended(i);
+    }
+    this.seq = seq;
+  }
+
+  int nextIndex() {
+    final int index = this.index;
+    this.index = (index + 1) % this.size;
+    return this.indexes[index];
+  }
+
+  @Benchmark
+  public Integer get() {
+    return this.seq.get(nextIndex());
+  }
+
+  @Benchmark
+  public FingerTrieSeq<Integer> update() {
+    return this.seq.updated(nextIndex(), -1);
+  }
+
+  @Benchmark
+  public FingerTrieSeq<Integer> append() {
+    return this.seq.appended(-1);
+  }
+
+  @Benchmark
+  public FingerTrieSeq<Integer> prepend() {
+    return this.seq.prepended(-1);
+  }
+
+  @Benchmark
+  public FingerTrieSeq<Integer> tail() {
+    return this.seq.tail();
+  }
+
+  @Benchmark
+  public FingerTrieSeq<Integer> build() {
+    FingerTrieSeq<Integer> seq = FingerTrieSeq.empty();
+    for (int i = 0; i < this.size; i += 1) {
+      seq = seq.appended(i);
+    }
+    return seq;
+  }
+
+  @Benchmark
+  public void iterate(Blackhole blackhole) {
+    final Iterator<Integer> elems = this.seq.iterator();
+    while (elems.hasNext()) {
+      blackhole.consume(elems.next());
+    }
+  }
+
+}
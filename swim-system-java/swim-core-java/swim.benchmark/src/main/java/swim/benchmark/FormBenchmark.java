@@ -0,0 +1,125 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package swim.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import swim.structure.Form;
+import swim.structure.Item;
+import swim.structure.Tag;
+import swim.structure.Value;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FormBenchmark {
+
+  Form<Sample> sampleForm;
+  Form<List<Sample>> sampleListForm;
+  Form<Long> longForm;
+  Sample sample;
+  Value sampleValue;
+  List<Sample> samples;
+  Value samplesValue;
+  Value longValue;
+
+  @Setup
+  public void setup() {
+    this.sampleForm = Form.forClass(Sample.class);
+    this.sampleListForm = Form.forList(this.sampleForm);
+    this.longForm = Form.forLong();
+    this.sample = new Sample("sensor-1", 1577836800000L, 0.5, true);
+    this.sampleValue = this.sampleForm.mold(this.sample).toValue();
+    final Value body = BenchmarkData.eventBody(16).get("items");
+    this.samples = this.sampleListForm.cast(body);
+    this.samplesValue = this.sampleListForm.mold(this.samples).toValue();
+    this.longValue = this.longForm.mold(1577836800000L).toValue();
+  }
+
+  @Benchmark
+  public Item moldClass() {
+    return this.sampleForm.mold(this.sample);
+  }
+
+  @Benchmark
+  public Sample castClass() {
+    return this.sampleForm.cast(this.sampleValue);
+  }
+
+  @Benchmark
+  public Item moldList() {
+    return this.sampleListForm.mold(this.samples);
+  }
+
+  @Benchmark
+  public List<Sample> castList() {
+    return this.sampleListForm.cast(this.samplesValue);
+  }
+
+  @Benchmark
+  public Item moldLong() {
+    return this.longForm.mold(1577836800000L);
+  }
+
+  @Benchmark
+  public Long castLong() {
+    return this.longForm.cast(this.longValue);
+  }
+
+  @Benchmark
+  public Form<Sample> reflectClass() {
+    return Form.forClass(Sample.class);
+  }
+
+  /**
+   * Class whose form is reflected from its fields, shaped like the items of
+   * {@link BenchmarkData#eventBody(int)}.
+   */
+  @Tag("sample")
+  public static class Sample {
+
+    String id;
+    long time;
+    double value;
+    boolean ok;
+
+    public Sample(String id, long time, double value, boolean ok) {
+      this.id = id;
+      this.time = time;
+      this.value = value;
+      this.ok = ok;
+    }
+
+    public Sample() {
+      // default constructor for reflective forms
+    }
+
+  }
+
+}
@@ -0,0 +1,100 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package swim.benchmark;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import swim.collections.STreeList;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class STreeListBenchmark {
+
+  @Param({"16", "1024", "65536"})
+  int size;
+
+  Integer[] indexes;
+  STreeList<Integer> list;
+  int index;
+
+  @Setup
+  public void setup() {
+    this.indexes = BenchmarkData.shuffledKeys(this.size);
+    final STreeList<Integer> list = new STreeList<Integer>();
+    for (int i = 0; i < this.size; i += 1) {
+      list.add(i);
+    }
+    this.list = list;
+  }
+
+  int nextIndex() {
+    final int index = this.index;
+    this.index = (index + 1) % this.size;
+    return this.indexes[index];
+  }
+
+  @Benchmark
+  public Integer get() {
+    return this.list.get(nextIndex());
+  }
+
+  @Benchmark
+  public Integer set() {
+    final int index = nextIndex();
+    return this.list.set(index, index);
+  }
+
+  @Benchmark
+  public Integer insertAndRemove() {
+    final int index = nextIndex();
+    this.list.add(index, Integer.valueOf(-1));
+    return this.list.remove(index);
+  }
+
+  @Benchmark
+  public STreeList<Integer> build() {
+    final STreeList<Integer> list = new STreeList<Integer>();
+    for (int i = 0; i < this.size; i += 1) {
+      list.add(i);
+    }
+    return list;
+  }
+
+  @Benchmark
+  public void iterate(Blackhole blackhole) {
+    final Iterator<Integer> elems = this.list.iterator();
+    while (elems.hasNext()) {
+      blackhole.consume(elems.next());
+    }
+  }
+
+}
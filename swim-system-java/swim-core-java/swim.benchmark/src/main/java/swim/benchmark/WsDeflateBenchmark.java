@@ -0,0 +1,112 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import swim.codec.Binary;
+import swim.codec.Decoder;
+import swim.codec.Encoder;
+import swim.codec.OutputBuffer;
+import swim.codec.Utf8;
+import swim.recon.Recon;
+import swim.ws.WsDecoder;
+import swim.ws.WsDeflateCodec;
+import swim.ws.WsEncoder;
+import swim.ws.WsFrame;
+import swim.ws.WsText;
+
+/**
+ * Compares the permessage-deflate codecs selectable by
+ * {@code WsEngineSettings.deflateCodec}.  {@code encode} and {@code decode}
+ * measure steady state message throughput over a long-lived connection;
+ * {@code connect} creates the encoder and decoder of a new connection, and
+ * transmits its first message.  Run with {@code -prof gc} to compare the
+ * heap allocated per connection ({@code gc.alloc.rate.norm} of
+ * {@code connect}); the zlib codec keeps its deflate state off heap, in
+ * roughly 256KB of native memory per encoder, and 40KB per decoder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class WsDeflateBenchmark {
+
+  @Param({"standard", "zlib"})
+  String codec;
+
+  @Param({"1", "16", "256"})
+  int itemCount;
+
+  WsDeflateCodec deflateCodec;
+  String text;
+  byte[] buffer;
+  WsEncoder encoder;
+  WsDecoder decoder;
+  byte[] frame;
+
+  @Setup
+  public void setup() {
+    this.deflateCodec = WsDeflateCodec.from(this.codec);
+    this.text = Recon.toString(BenchmarkData.eventBody(this.itemCount));
+    this.buffer = new byte[4 * Utf8.sizeOf(this.text) + 16];
+    this.encoder = this.deflateCodec.encoderUnmasked(-1, false, 15);
+    this.decoder = this.deflateCodec.decoder(15);
+    // frames deflated without context takeover can be inflated repeatedly
+    final OutputBuffer<ByteBuffer> output = Binary.outputBuffer(this.buffer);
+    this.deflateCodec.encoderUnmasked(-1, true, 15).frameEncoder(WsText.from(this.text)).pull(output);
+    this.frame = new byte[output.index()];
+    System.arraycopy(this.buffer, 0, this.frame, 0, this.frame.length);
+  }
+
+  @Benchmark
+  public Encoder<?, WsFrame<String>> encode() {
+    return this.encoder.frameEncoder(WsText.from(this.text)).pull(Binary.outputBuffer(this.buffer));
+  }
+
+  @Benchmark
+  public WsFrame<String> decode() {
+    final Decoder<WsFrame<String>> frameDecoder = this.decoder.frameDecoder(Utf8.stringParser());
+    return frameDecoder.feed(Binary.inputBuffer(this.frame)).bind();
+  }
+
+  @Benchmark
+  public WsFrame<String> connect() {
+    final WsEncoder encoder = this.deflateCodec.encoderUnmasked(-1, false, 15);
+    final WsDecoder decoder = this.deflateCodec.decoder(15);
+    final OutputBuffer<ByteBuffer> output = Binary.outputBuffer(this.buffer);
+    encoder.frameEncoder(WsText.from(this.text)).pull(output);
+    final Decoder<WsFrame<String>> frameDecoder = decoder.frameDecoder(Utf8.stringParser());
+    final WsFrame<String> frame = frameDecoder.feed(Binary.inputBuffer(this.buffer, 0, output.index())).bind();
+    // release native zlib memory now, rather than whenever the GC gets to it
+    encoder.close();
+    decoder.close();
+    return frame;
+  }
+
+}
@@ -0,0 +1,103 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package swim.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import swim.codec.Binary;
+import swim.codec.Decoder;
+import swim.codec.Encoder;
+import swim.codec.OutputBuffer;
+import swim.codec.Utf8;
+import swim.recon.Recon;
+import swim.ws.Ws;
+import swim.ws.WsDecoder;
+import swim.ws.WsEncoder;
+import swim.ws.WsFrame;
+import swim.ws.WsText;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class WsFrameBenchmark {
+
+  @Param({"1", "16", "256"})
+  int itemCount;
+
+  String text;
+  byte[] buffer;
+  WsEncoder unmaskedEncoder;
+  WsEncoder maskedEncoder;
+  WsDecoder decoder;
+  byte[] unmaskedFrame;
+  byte[] maskedFrame;
+
+  @Setup
+  public void setup() {
+    this.text = Recon.toString(BenchmarkData.eventBody(this.itemCount));
+    this.buffer = new byte[4 * Utf8.sizeOf(this.text) + 16];
+    this.unmaskedEncoder = Ws.standardEncoderUnmasked();
+    this.maskedEncoder = Ws.standardEncoderMasked();
+    this.decoder = Ws.standardDecoder();
+    this.unmaskedFrame = encode(this.unmaskedEncoder, this.text);
+    this.maskedFrame = encode(this.maskedEncoder, this.text);
+  }
+
+  byte[] encode(WsEncoder encoder, String text) {
+    final OutputBuffer<ByteBuffer> output = Binary.outputBuffer(this.buffer);
+    encoder.frameEncoder(WsText.from(text)).pull(output);
+    final byte[] frame = new byte[output.index()];
+    System.arraycopy(this.buffer, 0, frame, 0, frame.length);
+    return frame;
+  }
+
+  @Benchmark
+  public Encoder<?, WsFrame<String>> encodeUnmasked() {
+    return this.unmaskedEncoder.frameEncoder(WsText.from(this.text)).pull(Binary.outputBuffer(this.buffer));
+  }
+
+  @Benchmark
+  public Encoder<?, WsFrame<String>> encodeMasked() {
+    return this.maskedEncoder.frameEncoder(WsText.from(this.text)).pull(Binary.outputBuffer(this.buffer));
+  }
+
+  @Benchmark
+  public WsFrame<String> decodeUnmasked() {
+    final Decoder<WsFrame<String>> frameDecoder = this.decoder.frameDecoder(Utf8.stringParser());
+    return frameDecoder.feed(Binary.inputBuffer(this.unmaskedFrame)).bind();
+  }
+
+  @Benchmark
+  public WsFrame<String> decodeMasked() {
+    final Decoder<WsFrame<String>> frameDecoder = this.decoder.frameDecoder(Utf8.stringParser());
+    return frameDecoder.feed(Binary.inputBuffer(this.maskedFrame)).bind();
+  }
+
+}
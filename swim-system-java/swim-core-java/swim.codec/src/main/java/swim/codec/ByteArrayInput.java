@@ -113,6 +113,11 @@ final class ByteArrayInput extends InputBuffer {
     return this.limit - this.index;
   }
 
+  @Override
+  public boolean hasArray() {
+    return true;
+  }
+
   @Override
   public byte[] array() {
     return this.array;
@@ -146,6 +151,15 @@ final class ByteArrayInput extends InputBuffer {
     }
   }
 
+  @Override
+  public void get(int index, byte[] array, int offset, int length) {
+    if (0 <= index && index <= this.limit - length) {
+      System.arraycopy(this.array, index, array, offset, length);
+    } else {
+      throw new InputException();
+    }
+  }
+
   @Override
   public int head() {
     if (this.index < this.limit) {
@@ -109,6 +109,11 @@ final class ByteArrayOutput extends OutputBuffer<ByteBuffer> {
     return this.limit - this.index;
   }
 
+  @Override
+  public boolean hasArray() {
+    return true;
+  }
+
   @Override
   public byte[] array() {
     return this.array;
@@ -165,6 +170,18 @@ final class ByteArrayOutput extends OutputBuffer<ByteBuffer> {
     }
   }
 
+  @Override
+  public OutputBuffer<ByteBuffer> write(byte[] array, int offset, int length) {
+    final int index = this.index;
+    if (length <= this.limit - index) {
+      System.arraycopy(array, offset, this.array, index, length);
+      this.index = index + length;
+      return this;
+    } else {
+      return OutputBuffer.error(new OutputException("full"), this.settings);
+    }
+  }
+
   @Override
   public OutputBuffer<ByteBuffer> write(String string) {
     return OutputBuffer.error(new OutputException("binary output"), this.settings);
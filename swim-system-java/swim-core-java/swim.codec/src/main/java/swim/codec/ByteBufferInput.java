@@ -101,6 +101,11 @@ final class ByteBufferInput extends InputBuffer {
     return this.buffer.remaining();
   }
 
+  @Override
+  public boolean hasArray() {
+    return this.buffer.hasArray();
+  }
+
   @Override
   public byte[] array() {
     return this.buffer.array();
@@ -134,6 +139,17 @@ final class ByteBufferInput extends InputBuffer {
     }
   }
 
+  @Override
+  public void get(int index, byte[] array, int offset, int length) {
+    if (0 <= index && index <= this.buffer.limit() - length) {
+      final ByteBuffer dup = this.buffer.duplicate();
+      ((Buffer) dup).position(index);
+      dup.get(array, offset, length);
+    } else {
+      throw new InputException();
+    }
+  }
+
   @Override
   public int head() {
     final ByteBuffer buffer = this.buffer;
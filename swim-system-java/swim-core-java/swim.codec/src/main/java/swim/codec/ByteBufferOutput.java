@@ -98,6 +98,11 @@ final class ByteBufferOutput extends OutputBuffer<ByteBuffer> {
     return this.buffer.remaining();
   }
 
+  @Override
+  public boolean hasArray() {
+    return this.buffer.hasArray();
+  }
+
   @Override
   public byte[] array() {
     return this.buffer.array();
@@ -147,6 +152,16 @@ final class ByteBufferOutput extends OutputBuffer<ByteBuffer> {
     }
   }
 
+  @Override
+  public OutputBuffer<ByteBuffer> write(byte[] array, int offset, int length) {
+    if (length <= this.buffer.remaining()) {
+      this.buffer.put(array, offset, length);
+      return this;
+    } else {
+      return OutputBuffer.error(new OutputException("full"), this.settings);
+    }
+  }
+
   @Override
   public OutputBuffer<ByteBuffer> write(String string) {
     return OutputBuffer.error(new OutputException("binary output"), this.settings);
@@ -159,6 +159,13 @@ public abstract class InputBuffer extends Input {
 
   public abstract int remaining();
 
+  /**
+   * Returns {@code true} if this buffer is backed by an accessible byte
+   * {@link #array() array}; returns {@code false} for buffers, such as direct
+   * buffers, whose bytes can only be accessed through this buffer.
+   */
+  public abstract boolean hasArray();
+
   public abstract byte[] array();
 
   public abstract int arrayOffset();
@@ -169,6 +176,17 @@ public abstract class InputBuffer extends Input {
 
   public abstract void set(int index, int token);
 
+  /**
+   * Copies {@code length} bytes of this buffer, starting at {@code index},
+   * into {@code array} at {@code offset}, without changing the position of
+   * this buffer.
+   */
+  public void get(int index, byte[] array, int offset, int length) {
+    for (int i = 0; i < length; i += 1) {
+      array[offset + i] = (byte) get(index + i);
+    }
+  }
+
   @Override
   public abstract InputBuffer step();
 
@@ -282,6 +300,11 @@ final class InputBufferEmpty extends InputBuffer {
     return 0;
   }
 
+  @Override
+  public boolean hasArray() {
+    return false;
+  }
+
   @Override
   public byte[] array() {
     throw new UnsupportedOperationException();
@@ -461,6 +484,11 @@ final class InputBufferDone extends InputBuffer {
     return 0;
   }
 
+  @Override
+  public boolean hasArray() {
+    return false;
+  }
+
   @Override
   public byte[] array() {
     throw new UnsupportedOperationException();
@@ -630,6 +658,11 @@ final class InputBufferError extends InputBuffer {
     return 0;
   }
 
+  @Override
+  public boolean hasArray() {
+    return false;
+  }
+
   @Override
   public byte[] array() {
     throw new UnsupportedOperationException();
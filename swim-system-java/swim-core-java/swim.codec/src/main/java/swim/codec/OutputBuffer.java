@@ -15,6 +15,7 @@
 package swim.codec;
 
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 
 /**
@@ -145,6 +146,13 @@ public abstract class OutputBuffer<T> extends Output<T> {
 
   public abstract int remaining();
 
+  /**
+   * Returns {@code true} if this buffer is backed by an accessible byte
+   * {@link #array() array}; returns {@code false} for buffers, such as direct
+   * buffers, whose bytes can only be accessed through this buffer.
+   */
+  public abstract boolean hasArray();
+
   public abstract byte[] array();
 
   public abstract int arrayOffset();
@@ -157,9 +165,36 @@ public abstract class OutputBuffer<T> extends Output<T> {
 
   public abstract int write(ReadableByteChannel channel) throws IOException;
 
+  /**
+   * Hands off {@code count} bytes of the file {@code channel}, starting at
+   * {@code position}, to be transferred by the underlying transport directly
+   * after the bytes already written to this buffer, without being copied
+   * through this buffer.  Returns {@code true} if the transport accepted the
+   * transfer, in which case the transport takes ownership of the {@code
+   * channel}, closing it once the transfer completes or fails, and this
+   * buffer accepts no further output until the transfer completes.  Returns
+   * {@code false} if this buffer can't hand off transfers, in which case the
+   * caller should copy the file through this buffer instead.
+   */
+  public boolean transferFrom(FileChannel channel, long position, long count) {
+    return false;
+  }
+
   @Override
   public abstract OutputBuffer<T> write(int token);
 
+  /**
+   * Writes {@code length} bytes of {@code array}, starting at {@code offset},
+   * to this buffer.
+   */
+  public OutputBuffer<T> write(byte[] array, int offset, int length) {
+    OutputBuffer<T> output = this;
+    for (int i = 0; i < length; i += 1) {
+      output = output.write(array[offset + i] & 0xff);
+    }
+    return output;
+  }
+
   @Override
   public OutputBuffer<T> write(String string) {
     OutputBuffer<T> output = this;
@@ -298,6 +333,11 @@ final class OutputBufferFull<T> extends OutputBuffer<T> {
     return 0;
   }
 
+  @Override
+  public boolean hasArray() {
+    return false;
+  }
+
   @Override
   public byte[] array() {
     throw new UnsupportedOperationException();
@@ -470,6 +510,11 @@ final class OutputBufferDone<T> extends OutputBuffer<T> {
     return 0;
   }
 
+  @Override
+  public boolean hasArray() {
+    return false;
+  }
+
   @Override
   public byte[] array() {
     throw new UnsupportedOperationException();
@@ -638,6 +683,11 @@ final class OutputBufferError<T> extends OutputBuffer<T> {
     return 0;
   }
 
+  @Override
+  public boolean hasArray() {
+    return false;
+  }
+
   @Override
   public byte[] array() {
     throw new UnsupportedOperationException();
@@ -57,6 +57,8 @@ final class ScheduleForm extends Form<ScheduleDef> {
   public Item mold(ScheduleDef scheduleDef) {
     if (scheduleDef instanceof ClockDef) {
       return ClockDef.clockForm().mold((ClockDef) scheduleDef);
+    } else if (scheduleDef instanceof WheelClockDef) {
+      return WheelClockDef.wheelClockForm().mold((WheelClockDef) scheduleDef);
     } else {
       return Item.extant();
     }
@@ -68,6 +70,10 @@ final class ScheduleForm extends Form<ScheduleDef> {
     if (clockDef != null) {
       return clockDef;
     }
+    final WheelClockDef wheelClockDef = WheelClockDef.wheelClockForm().cast(item);
+    if (wheelClockDef != null) {
+      return wheelClockDef;
+    }
     return null;
   }
 
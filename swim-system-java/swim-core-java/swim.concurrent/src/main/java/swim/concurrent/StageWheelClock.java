@@ -0,0 +1,74 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.concurrent;
+
+/**
+ * {@link WheelClock} that invokes timer functions on an execution {@link
+ * Stage}, rather than on the clock thread.
+ */
+public class StageWheelClock extends WheelClock {
+
+  /**
+   * {@code Stage} on which to execute timer functions.
+   */
+  protected final Stage stage;
+
+  /**
+   * Constructs a new {@code StageWheelClock} with a timer resolution of {@code
+   * tickMicros} microseconds, and {@code levelCount} wheel levels of {@code
+   * tickCount} slots each, that executes timer functions on the given {@code
+   * stage}.
+   */
+  public StageWheelClock(Stage stage, int tickMicros, int tickCount, int levelCount) {
+    super(tickMicros, tickCount, levelCount);
+    this.stage = stage;
+  }
+
+  /**
+   * Constructs a new {@code StageWheelClock}, with the timer resolution and
+   * wheel geometry specified by the given {@code wheelClockDef}, that executes
+   * timer functions on the given {@code stage}.
+   */
+  public StageWheelClock(Stage stage, WheelClockDef wheelClockDef) {
+    this(stage, wheelClockDef.tickMicros, wheelClockDef.tickCount, wheelClockDef.levelCount);
+  }
+
+  /**
+   * Constructs a new {@code StageWheelClock} with a timer resolution of {@link
+   * #TICK_MICROS} microseconds, and {@link #LEVEL_COUNT} wheel levels of
+   * {@link #TICK_COUNT} slots each, that executes timer functions on the given
+   * {@code stage}.
+   */
+  public StageWheelClock(Stage stage) {
+    this(stage, TICK_MICROS, TICK_COUNT, LEVEL_COUNT);
+  }
+
+  /**
+   * Returns the stage on which to execute timer functions.
+   */
+  public final Stage stage() {
+    return this.stage;
+  }
+
+  /**
+   * Schedules the {@code runnable} to invoke {@code timer.runTimer()}
+   * on the execution {@link #stage}.
+   */
+  @Override
+  protected void runTimer(TimerFunction timer, Runnable runnable) {
+    this.stage.execute(runnable);
+  }
+
+}
@@ -0,0 +1,1082 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.concurrent;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hierarchical timing wheel {@link Schedule}.
+ *
+ * <p>A {@code WheelClock} arranges {@link #LEVEL_COUNT} wheels of {@link
+ * #TICK_COUNT} slots each, where a slot of level {@code n} spans {@code
+ * tickCount^n} ticks.  Timers are inserted into the level whose slot span
+ * covers their deadline, and cascade down one or more levels as the clock
+ * reaches their slot, so each timer is touched at most once per level,
+ * regardless of its delay.  Timer insertion and cancellation are constant
+ * time; scheduling threads hand events to the clock thread through lock-free
+ * queues, and only the clock thread mutates the wheels.</p>
+ *
+ * <p>Clock ticks are specified in microseconds, permitting sub-millisecond
+ * timer resolution.  The clock thread parks indefinitely while no timers
+ * are scheduled, and otherwise parks until the next tick that fires or
+ * cascades an occupied slot, skipping all idle ticks in between.</p>
+ */
+public class WheelClock implements Schedule {
+
+  /**
+   * Default number of microseconds between clock ticks, used by the no-arg
+   * {@link #WheelClock()} constructor.  Defaults to the value of the {@code
+   * swim.wheel.tick.micros} system property, if defined; otherwise defaults
+   * to {@code 1000} microseconds.
+   */
+  public static final int TICK_MICROS;
+  /**
+   * Default number of slots per wheel level, used by the no-arg {@link
+   * #WheelClock()} constructor.  Defaults to the value of the {@code
+   * swim.wheel.tick.count} system property, if defined; otherwise defaults to
+   * {@code 256} slots per level.
+   */
+  public static final int TICK_COUNT;
+  /**
+   * Default number of wheel levels, used by the no-arg {@link #WheelClock()}
+   * constructor.  Defaults to the value of the {@code swim.wheel.level.count}
+   * system property, if defined; otherwise defaults to {@code 4} levels.
+   */
+  public static final int LEVEL_COUNT;
+  /**
+   * Atomic {@link #status} bit flag indicating that the clock has started, and
+   * is currently running.
+   */
+  static final int STARTED = 1 << 0;
+  /**
+   * Atomic {@link #status} bit flag indicating that the clock had previously
+   * started, but is now permanently stopped.
+   */
+  static final int STOPPED = 1 << 1;
+  /**
+   * Atomic {@link #status} field updater, used to linearize clock startup and
+   * shutdown.
+   */
+  static final AtomicIntegerFieldUpdater<WheelClock> STATUS =
+      AtomicIntegerFieldUpdater.newUpdater(WheelClock.class, "status");
+
+  static {
+    // Initialize the default number of microseconds between clock ticks.
+    int tickMicros;
+    try {
+      tickMicros = Integer.parseInt(System.getProperty("swim.wheel.tick.micros"));
+    } catch (NumberFormatException e) {
+      tickMicros = 1000;
+    }
+    TICK_MICROS = tickMicros;
+
+    // Initialize the default number of slots per wheel level.
+    int tickCount;
+    try {
+      tickCount = Integer.parseInt(System.getProperty("swim.wheel.tick.count"));
+    } catch (NumberFormatException e) {
+      tickCount = 256;
+    }
+    TICK_COUNT = tickCount;
+
+    // Initialize the default number of wheel levels.
+    int levelCount;
+    try {
+      levelCount = Integer.parseInt(System.getProperty("swim.wheel.level.count"));
+    } catch (NumberFormatException e) {
+      levelCount = 4;
+    }
+    LEVEL_COUNT = levelCount;
+  }
+
+  /**
+   * Heads of the doubly linked event lists of every wheel slot, with the
+   * {@link #tickCount} slots of level {@code n} starting at index {@code n *
+   * tickCount}.  Only accessed by the clock thread.
+   */
+  final WheelEvent[] slots;
+  /**
+   * Queue of newly scheduled events for the clock thread to insert into the
+   * wheels.
+   */
+  final ConcurrentLinkedQueue<WheelEvent> insertQueue;
+  /**
+   * Queue of cancelled events for the clock thread to unlink from the wheels.
+   */
+  final ConcurrentLinkedQueue<WheelEvent> cancelQueue;
+  /**
+   * Barrier used to sequence clock startup.
+   */
+  final CountDownLatch startLatch;
+  /**
+   * Barrier used to sequence clock shutdown.
+   */
+  final CountDownLatch stopLatch;
+  /**
+   * Thread that executes timer events at their scheduled times.
+   */
+  final WheelClockThread thread;
+  /**
+   * Number of nanoseconds between successive clock ticks.
+   */
+  final long tickNanos;
+  /**
+   * Number of slots per wheel level; always a power of two.
+   */
+  final int tickCount;
+  /**
+   * Base 2 logarithm of {@link #tickCount}.
+   */
+  final int tickBits;
+  /**
+   * Number of wheel levels.
+   */
+  final int levelCount;
+  /**
+   * Time at which the clock started, in nanoseconds, with arbitrary origin.
+   * Set exactly once when the clock thread starts.
+   */
+  volatile long startTime;
+  /**
+   * Atomic bit field with {@link #STARTED} and {@link #STOPPED} flags.
+   */
+  volatile int status;
+
+  /**
+   * Constructs a new {@code WheelClock} with a timer resolution of {@code
+   * tickMicros} microseconds, and {@code levelCount} wheel levels of {@code
+   * tickCount} slots each.
+   */
+  public WheelClock(int tickMicros, int tickCount, int levelCount) {
+    // Initialize the number of nanoseconds between clock ticks.
+    if (tickMicros <= 0) {
+      throw new IllegalArgumentException(Integer.toString(tickMicros));
+    }
+    this.tickNanos = (long) tickMicros * 1000L;
+
+    // Initialize the number of slots per wheel level.
+    if (tickCount <= 1) {
+      throw new IllegalArgumentException(Integer.toString(tickCount));
+    }
+    // Round the tick count up to the next power of two.
+    tickCount = tickCount - 1;
+    tickCount |= tickCount >> 1;
+    tickCount |= tickCount >> 2;
+    tickCount |= tickCount >> 4;
+    tickCount |= tickCount >> 8;
+    tickCount |= tickCount >> 16;
+    tickCount = tickCount + 1;
+    this.tickCount = tickCount;
+    this.tickBits = Integer.numberOfTrailingZeros(tickCount);
+
+    // Initialize the number of wheel levels; the span of all levels must fit
+    // within the range of tick sequence numbers.
+    if (levelCount <= 0 || levelCount * this.tickBits > 62) {
+      throw new IllegalArgumentException(Integer.toString(levelCount));
+    }
+    this.levelCount = levelCount;
+
+    // Initialize the empty wheel slots.
+    this.slots = new WheelEvent[levelCount * tickCount];
+
+    // Initialize the event hand-off queues.
+    this.insertQueue = new ConcurrentLinkedQueue<WheelEvent>();
+    this.cancelQueue = new ConcurrentLinkedQueue<WheelEvent>();
+
+    // Initialize the barrier used to sequence clock startup.
+    this.startLatch = new CountDownLatch(1);
+
+    // Initialize the barrier used to sequence clock shutdown.
+    this.stopLatch = new CountDownLatch(1);
+
+    // Initialize--but don't start--the clock thread.
+    this.thread = new WheelClockThread(this);
+  }
+
+  /**
+   * Constructs a new {@code WheelClock} with the timer resolution and wheel
+   * geometry specified by the given {@code wheelClockDef}.
+   */
+  public WheelClock(WheelClockDef wheelClockDef) {
+    this(wheelClockDef.tickMicros, wheelClockDef.tickCount, wheelClockDef.levelCount);
+  }
+
+  /**
+   * Constructs a new {@code WheelClock} with a timer resolution of {@link
+   * #TICK_MICROS} microseconds, and {@link #LEVEL_COUNT} wheel levels of
+   * {@link #TICK_COUNT} slots each.
+   */
+  public WheelClock() {
+    this(TICK_MICROS, TICK_COUNT, LEVEL_COUNT);
+  }
+
+  /**
+   * Returns the tick sequence number of the lowest clock tick that has yet to
+   * finish executing.
+   */
+  public final long tick() {
+    return this.thread.tick;
+  }
+
+  /**
+   * Ensures that this {@code WheelClock} is up and running, starting up the
+   * clock thread if it has not yet been started.
+   *
+   * @throws ScheduleException if this {@code WheelClock} has been stopped.
+   */
+  public final void start() {
+    do {
+      final int oldStatus = STATUS.get(this);
+      if ((oldStatus & STOPPED) == 0) {
+        // Clock hasn't yet stopped; make sure it has started.
+        if ((oldStatus & STARTED) == 0) {
+          final int newStatus = oldStatus | STARTED;
+          // Try to set the STARTED flag; linearization point for clock startup.
+          if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
+            // Initiate clock thread startup.
+            willStart();
+            this.thread.start();
+            break;
+          }
+        } else {
+          // Clock thread already started.
+          break;
+        }
+      } else {
+        throw new ScheduleException("Can't restart stopped clock");
+      }
+    } while (true);
+
+    // Loop while the clock thread is not yet up and running.
+    boolean interrupted = false;
+    while (this.startLatch.getCount() != 0) {
+      try {
+        // Wait for clock thread startup to complete.
+        this.startLatch.await();
+      } catch (InterruptedException error) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Ensures that this {@code WheelClock} has been permanently stopped,
+   * shutting down the clock thread, if it's currently running.  Upon return,
+   * this {@code WheelClock} is guaranteed to be in the <em>stopped</em> state.
+   */
+  public final void stop() {
+    // Clock hasn't been started
+    if ((STATUS.get(this) & STARTED) == 0) {
+      return;
+    }
+
+    boolean interrupted = false;
+    do {
+      final int oldStatus = STATUS.get(this);
+      if ((oldStatus & STOPPED) == 0) {
+        // Clock hasn't yet stopped; try to stop it.
+        final int newStatus = oldStatus | STOPPED;
+        // Try to set the STOPPED flag; linearization point for clock shutdown.
+        if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
+          // Loop while the clock thread is still running.
+          while (this.thread.isAlive()) {
+            // Interrupt the clock thread so it will wakeup and die.
+            this.thread.interrupt();
+            try {
+              // Wait for the clock thread to exit.
+              this.thread.join(100);
+            } catch (InterruptedException error) {
+              interrupted = true;
+            }
+          }
+        }
+      } else {
+        // Clock thread already stopped.
+        break;
+      }
+    } while (true);
+
+    // Loop while the clock thread is still running.
+    while (this.stopLatch.getCount() != 0) {
+      try {
+        // Wait for clock thread shutdown to complete.
+        this.stopLatch.await();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public TimerRef timer(TimerFunction timer) {
+    // Ensure that the clock has started.
+    start();
+
+    // Create the context that binds the timer to this clock.
+    final WheelTimer context = new WheelTimer(this, timer);
+    if (timer instanceof Timer) {
+      ((Timer) timer).setTimerContext(context);
+    }
+
+    // Return the timer context.
+    return context;
+  }
+
+  @Override
+  public TimerRef setTimer(long millis, TimerFunction timer) {
+    if (millis < 0L) {
+      throw new TimerException("negative timeout: " + Long.toString(millis));
+    }
+
+    // Ensure that the clock has started.
+    start();
+
+    // Create the context that binds the timer to this clock.
+    final WheelTimer context = new WheelTimer(this, timer);
+    if (timer instanceof Timer) {
+      ((Timer) timer).setTimerContext(context);
+    }
+
+    // Schedule the timer for execution.
+    schedule(millis, context);
+
+    // Return the timer context.
+    return context;
+  }
+
+  /**
+   * Schedules a bound timer {@code context} for execution after {@code millis}
+   * milliseconds has elapsed.
+   */
+  final void schedule(long millis, WheelTimer context) {
+    // Invoke timer scheduling introspection callbacks.
+    timerWillSchedule(context.timer, millis);
+    if (context.timer instanceof Timer) {
+      ((Timer) context.timer).timerWillSchedule(millis);
+    }
+
+    // Convert the timeout to nanoseconds.
+    final long nanos = millis * 1000000L;
+    // Compute the deadline for the timer in nanoseconds since clock start.
+    final long deadline = Math.max(0L, nanoTime() + nanos - this.startTime);
+    // Divide the deadline by the tick interval to get the tick sequence number
+    // at which to fire the timer, rounding up to the next tick.
+    final long targetTick = (deadline + (this.tickNanos - 1L)) / this.tickNanos;
+
+    // Create a timer event to insert into the clock.
+    final WheelEvent newEvent = new WheelEvent(targetTick, context, context.timer);
+    // Atomically get the current timer event, and replace it with the
+    // to-be-scheduled event; linearization point for timer un-cancellation.
+    final WheelEvent oldEvent = WheelTimer.EVENT.getAndSet(context, newEvent);
+    // Check if the timer had a previously scheduled event.
+    if (oldEvent != null && oldEvent.cancel() != null) {
+      // Have the clock thread unlink the superseded event.
+      this.cancelQueue.add(oldEvent);
+    }
+
+    // Hand the new event off to the clock thread; linearization point for
+    // timer scheduling.
+    this.insertQueue.add(newEvent);
+    // Wake the clock thread if it's parked waiting for timers, or parked
+    // until an occupied slot that may come due after the new event.
+    if (this.thread.idle) {
+      LockSupport.unpark(this.thread);
+    }
+  }
+
+  /**
+   * Lifecycle callback invoked before the clock thread starts.
+   */
+  protected void willStart() {
+    // stub
+  }
+
+  /**
+   * Lifecycle callback invoked after the clock thread starts.
+   */
+  protected void didStart() {
+    // stub
+  }
+
+  /**
+   * Introspection callback invoked after each tick of the clock.  {@code tick}
+   * is the sequence number of the tick that was executed; {@code waitedMillis}
+   * is the number of milliseconds the clock thread slept before executing the
+   * tick.  If {@code waitedMillis} is negative, then the clock thread didn't
+   * start executing the tick until {@code -waitedMillis} milliseconds after
+   * the scheduled tick deadline.
+   */
+  protected void didTick(long tick, long waitedMillis) {
+    // stub
+  }
+
+  /**
+   * Lifecycle callback invoked before the clock thread stops.
+   */
+  protected void willStop() {
+    // stub
+  }
+
+  /**
+   * Lifecycle callback invoked after the clock thread stops.
+   */
+  protected void didStop() {
+    // stub
+  }
+
+  /**
+   * Lifecycle callback invoked if the timer thread throws a fatal {@code
+   * error}.  The clock thread will stop after invoking {@code didFail}.
+   */
+  protected void didFail(Throwable error) {
+    error.printStackTrace();
+  }
+
+  /**
+   * Introspection callback invoked before a {@code timer} is scheduled for
+   * execution with a delay of {@code millis} milliseconds.
+   */
+  protected void timerWillSchedule(TimerFunction timer, long millis) {
+    // stub
+  }
+
+  /**
+   * Introspection callback invoked after a {@code timer} has been explicitly
+   * cancelled; not invoked when a timer is implicitly cancelled, such as when
+   * rescheduling an already scheduled timer.
+   */
+  protected void timerDidCancel(TimerFunction timer) {
+    // stub
+  }
+
+  /**
+   * Introspection callback invoked before a {@code timer} is executed.
+   */
+  protected void timerWillRun(TimerFunction timer) {
+    // stub
+  }
+
+  /**
+   * Invokes {@code timer.runTimer()}, or arranges for the asynchronous
+   * execution of the provided {@code runnable}, which will itself invoke
+   * {@code timer.runTimer()}.
+   */
+  protected void runTimer(TimerFunction timer, Runnable runnable) {
+    timer.runTimer();
+  }
+
+  /**
+   * Introspection callback invoked after a {@code timer} executes nominally.
+   */
+  protected void timerDidRun(TimerFunction timer) {
+    // stub
+  }
+
+  /**
+   * Introspection callback invoked after a {@code timer} execution fails by
+   * throwing an {@code error}.
+   */
+  protected void timerDidFail(TimerFunction timer, Throwable error) {
+    // stub
+  }
+
+  /**
+   * Returns the current time, in nanoseconds, with arbitrary origin.
+   * Used by the clock thread to determine the current time.  Defaults
+   * to {@link System#nanoTime()}.  Can be overridden to substitute an
+   * alternative time source.
+   */
+  protected long nanoTime() {
+    return System.nanoTime();
+  }
+
+  /**
+   * Parks the current thread for the specified number of {@code nanos}.
+   * Used by the clock thread to wait for the next clock tick.  Defaults
+   * to {@link LockSupport#parkNanos(long)}.  Can be overridden to substitute
+   * an alternative wait mechanism.
+   */
+  protected void parkNanos(long nanos) throws InterruptedException {
+    LockSupport.parkNanos(this, nanos);
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+  }
+
+}
+
+/**
+ * Context that binds a {@code TimerFunction} to a {@code WheelClock}, and
+ * manages the scheduling of at most one live {@code WheelEvent} at a time.
+ */
+final class WheelTimer implements TimerContext {
+
+  /**
+   * Atomic {@link #event} field updater, used to linearize cancellation and
+   * rescheduling of the {@code timer}.
+   */
+  static final AtomicReferenceFieldUpdater<WheelTimer, WheelEvent> EVENT =
+      AtomicReferenceFieldUpdater.newUpdater(WheelTimer.class, WheelEvent.class, "event");
+  /**
+   * {@code WheelClock} to which the {@code timer} is bound.
+   */
+  final WheelClock clock;
+  /**
+   * {@code TimerFunction} to invoke when a scheduled event fires.
+   */
+  final TimerFunction timer;
+  /**
+   * Atomic reference to the currently scheduled event that will execute the
+   * {@code timer} when fired; {@code null} when the {@code timer} is not
+   * currently scheduled.
+   */
+  volatile WheelEvent event;
+
+  /**
+   * Constructs a new {@code WheelTimer} that binds the {@code timer} to the
+   * {@code clock}.
+   */
+  WheelTimer(WheelClock clock, TimerFunction timer) {
+    this.clock = clock;
+    this.timer = timer;
+  }
+
+  @Override
+  public Schedule schedule() {
+    return this.clock;
+  }
+
+  @Override
+  public boolean isScheduled() {
+    final WheelEvent event = EVENT.get(this);
+    return event != null && event.isScheduled();
+  }
+
+  @Override
+  public void reschedule(long millis) {
+    if (millis < 0L) {
+      throw new TimerException("negative timeout: " + Long.toString(millis));
+    }
+    this.clock.schedule(millis, this);
+  }
+
+  @Override
+  public boolean cancel() {
+    // Atomically get the current timer event, and replace it with null.
+    final WheelEvent event = EVENT.getAndSet(this, null);
+    // Check if the timer has a previously scheduled event.
+    if (event != null) {
+      // Remove the timer from the previously scheduled timer event;
+      // linearization point for timer cancellation.
+      final TimerFunction timer = event.cancel();
+      // Check if the timer event hadn't yet been fired or cancelled.
+      if (timer != null) {
+        // Have the clock thread unlink the cancelled event.
+        this.clock.cancelQueue.add(event);
+        // Invoke timer cancellation introspection callbacks.
+        if (timer instanceof Timer) {
+          ((Timer) timer).timerDidCancel();
+        }
+        this.clock.timerDidCancel(timer);
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
+
+/**
+ * Doubly linked wheel slot item holding a {@code TimerFunction} to execute.
+ */
+final class WheelEvent implements Runnable {
+
+  /**
+   * Atomic {@link #timer} field updater, used to linearize event cancellation.
+   */
+  static final AtomicReferenceFieldUpdater<WheelEvent, TimerFunction> TIMER =
+      AtomicReferenceFieldUpdater.newUpdater(WheelEvent.class, TimerFunction.class, "timer");
+  /**
+   * {@code WheelTimer} on behalf of whom this {@code WheelEvent} is scheduled.
+   */
+  final WheelTimer context;
+  /**
+   * Tick sequence number during which to fire this event.
+   */
+  long targetTick;
+  /**
+   * Index of the wheel slot in which this event is linked, or {@code -1} if
+   * this event is not linked into any slot.  Only accessed by the clock
+   * thread.
+   */
+  int slot;
+  /**
+   * Previous event in the same wheel slot.  Only accessed by the clock thread.
+   */
+  WheelEvent prev;
+  /**
+   * Next event in the same wheel slot.  Only accessed by the clock thread.
+   */
+  WheelEvent next;
+  /**
+   * Atomic reference to the {@code TimerFunction} to invoke when firing this
+   * event; {@code null} when this event has been cancelled.
+   */
+  volatile TimerFunction timer;
+
+  /**
+   * Constructs a new {@code WheelEvent} that will fire the {@code timer}
+   * at the {@code targetTick} sequence number.
+   */
+  WheelEvent(long targetTick, WheelTimer context, TimerFunction timer) {
+    this.targetTick = targetTick;
+    this.context = context;
+    this.timer = timer;
+    this.slot = -1;
+  }
+
+  /**
+   * Returns {@code true} if the {@link #timer} is non-{@code null}, indicating
+   * that this {@code WheelEvent} is scheduled for execution.
+   */
+  boolean isScheduled() {
+    return TIMER.get(this) != null;
+  }
+
+  /**
+   * Atomically gets the scheduled {@link #timer}, and replaces it with {@code
+   * null}, thereby preventing future execution, or concurrent cancellation.
+   */
+  TimerFunction cancel() {
+    // Atomically get the scheduled timer, and replace it with null;
+    // linearization point for timer execution and cancellation.
+    return TIMER.getAndSet(this, null);
+  }
+
+  /**
+   * Invokes the timer function of the associated timer context.
+   */
+  @Override
+  public void run() {
+    this.context.timer.runTimer();
+  }
+
+}
+
+/**
+ * Thread of execution that cascades and fires wheel events at the
+ * appropriate times.
+ */
+final class WheelClockThread extends Thread {
+
+  /**
+   * Total number of wheel clock threads that have ever been instantiated.
+   * Used to uniquely name wheel clock threads.
+   */
+  static final AtomicInteger THREAD_COUNT = new AtomicInteger(0);
+  /**
+   * {@code WheelClock} whose events this {@code WheelClockThread} fires.
+   */
+  final WheelClock clock;
+  /**
+   * Next tick sequence number that this {@code WheelClockThread} will execute.
+   */
+  volatile long tick;
+  /**
+   * Number of events currently linked into the wheels.
+   */
+  long eventCount;
+  /**
+   * {@code true} while this thread is parked waiting for timers to be
+   * scheduled, or waiting for the next occupied slot to come due.
+   */
+  volatile boolean idle;
+
+  /**
+   * Constructs a new {@code WheelClockThread} that fires events for {@code
+   * clock}.
+   */
+  WheelClockThread(WheelClock clock) {
+    setName("SwimWheelClock" + THREAD_COUNT.getAndIncrement());
+    setDaemon(true);
+    this.clock = clock;
+  }
+
+  /**
+   * Links the {@code event} into the wheel slot that covers its target tick,
+   * relative to the next tick to execute.
+   */
+  void link(WheelEvent event) {
+    final WheelClock clock = this.clock;
+    final long tick = this.tick;
+    if (event.targetTick < tick) {
+      // Fire overdue events on the next tick.
+      event.targetTick = tick;
+    }
+    final long targetTick = event.targetTick;
+    // The highest wheel level at which the target tick differs from the
+    // current tick determines the level into which to insert the event.
+    final long diff = targetTick ^ tick;
+    final int level = diff == 0L ? 0 : (63 - Long.numberOfLeadingZeros(diff)) / clock.tickBits;
+    final int slot;
+    if (level < clock.levelCount) {
+      slot = level * clock.tickCount
+           + (int) ((targetTick >>> (level * clock.tickBits)) & (long) (clock.tickCount - 1));
+    } else {
+      // The target tick lies beyond the span of the wheels; park the event
+      // in the last top-level slot to cascade, and reinsert it from there.
+      final int topLevel = clock.levelCount - 1;
+      slot = topLevel * clock.tickCount
+           + (int) (((tick >>> (topLevel * clock.tickBits)) - 1L) & (long) (clock.tickCount - 1));
+    }
+    final WheelEvent head = clock.slots[slot];
+    event.prev = null;
+    event.next = head;
+    if (head != null) {
+      head.prev = event;
+    }
+    clock.slots[slot] = event;
+    event.slot = slot;
+    this.eventCount += 1L;
+  }
+
+  /**
+   * Unlinks the {@code event} from its wheel slot, if it's currently linked.
+   */
+  void unlink(WheelEvent event) {
+    final int slot = event.slot;
+    if (slot >= 0) {
+      final WheelEvent prev = event.prev;
+      final WheelEvent next = event.next;
+      if (prev != null) {
+        prev.next = next;
+      } else {
+        this.clock.slots[slot] = next;
+      }
+      if (next != null) {
+        next.prev = prev;
+      }
+      event.prev = null;
+      event.next = null;
+      event.slot = -1;
+      this.eventCount -= 1L;
+    }
+  }
+
+  /**
+   * Unlinks all cancelled events, and links all newly scheduled events.
+   */
+  void drainQueues() {
+    final WheelClock clock = this.clock;
+    WheelEvent event;
+    while ((event = clock.cancelQueue.poll()) != null) {
+      unlink(event);
+    }
+    while ((event = clock.insertQueue.poll()) != null) {
+      // Skip events cancelled before they were handed off.
+      if (event.isScheduled()) {
+        link(event);
+      }
+    }
+  }
+
+  /**
+   * Detaches and returns the linked list of events in the given wheel
+   * {@code slot}.
+   */
+  WheelEvent detach(int slot) {
+    final WheelEvent[] slots = this.clock.slots;
+    final WheelEvent head = slots[slot];
+    slots[slot] = null;
+    WheelEvent event = head;
+    while (event != null) {
+      event.slot = -1;
+      this.eventCount -= 1L;
+      event = event.next;
+    }
+    return head;
+  }
+
+  /**
+   * Parks the clock thread until the {@code clock} time has reached the
+   * elapsed time of the target {@code tick}.  Returns the total number of
+   * milliseconds waited; the returned wait time can be negative if it's
+   * taking longer than the clock's tick interval to execute timers.
+   * Returns {@code Long.MIN_VALUE} if the clock was stopped while waiting
+   * for the target {@code tick}.
+   */
+  static long waitForTick(final WheelClock clock, final long tick) {
+    // The clock elapsed time of the target tick.
+    final long deadline = clock.tickNanos * tick;
+    // The clock elapsed time of the first wait for the target tick.
+    final long initialTime = clock.nanoTime() - clock.startTime;
+    // The current clock elapsed time.
+    long currentTime = initialTime;
+    do {
+      // Check for elapsed time overflow.
+      if (currentTime < 0L) {
+        // Can't run for longer than about 292 years.
+        throw new InternalError("Clock elapsed time overflow");
+      }
+      final long parkNanos = deadline - currentTime;
+      // Check if the deadline for the target tick is in the future.
+      if (parkNanos > 0L) {
+        // Park the timer thread until the deadline for the target tick.
+        try {
+          clock.parkNanos(parkNanos);
+        } catch (InterruptedException e) {
+          // Interrupted while waiting for the target tick; check if the clock
+          // has been stopped.
+          if ((WheelClock.STATUS.get(clock) & WheelClock.STOPPED) != 0) {
+            // Return a sentinel value to signal that the clock stopped.
+            return Long.MIN_VALUE;
+          }
+        }
+        // Recompute the current clock elapsed time.
+        currentTime = clock.nanoTime() - clock.startTime;
+      } else {
+        // Compute the total number of milliseconds we waited.
+        return (currentTime - initialTime) / 1000000L;
+      }
+    } while (true);
+  }
+
+  /**
+   * Returns the lowest tick, no lower than the next tick to execute, that
+   * either fires the events of an occupied lowest level slot, or cascades
+   * the events of an occupied higher level slot.  All ticks in between have
+   * no work to do, and can be skipped.  Only valid while events are linked.
+   */
+  long nextEventTick() {
+    final WheelClock clock = this.clock;
+    final WheelEvent[] slots = clock.slots;
+    final int tickBits = clock.tickBits;
+    final int tickCount = clock.tickCount;
+    final int tickMask = tickCount - 1;
+    final long tick = this.tick;
+    long nextTick = Long.MAX_VALUE;
+    for (int level = 0; level < clock.levelCount; level += 1) {
+      final int shift = level * tickBits;
+      // Ticks at which this level's slots cascade have all lower digits zero.
+      final long lowerMask = (1L << shift) - 1L;
+      final int digit = (int) ((tick >>> shift) & (long) tickMask);
+      // A slot whose cascade tick has already passed in this revolution of
+      // the level won't cascade again until the next revolution.
+      final int first = (tick & lowerMask) == 0L ? digit : digit + 1;
+      final long base = tick & ~((1L << (shift + tickBits)) - 1L);
+      final int offset = level * tickCount;
+      for (int i = 0; i < tickCount; i += 1) {
+        final int d = (first + i) & tickMask;
+        if (slots[offset + d] != null) {
+          long slotTick = base | ((long) d << shift);
+          if (slotTick < tick) {
+            slotTick += 1L << (shift + tickBits);
+          }
+          if (slotTick < nextTick) {
+            nextTick = slotTick;
+          }
+          // Later slots of this level are due later still.
+          break;
+        }
+      }
+      if (nextTick == tick) {
+        break;
+      }
+    }
+    return nextTick;
+  }
+
+  /**
+   * Parks the clock thread until the clock time reaches the elapsed time of
+   * the target {@code tick}, or a timer is scheduled, or the clock stops.
+   * Returns {@code true} if the target {@code tick} is due.
+   */
+  boolean waitForEventTick(final long tick) {
+    final WheelClock clock = this.clock;
+    final long parkNanos = clock.tickNanos * tick - (clock.nanoTime() - clock.startTime);
+    if (parkNanos > 0L) {
+      this.idle = true;
+      // Recheck for timers handed off before the idle flag was published.
+      if (clock.insertQueue.isEmpty()) {
+        try {
+          clock.parkNanos(parkNanos);
+        } catch (InterruptedException e) {
+          // Interrupted while waiting for the target tick; the run loop
+          // checks if the clock has been stopped.
+        }
+      }
+      this.idle = false;
+      return clock.tickNanos * tick - (clock.nanoTime() - clock.startTime) <= 0L;
+    }
+    return true;
+  }
+
+  /**
+   * Parks the clock thread until a timer is scheduled, or the clock stops.
+   */
+  void waitForTimers() {
+    final WheelClock clock = this.clock;
+    this.idle = true;
+    // Recheck for timers handed off before the idle flag was published.
+    if (clock.insertQueue.isEmpty()) {
+      LockSupport.park(clock);
+      Thread.interrupted();
+    }
+    this.idle = false;
+    // The wheels are empty, so skip directly to the current tick.
+    final long currentTick = (clock.nanoTime() - clock.startTime) / clock.tickNanos;
+    if (currentTick > this.tick) {
+      this.tick = currentTick;
+    }
+  }
+
+  /**
+   * Cascades events down from the wheel slots that the {@code tick} enters,
+   * and fires all timers set to execute at the target {@code tick}.
+   */
+  void executeTick(final long tick) {
+    final WheelClock clock = this.clock;
+    final int tickBits = clock.tickBits;
+    final int tickMask = clock.tickCount - 1;
+
+    // Cascade each higher level whose lower digits have all rolled over.
+    for (int level = clock.levelCount - 1; level > 0; level -= 1) {
+      final int shift = level * tickBits;
+      if ((tick & ((1L << shift) - 1L)) == 0L) {
+        final int slot = level * clock.tickCount + (int) ((tick >>> shift) & (long) tickMask);
+        WheelEvent event = detach(slot);
+        while (event != null) {
+          final WheelEvent next = event.next;
+          event.prev = null;
+          event.next = null;
+          if (event.isScheduled()) {
+            link(event);
+          }
+          event = next;
+        }
+      }
+    }
+
+    // Fire all events in the current slot of the lowest level.
+    WheelEvent event = detach((int) (tick & (long) tickMask));
+    while (event != null) {
+      final WheelEvent next = event.next;
+      event.prev = null;
+      event.next = null;
+      // Remove the event's timer.
+      final TimerFunction timer = event.cancel();
+      // Clear the event from the associated timer context.
+      WheelTimer.EVENT.compareAndSet(event.context, event, null);
+      if (timer != null) {
+        // The timer wasn't cancelled; fire the event.
+        try {
+          clock.timerWillRun(timer);
+          clock.runTimer(timer, event);
+          clock.timerDidRun(timer);
+        } catch (Throwable error) {
+          if (Conts.isNonFatal(error)) {
+            // The timer failed with a non-fatal error.
+            clock.timerDidFail(timer, error);
+          } else {
+            // The timer failed with a fatal error.
+            throw error;
+          }
+        }
+      }
+      event = next;
+    }
+  }
+
+  @Override
+  public void run() {
+    final WheelClock clock = this.clock;
+
+    try {
+      // Initialize the relative clock start time.
+      long startTime = clock.nanoTime();
+      if (startTime == 0L) {
+        // Avoid clash with sentinel value that signifies an unstarted clock.
+        startTime = 1L;
+      }
+      clock.startTime = startTime;
+
+      // Linearization point for clock start.
+      clock.startLatch.countDown();
+      clock.didStart();
+
+      // Loop while the clock has not been stopped.
+      do {
+        drainQueues();
+        if (this.eventCount == 0L) {
+          // No timers are scheduled; park until one is.
+          waitForTimers();
+          continue;
+        }
+        final long nextTick = nextEventTick();
+        if (nextTick > this.tick) {
+          // Skip the ticks with no work to do, parking until the next
+          // occupied slot is due, unless a sooner timer gets scheduled.
+          if (!waitForEventTick(nextTick)) {
+            continue;
+          }
+          this.tick = nextTick;
+        }
+        final long tick = this.tick;
+        // Wait for the clock to reach the elapsed time of the next tick.
+        final long waitedMillis = waitForTick(clock, tick);
+        // Check if we had a nominal wakeup.
+        if (waitedMillis != Long.MIN_VALUE) {
+          // Link events scheduled while waiting, before executing the tick.
+          drainQueues();
+          // Execute the clock tick.
+          executeTick(tick);
+          // Invoke the clock tick introspection callback, with a measure of the
+          // clock latency.
+          clock.didTick(tick, waitedMillis);
+          // Increment the tick sequence number.
+          this.tick = tick + 1L;
+        }
+      } while ((WheelClock.STATUS.get(clock) & WheelClock.STOPPED) == 0);
+
+      clock.willStop();
+    } catch (Throwable error) {
+      if (Conts.isNonFatal(error)) {
+        // Report internal clock error.
+        clock.didFail(error);
+      } else {
+        // Rethrow fatal error.
+        throw error;
+      }
+    } finally {
+      // Force the clock into the stopped state.
+      WheelClock.STATUS.set(clock, WheelClock.STOPPED);
+      // Linearization point for clock stop.
+      clock.stopLatch.countDown();
+      clock.didStop();
+    }
+  }
+
+}
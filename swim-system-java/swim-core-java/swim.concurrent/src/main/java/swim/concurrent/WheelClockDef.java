@@ -0,0 +1,182 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.concurrent;
+
+import swim.codec.Debug;
+import swim.codec.Format;
+import swim.codec.Output;
+import swim.structure.Form;
+import swim.structure.Item;
+import swim.structure.Kind;
+import swim.structure.Record;
+import swim.structure.Value;
+import swim.util.Murmur3;
+
+public class WheelClockDef implements ScheduleDef, Debug {
+
+  private static int hashSeed;
+  private static WheelClockDef standard;
+  private static Form<WheelClockDef> wheelClockForm;
+  final int tickMicros;
+  final int tickCount;
+  final int levelCount;
+
+  public WheelClockDef(int tickMicros, int tickCount, int levelCount) {
+    this.tickMicros = tickMicros;
+    this.tickCount = tickCount;
+    this.levelCount = levelCount;
+  }
+
+  public static WheelClockDef standard() {
+    if (standard == null) {
+      standard = new WheelClockDef(WheelClock.TICK_MICROS, WheelClock.TICK_COUNT, WheelClock.LEVEL_COUNT);
+    }
+    return standard;
+  }
+
+  @Kind
+  public static Form<WheelClockDef> wheelClockForm() {
+    if (wheelClockForm == null) {
+      wheelClockForm = new WheelClockForm(standard());
+    }
+    return wheelClockForm;
+  }
+
+  public final int tickMicros() {
+    return this.tickMicros;
+  }
+
+  public WheelClockDef tickMicros(int tickMicros) {
+    return copy(tickMicros, this.tickCount, this.levelCount);
+  }
+
+  public final int tickCount() {
+    return this.tickCount;
+  }
+
+  public WheelClockDef tickCount(int tickCount) {
+    return copy(this.tickMicros, tickCount, this.levelCount);
+  }
+
+  public final int levelCount() {
+    return this.levelCount;
+  }
+
+  public WheelClockDef levelCount(int levelCount) {
+    return copy(this.tickMicros, this.tickCount, levelCount);
+  }
+
+  protected WheelClockDef copy(int tickMicros, int tickCount, int levelCount) {
+    return new WheelClockDef(tickMicros, tickCount, levelCount);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    } else if (other instanceof WheelClockDef) {
+      final WheelClockDef that = (WheelClockDef) other;
+      return this.tickMicros == that.tickMicros
+          && this.tickCount == that.tickCount
+          && this.levelCount == that.levelCount;
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    if (hashSeed == 0) {
+      hashSeed = Murmur3.seed(WheelClockDef.class);
+    }
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(hashSeed,
+        this.tickMicros), this.tickCount), this.levelCount));
+  }
+
+  @Override
+  public void debug(Output<?> output) {
+    output = output.write("WheelClockDef").write('.').write("standard").write('(').write(')');
+    if (this.tickMicros != WheelClock.TICK_MICROS) {
+      output = output.write('.').write("tickMicros").write('(').debug(tickMicros).write(')');
+    }
+    if (this.tickCount != WheelClock.TICK_COUNT) {
+      output = output.write('.').write("tickCount").write('(').debug(tickCount).write(')');
+    }
+    if (this.levelCount != WheelClock.LEVEL_COUNT) {
+      output = output.write('.').write("levelCount").write('(').debug(levelCount).write(')');
+    }
+  }
+
+  @Override
+  public String toString() {
+    return Format.debug(this);
+  }
+
+}
+
+final class WheelClockForm extends Form<WheelClockDef> {
+
+  final WheelClockDef unit;
+
+  WheelClockForm(WheelClockDef unit) {
+    this.unit = unit;
+  }
+
+  @Override
+  public String tag() {
+    return "wheelClock";
+  }
+
+  @Override
+  public WheelClockDef unit() {
+    return this.unit;
+  }
+
+  @Override
+  public Form<WheelClockDef> unit(WheelClockDef unit) {
+    return new WheelClockForm(unit);
+  }
+
+  @Override
+  public Class<WheelClockDef> type() {
+    return WheelClockDef.class;
+  }
+
+  @Override
+  public Item mold(WheelClockDef wheelClockDef) {
+    if (wheelClockDef != null) {
+      final Record record = Record.create(4).attr(tag());
+      record.slot("tickMicros", wheelClockDef.tickMicros);
+      record.slot("tickCount", wheelClockDef.tickCount);
+      record.slot("levelCount", wheelClockDef.levelCount);
+      return record;
+    } else {
+      return Item.extant();
+    }
+  }
+
+  @Override
+  public WheelClockDef cast(Item item) {
+    final Value value = item.toValue();
+    final Value header = value.getAttr(tag());
+    if (header.isDefined()) {
+      final int tickMicros = value.get("tickMicros").intValue(WheelClock.TICK_MICROS);
+      final int tickCount = value.get("tickCount").intValue(WheelClock.TICK_COUNT);
+      final int levelCount = value.get("levelCount").intValue(WheelClock.LEVEL_COUNT);
+      return new WheelClockDef(tickMicros, tickCount, levelCount);
+    }
+    return null;
+  }
+
+}
@@ -0,0 +1,288 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.concurrent;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.testng.TestException;
+import org.testng.annotations.Test;
+import swim.structure.Value;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class WheelClockSpec {
+
+  static void await(CountDownLatch latch, int millis) {
+    try {
+      if (!latch.await(millis, TimeUnit.MILLISECONDS)) {
+        throw new TestException("await timeout");
+      }
+    } catch (InterruptedException error) {
+      throw new TestException(error);
+    }
+  }
+
+  @Test
+  public void scheduleAnImmediateTimer() {
+    final WheelClock clock = new WheelClock(1000, 16, 3);
+    final CountDownLatch fire = new CountDownLatch(1);
+    try {
+      clock.start();
+      clock.setTimer(0L, new AbstractTimer() {
+        @Override
+        public void runTimer() {
+          assertEquals(fire.getCount(), 1);
+          fire.countDown();
+        }
+      });
+      await(fire, 1000);
+    } finally {
+      clock.stop();
+    }
+  }
+
+  @Test
+  public void cascadeTimersAcrossWheelLevels() {
+    // 4 slots of 1ms over 3 levels spans 64ms; the longest delays overflow
+    // the top level and get reinserted from there.
+    final WheelClock clock = new WheelClock(1000, 4, 3);
+    final long[] delays = {1L, 3L, 7L, 15L, 40L, 63L, 64L, 100L, 250L};
+    final CountDownLatch fire = new CountDownLatch(delays.length);
+    final Queue<String> early = new ConcurrentLinkedQueue<String>();
+    try {
+      clock.start();
+      for (int i = 0; i < delays.length; i += 1) {
+        final long delay = delays[i];
+        final long t0 = System.nanoTime();
+        clock.setTimer(delay, new AbstractTimer() {
+          @Override
+          public void runTimer() {
+            final long dt = (System.nanoTime() - t0) / 1000000L;
+            if (dt < delay) {
+              early.add("timer with delay " + delay + "ms fired after " + dt + "ms");
+            }
+            fire.countDown();
+          }
+        });
+      }
+      await(fire, 2000);
+      assertTrue(early.isEmpty(), early.toString());
+    } finally {
+      clock.stop();
+    }
+  }
+
+  @Test
+  public void cancelScheduledTimers() {
+    final WheelClock clock = new WheelClock(1000, 4, 3);
+    final CountDownLatch fire = new CountDownLatch(1);
+    final CountDownLatch cancelledFire = new CountDownLatch(1);
+    try {
+      clock.start();
+      final TimerRef cancelled = clock.setTimer(20L, new AbstractTimer() {
+        @Override
+        public void runTimer() {
+          cancelledFire.countDown();
+        }
+      });
+      assertTrue(cancelled.isScheduled());
+      assertTrue(cancelled.cancel());
+      assertFalse(cancelled.isScheduled());
+      assertFalse(cancelled.cancel());
+      clock.setTimer(50L, new AbstractTimer() {
+        @Override
+        public void runTimer() {
+          fire.countDown();
+        }
+      });
+      await(fire, 1000);
+      assertEquals(cancelledFire.getCount(), 1);
+    } finally {
+      clock.stop();
+    }
+  }
+
+  @Test
+  public void rescheduleTimers() {
+    final WheelClock clock = new WheelClock(1000, 8, 3);
+    final CountDownLatch fire = new CountDownLatch(3);
+    try {
+      clock.start();
+      clock.setTimer(0L, new AbstractTimer() {
+        @Override
+        public void runTimer() {
+          fire.countDown();
+          if (fire.getCount() > 0) {
+            reschedule(10L);
+          }
+        }
+      });
+      await(fire, 1000);
+    } finally {
+      clock.stop();
+    }
+  }
+
+  @Test
+  public void skipIdleTicksWhileTimersArePending() {
+    // A lone 200ms timer on a 1ms tick should only wake the clock thread
+    // for the ticks that cascade or fire its event, not for every tick.
+    final int[] executedTicks = new int[1];
+    final WheelClock clock = new WheelClock(1000, 16, 3) {
+      @Override
+      protected void didTick(long tick, long waitedMillis) {
+        executedTicks[0] += 1;
+      }
+    };
+    final CountDownLatch fire = new CountDownLatch(1);
+    final long[] firedMillis = new long[1];
+    try {
+      clock.start();
+      final long t0 = System.nanoTime();
+      clock.setTimer(200L, new AbstractTimer() {
+        @Override
+        public void runTimer() {
+          firedMillis[0] = (System.nanoTime() - t0) / 1000000L;
+          fire.countDown();
+        }
+      });
+      await(fire, 1000);
+      assertTrue(firedMillis[0] >= 200L, "timer fired after " + firedMillis[0] + "ms");
+      assertTrue(executedTicks[0] < 20, "executed " + executedTicks[0] + " ticks");
+    } finally {
+      clock.stop();
+    }
+  }
+
+  @Test
+  public void moldAndCastWheelClockDefs() {
+    final WheelClockDef wheelClockDef = WheelClockDef.standard().tickMicros(250).levelCount(5);
+    final Value value = ScheduleDef.form().mold(wheelClockDef).toValue();
+    assertEquals(ScheduleDef.form().cast(value), wheelClockDef);
+  }
+
+  @Test(groups = {"benchmark"})
+  public void benchmarkScheduleAndCancelAgainstClock() {
+    final int timerCount = 200000;
+    final Clock clock = new Clock(100, 512);
+    final WheelClock wheelClock = new WheelClock();
+    try {
+      clock.start();
+      wheelClock.start();
+      for (int round = 0; round < 3; round += 1) {
+        final long clockNanos = scheduleAndCancel(clock, timerCount);
+        final long wheelClockNanos = scheduleAndCancel(wheelClock, timerCount);
+        System.out.println("scheduled and cancelled " + timerCount + " timers; Clock: "
+            + (clockNanos / 1000000L) + "ms; WheelClock: " + (wheelClockNanos / 1000000L) + "ms");
+      }
+    } finally {
+      clock.stop();
+      wheelClock.stop();
+    }
+  }
+
+  @Test(groups = {"benchmark"})
+  public void benchmarkPendingTimerOverheadAgainstClock() {
+    final int timerCount = 200000;
+    // Both clocks tick every millisecond; the time each clock thread spends
+    // outside of its sleep hook measures its timer processing overhead.
+    final long[] clockSleep = new long[1];
+    final Clock clock = new Clock(1, 512) {
+      @Override
+      protected void sleep(long millis) throws InterruptedException {
+        final long t0 = System.nanoTime();
+        try {
+          super.sleep(millis);
+        } finally {
+          clockSleep[0] += System.nanoTime() - t0;
+        }
+      }
+    };
+    final long[] wheelClockSleep = new long[1];
+    final WheelClock wheelClock = new WheelClock(1000, 256, 4) {
+      @Override
+      protected void parkNanos(long nanos) throws InterruptedException {
+        final long t0 = System.nanoTime();
+        try {
+          super.parkNanos(nanos);
+        } finally {
+          wheelClockSleep[0] += System.nanoTime() - t0;
+        }
+      }
+    };
+    try {
+      clock.start();
+      wheelClock.start();
+      final TimerRef[] clockTimers = scheduleLongTimers(clock, timerCount);
+      final TimerRef[] wheelClockTimers = scheduleLongTimers(wheelClock, timerCount);
+      final long t0 = System.nanoTime();
+      final long clockSleep0 = clockSleep[0];
+      final long wheelClockSleep0 = wheelClockSleep[0];
+      Thread.sleep(2000L);
+      final long dt = System.nanoTime() - t0;
+      final long clockBusy = dt - (clockSleep[0] - clockSleep0);
+      final long wheelClockBusy = dt - (wheelClockSleep[0] - wheelClockSleep0);
+      System.out.println("clock thread busy time with " + timerCount + " pending long timers; Clock: "
+          + (clockBusy / 1000000L) + "ms; WheelClock: " + (wheelClockBusy / 1000000L) + "ms");
+      for (int i = 0; i < timerCount; i += 1) {
+        clockTimers[i].cancel();
+        wheelClockTimers[i].cancel();
+      }
+    } catch (InterruptedException error) {
+      throw new TestException(error);
+    } finally {
+      clock.stop();
+      wheelClock.stop();
+    }
+  }
+
+  static TimerRef[] scheduleLongTimers(Schedule schedule, int timerCount) {
+    final TimerFunction timer = new TimerFunction() {
+      @Override
+      public void runTimer() {
+        // nop
+      }
+    };
+    final TimerRef[] timers = new TimerRef[timerCount];
+    for (int i = 0; i < timerCount; i += 1) {
+      timers[i] = schedule.setTimer(3600000L + (long) i, timer);
+    }
+    return timers;
+  }
+
+  static long scheduleAndCancel(Schedule schedule, int timerCount) {
+    final TimerFunction timer = new TimerFunction() {
+      @Override
+      public void runTimer() {
+        // nop
+      }
+    };
+    final TimerRef[] timers = new TimerRef[timerCount];
+    final long t0 = System.nanoTime();
+    for (int i = 0; i < timerCount; i += 1) {
+      // Mix of short timers, and long timers that span many revolutions.
+      final long millis = (i & 1) == 0 ? 1000L + (i & 1023) : 3600000L + (long) i * 97L;
+      timers[i] = schedule.setTimer(millis, timer);
+    }
+    for (int i = 0; i < timerCount; i += 1) {
+      timers[i].cancel();
+    }
+    return System.nanoTime() - t0;
+  }
+
+}
@@ -14,11 +14,14 @@
 
 package swim.db;
 
+import java.nio.ByteBuffer;
 import swim.codec.Output;
 import swim.codec.Unicode;
+import swim.codec.Utf8;
 import swim.concurrent.Cont;
 import swim.concurrent.Conts;
 import swim.recon.Recon;
+import swim.recon.ReconBinary;
 import swim.structure.Num;
 import swim.structure.Record;
 import swim.structure.Slot;
@@ -78,6 +81,22 @@ public final class BTreeLeaf extends BTreePage {
     throw new StoreException(message.bind(), cause);
   }
 
+  public static BTreeLeaf fromBuffer(BTreePageRef pageRef, ByteBuffer buffer) {
+    try {
+      BinaryPage.readHeader(buffer, BinaryPage.BLEAF);
+      ReconBinary.readVarint(buffer); // stem
+      final long version = ReconBinary.readVarlong(buffer);
+      final Slot[] slots = BinaryPage.readLeafSlots(buffer);
+      return new BTreeLeaf(pageRef, version, slots);
+    } catch (Throwable cause) {
+      if (Conts.isNonFatal(cause)) {
+        throw new StoreException("Malformed binary bleaf", cause);
+      } else {
+        throw cause;
+      }
+    }
+  }
+
   @Override
   public boolean isLeaf() {
     return true;
@@ -428,25 +447,31 @@ public final class BTreeLeaf extends BTreePage {
 
   @Override
   void memoizeSize(BTreePageRef pageRef) {
-    int pageSize = 12; // "@bleaf(stem:"
-    pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
-    pageSize += 3; // ",v:"
-    pageSize += Recon.sizeOf(Num.from(this.version));
-    pageSize += 1; // ')'
-
-    final Slot[] slots = this.slots;
-    final int n = slots.length;
-    if (n > 0) {
-      pageSize += 1; // '{'
-      pageSize += Recon.sizeOf(slots[0]);
-      for (int i = 1; i < n; i += 1) {
-        pageSize += 1; // ','
-        pageSize += Recon.sizeOf(slots[i]);
+    int pageSize;
+    if (isBinary()) {
+      pageSize = BinaryPage.sizeOfLeaf(this.pageRef.stem, this.version, this.slots);
+    } else {
+      pageSize = 12; // "@bleaf(stem:"
+      pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
+      pageSize += 3; // ",v:"
+      pageSize += Recon.sizeOf(Num.from(this.version));
+      pageSize += 1; // ')'
+
+      final Slot[] slots = this.slots;
+      final int n = slots.length;
+      if (n > 0) {
+        pageSize += 1; // '{'
+        pageSize += Recon.sizeOf(slots[0]);
+        for (int i = 1; i < n; i += 1) {
+          pageSize += 1; // ','
+          pageSize += Recon.sizeOf(slots[i]);
+        }
+        pageSize += 1; // '}'
       }
-      pageSize += 1; // '}'
+
+      pageSize += 1; // '\n'
     }
 
-    pageSize += 1; // '\n'
     pageRef.pageSize = pageSize; // Must match bytes written by writePage
     pageRef.diffSize = pageSize; // Must match bytes written by writeDiff
     pageRef.treeSize = pageSize;
@@ -503,9 +528,14 @@ public final class BTreeLeaf extends BTreePage {
 
   @Override
   public void writePage(Output<?> output) {
-    Recon.write(toHeader(), output);
-    writePageContent(output);
-    output.write('\n');
+    if (isBinary()) {
+      BinaryPage.writeLeaf(output, BinaryPage.BLEAF, pageSize(), this.pageRef.stem, this.version, this.slots);
+    } else {
+      final Output<?> encoder = Utf8.encodedOutput(output);
+      Recon.write(toHeader(), encoder);
+      writePageContent(encoder);
+      encoder.write('\n');
+    }
   }
 
   void writePageContent(Output<?> output) {
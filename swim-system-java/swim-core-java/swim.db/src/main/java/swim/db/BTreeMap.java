@@ -558,9 +558,40 @@ public class BTreeMap implements OrderedMap<Value, Value>, ReducedMap<Value, Val
 
   @Override
   public void putAll(Map<? extends Value, ? extends Value> map) {
-    for (Entry<? extends Value, ? extends Value> entry : map.entrySet()) {
-      put(entry.getKey(), entry.getValue());
-    }
+    int retries = 0;
+    do {
+      final long newVersion = this.trunk.version();
+      final int newPost = this.trunk.post();
+      try {
+        final BTree oldTree = tree();
+        BTree newTree = oldTree;
+        for (Entry<? extends Value, ? extends Value> entry : map.entrySet()) {
+          newTree = newTree.updated(entry.getKey(), entry.getValue(), newVersion, newPost);
+        }
+        if (oldTree != newTree) {
+          if (this.trunk.updateTree(oldTree, newTree, newVersion)) {
+            final TreeContext treeContext = newTree.treeContext();
+            for (Entry<? extends Value, ? extends Value> entry : map.entrySet()) {
+              final Value key = entry.getKey();
+              treeContext.btreeDidUpdate(newTree, oldTree, key, entry.getValue(), oldTree.get(key));
+            }
+            treeContext.treeDidChange(newTree, oldTree);
+            return;
+          }
+        } else {
+          return;
+        }
+      } catch (StoreException error) {
+        if (retries < settings().maxRetries) {
+          retries += 1;
+        } else if (retries == settings().maxRetries) {
+          retries += 1;
+          didFail(error);
+        } else {
+          throw error;
+        }
+      }
+    } while (true);
   }
 
   @Override
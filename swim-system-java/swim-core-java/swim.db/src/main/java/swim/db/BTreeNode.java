@@ -14,11 +14,14 @@
 
 package swim.db;
 
+import java.nio.ByteBuffer;
 import swim.codec.Output;
 import swim.codec.Unicode;
+import swim.codec.Utf8;
 import swim.concurrent.Cont;
 import swim.concurrent.Conts;
 import swim.recon.Recon;
+import swim.recon.ReconBinary;
 import swim.structure.Num;
 import swim.structure.Record;
 import swim.structure.Slot;
@@ -105,6 +108,34 @@ public final class BTreeNode extends BTreePage {
     throw new StoreException(message.bind(), cause);
   }
 
+  public static BTreeNode fromBuffer(BTreePageRef pageRef, ByteBuffer buffer) {
+    try {
+      BinaryPage.readHeader(buffer, BinaryPage.BNODE);
+      ReconBinary.readVarint(buffer); // stem
+      final long version = ReconBinary.readVarlong(buffer);
+      final int n = ReconBinary.readVarint(buffer);
+      if (n < 1) {
+        throw new StoreException("Malformed binary bnode: invalid child count " + n);
+      }
+      final BTreePageRef[] childRefs = new BTreePageRef[n];
+      final Value[] knotKeys = new Value[n - 1];
+      childRefs[0] = BinaryPage.readBTreePageRef(buffer, pageRef.context, pageRef.stem);
+      for (int i = 1; i < n; i += 1) {
+        knotKeys[i - 1] = ReconBinary.readValue(buffer);
+        childRefs[i] = BinaryPage.readBTreePageRef(buffer, pageRef.context, pageRef.stem);
+      }
+      return new BTreeNode(pageRef, version, childRefs, knotKeys);
+    } catch (StoreException cause) {
+      throw cause;
+    } catch (Throwable cause) {
+      if (Conts.isNonFatal(cause)) {
+        throw new StoreException("Malformed binary bnode", cause);
+      } else {
+        throw cause;
+      }
+    }
+  }
+
   @Override
   public boolean isNode() {
     return true;
@@ -771,35 +802,54 @@ public final class BTreeNode extends BTreePage {
 
   @Override
   void memoizeSize(BTreePageRef pageRef) {
-    int pageSize = 12; // "@bnode(stem:"
-    pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
-    pageSize += 3; // ",v:"
-    pageSize += Recon.sizeOf(Num.from(this.version));
-    pageSize += 1; // ')'
-
     final BTreePageRef[] childRefs = this.childRefs;
     final int n = childRefs.length;
     final Value[] knotKeys = this.knotKeys;
     int diffSize = 0;
     long treeSize = 0L;
-    if (n > 0) {
-      pageSize += 1; // '{'
+    int pageSize;
+    if (isBinary()) {
+      pageSize = BinaryPage.HEADER_SIZE;
+      pageSize += ReconBinary.sizeOfVarint(this.pageRef.stem);
+      pageSize += ReconBinary.sizeOfVarint(this.version);
+      pageSize += ReconBinary.sizeOfVarint(n);
       for (int i = 0; i < n; i += 1) {
         if (i > 0) {
-          final Value key = knotKeys[i - 1];
-          pageSize += 11; // ",@knot(key:"
-          pageSize += Recon.sizeOf(key);
-          pageSize += 2; // "),"
+          pageSize += ReconBinary.sizeOfValue(knotKeys[i - 1]);
         }
         final BTreePageRef childRef = childRefs[i];
-        pageSize += childRef.pageRefSize();
+        pageSize += BinaryPage.sizeOfPageRef(childRef);
         if (this.version == childRef.softVersion()) {
           diffSize += childRef.diffSize();
         }
         treeSize += childRef.treeSize();
       }
-      pageSize += 1; // '}'
-      pageSize += 1; // '\n'
+    } else {
+      pageSize = 12; // "@bnode(stem:"
+      pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
+      pageSize += 3; // ",v:"
+      pageSize += Recon.sizeOf(Num.from(this.version));
+      pageSize += 1; // ')'
+
+      if (n > 0) {
+        pageSize += 1; // '{'
+        for (int i = 0; i < n; i += 1) {
+          if (i > 0) {
+            final Value key = knotKeys[i - 1];
+            pageSize += 11; // ",@knot(key:"
+            pageSize += Recon.sizeOf(key);
+            pageSize += 2; // "),"
+          }
+          final BTreePageRef childRef = childRefs[i];
+          pageSize += childRef.pageRefSize();
+          if (this.version == childRef.softVersion()) {
+            diffSize += childRef.diffSize();
+          }
+          treeSize += childRef.treeSize();
+        }
+        pageSize += 1; // '}'
+        pageSize += 1; // '\n'
+      }
     }
     diffSize += pageSize;
     treeSize += pageSize;
@@ -909,9 +959,30 @@ public final class BTreeNode extends BTreePage {
 
   @Override
   public void writePage(Output<?> output) {
-    Recon.write(toHeader(), output);
-    writePageContent(output);
-    output.write('\n');
+    if (isBinary()) {
+      writeBinaryPage(output);
+    } else {
+      final Output<?> encoder = Utf8.encodedOutput(output);
+      Recon.write(toHeader(), encoder);
+      writePageContent(encoder);
+      encoder.write('\n');
+    }
+  }
+
+  void writeBinaryPage(Output<?> output) {
+    final BTreePageRef[] childRefs = this.childRefs;
+    final int n = childRefs.length;
+    final Value[] knotKeys = this.knotKeys;
+    BinaryPage.writeHeader(output, BinaryPage.BNODE, pageSize());
+    ReconBinary.writeVarint(output, this.pageRef.stem);
+    ReconBinary.writeVarint(output, this.version);
+    ReconBinary.writeVarint(output, n);
+    for (int i = 0; i < n; i += 1) {
+      if (i > 0) {
+        ReconBinary.writeValue(output, knotKeys[i - 1]);
+      }
+      BinaryPage.writePageRef(output, childRefs[i]);
+    }
   }
 
   void writePageContent(Output<?> output) {
@@ -14,6 +14,7 @@
 
 package swim.db;
 
+import java.nio.ByteBuffer;
 import swim.structure.Slot;
 import swim.structure.Value;
 import swim.util.CombinerFunction;
@@ -36,6 +37,17 @@ public abstract class BTreePage extends Page {
     }
   }
 
+  public static BTreePage fromBuffer(BTreePageRef pageRef, ByteBuffer buffer) {
+    switch (pageRef.pageType()) {
+      case LEAF:
+        return BTreeLeaf.fromBuffer(pageRef, buffer);
+      case NODE:
+        return BTreeNode.fromBuffer(pageRef, buffer);
+      default:
+        throw new IllegalArgumentException(pageRef.toString());
+    }
+  }
+
   @Override
   public boolean isBTreePage() {
     return true;
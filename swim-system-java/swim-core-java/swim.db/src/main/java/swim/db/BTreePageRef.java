@@ -15,6 +15,7 @@
 package swim.db;
 
 import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
 import swim.codec.Output;
 import swim.codec.Unicode;
 import swim.concurrent.Cont;
@@ -368,6 +369,26 @@ public final class BTreePageRef extends PageRef {
     }
   }
 
+  @Override
+  public BTreePage setPageBuffer(ByteBuffer buffer, boolean isResident) {
+    try {
+      final BTreePage page = BTreePage.fromBuffer(this, buffer);
+      if (isResident) {
+        this.page = page;
+      } else {
+        this.context.hitPage(page);
+        this.page = new WeakReference<Object>(page);
+      }
+      return page;
+    } catch (Throwable cause) {
+      if (Conts.isNonFatal(cause)) {
+        throw new StoreException(toDebugString(), cause);
+      } else {
+        throw cause;
+      }
+    }
+  }
+
   @Override
   public void loadPageAsync(boolean isResident, Cont<Page> cont) {
     try {
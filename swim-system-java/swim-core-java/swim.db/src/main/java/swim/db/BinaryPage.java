@@ -0,0 +1,205 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import java.nio.ByteBuffer;
+import swim.codec.Output;
+import swim.recon.ReconBinary;
+import swim.structure.Slot;
+import swim.structure.Value;
+
+/**
+ * Binary page encoding: a {@code MAGIC} byte that can never begin a Recon
+ * page, a format {@code VERSION} byte, a page kind byte, and a 32-bit body
+ * length, followed by varint page headers and slots in the
+ * {@link ReconBinary} value encoding.
+ */
+final class BinaryPage {
+
+  private BinaryPage() {
+    // static
+  }
+
+  static final int MAGIC = 0xFE;
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 7;
+
+  static final int BLEAF = 1;
+  static final int BNODE = 2;
+  static final int QLEAF = 3;
+  static final int QNODE = 4;
+  static final int SLEAF = 5;
+  static final int SNODE = 6;
+  static final int ULEAF = 7;
+
+  static boolean isBinary(ByteBuffer buffer) {
+    return buffer.hasRemaining() && (buffer.get(buffer.position()) & 0xff) == MAGIC;
+  }
+
+  static void writeHeader(Output<?> output, int kind, int pageSize) {
+    final int bodySize = pageSize - HEADER_SIZE;
+    output.write(MAGIC);
+    output.write(VERSION);
+    output.write(kind);
+    output.write(bodySize >>> 24);
+    output.write((bodySize >>> 16) & 0xff);
+    output.write((bodySize >>> 8) & 0xff);
+    output.write(bodySize & 0xff);
+  }
+
+  static void readHeader(ByteBuffer buffer, int kind) {
+    final int magic = buffer.get() & 0xff;
+    if (magic != MAGIC) {
+      throw new StoreException("invalid binary page magic: " + magic);
+    }
+    final int version = buffer.get() & 0xff;
+    if (version != VERSION) {
+      throw new StoreException("unsupported binary page version: " + version);
+    }
+    final int pageKind = buffer.get() & 0xff;
+    if (pageKind != kind) {
+      throw new StoreException("expected binary page kind " + kind + ", but found " + pageKind);
+    }
+    final int bodySize = buffer.getInt();
+    if (bodySize < 0 || bodySize > buffer.remaining()) {
+      throw new StoreException("truncated binary page; body size: " + bodySize
+          + "; remaining: " + buffer.remaining());
+    }
+  }
+
+  static int sizeOfLeaf(int stem, long version, Slot[] slots) {
+    int size = HEADER_SIZE;
+    size += ReconBinary.sizeOfVarint(stem);
+    size += ReconBinary.sizeOfVarint(version);
+    size += ReconBinary.sizeOfVarint(slots.length);
+    for (int i = 0, n = slots.length; i < n; i += 1) {
+      size += sizeOfSlot(slots[i]);
+    }
+    return size;
+  }
+
+  static void writeLeaf(Output<?> output, int kind, int pageSize, int stem, long version, Slot[] slots) {
+    writeHeader(output, kind, pageSize);
+    ReconBinary.writeVarint(output, stem);
+    ReconBinary.writeVarint(output, version);
+    ReconBinary.writeVarint(output, slots.length);
+    for (int i = 0, n = slots.length; i < n; i += 1) {
+      writeSlot(output, slots[i]);
+    }
+  }
+
+  static Slot[] readLeafSlots(ByteBuffer buffer) {
+    final int n = ReconBinary.readVarint(buffer);
+    final Slot[] slots = new Slot[n];
+    for (int i = 0; i < n; i += 1) {
+      slots[i] = readSlot(buffer);
+    }
+    return slots;
+  }
+
+  static int sizeOfPageRef(PageRef pageRef) {
+    int size = 1; // page type
+    size += ReconBinary.sizeOfVarint(pageRef.post());
+    size += ReconBinary.sizeOfVarint(pageRef.zone());
+    size += ReconBinary.sizeOfVarint(pageRef.base());
+    size += ReconBinary.sizeOfVarint(pageRef.pageSize());
+    size += ReconBinary.sizeOfVarint(pageRef.treeSize());
+    size += ReconBinary.sizeOfVarint(pageRef.span());
+    size += ReconBinary.sizeOfValue(pageRef.fold());
+    return size;
+  }
+
+  static void writePageRef(Output<?> output, PageRef pageRef) {
+    output.write(pageRef.pageType() == PageType.NODE ? 0 : 1);
+    ReconBinary.writeVarint(output, pageRef.post());
+    ReconBinary.writeVarint(output, pageRef.zone());
+    ReconBinary.writeVarint(output, pageRef.base());
+    ReconBinary.writeVarint(output, pageRef.pageSize());
+    ReconBinary.writeVarint(output, pageRef.treeSize());
+    ReconBinary.writeVarint(output, pageRef.span());
+    ReconBinary.writeValue(output, pageRef.fold());
+  }
+
+  static BTreePageRef readBTreePageRef(ByteBuffer buffer, PageContext context, int stem) {
+    final PageType pageType = readPageType(buffer);
+    final int post = ReconBinary.readVarint(buffer);
+    final int zone = ReconBinary.readVarint(buffer);
+    final long base = ReconBinary.readVarlong(buffer);
+    final int size = ReconBinary.readVarint(buffer);
+    final long area = ReconBinary.readVarlong(buffer);
+    final long span = ReconBinary.readVarlong(buffer);
+    final Value fold = ReconBinary.readValue(buffer);
+    return new BTreePageRef(context, pageType, stem, post, zone, base, span,
+        fold, null, -1, size, 0, area);
+  }
+
+  static STreePageRef readSTreePageRef(ByteBuffer buffer, PageContext context, int stem) {
+    final PageType pageType = readPageType(buffer);
+    final int post = ReconBinary.readVarint(buffer);
+    final int zone = ReconBinary.readVarint(buffer);
+    final long base = ReconBinary.readVarlong(buffer);
+    final int size = ReconBinary.readVarint(buffer);
+    final long area = ReconBinary.readVarlong(buffer);
+    final long span = ReconBinary.readVarlong(buffer);
+    final Value fold = ReconBinary.readValue(buffer);
+    return new STreePageRef(context, pageType, stem, post, zone, base, span,
+        fold, null, -1, size, 0, area);
+  }
+
+  static int sizeOfPageRef(QTreePageRef pageRef) {
+    return sizeOfPageRef((PageRef) pageRef) + ReconBinary.sizeOfVarint(pageRef.x) + ReconBinary.sizeOfVarint(pageRef.y);
+  }
+
+  static void writePageRef(Output<?> output, QTreePageRef pageRef) {
+    writePageRef(output, (PageRef) pageRef);
+    ReconBinary.writeVarint(output, pageRef.x);
+    ReconBinary.writeVarint(output, pageRef.y);
+  }
+
+  static QTreePageRef readQTreePageRef(ByteBuffer buffer, PageContext context, int stem) {
+    final PageType pageType = readPageType(buffer);
+    final int post = ReconBinary.readVarint(buffer);
+    final int zone = ReconBinary.readVarint(buffer);
+    final long base = ReconBinary.readVarlong(buffer);
+    final int size = ReconBinary.readVarint(buffer);
+    final long area = ReconBinary.readVarlong(buffer);
+    final long span = ReconBinary.readVarlong(buffer);
+    final Value fold = ReconBinary.readValue(buffer);
+    final long x = ReconBinary.readVarlong(buffer);
+    final long y = ReconBinary.readVarlong(buffer);
+    return new QTreePageRef(context, pageType, stem, post, zone, base, span,
+        x, y, fold, null, -1, size, 0, area);
+  }
+
+  static PageType readPageType(ByteBuffer buffer) {
+    return buffer.get() == 0 ? PageType.NODE : PageType.LEAF;
+  }
+
+  static int sizeOfSlot(Slot slot) {
+    return ReconBinary.sizeOfValue(slot.key()) + ReconBinary.sizeOfValue(slot.value());
+  }
+
+  static void writeSlot(Output<?> output, Slot slot) {
+    ReconBinary.writeValue(output, slot.key());
+    ReconBinary.writeValue(output, slot.value());
+  }
+
+  static Slot readSlot(ByteBuffer buffer) {
+    final Value key = ReconBinary.readValue(buffer);
+    final Value value = ReconBinary.readValue(buffer);
+    return Slot.of(key, value);
+  }
+
+}
@@ -24,9 +24,7 @@ import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.codec.Binary;
-import swim.codec.Output;
 import swim.codec.OutputBuffer;
-import swim.codec.Utf8;
 import swim.collections.FingerTrieSeq;
 import swim.collections.HashTrieMap;
 import swim.concurrent.Cont;
@@ -37,6 +35,7 @@ import swim.math.Z2Form;
 import swim.structure.Item;
 import swim.structure.Num;
 import swim.structure.Record;
+import swim.structure.Slot;
 import swim.structure.Text;
 import swim.structure.Value;
 import swim.util.Builder;
@@ -57,6 +56,7 @@ public class Database {
   volatile HashTrieMap<Value, WeakReference<Trunk<Tree>>> trunks;
   volatile HashTrieMap<Value, Trunk<Tree>> sprouts;
   volatile int status;
+  Value evacuateName;
 
   Database(Store store, int stem, long version) {
     this.store = store;
@@ -357,6 +357,11 @@ public class Database {
         break;
       }
     } while (true);
+    if (settings().writeAheadLog) {
+      final long version = this.version;
+      final Record header = Record.create(2).slot("tree", name).slot("v", version);
+      this.store.logDelta(this, version, Record.create(1).attr("delete", header));
+    }
   }
 
   public void commitAsync(Commit commit) {
@@ -416,69 +421,75 @@ public class Database {
   }
 
   public void evacuate(int post) {
-    boolean quiescent;
-    do {
-      quiescent = true;
-
-      // Evacuate data trees
-      final Cursor<Map.Entry<Value, Value>> seedCursor = this.seedTrunk.tree.cursor();
-      while (seedCursor.hasNext()) {
-        final Value name = seedCursor.next().getKey();
-        do {
-          final long version = this.version;
-          final Trunk<Tree> trunk = openTrunk(name, null, false, false);
-          final Tree oldTree = trunk.tree;
-          final Tree newTree = oldTree.evacuated(post, version);
-          if (oldTree != newTree) {
-            final int newPost = newTree.post();
-            if (trunk.updateTree(oldTree, newTree, version)) {
-              if (newPost != 0 && newPost < post) {
-                quiescent = false;
-                break;
-              }
-            }
-          } else {
-            break;
-          }
-        } while (true);
-      }
+    evacuate(post, Long.MAX_VALUE);
+  }
 
-      // Evacuate seed tree
-      do {
-        final long version = this.version;
-        final BTree oldSeedTree = this.seedTrunk.tree;
-        final BTree newSeedTree = oldSeedTree.evacuated(post, version);
-        if (oldSeedTree != newSeedTree) {
-          final int newPost = newSeedTree.post();
-          if (Trunk.TREE.compareAndSet(this.seedTrunk, oldSeedTree, newSeedTree)) {
-            if (newPost != 0 && newPost < post) {
-              quiescent = false;
-              break;
-            }
-          }
-        } else {
+  public boolean evacuate(int post, long maxDiffSize) {
+    long diffSize = 0L;
+
+    // Evacuate data trees one leaf path at a time, checking the budget after
+    // each path, and resuming from the tree at which the last step stopped
+    final Value resumeName = this.evacuateName;
+    boolean wrapped = resumeName == null;
+    Slot seed = wrapped ? this.seedTrunk.tree.firstEntry() : this.seedTrunk.tree.firstEntry(resumeName);
+    do {
+      if (seed == null) {
+        if (wrapped) {
           break;
         }
-      } while (true);
-
-      // Evacuate meta tree
+        wrapped = true;
+        seed = this.seedTrunk.tree.firstEntry();
+        continue;
+      }
+      final Value name = seed.key();
+      if (wrapped && resumeName != null && name.compareTo(resumeName) >= 0) {
+        break;
+      }
       do {
         final long version = this.version;
-        final BTree oldMetaTree = this.metaTrunk.tree;
-        final BTree newMetaTree = oldMetaTree.evacuated(post, version);
-        if (oldMetaTree != newMetaTree) {
-          final int newPost = newMetaTree.post();
-          if (Trunk.TREE.compareAndSet(this.metaTrunk, oldMetaTree, newMetaTree)) {
-            if (newPost != 0 && newPost < post) {
-              quiescent = false;
-              break;
+        final Trunk<Tree> trunk = openTrunk(name, null, false, false);
+        final Tree oldTree = trunk.tree;
+        final Tree newTree = oldTree.evacuated(post, version);
+        if (oldTree != newTree) {
+          if (trunk.updateTree(oldTree, newTree, version)) {
+            diffSize += newTree.diffSize(version) - oldTree.diffSize(version);
+            if (diffSize >= maxDiffSize) {
+              this.evacuateName = name;
+              return false;
             }
           }
         } else {
           break;
         }
       } while (true);
-    } while (!quiescent);
+      seed = this.seedTrunk.tree.nextEntry(name);
+    } while (true);
+    this.evacuateName = null;
+
+    // Evacuate seed tree
+    do {
+      final long version = this.version;
+      final BTree oldSeedTree = this.seedTrunk.tree;
+      final BTree newSeedTree = oldSeedTree.evacuated(post, version);
+      if (oldSeedTree != newSeedTree) {
+        Trunk.TREE.compareAndSet(this.seedTrunk, oldSeedTree, newSeedTree);
+      } else {
+        break;
+      }
+    } while (true);
+
+    // Evacuate meta tree
+    do {
+      final long version = this.version;
+      final BTree oldMetaTree = this.metaTrunk.tree;
+      final BTree newMetaTree = oldMetaTree.evacuated(post, version);
+      if (oldMetaTree != newMetaTree) {
+        Trunk.TREE.compareAndSet(this.metaTrunk, oldMetaTree, newMetaTree);
+      } else {
+        break;
+      }
+    } while (true);
+    return true;
   }
 
   public void shiftZone() {
@@ -557,23 +568,22 @@ public class Database {
     final FingerTrieSeq<Tree> commits = commitBuilder.bind();
     final int size = (int) (step - base);
     final OutputBuffer<ByteBuffer> output = Binary.outputBuffer(new byte[size]);
-    final Output<ByteBuffer> encoder = Utf8.encodedOutput(output);
     step = base;
 
     // Write data pages
     for (Tree tree : commits) {
-      tree.writeDiff(encoder, version);
+      tree.writeDiff(output, version);
       step += tree.diffSize(version);
       assertStep(output, base, step);
     }
 
     // Write seed pages
-    seedTree.writeDiff(encoder, version);
+    seedTree.writeDiff(output, version);
     step += seedTree.diffSize(version);
     assertStep(output, base, step);
 
     // Write meta pages
-    metaTree.writeDiff(encoder, version);
+    metaTree.writeDiff(output, version);
     step += metaTree.diffSize(version);
     assertStep(output, base, step);
 
@@ -679,6 +689,10 @@ public class Database {
     }
   }
 
+  void databaseDidEvacuate(Compact compact, double progress) {
+    this.store.databaseDidEvacuate(this, compact, progress);
+  }
+
   void databaseCompactDidFail(Throwable error) {
     this.store.databaseCompactDidFail(this, error);
   }
@@ -30,12 +30,14 @@ final class FilePageLoader extends PageLoader {
   final FileStore store;
   final TreeDelegate treeDelegate;
   final boolean isResident;
+  final boolean isMapped;
   volatile HashTrieMap<Integer, FileChannel> channels;
 
-  FilePageLoader(FileStore store, TreeDelegate treeDelegate, boolean isResident) {
+  FilePageLoader(FileStore store, TreeDelegate treeDelegate, boolean isResident, boolean isMapped) {
     this.store = store;
     this.treeDelegate = treeDelegate;
     this.isResident = isResident;
+    this.isMapped = isMapped;
     this.channels = HashTrieMap.empty();
   }
 
@@ -60,6 +62,13 @@ final class FilePageLoader extends PageLoader {
 
   void loadPageAsync(FileZone zone, PageRef pageRef, Cont<Page> cont) {
     try {
+      if (this.isMapped && zone.isSealed()) {
+        final FileZoneMapping mapping = zone.openMapping();
+        if (mapping != null) {
+          zone.loadPageAsync(mapping, pageRef, this.treeDelegate, this.isResident, cont);
+          return;
+        }
+      }
       final Integer zoneId = zone.id;
       FileChannel channel = null;
       do {
@@ -20,6 +20,7 @@ import java.util.Iterator;
 import java.util.TreeMap;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -28,7 +29,7 @@ import swim.concurrent.Cont;
 import swim.concurrent.Conts;
 import swim.concurrent.Stage;
 import swim.concurrent.Sync;
-import swim.util.HashGenCacheSet;
+import swim.structure.Value;
 
 public class FileStore extends Store {
 
@@ -43,19 +44,26 @@ public class FileStore extends Store {
       AtomicReferenceFieldUpdater.newUpdater(FileStore.class, FileZone.class, "zone");
   static final AtomicIntegerFieldUpdater<FileStore> STATUS =
       AtomicIntegerFieldUpdater.newUpdater(FileStore.class, "status");
+  static final AtomicLongFieldUpdater<FileStore> WRITTEN_SIZE =
+      AtomicLongFieldUpdater.newUpdater(FileStore.class, "writtenSize");
+  static final AtomicLongFieldUpdater<FileStore> REWRITTEN_SIZE =
+      AtomicLongFieldUpdater.newUpdater(FileStore.class, "rewrittenSize");
   final StoreContext context;
   final File directory;
   final String baseName;
   final String zoneFileExt;
   final Stage stage;
-  final HashGenCacheSet<Page> pageCache;
+  final PageCache pageCache;
   final FileStoreCommitter committer;
   final FileStoreCompactor compactor;
+  final FileStoreLog log;
   final Pattern zonePattern;
   final FilenameFilter zoneFilter;
   volatile HashTrieMap<Integer, FileZone> zones;
   volatile FileZone zone;
   volatile int status;
+  volatile long writtenSize;
+  volatile long rewrittenSize;
 
   public FileStore(StoreContext context, File directory, String baseName, Stage stage) {
     this.context = context;
@@ -69,13 +77,19 @@ public class FileStore extends Store {
       this.zoneFileExt = "swimdb";
     }
     this.stage = stage;
-    this.pageCache = new HashGenCacheSet<Page>(context.settings.pageCacheSize);
+    this.pageCache = new PageCache(context.settings.pageCacheWeight, context.settings.pageCacheSize);
     this.committer = new FileStoreCommitter(this);
     stage.task(this.committer);
     this.compactor = new FileStoreCompactor(this);
     stage.task(this.compactor);
     this.zonePattern = Pattern.compile(Pattern.quote(this.baseName) + "-([0-9]+)\\." + Pattern.quote(this.zoneFileExt));
     this.zoneFilter = new FileStoreZoneFilter(zonePattern);
+    if (context.settings.writeAheadLog) {
+      this.log = new FileStoreLog(this);
+      stage.task(this.log);
+    } else {
+      this.log = null;
+    }
     this.zones = HashTrieMap.empty();
     this.status = 0;
   }
@@ -132,7 +146,7 @@ public class FileStore extends Store {
     return this.stage;
   }
 
-  public final HashGenCacheSet<Page> pageCache() {
+  public final PageCache pageCache() {
     return this.pageCache;
   }
 
@@ -146,6 +160,28 @@ public class FileStore extends Store {
     return size;
   }
 
+  public final long writtenSize() {
+    return this.writtenSize;
+  }
+
+  public final long rewrittenSize() {
+    return this.rewrittenSize;
+  }
+
+  public final double writeAmplification() {
+    final long writtenSize = this.writtenSize;
+    final long commitSize = writtenSize - this.rewrittenSize;
+    if (commitSize > 0L) {
+      return (double) writtenSize / (double) commitSize;
+    } else {
+      return 1.0;
+    }
+  }
+
+  public final double compactProgress() {
+    return this.compactor.progress;
+  }
+
   @Override
   public final boolean isCommitting() {
     return (this.status & COMMITTING) != 0;
@@ -227,6 +263,7 @@ public class FileStore extends Store {
       if (database != null) {
         database.closeAsync(new FileStoreClose(this, cont));
       } else {
+        closeLog();
         closeZones();
         cont.bind(this);
       }
@@ -256,6 +293,10 @@ public class FileStore extends Store {
         deleted = file.delete() && deleted;
       }
     }
+    final FileStoreLog log = this.log;
+    if (log != null) {
+      deleted = log.delete() && deleted;
+    }
     return deleted;
   }
 
@@ -331,6 +372,13 @@ public class FileStore extends Store {
     } while (true);
   }
 
+  void closeLog() {
+    final FileStoreLog log = this.log;
+    if (log != null) {
+      log.close();
+    }
+  }
+
   void closeZones() {
     do {
       final HashTrieMap<Integer, FileZone> oldZones = this.zones;
@@ -364,7 +412,7 @@ public class FileStore extends Store {
 
   @Override
   public PageLoader openPageLoader(TreeDelegate treeDelegate, boolean isResident) {
-    return new FilePageLoader(this, treeDelegate, isResident);
+    return new FilePageLoader(this, treeDelegate, isResident, settings().mapZones);
   }
 
   @Override
@@ -466,19 +514,21 @@ public class FileStore extends Store {
     super.hitPage(database, page);
   }
 
-}
-
-final class FileStoreZoneFilter implements FilenameFilter {
-
-  final Pattern zonePattern;
-
-  FileStoreZoneFilter(Pattern zonePattern) {
-    this.zonePattern = zonePattern;
+  @Override
+  void databaseDidOpen(Database database) {
+    final FileStoreLog log = this.log;
+    if (log != null) {
+      log.replay(database);
+    }
+    super.databaseDidOpen(database);
   }
 
   @Override
-  public boolean accept(File directory, String name) {
-    return this.zonePattern.matcher(name).matches();
+  void logDelta(Database database, long version, Value delta) {
+    final FileStoreLog log = this.log;
+    if (log != null) {
+      log.append(version, delta);
+    }
   }
 
 }
@@ -620,6 +670,7 @@ final class FileStoreClose implements Cont<Database> {
   @Override
   public void bind(Database database) {
     try {
+      this.store.closeLog();
       this.store.closeZones();
       this.andThen.bind(this.store);
     } catch (Throwable cause) {
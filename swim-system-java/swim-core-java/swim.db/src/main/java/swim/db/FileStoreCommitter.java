@@ -77,6 +77,13 @@ final class FileStoreCommitter extends AbstractTask {
       }
       final FileZone zone = store.zone;
       final Chunk chunk = zone.commitAndWriteChunk(commit);
+      if (chunk != null) {
+        FileStore.WRITTEN_SIZE.addAndGet(store, chunk.size());
+      }
+      final FileStoreLog log = store.log;
+      if (log != null && chunk != null && commit.isForced()) {
+        log.checkpoint(chunk.germ().version());
+      }
       database.databaseDidCommit(chunk);
       if (chunk != null) {
         chunk.soften();
@@ -26,9 +26,11 @@ final class FileStoreCompactor extends AbstractTask {
       AtomicReferenceFieldUpdater.newUpdater(FileStoreCompactor.class, Compact.class, "compact");
   final FileStore store;
   volatile Compact compact;
+  volatile double progress;
 
   FileStoreCompactor(FileStore store) {
     this.store = store;
+    this.progress = 1.0;
   }
 
   void compactAsync(Compact compact) {
@@ -91,8 +93,7 @@ final class FileStoreCompactor extends AbstractTask {
         if (!zoneFiles.isEmpty() && zoneFiles.firstKey() < post) {
           Database.POST.set(database, post); // Set evacuation goal post.
 
-          database.evacuate(post);
-          database.commit(compact.commit());
+          evacuate(database, compact, post);
 
           final int deleteDelay = compact.deleteDelay;
           if (deleteDelay > 0) {
@@ -146,4 +147,33 @@ final class FileStoreCompactor extends AbstractTask {
     }
   }
 
+  void evacuate(Database database, Compact compact, int post) throws InterruptedException {
+    final FileStore store = this.store;
+    final long stepSize = store.settings().compactStepSize;
+    final long compactRate = store.settings().compactRate;
+    // Estimate live bytes outside the current zone to gauge progress.
+    final long evacuateSize = Math.max(database.treeSize() - store.zone.size(), 1L);
+    long evacuatedSize = 0L;
+    this.progress = 0.0;
+    boolean quiescent;
+    do {
+      final long stepTime = System.currentTimeMillis();
+      quiescent = database.evacuate(post, stepSize);
+      final Chunk chunk = database.commit(compact.commit());
+      if (chunk != null) {
+        final long chunkSize = chunk.size();
+        FileStore.REWRITTEN_SIZE.addAndGet(store, chunkSize);
+        evacuatedSize += chunkSize;
+        if (compactRate > 0L) {
+          final long stepDelay = chunkSize * 1000L / compactRate - (System.currentTimeMillis() - stepTime);
+          if (stepDelay > 0L) {
+            Thread.sleep(stepDelay);
+          }
+        }
+      }
+      this.progress = quiescent ? 1.0 : Math.min((double) evacuatedSize / (double) evacuateSize, 0.99);
+      database.databaseDidEvacuate(compact, this.progress);
+    } while (!quiescent);
+  }
+
 }
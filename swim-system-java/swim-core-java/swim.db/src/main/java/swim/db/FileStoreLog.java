@@ -0,0 +1,472 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import swim.codec.Output;
+import swim.codec.Utf8;
+import swim.collections.FingerTrieSeq;
+import swim.concurrent.AbstractTask;
+import swim.concurrent.Conts;
+import swim.recon.Recon;
+import swim.structure.Data;
+import swim.structure.Item;
+import swim.structure.Value;
+
+/**
+ * Append-only write-ahead log of tree deltas for a {@link FileStore}.
+ *
+ * Deltas are queued by writers and flushed by a single task, so that all
+ * deltas appended while a flush is in progress share the next fsync.  The
+ * log is split into segment files, which are deleted once a forced chunk
+ * commit has made every delta they contain durable in the zone files.
+ */
+final class FileStoreLog extends AbstractTask {
+
+  final FileStore store;
+  final Pattern logPattern;
+  final FilenameFilter logFilter;
+  final TreeMap<Integer, Long> segments;
+  FingerTrieSeq<Value> queue;
+  long queueVersion;
+  long appendCount;
+  volatile long syncCount;
+  volatile long checkpointVersion;
+  volatile Throwable error;
+  long truncateVersion;
+  FileChannel channel;
+  int segment;
+  long segmentVersion;
+
+  FileStoreLog(FileStore store) {
+    this.store = store;
+    this.logPattern = Pattern.compile(Pattern.quote(store.baseName) + "-([0-9]+)\\.wal");
+    this.logFilter = new FileStoreZoneFilter(this.logPattern);
+    this.segments = new TreeMap<Integer, Long>();
+    this.queue = FingerTrieSeq.empty();
+  }
+
+  File logFile(int segment) {
+    return new File(this.store.directory, this.store.baseName + '-' + segment + ".wal");
+  }
+
+  TreeMap<Integer, File> logFiles() {
+    final File[] files = this.store.directory.listFiles(this.logFilter);
+    if (files == null) {
+      throw new StoreException("failed to access directory " + this.store.directory.getPath());
+    }
+    final TreeMap<Integer, File> logFiles = new TreeMap<Integer, File>();
+    for (int i = 0, n = files.length; i < n; i += 1) {
+      final File file = files[i];
+      final Matcher matcher = this.logPattern.matcher(file.getName());
+      if (matcher.matches()) {
+        logFiles.put(Integer.parseInt(matcher.group(1)), file);
+      }
+    }
+    return logFiles;
+  }
+
+  void append(long version, Value delta) {
+    final long sequence;
+    synchronized (this) {
+      this.queue = this.queue.appended(delta);
+      this.queueVersion = Math.max(this.queueVersion, version);
+      this.appendCount += 1L;
+      sequence = this.appendCount;
+    }
+    cue();
+    if (this.store.settings().syncLog) {
+      await(sequence);
+    }
+  }
+
+  void flush() {
+    final long sequence;
+    synchronized (this) {
+      sequence = this.appendCount;
+    }
+    if (sequence > this.syncCount) {
+      cue();
+      await(sequence);
+    }
+  }
+
+  void await(long sequence) {
+    if (this.syncCount < sequence) {
+      try {
+        ForkJoinPool.managedBlock(new FileStoreLogAwait(this, sequence));
+      } catch (InterruptedException cause) {
+        throw new StoreException(cause);
+      }
+    }
+    final Throwable error = this.error;
+    if (error != null) {
+      throw new StoreException("failed to write log", error);
+    }
+  }
+
+  void checkpoint(long version) {
+    synchronized (this) {
+      if (version <= this.checkpointVersion) {
+        return;
+      }
+      this.checkpointVersion = version;
+    }
+    cue();
+  }
+
+  @Override
+  public boolean taskWillBlock() {
+    return true;
+  }
+
+  @Override
+  public void runTask() {
+    final FingerTrieSeq<Value> batch;
+    final long batchCount;
+    final long batchVersion;
+    synchronized (this) {
+      batch = this.queue;
+      batchCount = this.appendCount;
+      batchVersion = this.queueVersion;
+      this.queue = FingerTrieSeq.empty();
+    }
+    try {
+      synchronized (this.segments) {
+        truncate(this.checkpointVersion);
+        if (!batch.isEmpty()) {
+          writeBatch(batch, batchVersion);
+        }
+      }
+    } catch (IOException cause) {
+      this.error = cause;
+    } catch (Throwable cause) {
+      if (Conts.isNonFatal(cause)) {
+        this.error = cause;
+      } else {
+        throw cause;
+      }
+    } finally {
+      synchronized (this) {
+        if (batchCount > this.syncCount) {
+          this.syncCount = batchCount;
+        }
+        notifyAll();
+      }
+    }
+  }
+
+  void writeBatch(FingerTrieSeq<Value> batch, long batchVersion) throws IOException {
+    final Output<Data> output = Utf8.encodedOutput(Data.output());
+    for (Value delta : batch) {
+      Recon.write(delta, output);
+      output.write('\n');
+    }
+    final ByteBuffer buffer = output.bind().asByteBuffer();
+    FileChannel channel = this.channel;
+    if (channel == null) {
+      do {
+        this.segment += 1;
+      } while (logFile(this.segment).exists());
+      this.segmentVersion = 0L;
+      channel = new RandomAccessFile(logFile(this.segment), "rw").getChannel();
+      this.channel = channel;
+    }
+    final boolean isNewSegment = channel.size() == 0L;
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    // Appends only need their contents and the file size to be durable,
+    // both of which a data-only sync persists.
+    channel.force(false);
+    if (isNewSegment) {
+      syncDirectory();
+    }
+    this.segmentVersion = Math.max(this.segmentVersion, batchVersion);
+  }
+
+  /**
+   * Makes the directory entries of newly created segments durable, on
+   * platforms that support syncing a directory.
+   */
+  void syncDirectory() {
+    try (FileChannel directory = FileChannel.open(this.store.directory.toPath(), StandardOpenOption.READ)) {
+      directory.force(true);
+    } catch (IOException swallow) {
+      // Directories can't be opened as channels on some platforms.
+    }
+  }
+
+  void truncate(long checkpointVersion) throws IOException {
+    if (checkpointVersion <= this.truncateVersion) {
+      return;
+    }
+    this.truncateVersion = checkpointVersion;
+    final FileChannel channel = this.channel;
+    if (channel != null) {
+      // Roll the current segment so that it can be deleted once checkpointed.
+      this.channel = null;
+      channel.close();
+      this.segments.put(this.segment, this.segmentVersion);
+    }
+    final Iterator<Map.Entry<Integer, Long>> segmentIterator = this.segments.entrySet().iterator();
+    while (segmentIterator.hasNext()) {
+      final Map.Entry<Integer, Long> segment = segmentIterator.next();
+      if (segment.getValue() <= checkpointVersion) {
+        logFile(segment.getKey()).delete();
+        segmentIterator.remove();
+      }
+    }
+  }
+
+  void close() {
+    flush();
+    synchronized (this.segments) {
+      final FileChannel channel = this.channel;
+      if (channel != null) {
+        this.channel = null;
+        this.segments.put(this.segment, this.segmentVersion);
+        try {
+          channel.close();
+        } catch (IOException swallow) {
+          // nop
+        }
+      }
+    }
+  }
+
+  boolean delete() {
+    boolean deleted = true;
+    synchronized (this.segments) {
+      final Iterator<File> fileIterator = logFiles().values().iterator();
+      while (fileIterator.hasNext()) {
+        deleted = fileIterator.next().delete() && deleted;
+      }
+      this.segments.clear();
+    }
+    return deleted;
+  }
+
+  void replay(Database database) {
+    synchronized (this.segments) {
+      final long germVersion = database.germ().version();
+      long maxVersion = germVersion;
+      FingerTrieSeq<Value> deltas = FingerTrieSeq.empty();
+      final Iterator<Map.Entry<Integer, File>> logFileIterator = logFiles().entrySet().iterator();
+      while (logFileIterator.hasNext()) {
+        final Map.Entry<Integer, File> logFile = logFileIterator.next();
+        final int segment = logFile.getKey();
+        long segmentVersion = 0L;
+        for (Value delta : readSegment(logFile.getValue())) {
+          final long version = delta.head().toValue().get("v").longValue(0L);
+          segmentVersion = Math.max(segmentVersion, version);
+          if (version > germVersion) {
+            deltas = deltas.appended(delta);
+          }
+        }
+        this.segments.put(segment, segmentVersion);
+        this.segment = Math.max(this.segment, segment);
+        maxVersion = Math.max(maxVersion, segmentVersion);
+      }
+      // Version new writes past all logged deltas so that a later chunk commit
+      // retires every replayed segment.
+      do {
+        final long oldVersion = database.version;
+        if (oldVersion > maxVersion || Database.VERSION.compareAndSet(database, oldVersion, maxVersion + 1L)) {
+          break;
+        }
+      } while (true);
+      for (Value delta : deltas) {
+        replayDelta(database, delta);
+      }
+    }
+  }
+
+  static FingerTrieSeq<Value> readSegment(File file) {
+    FingerTrieSeq<Value> deltas = FingerTrieSeq.empty();
+    final byte[] bytes;
+    try {
+      bytes = Files.readAllBytes(file.toPath());
+    } catch (IOException cause) {
+      throw new StoreException(cause);
+    }
+    int lineStart = 0;
+    for (int i = 0; i < bytes.length; i += 1) {
+      if (bytes[i] == '\n') {
+        final String line = new String(bytes, lineStart, i - lineStart, StandardCharsets.UTF_8);
+        lineStart = i + 1;
+        try {
+          deltas = deltas.appended(Recon.parse(line));
+        } catch (Throwable cause) {
+          if (Conts.isNonFatal(cause)) {
+            break; // torn write
+          } else {
+            throw cause;
+          }
+        }
+      }
+    }
+    return deltas;
+  }
+
+  @SuppressWarnings("unchecked")
+  static void replayDelta(Database database, Value delta) {
+    final Item head = delta.head();
+    final String op = head.key().stringValue();
+    final Value header = head.toValue();
+    final Value name = header.get("tree");
+    if ("delete".equals(op)) {
+      database.removeTree(name);
+      return;
+    }
+    final TreeType treeType = TreeType.fromTag(header.get("type").stringValue(null));
+    if (treeType == null) {
+      throw new StoreException("malformed log entry: " + Recon.toString(delta));
+    }
+    final Trunk<Tree> trunk = database.openTrunk(name, treeType, false, false);
+    do {
+      final long newVersion = database.version;
+      final int newPost = database.post;
+      final Tree oldTree = trunk.tree;
+      final Tree newTree;
+      switch (treeType) {
+        case BTREE:
+          newTree = replayBTree((BTree) oldTree, op, delta, newVersion, newPost);
+          break;
+        case QTREE:
+          newTree = replayQTree((QTree) oldTree, op, delta, newVersion, newPost);
+          break;
+        case STREE:
+          newTree = replaySTree((STree) oldTree, op, delta, newVersion, newPost);
+          break;
+        case UTREE:
+          newTree = replayUTree((UTree) oldTree, op, delta, newVersion, newPost);
+          break;
+        default:
+          throw new AssertionError();
+      }
+      if (oldTree == newTree || trunk.updateTree(oldTree, newTree, newVersion)) {
+        break;
+      }
+    } while (true);
+  }
+
+  static BTree replayBTree(BTree tree, String op, Value delta, long newVersion, int newPost) {
+    switch (op) {
+      case "update":
+        return tree.updated(delta.get("key"), delta.get("value"), newVersion, newPost);
+      case "remove":
+        return tree.removed(delta.get("key"), newVersion, newPost);
+      case "drop":
+        return tree.drop(delta.get("lower").longValue(), newVersion, newPost);
+      case "take":
+        return tree.take(delta.get("upper").longValue(), newVersion, newPost);
+      case "clear":
+        return tree.cleared(newVersion);
+      default:
+        throw new StoreException("unknown btree log entry: " + op);
+    }
+  }
+
+  static QTree replayQTree(QTree tree, String op, Value delta, long newVersion, int newPost) {
+    switch (op) {
+      case "update":
+        return tree.updated(delta.get("key"), delta.get("x").longValue(), delta.get("y").longValue(),
+                            delta.get("value"), newVersion, newPost);
+      case "move":
+        return tree.moved(delta.get("key"), delta.get("oldX").longValue(), delta.get("oldY").longValue(),
+                          delta.get("x").longValue(), delta.get("y").longValue(),
+                          delta.get("value"), newVersion, newPost);
+      case "remove":
+        return tree.removed(delta.get("key"), delta.get("x").longValue(), delta.get("y").longValue(),
+                            newVersion, newPost);
+      case "clear":
+        return tree.cleared(newVersion);
+      default:
+        throw new StoreException("unknown qtree log entry: " + op);
+    }
+  }
+
+  static STree replaySTree(STree tree, String op, Value delta, long newVersion, int newPost) {
+    switch (op) {
+      case "update":
+        return tree.updated(delta.get("index").longValue(), delta.get("value"), newVersion, newPost);
+      case "insert":
+        return tree.inserted(delta.get("index").longValue(), delta.get("id"), delta.get("value"),
+                             newVersion, newPost);
+      case "remove":
+        return tree.removed(delta.get("index").longValue(), newVersion, newPost);
+      case "drop":
+        return tree.drop(delta.get("lower").longValue(), newVersion, newPost);
+      case "take":
+        return tree.take(delta.get("upper").longValue(), newVersion, newPost);
+      case "clear":
+        return tree.cleared(newVersion);
+      default:
+        throw new StoreException("unknown stree log entry: " + op);
+    }
+  }
+
+  static UTree replayUTree(UTree tree, String op, Value delta, long newVersion, int newPost) {
+    switch (op) {
+      case "update":
+        return tree.updated(delta.get("value"), newVersion, newPost);
+      default:
+        throw new StoreException("unknown utree log entry: " + op);
+    }
+  }
+
+}
+
+final class FileStoreLogAwait implements ForkJoinPool.ManagedBlocker {
+
+  final FileStoreLog log;
+  final long sequence;
+
+  FileStoreLogAwait(FileStoreLog log, long sequence) {
+    this.log = log;
+    this.sequence = sequence;
+  }
+
+  @Override
+  public boolean isReleasable() {
+    return this.log.syncCount >= this.sequence;
+  }
+
+  @Override
+  public boolean block() throws InterruptedException {
+    synchronized (this.log) {
+      if (this.log.syncCount < this.sequence) {
+        this.log.wait();
+      }
+    }
+    return this.log.syncCount >= this.sequence;
+  }
+
+}
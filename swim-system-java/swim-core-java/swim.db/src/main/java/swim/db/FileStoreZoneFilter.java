@@ -0,0 +1,34 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.util.regex.Pattern;
+
+final class FileStoreZoneFilter implements FilenameFilter {
+
+  final Pattern zonePattern;
+
+  FileStoreZoneFilter(Pattern zonePattern) {
+    this.zonePattern = zonePattern;
+  }
+
+  @Override
+  public boolean accept(File directory, String name) {
+    return this.zonePattern.matcher(name).matches();
+  }
+
+}
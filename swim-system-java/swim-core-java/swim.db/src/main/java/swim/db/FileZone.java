@@ -41,11 +41,14 @@ public class FileZone extends Zone {
   static final int OPENING = 1 << 0;
   static final int OPENED = 1 << 1;
   static final int FAILED = 1 << 2;
+  static final int CLOSED = 1 << 3;
   static final boolean WINDOWS = System.getProperty("os.name").toLowerCase().indexOf("win") >= 0;
   static final AtomicReferenceFieldUpdater<FileZone, Database> DATABASE =
       AtomicReferenceFieldUpdater.newUpdater(FileZone.class, Database.class, "database");
   static final AtomicIntegerFieldUpdater<FileZone> STATUS =
       AtomicIntegerFieldUpdater.newUpdater(FileZone.class, "status");
+  static final AtomicReferenceFieldUpdater<FileZone, FileZoneMapping> MAPPING =
+      AtomicReferenceFieldUpdater.newUpdater(FileZone.class, FileZoneMapping.class, "mapping");
   final Store store;
   final int id;
   final File file;
@@ -54,6 +57,7 @@ public class FileZone extends Zone {
   volatile Germ germ;
   volatile long size;
   volatile int status;
+  volatile FileZoneMapping mapping;
 
   public FileZone(Store store, int id, File file, Stage stage, Database database, Germ germ) {
     if (database == null || germ == null) {
@@ -171,7 +175,17 @@ public class FileZone extends Zone {
 
   @Override
   public void close() {
-    // nop
+    do {
+      final int oldStatus = this.status;
+      final int newStatus = oldStatus | CLOSED;
+      if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
+        break;
+      }
+    } while (true);
+    final FileZoneMapping mapping = MAPPING.getAndSet(this, null);
+    if (mapping != null) {
+      mapping.release();
+    }
   }
 
   @Override
@@ -195,6 +209,61 @@ public class FileZone extends Zone {
     return new RandomAccessFile(file, "rw").getChannel();
   }
 
+  public boolean isSealed() {
+    final Zone zone = this.store.zone();
+    return zone != null && this.id < zone.id();
+  }
+
+  FileZoneMapping openMapping() throws IOException {
+    FileZoneMapping newMapping = null;
+    do {
+      final FileZoneMapping oldMapping = this.mapping;
+      if ((this.status & CLOSED) != 0) {
+        if (newMapping != null) {
+          newMapping.release();
+        }
+        return null;
+      } else if (oldMapping != null) {
+        if (newMapping != null) {
+          // Lost map race
+          newMapping.release();
+        }
+        return oldMapping.acquire() ? oldMapping : null;
+      } else if (newMapping == null) {
+        try (FileChannel channel = openReadChannel()) {
+          final long size = channel.size();
+          if (size > (long) Integer.MAX_VALUE) {
+            return null;
+          }
+          newMapping = new FileZoneMapping(this, channel.map(FileChannel.MapMode.READ_ONLY, 0L, size));
+        }
+      }
+      if (MAPPING.compareAndSet(this, null, newMapping)) {
+        if ((this.status & CLOSED) != 0 && MAPPING.compareAndSet(this, newMapping, null)) {
+          // Lost close race
+          newMapping.release();
+          return null;
+        }
+        return newMapping.acquire() ? newMapping : null;
+      }
+    } while (true);
+  }
+
+  void loadPageAsync(FileZoneMapping mapping, PageRef pageRef, TreeDelegate treeDelegate,
+                     boolean isResident, Cont<Page> cont) {
+    try {
+      this.stage.execute(new FileZonePageReader(this, mapping, pageRef.base(), pageRef.pageSize(),
+          pageRef, treeDelegate, isResident, cont));
+    } catch (Throwable cause) {
+      mapping.release();
+      if (Conts.isNonFatal(cause)) {
+        cont.trap(cause);
+      } else {
+        throw cause;
+      }
+    }
+  }
+
   void loadPageAsync(FileChannel channel, PageRef pageRef, TreeDelegate treeDelegate,
                      boolean isResident, Cont<Page> cont) {
     try {
@@ -231,7 +300,10 @@ public class FileZone extends Zone {
           ((Buffer) buffer).flip();
           write(channel, buffer, Germ.BLOCK_SIZE);
           if (commit.isForced()) {
-            channel.force(true);
+            // Recovery only reads back chunk and germ contents, and the file
+            // size needed to reach them, all of which a data-only sync
+            // persists; timestamps and other metadata don't need forcing.
+            channel.force(false);
           }
 
           this.size = Math.max(this.size + chunk.size(), channel.size());
@@ -276,19 +348,26 @@ abstract class FileZoneReader implements Runnable {
 
   protected final FileZone zone;
   protected final FileChannel channel;
+  protected final FileZoneMapping mapping;
   protected final long offset;
   protected final int size;
 
-  protected FileZoneReader(FileZone zone, FileChannel channel, long offset, int size) {
+  protected FileZoneReader(FileZone zone, FileChannel channel, FileZoneMapping mapping,
+                           long offset, int size) {
     if (size < 0L) {
       throw new IllegalArgumentException("negative read size: " + size);
     }
     this.zone = zone;
     this.channel = channel;
+    this.mapping = mapping;
     this.offset = offset;
     this.size = size;
   }
 
+  protected FileZoneReader(FileZone zone, FileChannel channel, long offset, int size) {
+    this(zone, channel, null, offset, size);
+  }
+
   protected abstract void bind(ByteBuffer buffer);
 
   protected abstract void trap(Throwable error);
@@ -320,15 +399,38 @@ abstract class FileZoneReader implements Runnable {
     }
   }
 
+  protected void doRead(FileZoneMapping mapping) {
+    try {
+      bind(mapping.slice(this.offset, this.size));
+    } catch (Throwable cause) {
+      if (Conts.isNonFatal(cause)) {
+        trap(cause);
+      } else {
+        throw cause;
+      }
+    } finally {
+      mapping.release();
+    }
+  }
+
   @Override
   public void run() {
-    doRead(this.channel);
+    if (this.mapping != null) {
+      doRead(this.mapping);
+    } else {
+      doRead(this.channel);
+    }
   }
 
 }
 
 abstract class FileZoneReconReader extends FileZoneReader {
 
+  protected FileZoneReconReader(FileZone zone, FileChannel channel, FileZoneMapping mapping,
+                                long offset, int size) {
+    super(zone, channel, mapping, offset, size);
+  }
+
   protected FileZoneReconReader(FileZone zone, FileChannel channel, long offset, int size) {
     super(zone, channel, offset, size);
   }
@@ -374,14 +476,38 @@ final class FileZonePageReader extends FileZoneReconReader {
     this.cont = cont;
   }
 
+  FileZonePageReader(FileZone zone, FileZoneMapping mapping, long offset, int size,
+                     PageRef pageRef, TreeDelegate treeDelegate,
+                     boolean isResident, Cont<Page> cont) {
+    super(zone, null, mapping, offset, size);
+    this.pageRef = pageRef;
+    this.treeDelegate = treeDelegate;
+    this.isResident = isResident;
+    this.cont = cont;
+  }
+
+  @Override
+  protected void bind(ByteBuffer buffer) {
+    if (BinaryPage.isBinary(buffer)) {
+      try {
+        didLoadPage(this.pageRef.setPageBuffer(buffer, this.isResident));
+      } catch (Throwable cause) {
+        if (Conts.isNonFatal(cause)) {
+          trap(new StoreException("failed read from " + this.zone.file.getPath()
+              + ':' + this.offset + '-' + this.size, cause));
+        } else {
+          throw cause;
+        }
+      }
+    } else {
+      super.bind(buffer);
+    }
+  }
+
   @Override
   protected void bind(Value value) {
     try {
-      final Page page = this.pageRef.setPageValue(value, this.isResident);
-      if (treeDelegate != null) {
-        treeDelegate.treeDidLoadPage(page);
-      }
-      this.cont.bind(page);
+      didLoadPage(this.pageRef.setPageValue(value, this.isResident));
     } catch (Throwable cause) {
       if (Conts.isNonFatal(cause)) {
         trap(cause);
@@ -391,6 +517,13 @@ final class FileZonePageReader extends FileZoneReconReader {
     }
   }
 
+  void didLoadPage(Page page) {
+    if (treeDelegate != null) {
+      treeDelegate.treeDidLoadPage(page);
+    }
+    this.cont.bind(page);
+  }
+
   @Override
   protected void trap(Throwable error) {
     this.cont.trap(error);
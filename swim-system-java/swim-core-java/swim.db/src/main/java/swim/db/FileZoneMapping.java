@@ -0,0 +1,104 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+final class FileZoneMapping {
+
+  static final AtomicIntegerFieldUpdater<FileZoneMapping> REFERENCES =
+      AtomicIntegerFieldUpdater.newUpdater(FileZoneMapping.class, "references");
+  static final Object UNSAFE;
+  static final Method INVOKE_CLEANER;
+
+  static {
+    Object unsafe = null;
+    Method invokeCleaner = null;
+    try {
+      final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      final Field theUnsafeField = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafeField.setAccessible(true);
+      unsafe = theUnsafeField.get(null);
+      invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+    } catch (ReflectiveOperationException | RuntimeException swallow) {
+      // Pre-Java 9 runtime; fall back to the buffer's cleaner.
+    }
+    UNSAFE = unsafe;
+    INVOKE_CLEANER = invokeCleaner;
+  }
+
+  final FileZone zone;
+  final MappedByteBuffer buffer;
+  volatile int references;
+
+  FileZoneMapping(FileZone zone, MappedByteBuffer buffer) {
+    this.zone = zone;
+    this.buffer = buffer;
+    this.references = 1;
+  }
+
+  boolean acquire() {
+    do {
+      final int oldReferences = this.references;
+      if (oldReferences > 0) {
+        if (REFERENCES.compareAndSet(this, oldReferences, oldReferences + 1)) {
+          return true;
+        }
+      } else {
+        return false;
+      }
+    } while (true);
+  }
+
+  void release() {
+    if (REFERENCES.decrementAndGet(this) == 0) {
+      unmap(this.buffer);
+    }
+  }
+
+  ByteBuffer slice(long offset, int size) {
+    final ByteBuffer buffer = this.buffer.duplicate();
+    if (offset < 0L || offset + size > (long) buffer.capacity()) {
+      throw new StoreException("incomplete read from " + this.zone.file.getPath()
+          + ':' + offset + '-' + buffer.capacity());
+    }
+    ((Buffer) buffer).position((int) offset);
+    ((Buffer) buffer).limit((int) offset + size);
+    return buffer.slice();
+  }
+
+  static void unmap(MappedByteBuffer buffer) {
+    try {
+      if (INVOKE_CLEANER != null) {
+        INVOKE_CLEANER.invoke(UNSAFE, buffer);
+      } else {
+        final Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+        cleanerMethod.setAccessible(true);
+        final Object cleaner = cleanerMethod.invoke(buffer);
+        if (cleaner != null) {
+          cleaner.getClass().getMethod("clean").invoke(cleaner);
+        }
+      }
+    } catch (ReflectiveOperationException | RuntimeException swallow) {
+      // Leave the mapping to be released by the garbage collector.
+    }
+  }
+
+}
@@ -102,6 +102,10 @@ public abstract class Page {
     return pageRef().treeSize();
   }
 
+  boolean isBinary() {
+    return pageContext().settings().pageFormat.isBinary();
+  }
+
   public abstract Value toHeader();
 
   public abstract Value toValue();
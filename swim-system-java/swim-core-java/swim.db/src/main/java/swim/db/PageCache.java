@@ -0,0 +1,519 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import java.util.IdentityHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import swim.util.Murmur3;
+
+/**
+ * Byte-budgeted page cache with a W-TinyLFU admission policy.  Newly loaded
+ * pages enter a small LRU admission window; pages leaving the window only
+ * displace pages in the main segmented LRU if they have been accessed more
+ * frequently, so a one-off scan over a large tree cannot flush the working
+ * set.  Pages are weighed by their {@link Page#pageSize() pageSize}.
+ */
+public class PageCache {
+
+  static final int BUFFER_SIZE = 128;
+  static final int BUFFER_MASK = BUFFER_SIZE - 1;
+  static final AtomicLongFieldUpdater<PageCache> HITS =
+      AtomicLongFieldUpdater.newUpdater(PageCache.class, "hits");
+  static final AtomicLongFieldUpdater<PageCache> MISSES =
+      AtomicLongFieldUpdater.newUpdater(PageCache.class, "misses");
+  static final AtomicIntegerFieldUpdater<PageCache> BUFFER_WRITE_INDEX =
+      AtomicIntegerFieldUpdater.newUpdater(PageCache.class, "bufferWriteIndex");
+  static final int HASH_SEED = Murmur3.seed(PageCache.class);
+  final long maxWeight;
+  final long windowMaxWeight;
+  final long protectedMaxWeight;
+  final ConcurrentHashMap<Page, PageCacheEntry> entries;
+  final IdentityHashMap<PageContext, PageCacheTrunk> trunks;
+  final PageCacheSketch sketch;
+  final PageCacheEntry window;
+  final PageCacheEntry probation;
+  final PageCacheEntry protect;
+  final AtomicReferenceArray<PageCacheEntry> buffer;
+  final ReentrantLock lock;
+  long weight;
+  long windowWeight;
+  long protectedWeight;
+  long evictions;
+  int bufferReadIndex;
+  volatile int bufferWriteIndex;
+  volatile long hits;
+  volatile long misses;
+
+  public PageCache(long maxWeight, int expectedSize) {
+    this.maxWeight = Math.max(0L, maxWeight);
+    this.windowMaxWeight = Math.max(1L, this.maxWeight / 100L);
+    this.protectedMaxWeight = (this.maxWeight - this.windowMaxWeight) * 4L / 5L;
+    this.entries = new ConcurrentHashMap<Page, PageCacheEntry>();
+    this.trunks = new IdentityHashMap<PageContext, PageCacheTrunk>();
+    this.sketch = new PageCacheSketch(expectedSize);
+    this.window = new PageCacheEntry();
+    this.probation = new PageCacheEntry();
+    this.protect = new PageCacheEntry();
+    this.buffer = new AtomicReferenceArray<PageCacheEntry>(BUFFER_SIZE);
+    this.lock = new ReentrantLock();
+  }
+
+  public final long maxWeight() {
+    return this.maxWeight;
+  }
+
+  public long weight() {
+    this.lock.lock();
+    try {
+      return this.weight;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  public int size() {
+    return this.entries.size();
+  }
+
+  public boolean contains(Page page) {
+    return this.entries.containsKey(page);
+  }
+
+  public long hits() {
+    return this.hits;
+  }
+
+  public long misses() {
+    return this.misses;
+  }
+
+  public long evictions() {
+    this.lock.lock();
+    try {
+      return this.evictions;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  public double hitRatio() {
+    final double hits = (double) this.hits;
+    return hits / (hits + (double) this.misses);
+  }
+
+  public long trunkWeight(PageContext context) {
+    this.lock.lock();
+    try {
+      final PageCacheTrunk trunk = this.trunks.get(context);
+      return trunk != null ? trunk.weight : 0L;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  public int trunkSize(PageContext context) {
+    this.lock.lock();
+    try {
+      final PageCacheTrunk trunk = this.trunks.get(context);
+      return trunk != null ? trunk.size : 0;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  public long trunkHits(PageContext context) {
+    this.lock.lock();
+    try {
+      final PageCacheTrunk trunk = this.trunks.get(context);
+      return trunk != null ? trunk.hits : 0L;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  public long trunkMisses(PageContext context) {
+    this.lock.lock();
+    try {
+      final PageCacheTrunk trunk = this.trunks.get(context);
+      return trunk != null ? trunk.misses : 0L;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  public long trunkEvictions(PageContext context) {
+    this.lock.lock();
+    try {
+      final PageCacheTrunk trunk = this.trunks.get(context);
+      return trunk != null ? trunk.evictions : 0L;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  public void put(Page page) {
+    if (this.maxWeight == 0L || this.lock.isHeldByCurrentThread()) {
+      // Weighing a page may re-enter the cache to memoize its size.
+      return;
+    }
+    final PageCacheEntry entry = this.entries.get(page);
+    if (entry != null) {
+      HITS.incrementAndGet(this);
+      if (this.lock.tryLock()) {
+        try {
+          drainBuffer();
+          didHit(entry);
+        } finally {
+          this.lock.unlock();
+        }
+      } else {
+        // Record the access for the next lock holder; drop it if the buffer is full.
+        final int index = BUFFER_WRITE_INDEX.getAndIncrement(this) & BUFFER_MASK;
+        this.buffer.compareAndSet(index, null, entry);
+      }
+    } else {
+      MISSES.incrementAndGet(this);
+      this.lock.lock();
+      try {
+        drainBuffer();
+        didMiss(page);
+      } finally {
+        this.lock.unlock();
+      }
+    }
+  }
+
+  public boolean remove(Page page) {
+    final PageCacheEntry entry = this.entries.get(page);
+    if (entry != null) {
+      this.lock.lock();
+      try {
+        if (entry.queue != PageCacheEntry.REMOVED) {
+          unlink(entry);
+          removed(entry);
+          return true;
+        }
+      } finally {
+        this.lock.unlock();
+      }
+    }
+    return false;
+  }
+
+  public void clear() {
+    this.lock.lock();
+    try {
+      clearQueue(this.window);
+      clearQueue(this.probation);
+      clearQueue(this.protect);
+      for (int i = 0; i < BUFFER_SIZE; i += 1) {
+        this.buffer.set(i, null);
+      }
+      this.windowWeight = 0L;
+      this.protectedWeight = 0L;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  void clearQueue(PageCacheEntry queue) {
+    PageCacheEntry entry = queue.next;
+    while (entry != queue) {
+      final PageCacheEntry next = entry.next;
+      entry.prev = null;
+      entry.next = null;
+      removed(entry);
+      entry = next;
+    }
+    queue.prev = queue;
+    queue.next = queue;
+  }
+
+  void drainBuffer() {
+    final int writeIndex = this.bufferWriteIndex;
+    if (writeIndex != this.bufferReadIndex) {
+      for (int i = 0; i < BUFFER_SIZE; i += 1) {
+        final PageCacheEntry entry = this.buffer.getAndSet(i, null);
+        if (entry != null && entry.queue != PageCacheEntry.REMOVED) {
+          didHit(entry);
+        }
+      }
+      this.bufferReadIndex = writeIndex;
+    }
+  }
+
+  void didHit(PageCacheEntry entry) {
+    this.sketch.increment(entry.hash);
+    entry.trunk.hits += 1L;
+    switch (entry.queue) {
+      case PageCacheEntry.WINDOW:
+        moveToBack(this.window, entry);
+        break;
+      case PageCacheEntry.PROBATION:
+        unlink(entry);
+        entry.queue = PageCacheEntry.PROTECTED;
+        linkBack(this.protect, entry);
+        this.protectedWeight += entry.weight;
+        demoteProtected();
+        break;
+      case PageCacheEntry.PROTECTED:
+        moveToBack(this.protect, entry);
+        break;
+      default:
+        break;
+    }
+  }
+
+  void didMiss(Page page) {
+    if (this.entries.containsKey(page)) {
+      return; // Lost admission race
+    }
+    final PageContext context = page.pageContext();
+    PageCacheTrunk trunk = this.trunks.get(context);
+    if (trunk == null) {
+      trunk = new PageCacheTrunk();
+      this.trunks.put(context, trunk);
+    }
+    final PageCacheEntry entry = new PageCacheEntry(page, pageHash(page),
+        Math.max(1, page.pageSize()), trunk);
+    this.sketch.increment(entry.hash);
+    trunk.misses += 1L;
+    trunk.weight += entry.weight;
+    trunk.size += 1;
+    this.entries.put(page, entry);
+    entry.queue = PageCacheEntry.WINDOW;
+    linkBack(this.window, entry);
+    this.windowWeight += entry.weight;
+    this.weight += entry.weight;
+    evict();
+  }
+
+  void demoteProtected() {
+    while (this.protectedWeight > this.protectedMaxWeight) {
+      final PageCacheEntry entry = this.protect.next;
+      unlink(entry);
+      this.protectedWeight -= entry.weight;
+      entry.queue = PageCacheEntry.PROBATION;
+      linkBack(this.probation, entry);
+    }
+  }
+
+  void evict() {
+    // Entries leaving the admission window become candidates for the main cache.
+    PageCacheEntry candidate = null;
+    while (this.windowWeight > this.windowMaxWeight) {
+      final PageCacheEntry entry = this.window.next;
+      unlink(entry);
+      this.windowWeight -= entry.weight;
+      entry.queue = PageCacheEntry.PROBATION;
+      linkBack(this.probation, entry);
+      if (candidate == null) {
+        candidate = entry;
+      }
+    }
+    while (this.weight > this.maxWeight) {
+      PageCacheEntry victim = this.probation.next;
+      if (victim == candidate || victim == this.probation) {
+        victim = this.protect.next != this.protect ? this.protect.next : null;
+      }
+      if (candidate == null) {
+        if (victim == null) {
+          victim = this.window.next;
+        }
+        evict(victim);
+      } else if (victim == null) {
+        final PageCacheEntry next = candidate.next;
+        evict(candidate);
+        candidate = next != this.probation ? next : null;
+      } else if (this.sketch.frequency(candidate.hash) > this.sketch.frequency(victim.hash)) {
+        evict(victim);
+      } else {
+        // Ties go to the incumbent, which is what keeps scans out of the main cache.
+        final PageCacheEntry next = candidate.next;
+        evict(candidate);
+        candidate = next != this.probation ? next : null;
+      }
+    }
+  }
+
+  void evict(PageCacheEntry entry) {
+    unlink(entry);
+    this.evictions += 1L;
+    entry.trunk.evictions += 1L;
+    removed(entry);
+  }
+
+  void removed(PageCacheEntry entry) {
+    if (entry.queue == PageCacheEntry.WINDOW) {
+      this.windowWeight -= entry.weight;
+    } else if (entry.queue == PageCacheEntry.PROTECTED) {
+      this.protectedWeight -= entry.weight;
+    }
+    entry.queue = PageCacheEntry.REMOVED;
+    this.entries.remove(entry.page);
+    this.weight -= entry.weight;
+    final PageCacheTrunk trunk = entry.trunk;
+    trunk.weight -= entry.weight;
+    trunk.size -= 1;
+    if (trunk.size == 0) {
+      this.trunks.remove(entry.page.pageContext());
+    }
+  }
+
+  /**
+   * Returns the frequency sketch key for the given page.  Committed pages are
+   * keyed by their stem and zone address, so a page that is evicted and later
+   * reloaded keeps its access history.
+   */
+  static int pageHash(Page page) {
+    final PageRef pageRef = page.pageRef();
+    if (pageRef.isCommitted()) {
+      return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(HASH_SEED,
+          pageRef.stem()), pageRef.zone()), Murmur3.hash(pageRef.base())));
+    } else {
+      return System.identityHashCode(page);
+    }
+  }
+
+  static void linkBack(PageCacheEntry queue, PageCacheEntry entry) {
+    final PageCacheEntry last = queue.prev;
+    entry.prev = last;
+    entry.next = queue;
+    last.next = entry;
+    queue.prev = entry;
+  }
+
+  static void unlink(PageCacheEntry entry) {
+    entry.prev.next = entry.next;
+    entry.next.prev = entry.prev;
+    entry.prev = null;
+    entry.next = null;
+  }
+
+  static void moveToBack(PageCacheEntry queue, PageCacheEntry entry) {
+    if (queue.prev != entry) {
+      unlink(entry);
+      linkBack(queue, entry);
+    }
+  }
+
+}
+
+final class PageCacheEntry {
+
+  static final int REMOVED = 0;
+  static final int WINDOW = 1;
+  static final int PROBATION = 2;
+  static final int PROTECTED = 3;
+  final Page page;
+  final int hash;
+  final int weight;
+  final PageCacheTrunk trunk;
+  PageCacheEntry prev;
+  PageCacheEntry next;
+  volatile int queue;
+
+  PageCacheEntry(Page page, int hash, int weight, PageCacheTrunk trunk) {
+    this.page = page;
+    this.hash = hash;
+    this.weight = weight;
+    this.trunk = trunk;
+  }
+
+  PageCacheEntry() {
+    this(null, 0, 0, null);
+    this.prev = this;
+    this.next = this;
+  }
+
+}
+
+final class PageCacheTrunk {
+
+  long weight;
+  int size;
+  long hits;
+  long misses;
+  long evictions;
+
+}
+
+final class PageCacheSketch {
+
+  static final long[] SEEDS = {
+    0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L,
+  };
+  static final long RESET_MASK = 0x7777777777777777L;
+  static final long ONE_MASK = 0x1111111111111111L;
+  final long[] table;
+  final int tableMask;
+  final int sampleSize;
+  int additions;
+
+  PageCacheSketch(int expectedSize) {
+    final int tableSize = Math.max(16, Integer.highestOneBit(Math.max(1, expectedSize) - 1) << 1);
+    this.table = new long[tableSize];
+    this.tableMask = tableSize - 1;
+    this.sampleSize = 10 * tableSize;
+  }
+
+  int frequency(int hash) {
+    final int start = (hash & 3) << 2;
+    int frequency = Integer.MAX_VALUE;
+    for (int i = 0; i < 4; i += 1) {
+      final int index = indexOf(hash, i);
+      final int count = (int) ((this.table[index] >>> ((start + i) << 2)) & 0xFL);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  void increment(int hash) {
+    final int start = (hash & 3) << 2;
+    boolean added = false;
+    for (int i = 0; i < 4; i += 1) {
+      final int index = indexOf(hash, i);
+      final int offset = (start + i) << 2;
+      final long mask = 0xFL << offset;
+      if ((this.table[index] & mask) != mask) {
+        this.table[index] += 1L << offset;
+        added = true;
+      }
+    }
+    if (added && (this.additions += 1) >= this.sampleSize) {
+      reset();
+    }
+  }
+
+  void reset() {
+    int odd = 0;
+    for (int i = 0; i < this.table.length; i += 1) {
+      odd += Long.bitCount(this.table[i] & ONE_MASK);
+      this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+    }
+    this.additions = (this.additions >>> 1) - (odd >>> 2);
+  }
+
+  int indexOf(int hash, int i) {
+    long h = ((long) hash + SEEDS[i]) * SEEDS[i];
+    h += h >>> 32;
+    return (int) h & this.tableMask;
+  }
+
+}
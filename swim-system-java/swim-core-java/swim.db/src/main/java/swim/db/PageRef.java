@@ -14,6 +14,7 @@
 
 package swim.db;
 
+import java.nio.ByteBuffer;
 import swim.codec.Output;
 import swim.concurrent.Cont;
 import swim.concurrent.Conts;
@@ -79,6 +80,8 @@ public abstract class PageRef {
 
   public abstract Page setPageValue(Value value, boolean isResident);
 
+  public abstract Page setPageBuffer(ByteBuffer buffer, boolean isResident);
+
   public abstract void loadPageAsync(boolean isResident, Cont<Page> cont);
 
   public abstract void loadTreeAsync(boolean isResident, Cont<Page> cont);
@@ -14,11 +14,14 @@
 
 package swim.db;
 
+import java.nio.ByteBuffer;
 import swim.codec.Output;
 import swim.codec.Unicode;
+import swim.codec.Utf8;
 import swim.concurrent.Cont;
 import swim.concurrent.Conts;
 import swim.recon.Recon;
+import swim.recon.ReconBinary;
 import swim.spatial.BitInterval;
 import swim.structure.Item;
 import swim.structure.Num;
@@ -176,6 +179,30 @@ public final class QTreeNode extends QTreePage {
     throw new StoreException(message.bind(), cause);
   }
 
+  public static QTreeNode fromBuffer(QTreePageRef pageRef, ByteBuffer buffer) {
+    try {
+      BinaryPage.readHeader(buffer, BinaryPage.QNODE);
+      ReconBinary.readVarint(buffer); // stem
+      final long version = ReconBinary.readVarlong(buffer);
+      final int childCount = ReconBinary.readVarint(buffer);
+      final QTreePageRef[] childRefs = new QTreePageRef[childCount];
+      for (int i = 0; i < childCount; i += 1) {
+        childRefs[i] = BinaryPage.readQTreePageRef(buffer, pageRef.context, pageRef.stem);
+      }
+      Slot[] slots = BinaryPage.readLeafSlots(buffer);
+      if (slots.length == 0) {
+        slots = EMPTY_SLOTS;
+      }
+      return new QTreeNode(pageRef, version, childRefs, slots);
+    } catch (Throwable cause) {
+      if (Conts.isNonFatal(cause)) {
+        throw new StoreException("Malformed binary qnode", cause);
+      } else {
+        throw cause;
+      }
+    }
+  }
+
   @Override
   public boolean isNode() {
     return true;
@@ -1309,36 +1336,58 @@ public final class QTreeNode extends QTreePage {
 
   @Override
   void memoizeSize(QTreePageRef pageRef) {
-    int pageSize = 12; // "@qnode(stem:"
-    pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
-    pageSize += 3; // ",v:"
-    pageSize += Recon.sizeOf(Num.from(this.version));
-    pageSize += 1; // ')'
-
     final QTreePageRef[] childRefs = this.childRefs;
     final int childCount = childRefs.length;
     int diffSize = 0;
     long treeSize = 0L;
-    if (childCount > 0) {
-      pageSize += 1; // '{'
+    int pageSize;
+    if (isBinary()) {
+      final Slot[] slots = this.slots;
+      final int slotCount = slots.length;
+      pageSize = BinaryPage.HEADER_SIZE;
+      pageSize += ReconBinary.sizeOfVarint(this.pageRef.stem);
+      pageSize += ReconBinary.sizeOfVarint(this.version);
+      pageSize += ReconBinary.sizeOfVarint(childCount);
       for (int i = 0; i < childCount; i += 1) {
-        if (i > 0) {
-          pageSize += 1; // ','
-        }
         final QTreePageRef childRef = childRefs[i];
-        pageSize += childRef.pageRefSize();
+        pageSize += BinaryPage.sizeOfPageRef(childRef);
         if (this.version == childRef.softVersion()) {
           diffSize += childRef.diffSize();
         }
         treeSize += childRef.treeSize();
       }
-      final Slot[] slots = this.slots;
-      for (int i = 0, slotCount = slots.length; i < slotCount; i += 1) {
-        pageSize += 1; // ','
-        pageSize += Recon.sizeOf(slots[i]);
+      pageSize += ReconBinary.sizeOfVarint(slotCount);
+      for (int i = 0; i < slotCount; i += 1) {
+        pageSize += BinaryPage.sizeOfSlot(slots[i]);
+      }
+    } else {
+      pageSize = 12; // "@qnode(stem:"
+      pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
+      pageSize += 3; // ",v:"
+      pageSize += Recon.sizeOf(Num.from(this.version));
+      pageSize += 1; // ')'
+
+      if (childCount > 0) {
+        pageSize += 1; // '{'
+        for (int i = 0; i < childCount; i += 1) {
+          if (i > 0) {
+            pageSize += 1; // ','
+          }
+          final QTreePageRef childRef = childRefs[i];
+          pageSize += childRef.pageRefSize();
+          if (this.version == childRef.softVersion()) {
+            diffSize += childRef.diffSize();
+          }
+          treeSize += childRef.treeSize();
+        }
+        final Slot[] slots = this.slots;
+        for (int i = 0, slotCount = slots.length; i < slotCount; i += 1) {
+          pageSize += 1; // ','
+          pageSize += Recon.sizeOf(slots[i]);
+        }
+        pageSize += 1; // '}'
+        pageSize += 1; // '\n'
       }
-      pageSize += 1; // '}'
-      pageSize += 1; // '\n'
     }
     diffSize += pageSize;
     treeSize += pageSize;
@@ -1451,9 +1500,32 @@ public final class QTreeNode extends QTreePage {
 
   @Override
   public void writePage(Output<?> output) {
-    Recon.write(toHeader(), output);
-    writePageContent(output);
-    output.write('\n');
+    if (isBinary()) {
+      writeBinaryPage(output);
+    } else {
+      final Output<?> encoder = Utf8.encodedOutput(output);
+      Recon.write(toHeader(), encoder);
+      writePageContent(encoder);
+      encoder.write('\n');
+    }
+  }
+
+  void writeBinaryPage(Output<?> output) {
+    final QTreePageRef[] childRefs = this.childRefs;
+    final int childCount = childRefs.length;
+    final Slot[] slots = this.slots;
+    final int slotCount = slots.length;
+    BinaryPage.writeHeader(output, BinaryPage.QNODE, pageSize());
+    ReconBinary.writeVarint(output, this.pageRef.stem);
+    ReconBinary.writeVarint(output, this.version);
+    ReconBinary.writeVarint(output, childCount);
+    for (int i = 0; i < childCount; i += 1) {
+      BinaryPage.writePageRef(output, childRefs[i]);
+    }
+    ReconBinary.writeVarint(output, slotCount);
+    for (int i = 0; i < slotCount; i += 1) {
+      BinaryPage.writeSlot(output, slots[i]);
+    }
   }
 
   void writePageContent(Output<?> output) {
@@ -14,6 +14,7 @@
 
 package swim.db;
 
+import java.nio.ByteBuffer;
 import java.util.Comparator;
 import swim.spatial.BitInterval;
 import swim.structure.Num;
@@ -45,6 +46,17 @@ public abstract class QTreePage extends Page {
     }
   }
 
+  public static QTreePage fromBuffer(QTreePageRef pageRef, ByteBuffer buffer) {
+    switch (pageRef.pageType()) {
+      case LEAF:
+        return QTreeLeaf.fromBuffer(pageRef, buffer);
+      case NODE:
+        return QTreeNode.fromBuffer(pageRef, buffer);
+      default:
+        throw new IllegalArgumentException(pageRef.toString());
+    }
+  }
+
   static Slot slot(Value key, long xk, long yk, Value value) {
     return Slot.of(key, Record.create(2)
         .attr("tile", Record.create(2)
@@ -15,6 +15,7 @@
 package swim.db;
 
 import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
 import swim.codec.Output;
 import swim.codec.Unicode;
 import swim.concurrent.Cont;
@@ -413,6 +414,18 @@ public final class QTreePageRef extends PageRef {
     return page;
   }
 
+  @Override
+  public QTreePage setPageBuffer(ByteBuffer buffer, boolean isResident) {
+    final QTreePage page = QTreePage.fromBuffer(this, buffer);
+    if (isResident) {
+      this.page = page;
+    } else {
+      this.context.hitPage(page);
+      this.page = new WeakReference<Object>(page);
+    }
+    return page;
+  }
+
   @Override
   public void loadPageAsync(boolean isResident, Cont<Page> cont) {
     try {
@@ -14,11 +14,14 @@
 
 package swim.db;
 
+import java.nio.ByteBuffer;
 import swim.codec.Output;
 import swim.codec.Unicode;
+import swim.codec.Utf8;
 import swim.concurrent.Cont;
 import swim.concurrent.Conts;
 import swim.recon.Recon;
+import swim.recon.ReconBinary;
 import swim.structure.Num;
 import swim.structure.Record;
 import swim.structure.Slot;
@@ -119,6 +122,34 @@ public final class STreeNode extends STreePage {
     throw new StoreException(message.bind(), cause);
   }
 
+  public static STreeNode fromBuffer(STreePageRef pageRef, ByteBuffer buffer) {
+    try {
+      BinaryPage.readHeader(buffer, BinaryPage.SNODE);
+      ReconBinary.readVarint(buffer); // stem
+      final long version = ReconBinary.readVarlong(buffer);
+      final int n = ReconBinary.readVarint(buffer);
+      if (n < 1) {
+        throw new StoreException("Malformed binary snode: invalid child count " + n);
+      }
+      final STreePageRef[] childRefs = new STreePageRef[n];
+      final long[] knotIndexes = new long[n - 1];
+      childRefs[0] = BinaryPage.readSTreePageRef(buffer, pageRef.context, pageRef.stem);
+      for (int i = 1; i < n; i += 1) {
+        knotIndexes[i - 1] = ReconBinary.readVarlong(buffer);
+        childRefs[i] = BinaryPage.readSTreePageRef(buffer, pageRef.context, pageRef.stem);
+      }
+      return new STreeNode(pageRef, version, childRefs, knotIndexes);
+    } catch (StoreException cause) {
+      throw cause;
+    } catch (Throwable cause) {
+      if (Conts.isNonFatal(cause)) {
+        throw new StoreException("Malformed binary snode", cause);
+      } else {
+        throw cause;
+      }
+    }
+  }
+
   @Override
   public boolean isNode() {
     return true;
@@ -681,35 +712,54 @@ public final class STreeNode extends STreePage {
 
   @Override
   void memoizeSize(STreePageRef pageRef) {
-    int pageSize = 12; // "@snode(stem:"
-    pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
-    pageSize += 3; // ",v:"
-    pageSize += Recon.sizeOf(Num.from(this.version));
-    pageSize += 1; // ')'
-
     final STreePageRef[] childRefs = this.childRefs;
     final int n = childRefs.length;
     final long[] knotIndexes = this.knotIndexes;
     int diffSize = 0;
     long treeSize = 0L;
-    if (n > 0) {
-      pageSize += 1; // '{'
+    int pageSize;
+    if (isBinary()) {
+      pageSize = BinaryPage.HEADER_SIZE;
+      pageSize += ReconBinary.sizeOfVarint(this.pageRef.stem);
+      pageSize += ReconBinary.sizeOfVarint(this.version);
+      pageSize += ReconBinary.sizeOfVarint(n);
       for (int i = 0; i < n; i += 1) {
         if (i > 0) {
-          final long index = knotIndexes[i - 1];
-          pageSize += 9; // ",@knot(i:"
-          pageSize += Recon.sizeOf(Num.from(index));
-          pageSize += 2; // "),"
+          pageSize += ReconBinary.sizeOfVarint(knotIndexes[i - 1]);
         }
         final STreePageRef childRef = childRefs[i];
-        pageSize += childRef.pageRefSize();
+        pageSize += BinaryPage.sizeOfPageRef(childRef);
         if (this.version == childRef.softVersion()) {
           diffSize += childRef.diffSize();
         }
         treeSize += childRef.treeSize();
       }
-      pageSize += 1; // '}'
-      pageSize += 1; // '\n'
+    } else {
+      pageSize = 12; // "@snode(stem:"
+      pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
+      pageSize += 3; // ",v:"
+      pageSize += Recon.sizeOf(Num.from(this.version));
+      pageSize += 1; // ')'
+
+      if (n > 0) {
+        pageSize += 1; // '{'
+        for (int i = 0; i < n; i += 1) {
+          if (i > 0) {
+            final long index = knotIndexes[i - 1];
+            pageSize += 9; // ",@knot(i:"
+            pageSize += Recon.sizeOf(Num.from(index));
+            pageSize += 2; // "),"
+          }
+          final STreePageRef childRef = childRefs[i];
+          pageSize += childRef.pageRefSize();
+          if (this.version == childRef.softVersion()) {
+            diffSize += childRef.diffSize();
+          }
+          treeSize += childRef.treeSize();
+        }
+        pageSize += 1; // '}'
+        pageSize += 1; // '\n'
+      }
     }
     diffSize += pageSize;
     treeSize += pageSize;
@@ -819,9 +869,30 @@ public final class STreeNode extends STreePage {
 
   @Override
   public void writePage(Output<?> output) {
-    Recon.write(toHeader(), output);
-    writePageContent(output);
-    output.write('\n');
+    if (isBinary()) {
+      writeBinaryPage(output);
+    } else {
+      final Output<?> encoder = Utf8.encodedOutput(output);
+      Recon.write(toHeader(), encoder);
+      writePageContent(encoder);
+      encoder.write('\n');
+    }
+  }
+
+  void writeBinaryPage(Output<?> output) {
+    final STreePageRef[] childRefs = this.childRefs;
+    final int n = childRefs.length;
+    final long[] knotIndexes = this.knotIndexes;
+    BinaryPage.writeHeader(output, BinaryPage.SNODE, pageSize());
+    ReconBinary.writeVarint(output, this.pageRef.stem);
+    ReconBinary.writeVarint(output, this.version);
+    ReconBinary.writeVarint(output, n);
+    for (int i = 0; i < n; i += 1) {
+      if (i > 0) {
+        ReconBinary.writeVarint(output, knotIndexes[i - 1]);
+      }
+      BinaryPage.writePageRef(output, childRefs[i]);
+    }
   }
 
   void writePageContent(Output<?> output) {
@@ -14,6 +14,7 @@
 
 package swim.db;
 
+import java.nio.ByteBuffer;
 import swim.structure.Slot;
 import swim.structure.Value;
 import swim.util.CombinerFunction;
@@ -36,6 +37,17 @@ public abstract class STreePage extends Page {
     }
   }
 
+  public static STreePage fromBuffer(STreePageRef pageRef, ByteBuffer buffer) {
+    switch (pageRef.pageType()) {
+      case LEAF:
+        return STreeLeaf.fromBuffer(pageRef, buffer);
+      case NODE:
+        return STreeNode.fromBuffer(pageRef, buffer);
+      default:
+        throw new IllegalArgumentException(pageRef.toString());
+    }
+  }
+
   @Override
   public boolean isSTreePage() {
     return true;
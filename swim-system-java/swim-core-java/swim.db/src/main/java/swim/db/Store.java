@@ -17,6 +17,7 @@ package swim.db;
 import swim.concurrent.Cont;
 import swim.concurrent.Stage;
 import swim.concurrent.Sync;
+import swim.structure.Value;
 
 public abstract class Store {
 
@@ -128,8 +129,16 @@ public abstract class Store {
     storeContext().databaseDidCompact(this, database, compact);
   }
 
+  void databaseDidEvacuate(Database database, Compact compact, double progress) {
+    storeContext().databaseDidEvacuate(this, database, compact, progress);
+  }
+
   void databaseCompactDidFail(Database database, Throwable error) {
     storeContext().databaseCompactDidFail(this, database, error);
   }
 
+  void logDelta(Database database, long version, Value delta) {
+    // nop
+  }
+
 }
@@ -137,6 +137,10 @@ public class StoreContext {
     // nop
   }
 
+  public void databaseDidEvacuate(Store store, Database database, Compact compact, double progress) {
+    // nop
+  }
+
   public void databaseCompactDidFail(Store store, Database database, Throwable error) {
     error.printStackTrace();
   }
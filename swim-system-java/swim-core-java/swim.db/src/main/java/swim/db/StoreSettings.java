@@ -49,6 +49,13 @@ public class StoreSettings implements Debug {
   protected final int databaseCompactTimeout;
   protected final int pageLoadTimeout;
   protected final int treeLoadTimeout;
+  protected final PageFormat pageFormat;
+  protected final boolean mapZones;
+  protected final long pageCacheWeight;
+  protected final boolean writeAheadLog;
+  protected final boolean syncLog;
+  protected final long compactStepSize;
+  protected final long compactRate;
 
   public StoreSettings(int pageSplitSize, int pageCacheSize, int autoCommitInterval,
                        long autoCommitSize, long minCompactSize, long maxZoneSize,
@@ -57,7 +64,11 @@ public class StoreSettings implements Debug {
                        int zoneOpenTimeout, int zoneCloseTimeout,
                        int databaseOpenTimeout, int databaseCloseTimeout,
                        int databaseCommitTimeout, int databaseCompactTimeout,
-                       int pageLoadTimeout, int treeLoadTimeout) {
+                       int pageLoadTimeout, int treeLoadTimeout,
+                       PageFormat pageFormat, boolean mapZones,
+                       long pageCacheWeight, boolean writeAheadLog,
+                       boolean syncLog, long compactStepSize,
+                       long compactRate) {
     this.pageSplitSize = pageSplitSize;
     this.pageCacheSize = pageCacheSize;
     this.autoCommitInterval = autoCommitInterval;
@@ -82,6 +93,14 @@ public class StoreSettings implements Debug {
 
     this.pageLoadTimeout = pageLoadTimeout;
     this.treeLoadTimeout = treeLoadTimeout;
+
+    this.pageFormat = pageFormat;
+    this.mapZones = mapZones;
+    this.pageCacheWeight = pageCacheWeight;
+    this.writeAheadLog = writeAheadLog;
+    this.syncLog = syncLog;
+    this.compactStepSize = compactStepSize;
+    this.compactRate = compactRate;
   }
 
   public static StoreSettings standard() {
@@ -226,6 +245,38 @@ public class StoreSettings implements Debug {
         treeLoadTimeout = 30 * 1000;
       }
 
+      PageFormat pageFormat = PageFormat.fromTag(System.getProperty("swim.db.page.format"));
+      if (pageFormat == null) {
+        pageFormat = PageFormat.RECON;
+      }
+
+      final boolean mapZones = Boolean.parseBoolean(System.getProperty("swim.db.map.zones"));
+
+      long pageCacheWeight;
+      try {
+        pageCacheWeight = Long.parseLong(System.getProperty("swim.db.page.cache.weight"));
+      } catch (NumberFormatException e) {
+        pageCacheWeight = (long) pageCacheSize * (long) pageSplitSize;
+      }
+
+      final boolean writeAheadLog = Boolean.parseBoolean(System.getProperty("swim.db.wal"));
+
+      final boolean syncLog = Boolean.parseBoolean(System.getProperty("swim.db.wal.sync"));
+
+      long compactStepSize;
+      try {
+        compactStepSize = Long.parseLong(System.getProperty("swim.db.compact.step.size"));
+      } catch (NumberFormatException e) {
+        compactStepSize = 4 * 1024 * 1024;
+      }
+
+      long compactRate;
+      try {
+        compactRate = Long.parseLong(System.getProperty("swim.db.compact.rate"));
+      } catch (NumberFormatException e) {
+        compactRate = 0L;
+      }
+
       standard = new StoreSettings(pageSplitSize, pageCacheSize, autoCommitInterval,
           autoCommitSize, minCompactSize, maxZoneSize,
           minZoneFill, minTreeFill, maxRetries,
@@ -233,7 +284,10 @@ public class StoreSettings implements Debug {
           zoneOpenTimeout, zoneCloseTimeout,
           databaseOpenTimeout, databaseCloseTimeout,
           databaseCommitTimeout, databaseCompactTimeout,
-          pageLoadTimeout, treeLoadTimeout);
+          pageLoadTimeout, treeLoadTimeout,
+          pageFormat, mapZones, pageCacheWeight,
+          writeAheadLog, syncLog,
+          compactStepSize, compactRate);
     }
     return standard;
   }
@@ -258,7 +312,10 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapZones, this.pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        this.compactStepSize, this.compactRate);
   }
 
   public final int pageCacheSize() {
@@ -273,7 +330,10 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapZones, this.pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        this.compactStepSize, this.compactRate);
   }
 
   public final int autoCommitInterval() {
@@ -288,7 +348,10 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapZones, this.pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        this.compactStepSize, this.compactRate);
   }
 
   public final long autoCommitSize() {
@@ -303,7 +366,10 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapZones, this.pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        this.compactStepSize, this.compactRate);
   }
 
   public final long minCompactSize() {
@@ -318,7 +384,10 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapZones, this.pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        this.compactStepSize, this.compactRate);
   }
 
   public final long maxZoneSize() {
@@ -333,7 +402,10 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapZones, this.pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        this.compactStepSize, this.compactRate);
   }
 
   public final double minZoneFill() {
@@ -348,7 +420,10 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapZones, this.pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        this.compactStepSize, this.compactRate);
   }
 
   public final double minTreeFill() {
@@ -363,7 +438,10 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapZones, this.pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        this.compactStepSize, this.compactRate);
   }
 
   public final int maxRetries() {
@@ -378,7 +456,10 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapZones, this.pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        this.compactStepSize, this.compactRate);
   }
 
   public final int deleteDelay() {
@@ -393,7 +474,10 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapZones, this.pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        this.compactStepSize, this.compactRate);
   }
 
   public final int storeOpenTimeout() {
@@ -408,7 +492,10 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapZones, this.pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        this.compactStepSize, this.compactRate);
   }
 
   public final int storeCloseTimeout() {
@@ -423,7 +510,10 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapZones, this.pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        this.compactStepSize, this.compactRate);
   }
 
   public final int zoneOpenTimeout() {
@@ -438,7 +528,10 @@ public class StoreSettings implements Debug {
         zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapZones, this.pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        this.compactStepSize, this.compactRate);
   }
 
   public final int zoneCloseTimeout() {
@@ -453,7 +546,10 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapZones, this.pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        this.compactStepSize, this.compactRate);
   }
 
   public final int databaseOpenTimeout() {
@@ -468,7 +564,10 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapZones, this.pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        this.compactStepSize, this.compactRate);
   }
 
   public final int databaseCloseTimeout() {
@@ -483,7 +582,10 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapZones, this.pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        this.compactStepSize, this.compactRate);
   }
 
   public final int databaseCommitTimeout() {
@@ -498,7 +600,10 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapZones, this.pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        this.compactStepSize, this.compactRate);
   }
 
   public final int databaseCompactTimeout() {
@@ -513,7 +618,10 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapZones, this.pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        this.compactStepSize, this.compactRate);
   }
 
   public final int pageLoadTimeout() {
@@ -528,7 +636,10 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        pageLoadTimeout, this.treeLoadTimeout);
+        pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapZones, this.pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        this.compactStepSize, this.compactRate);
   }
 
   public final int treeLoadTimeout() {
@@ -543,7 +654,136 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, treeLoadTimeout);
+        this.pageLoadTimeout, treeLoadTimeout,
+        this.pageFormat, this.mapZones, this.pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        this.compactStepSize, this.compactRate);
+  }
+
+  public final PageFormat pageFormat() {
+    return this.pageFormat;
+  }
+
+  public StoreSettings pageFormat(PageFormat pageFormat) {
+    return copy(this.pageSplitSize, this.pageCacheSize, this.autoCommitInterval,
+        this.autoCommitSize, this.minCompactSize, this.maxZoneSize,
+        this.minZoneFill, this.minTreeFill, this.maxRetries,
+        this.deleteDelay, this.storeOpenTimeout, this.storeCloseTimeout,
+        this.zoneOpenTimeout, this.zoneCloseTimeout,
+        this.databaseOpenTimeout, this.databaseCloseTimeout,
+        this.databaseCommitTimeout, this.databaseCompactTimeout,
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        pageFormat, this.mapZones, this.pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        this.compactStepSize, this.compactRate);
+  }
+
+  public final boolean mapZones() {
+    return this.mapZones;
+  }
+
+  public StoreSettings mapZones(boolean mapZones) {
+    return copy(this.pageSplitSize, this.pageCacheSize, this.autoCommitInterval,
+        this.autoCommitSize, this.minCompactSize, this.maxZoneSize,
+        this.minZoneFill, this.minTreeFill, this.maxRetries,
+        this.deleteDelay, this.storeOpenTimeout, this.storeCloseTimeout,
+        this.zoneOpenTimeout, this.zoneCloseTimeout,
+        this.databaseOpenTimeout, this.databaseCloseTimeout,
+        this.databaseCommitTimeout, this.databaseCompactTimeout,
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, mapZones, this.pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        this.compactStepSize, this.compactRate);
+  }
+
+  public final long pageCacheWeight() {
+    return this.pageCacheWeight;
+  }
+
+  public StoreSettings pageCacheWeight(long pageCacheWeight) {
+    return copy(this.pageSplitSize, this.pageCacheSize, this.autoCommitInterval,
+        this.autoCommitSize, this.minCompactSize, this.maxZoneSize,
+        this.minZoneFill, this.minTreeFill, this.maxRetries,
+        this.deleteDelay, this.storeOpenTimeout, this.storeCloseTimeout,
+        this.zoneOpenTimeout, this.zoneCloseTimeout,
+        this.databaseOpenTimeout, this.databaseCloseTimeout,
+        this.databaseCommitTimeout, this.databaseCompactTimeout,
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapZones, pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        this.compactStepSize, this.compactRate);
+  }
+
+  public final boolean writeAheadLog() {
+    return this.writeAheadLog;
+  }
+
+  public StoreSettings writeAheadLog(boolean writeAheadLog) {
+    return copy(this.pageSplitSize, this.pageCacheSize, this.autoCommitInterval,
+        this.autoCommitSize, this.minCompactSize, this.maxZoneSize,
+        this.minZoneFill, this.minTreeFill, this.maxRetries,
+        this.deleteDelay, this.storeOpenTimeout, this.storeCloseTimeout,
+        this.zoneOpenTimeout, this.zoneCloseTimeout,
+        this.databaseOpenTimeout, this.databaseCloseTimeout,
+        this.databaseCommitTimeout, this.databaseCompactTimeout,
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapZones, this.pageCacheWeight,
+        writeAheadLog, this.syncLog,
+        this.compactStepSize, this.compactRate);
+  }
+
+  public final boolean syncLog() {
+    return this.syncLog;
+  }
+
+  public StoreSettings syncLog(boolean syncLog) {
+    return copy(this.pageSplitSize, this.pageCacheSize, this.autoCommitInterval,
+        this.autoCommitSize, this.minCompactSize, this.maxZoneSize,
+        this.minZoneFill, this.minTreeFill, this.maxRetries,
+        this.deleteDelay, this.storeOpenTimeout, this.storeCloseTimeout,
+        this.zoneOpenTimeout, this.zoneCloseTimeout,
+        this.databaseOpenTimeout, this.databaseCloseTimeout,
+        this.databaseCommitTimeout, this.databaseCompactTimeout,
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapZones, this.pageCacheWeight,
+        this.writeAheadLog, syncLog,
+        this.compactStepSize, this.compactRate);
+  }
+
+  public final long compactStepSize() {
+    return this.compactStepSize;
+  }
+
+  public StoreSettings compactStepSize(long compactStepSize) {
+    return copy(this.pageSplitSize, this.pageCacheSize, this.autoCommitInterval,
+        this.autoCommitSize, this.minCompactSize, this.maxZoneSize,
+        this.minZoneFill, this.minTreeFill, this.maxRetries,
+        this.deleteDelay, this.storeOpenTimeout, this.storeCloseTimeout,
+        this.zoneOpenTimeout, this.zoneCloseTimeout,
+        this.databaseOpenTimeout, this.databaseCloseTimeout,
+        this.databaseCommitTimeout, this.databaseCompactTimeout,
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapZones, this.pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        compactStepSize, this.compactRate);
+  }
+
+  public final long compactRate() {
+    return this.compactRate;
+  }
+
+  public StoreSettings compactRate(long compactRate) {
+    return copy(this.pageSplitSize, this.pageCacheSize, this.autoCommitInterval,
+        this.autoCommitSize, this.minCompactSize, this.maxZoneSize,
+        this.minZoneFill, this.minTreeFill, this.maxRetries,
+        this.deleteDelay, this.storeOpenTimeout, this.storeCloseTimeout,
+        this.zoneOpenTimeout, this.zoneCloseTimeout,
+        this.databaseOpenTimeout, this.databaseCloseTimeout,
+        this.databaseCommitTimeout, this.databaseCompactTimeout,
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapZones, this.pageCacheWeight,
+        this.writeAheadLog, this.syncLog,
+        this.compactStepSize, compactRate);
   }
 
   protected StoreSettings copy(int pageSplitSize, int pageCacheSize, int autoCommitInterval,
@@ -553,7 +793,11 @@ public class StoreSettings implements Debug {
                                int zoneOpenTimeout, int zoneCloseTimeout,
                                int databaseOpenTimeout, int databaseCloseTimeout,
                                int databaseCommitTimeout, int databaseCompactTimeout,
-                               int pageLoadTimeout, int treeLoadTimeout) {
+                               int pageLoadTimeout, int treeLoadTimeout,
+                               PageFormat pageFormat, boolean mapZones,
+                               long pageCacheWeight, boolean writeAheadLog,
+                               boolean syncLog, long compactStepSize,
+                               long compactRate) {
     return new StoreSettings(pageSplitSize, pageCacheSize, autoCommitInterval,
         autoCommitSize, minCompactSize, maxZoneSize,
         minZoneFill, minTreeFill, maxRetries,
@@ -561,7 +805,10 @@ public class StoreSettings implements Debug {
         zoneOpenTimeout, zoneCloseTimeout,
         databaseOpenTimeout, databaseCloseTimeout,
         databaseCommitTimeout, databaseCompactTimeout,
-        pageLoadTimeout, treeLoadTimeout);
+        pageLoadTimeout, treeLoadTimeout,
+        pageFormat, mapZones, pageCacheWeight,
+        writeAheadLog, syncLog,
+        compactStepSize, compactRate);
   }
 
   protected boolean canEqual(Object other) {
@@ -593,7 +840,14 @@ public class StoreSettings implements Debug {
           && this.databaseCommitTimeout == that.databaseCommitTimeout
           && this.databaseCompactTimeout == that.databaseCompactTimeout
           && this.pageLoadTimeout == that.pageLoadTimeout
-          && this.treeLoadTimeout == that.treeLoadTimeout;
+          && this.treeLoadTimeout == that.treeLoadTimeout
+          && this.pageFormat == that.pageFormat
+          && this.mapZones == that.mapZones
+          && this.pageCacheWeight == that.pageCacheWeight
+          && this.writeAheadLog == that.writeAheadLog
+          && this.syncLog == that.syncLog
+          && this.compactStepSize == that.compactStepSize
+          && this.compactRate == that.compactRate;
     }
     return false;
   }
@@ -603,7 +857,7 @@ public class StoreSettings implements Debug {
     if (hashSeed == 0) {
       hashSeed = Murmur3.seed(StoreSettings.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
         Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
             Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
                 hashSeed, this.pageSplitSize), this.pageCacheSize), this.autoCommitInterval),
@@ -613,7 +867,14 @@ public class StoreSettings implements Debug {
             this.storeOpenTimeout), this.storeCloseTimeout), this.zoneOpenTimeout),
             this.zoneCloseTimeout), this.databaseOpenTimeout), this.databaseCloseTimeout),
         this.databaseCommitTimeout), this.databaseCompactTimeout),
-        this.pageLoadTimeout), this.treeLoadTimeout));
+        this.pageLoadTimeout), this.treeLoadTimeout),
+        this.pageFormat.hashCode()),
+        Murmur3.hash(this.mapZones)),
+        Murmur3.hash(this.pageCacheWeight)),
+        Murmur3.hash(this.writeAheadLog)),
+        Murmur3.hash(this.syncLog)),
+        Murmur3.hash(this.compactStepSize)),
+        Murmur3.hash(this.compactRate)));
   }
 
   @Override
@@ -638,7 +899,14 @@ public class StoreSettings implements Debug {
         .write('.').write("databaseCommitTimeout").write('(').debug(this.databaseCommitTimeout).write(')')
         .write('.').write("databaseCompactTimeout").write('(').debug(this.databaseCompactTimeout).write(')')
         .write('.').write("pageLoadTimeout").write('(').debug(this.pageLoadTimeout).write(')')
-        .write('.').write("treeLoadTimeout").write('(').debug(this.treeLoadTimeout).write(')');
+        .write('.').write("treeLoadTimeout").write('(').debug(this.treeLoadTimeout).write(')')
+        .write('.').write("pageFormat").write('(').debug(this.pageFormat).write(')')
+        .write('.').write("mapZones").write('(').debug(this.mapZones).write(')')
+        .write('.').write("pageCacheWeight").write('(').debug(this.pageCacheWeight).write(')')
+        .write('.').write("writeAheadLog").write('(').debug(this.writeAheadLog).write(')')
+        .write('.').write("syncLog").write('(').debug(this.syncLog).write(')')
+        .write('.').write("compactStepSize").write('(').debug(this.compactStepSize).write(')')
+        .write('.').write("compactRate").write('(').debug(this.compactRate).write(')');
   }
 
   @Override
@@ -669,7 +937,7 @@ final class StoreSettingsForm extends Form<StoreSettings> {
   public Item mold(StoreSettings settings) {
     if (settings != null) {
       final StoreSettings standard = StoreSettings.standard();
-      final Record record = Record.create(20).attr(tag());
+      final Record record = Record.create(27).attr(tag());
 
       if (settings.pageSplitSize != standard.pageSplitSize) {
         record.slot("pageSplitSize", settings.pageSplitSize);
@@ -736,6 +1004,34 @@ final class StoreSettingsForm extends Form<StoreSettings> {
         record.slot("treeLoadTimeout", settings.treeLoadTimeout);
       }
 
+      if (settings.pageFormat != standard.pageFormat) {
+        record.slot("pageFormat", settings.pageFormat.tag());
+      }
+
+      if (settings.mapZones != standard.mapZones) {
+        record.slot("mapZones", settings.mapZones);
+      }
+
+      if (settings.pageCacheWeight != standard.pageCacheWeight) {
+        record.slot("pageCacheWeight", settings.pageCacheWeight);
+      }
+
+      if (settings.writeAheadLog != standard.writeAheadLog) {
+        record.slot("writeAheadLog", settings.writeAheadLog);
+      }
+
+      if (settings.syncLog != standard.syncLog) {
+        record.slot("syncLog", settings.syncLog);
+      }
+
+      if (settings.compactStepSize != standard.compactStepSize) {
+        record.slot("compactStepSize", settings.compactStepSize);
+      }
+
+      if (settings.compactRate != standard.compactRate) {
+        record.slot("compactRate", settings.compactRate);
+      }
+
       return record;
     } else {
       return Item.extant();
@@ -767,6 +1063,16 @@ final class StoreSettingsForm extends Form<StoreSettings> {
       final int databaseCompactTimeout = value.get("databaseCompactTimeout").intValue(standard.databaseCompactTimeout);
       final int pageLoadTimeout = value.get("pageLoadTimeout").intValue(standard.pageLoadTimeout);
       final int treeLoadTimeout = value.get("treeLoadTimeout").intValue(standard.treeLoadTimeout);
+      final boolean mapZones = value.get("mapZones").booleanValue(standard.mapZones);
+      final long pageCacheWeight = value.get("pageCacheWeight").longValue(standard.pageCacheWeight);
+      final boolean writeAheadLog = value.get("writeAheadLog").booleanValue(standard.writeAheadLog);
+      final boolean syncLog = value.get("syncLog").booleanValue(standard.syncLog);
+      final long compactStepSize = value.get("compactStepSize").longValue(standard.compactStepSize);
+      final long compactRate = value.get("compactRate").longValue(standard.compactRate);
+      PageFormat pageFormat = PageFormat.fromTag(value.get("pageFormat").stringValue(null));
+      if (pageFormat == null) {
+        pageFormat = standard.pageFormat;
+      }
       return new StoreSettings(pageSplitSize, pageCacheSize, autoCommitInterval,
           autoCommitSize, minCompactSize, maxZoneSize,
           minZoneFill, minTreeFill, maxRetries,
@@ -774,7 +1080,10 @@ final class StoreSettingsForm extends Form<StoreSettings> {
           zoneOpenTimeout, zoneCloseTimeout,
           databaseOpenTimeout, databaseCloseTimeout,
           databaseCommitTimeout, databaseCompactTimeout,
-          pageLoadTimeout, treeLoadTimeout);
+          pageLoadTimeout, treeLoadTimeout,
+          pageFormat, mapZones, pageCacheWeight,
+          writeAheadLog, syncLog,
+          compactStepSize, compactRate);
     }
     return null;
   }
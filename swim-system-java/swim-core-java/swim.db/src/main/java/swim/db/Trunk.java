@@ -16,6 +16,7 @@ package swim.db;
 
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.concurrent.Stage;
+import swim.structure.Record;
 import swim.structure.Value;
 
 public class Trunk<T extends Tree> extends TreeContext {
@@ -130,6 +131,9 @@ public class Trunk<T extends Tree> extends TreeContext {
     if (treeDelegate != null) {
       treeDelegate.treeDidClear(newTree, oldTree);
     }
+    if (isLogged(newTree)) {
+      logDelta(newTree, "clear", Record.empty());
+    }
   }
 
   @Override
@@ -138,6 +142,9 @@ public class Trunk<T extends Tree> extends TreeContext {
     if (treeDelegate instanceof BTreeDelegate) {
       ((BTreeDelegate) treeDelegate).btreeDidUpdate(newTree, oldTree, key, newValue, oldValue);
     }
+    if (isLogged(newTree)) {
+      logDelta(newTree, "update", Record.create(2).slot("key", key).slot("value", newValue));
+    }
   }
 
   @Override
@@ -146,6 +153,9 @@ public class Trunk<T extends Tree> extends TreeContext {
     if (treeDelegate instanceof BTreeDelegate) {
       ((BTreeDelegate) treeDelegate).btreeDidRemove(newTree, oldTree, key, oldValue);
     }
+    if (isLogged(newTree)) {
+      logDelta(newTree, "remove", Record.create(1).slot("key", key));
+    }
   }
 
   @Override
@@ -154,6 +164,9 @@ public class Trunk<T extends Tree> extends TreeContext {
     if (treeDelegate instanceof BTreeDelegate) {
       ((BTreeDelegate) treeDelegate).btreeDidDrop(newTree, oldTree, lower);
     }
+    if (isLogged(newTree)) {
+      logDelta(newTree, "drop", Record.create(1).slot("lower", lower));
+    }
   }
 
   @Override
@@ -162,6 +175,9 @@ public class Trunk<T extends Tree> extends TreeContext {
     if (treeDelegate instanceof BTreeDelegate) {
       ((BTreeDelegate) treeDelegate).btreeDidTake(newTree, oldTree, upper);
     }
+    if (isLogged(newTree)) {
+      logDelta(newTree, "take", Record.create(1).slot("upper", upper));
+    }
   }
 
   @Override
@@ -170,6 +186,9 @@ public class Trunk<T extends Tree> extends TreeContext {
     if (treeDelegate instanceof QTreeDelegate) {
       ((QTreeDelegate) treeDelegate).qtreeDidUpdate(newTree, oldTree, key, x, y, newValue, oldValue);
     }
+    if (isLogged(newTree)) {
+      logDelta(newTree, "update", Record.create(4).slot("key", key).slot("x", x).slot("y", y).slot("value", newValue));
+    }
   }
 
   @Override
@@ -178,6 +197,10 @@ public class Trunk<T extends Tree> extends TreeContext {
     if (treeDelegate instanceof QTreeDelegate) {
       ((QTreeDelegate) treeDelegate).qtreeDidMove(newTree, oldTree, key, newX, newY, newValue, oldX, oldY, oldValue);
     }
+    if (isLogged(newTree)) {
+      logDelta(newTree, "move", Record.create(6).slot("key", key).slot("oldX", oldX).slot("oldY", oldY)
+          .slot("x", newX).slot("y", newY).slot("value", newValue));
+    }
   }
 
   @Override
@@ -186,6 +209,9 @@ public class Trunk<T extends Tree> extends TreeContext {
     if (treeDelegate instanceof QTreeDelegate) {
       ((QTreeDelegate) treeDelegate).qtreeDidRemove(newTree, oldTree, key, x, y, oldValue);
     }
+    if (isLogged(newTree)) {
+      logDelta(newTree, "remove", Record.create(3).slot("key", key).slot("x", x).slot("y", y));
+    }
   }
 
   @Override
@@ -194,6 +220,9 @@ public class Trunk<T extends Tree> extends TreeContext {
     if (treeDelegate instanceof STreeDelegate) {
       ((STreeDelegate) treeDelegate).streeDidUpdate(newTree, oldTree, index, id, newValue, oldValue);
     }
+    if (isLogged(newTree)) {
+      logDelta(newTree, "update", Record.create(2).slot("index", index).slot("value", newValue));
+    }
   }
 
   @Override
@@ -202,6 +231,9 @@ public class Trunk<T extends Tree> extends TreeContext {
     if (treeDelegate instanceof STreeDelegate) {
       ((STreeDelegate) treeDelegate).streeDidInsert(newTree, oldTree, index, id, newValue);
     }
+    if (isLogged(newTree)) {
+      logDelta(newTree, "insert", Record.create(3).slot("index", index).slot("id", id).slot("value", newValue));
+    }
   }
 
   @Override
@@ -210,6 +242,9 @@ public class Trunk<T extends Tree> extends TreeContext {
     if (treeDelegate instanceof STreeDelegate) {
       ((STreeDelegate) treeDelegate).streeDidRemove(newTree, oldTree, index, id, oldValue);
     }
+    if (isLogged(newTree)) {
+      logDelta(newTree, "remove", Record.create(1).slot("index", index));
+    }
   }
 
   @Override
@@ -218,6 +253,9 @@ public class Trunk<T extends Tree> extends TreeContext {
     if (treeDelegate instanceof STreeDelegate) {
       ((STreeDelegate) treeDelegate).streeDidDrop(newTree, oldTree, lower);
     }
+    if (isLogged(newTree)) {
+      logDelta(newTree, "drop", Record.create(1).slot("lower", lower));
+    }
   }
 
   @Override
@@ -226,6 +264,9 @@ public class Trunk<T extends Tree> extends TreeContext {
     if (treeDelegate instanceof STreeDelegate) {
       ((STreeDelegate) treeDelegate).streeDidTake(newTree, oldTree, upper);
     }
+    if (isLogged(newTree)) {
+      logDelta(newTree, "take", Record.create(1).slot("upper", upper));
+    }
   }
 
   @Override
@@ -234,6 +275,24 @@ public class Trunk<T extends Tree> extends TreeContext {
     if (treeDelegate instanceof UTreeDelegate) {
       ((UTreeDelegate) treeDelegate).utreeDidUpdate(newTree, oldTree, newValue, oldValue);
     }
+    if (isLogged(newTree)) {
+      logDelta(newTree, "update", Record.create(1).slot("value", newValue));
+    }
+  }
+
+  boolean isLogged(Tree newTree) {
+    return settings().writeAheadLog && !newTree.isTransient();
+  }
+
+  void logDelta(Tree newTree, String op, Record body) {
+    final long version = newTree.rootRef().softVersion();
+    final Record header = Record.create(3)
+        .slot("tree", this.name)
+        .slot("type", newTree.treeType().tag())
+        .slot("v", version);
+    final Record delta = Record.create(1 + body.size()).attr(op, header);
+    delta.addAll(body);
+    this.database.store.logDelta(this.database, version, delta);
   }
 
 }
@@ -14,11 +14,14 @@
 
 package swim.db;
 
+import java.nio.ByteBuffer;
 import swim.codec.Output;
 import swim.codec.Unicode;
+import swim.codec.Utf8;
 import swim.concurrent.Cont;
 import swim.concurrent.Conts;
 import swim.recon.Recon;
+import swim.recon.ReconBinary;
 import swim.structure.Num;
 import swim.structure.Record;
 import swim.structure.Value;
@@ -71,6 +74,22 @@ public final class UTreeLeaf extends UTreePage {
     throw new StoreException(message.bind(), cause);
   }
 
+  public static UTreeLeaf fromBuffer(UTreePageRef pageRef, ByteBuffer buffer) {
+    try {
+      BinaryPage.readHeader(buffer, BinaryPage.ULEAF);
+      ReconBinary.readVarint(buffer); // stem
+      final long version = ReconBinary.readVarlong(buffer);
+      final Value value = ReconBinary.readValue(buffer);
+      return new UTreeLeaf(pageRef, version, value);
+    } catch (Throwable cause) {
+      if (Conts.isNonFatal(cause)) {
+        throw new StoreException("Malformed binary uleaf", cause);
+      } else {
+        throw cause;
+      }
+    }
+  }
+
   @Override
   public boolean isLeaf() {
     return true;
@@ -147,17 +166,26 @@ public final class UTreeLeaf extends UTreePage {
 
   @Override
   void memoizeSize(UTreePageRef pageRef) {
-    int pageSize = 12; // "@uleaf(stem:"
-    pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
-    pageSize += 3; // ",v:"
-    pageSize += Recon.sizeOf(Num.from(this.version));
-    pageSize += 1; // ')'
+    int pageSize;
+    if (isBinary()) {
+      pageSize = BinaryPage.HEADER_SIZE;
+      pageSize += ReconBinary.sizeOfVarint(this.pageRef.stem);
+      pageSize += ReconBinary.sizeOfVarint(this.version);
+      pageSize += ReconBinary.sizeOfValue(this.value);
+    } else {
+      pageSize = 12; // "@uleaf(stem:"
+      pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
+      pageSize += 3; // ",v:"
+      pageSize += Recon.sizeOf(Num.from(this.version));
+      pageSize += 1; // ')'
 
-    pageSize += 1; // '{'
-    pageSize += Recon.sizeOf(this.value);
-    pageSize += 1; // '}'
+      pageSize += 1; // '{'
+      pageSize += Recon.sizeOf(this.value);
+      pageSize += 1; // '}'
+
+      pageSize += 1; // '\n'
+    }
 
-    pageSize += 1; // '\n'
     pageRef.pageSize = pageSize; // Must match bytes written by writePage
     pageRef.diffSize = pageSize; // Must match bytes written by writeDiff
   }
@@ -199,9 +227,17 @@ public final class UTreeLeaf extends UTreePage {
 
   @Override
   public void writePage(Output<?> output) {
-    Recon.write(toHeader(), output);
-    writePageContent(output);
-    output.write('\n');
+    if (isBinary()) {
+      BinaryPage.writeHeader(output, BinaryPage.ULEAF, pageSize());
+      ReconBinary.writeVarint(output, this.pageRef.stem);
+      ReconBinary.writeVarint(output, this.version);
+      ReconBinary.writeValue(output, this.value);
+    } else {
+      final Output<?> encoder = Utf8.encodedOutput(output);
+      Recon.write(toHeader(), encoder);
+      writePageContent(encoder);
+      encoder.write('\n');
+    }
   }
 
   void writePageContent(Output<?> output) {
@@ -14,6 +14,7 @@
 
 package swim.db;
 
+import java.nio.ByteBuffer;
 import swim.structure.Value;
 import swim.util.Cursor;
 
@@ -32,6 +33,15 @@ public abstract class UTreePage extends Page {
     }
   }
 
+  public static UTreePage fromBuffer(UTreePageRef pageRef, ByteBuffer buffer) {
+    switch (pageRef.pageType()) {
+      case LEAF:
+        return UTreeLeaf.fromBuffer(pageRef, buffer);
+      default:
+        throw new IllegalArgumentException(pageRef.toString());
+    }
+  }
+
   @Override
   public boolean isUTreePage() {
     return true;
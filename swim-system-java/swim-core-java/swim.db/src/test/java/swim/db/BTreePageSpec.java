@@ -14,9 +14,12 @@
 
 package swim.db;
 
+import java.nio.ByteBuffer;
 import org.testng.annotations.Test;
 import swim.structure.Num;
+import static org.testng.Assert.ThrowingRunnable;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.expectThrows;
 
 public class BTreePageSpec {
 
@@ -158,4 +161,22 @@ public class BTreePageSpec {
     }
   }
 
+  @Test
+  public void testRejectBinaryNodeWithoutChildren() {
+    final PageContext pageContext = new PageContext();
+    final BTreePageRef pageRef = BTreePageRef.empty(pageContext, 0, 0L);
+    final ByteBuffer buffer = ByteBuffer.allocate(BinaryPage.HEADER_SIZE + 3);
+    buffer.put((byte) BinaryPage.MAGIC).put((byte) BinaryPage.VERSION).put((byte) BinaryPage.BNODE);
+    buffer.putInt(3);
+    buffer.put((byte) 0).put((byte) 0).put((byte) 0); // stem, version, child count
+    buffer.flip();
+    final StoreException error = expectThrows(StoreException.class, new ThrowingRunnable() {
+      @Override
+      public void run() {
+        BTreeNode.fromBuffer(pageRef, buffer);
+      }
+    });
+    assertEquals(error.getMessage(), "Malformed binary bnode: invalid child count 0");
+  }
+
 }
@@ -18,9 +18,14 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.channels.FileChannel;
 import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
 import java.util.Map;
 import org.testng.annotations.Test;
 import swim.structure.Form;
+import swim.structure.Num;
+import swim.structure.Text;
+import swim.structure.Value;
+import static org.testng.Assert.assertEquals;
 
 public class DatabaseSpec {
 
@@ -109,4 +114,22 @@ public class DatabaseSpec {
     testFile.delete();
   }
 
+  @Test
+  public void testPutAll() {
+    final Database database = new Database(new TestStore());
+    final BTreeMap map = database.openBTreeMap("test");
+    map.put(Text.from("a"), Num.from(0));
+
+    final Map<Value, Value> entries = new HashMap<Value, Value>();
+    for (int i = 0; i < 100; i += 1) {
+      entries.put(Text.from(Character.toString((char) ('a' + i % 26)) + i), Num.from(i));
+    }
+    entries.put(Text.from("a"), Num.from(1));
+    map.putAll(entries);
+
+    assertEquals(map.size(), 101);
+    assertEquals(map.get(Text.from("a")), Num.from(1));
+    assertEquals(map.get(Text.from("z25")), Num.from(25));
+  }
+
 }
@@ -18,6 +18,7 @@ import java.io.File;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import org.testng.annotations.Test;
 import swim.concurrent.Theater;
@@ -27,10 +28,12 @@ import swim.spatial.GeoProjection;
 import swim.spatial.SpatialMap;
 import swim.structure.Data;
 import swim.structure.Form;
+import swim.structure.Record;
 import swim.structure.Text;
 import swim.structure.Value;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
 public class FileStoreSpec {
 
@@ -300,6 +303,197 @@ public class FileStoreSpec {
     }
   }
 
+  @Test
+  public void testBinaryPages() throws InterruptedException {
+    final File storePath = new File(testOutputDir, "binary-pages.swimdb");
+    final Theater stage = new Theater();
+    final StoreContext storeContext = new StoreContext(storeSettings.pageFormat(PageFormat.BINARY)) {
+      @Override
+      public boolean pageShouldSplit(Store store, Database database, Page page) {
+        return page.arity() > 3;
+      }
+
+      @Override
+      public boolean pageShouldMerge(Store store, Database database, Page page) {
+        return page.arity() < 2;
+      }
+
+      @Override
+      public Commit databaseWillCommit(Store store, Database database, Commit commit) {
+        return commit; // Override auto shift behavior.
+      }
+
+      @Override
+      public void databaseDidCommit(Store store, Database database, Chunk chunk) {
+        // Override auto commit and compact behavior.
+      }
+    };
+    FileStore store = new FileStore(storeContext, storePath, stage).open();
+    try {
+      stage.start();
+      Database database = store.openDatabase();
+      final Map<String, Integer> map = database.openBTreeMap("map").load()
+          .keyForm(Form.forString())
+          .valueForm(Form.forInteger());
+      final List<String> list = database.openSTreeList("list").load()
+          .valueForm(Form.forString());
+      final UTreeValue value = database.openUTreeValue("value").load();
+      for (int i = 0; i < 32; i += 1) {
+        map.put("k" + i, i);
+        list.add("v" + i);
+      }
+      value.set(Record.of().attr("a", 1).slot("b", 2.5).item(Data.wrap(new byte[] {1, 2, 3})).item(-7L));
+      database.commit(Commit.forced());
+      store.close();
+
+      store = new FileStore(storeContext, storePath, stage).open();
+      database = store.openDatabase();
+      final Map<String, Integer> reloadedMap = database.openBTreeMap("map").load()
+          .keyForm(Form.forString())
+          .valueForm(Form.forInteger());
+      final List<String> reloadedList = database.openSTreeList("list").load()
+          .valueForm(Form.forString());
+      final UTreeValue reloadedValue = database.openUTreeValue("value").load();
+      assertEquals(reloadedMap.size(), 32);
+      assertEquals(reloadedList.size(), 32);
+      for (int i = 0; i < 32; i += 1) {
+        assertEquals(reloadedMap.get("k" + i), Integer.valueOf(i));
+        assertEquals(reloadedList.get(i), "v" + i);
+      }
+      assertEquals(reloadedValue.get(), Record.of().attr("a", 1).slot("b", 2.5)
+          .item(Data.wrap(new byte[] {1, 2, 3})).item(-7L));
+
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testMappedZones() throws InterruptedException {
+    final File storePath = new File(testOutputDir, "mapped-zones.swimdb");
+    final Theater stage = new Theater();
+    final StoreContext storeContext = new StoreContext(storeSettings.mapZones(true)) {
+      @Override
+      public boolean pageShouldSplit(Store store, Database database, Page page) {
+        return page.arity() > 3;
+      }
+
+      @Override
+      public boolean pageShouldMerge(Store store, Database database, Page page) {
+        return page.arity() < 2;
+      }
+
+      @Override
+      public Commit databaseWillCommit(Store store, Database database, Commit commit) {
+        return commit; // Override auto shift behavior.
+      }
+
+      @Override
+      public void databaseDidCommit(Store store, Database database, Chunk chunk) {
+        // Override auto commit and compact behavior.
+      }
+    };
+    FileStore store = new FileStore(storeContext, storePath, stage).open();
+    try {
+      stage.start();
+      Database database = store.openDatabase();
+      final Map<String, Integer> map = database.openBTreeMap("map").load()
+          .keyForm(Form.forString())
+          .valueForm(Form.forInteger());
+      for (int i = 0; i < 16; i += 1) {
+        map.put("k" + i, i);
+      }
+      database.commit(Commit.forced());
+      map.put("k16", 16);
+      database.commit(Commit.forced().isShifted(true));
+      assertEquals(store.zoneFiles().size(), 2);
+      store.close();
+
+      store = new FileStore(storeContext, storePath, stage).open();
+      database = store.openDatabase();
+      final Map<String, Integer> reloadedMap = database.openBTreeMap("map").load()
+          .keyForm(Form.forString())
+          .valueForm(Form.forInteger());
+      for (int i = 0; i <= 16; i += 1) {
+        assertEquals(reloadedMap.get("k" + i), Integer.valueOf(i));
+      }
+      assertNotNull(store.zone(1).mapping);
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testWriteAheadLog() throws InterruptedException {
+    final File storePath = new File(testOutputDir, "write-ahead-log.swimdb");
+    final Theater stage = new Theater();
+    final StoreContext storeContext = new StoreContext(storeSettings.writeAheadLog(true).syncLog(true)) {
+      @Override
+      public void treeDidChange(Store store, Database database, Tree newTree, Tree oldTree) {
+        // Override auto commit behavior.
+      }
+
+      @Override
+      public void databaseDidCommit(Store store, Database database, Chunk chunk) {
+        // Override auto compact behavior.
+      }
+    };
+    FileStore store = new FileStore(storeContext, storePath, stage).open();
+    try {
+      stage.start();
+      Database database = store.openDatabase();
+      final BTreeMap map = database.openBTreeMap("map");
+      final STreeList list = database.openSTreeList("list");
+      final UTreeValue value = database.openUTreeValue("value");
+      for (int i = 0; i < 8; i += 1) {
+        map.put(Text.from("k" + i), Value.fromObject(i));
+      }
+      database.commit(Commit.forced());
+      for (int i = 8; i < 16; i += 1) {
+        map.put(Text.from("k" + i), Value.fromObject(i));
+      }
+      map.remove(Text.from("k0"));
+      list.add(Text.from("a"));
+      list.add(Text.from("c"));
+      list.add(1, Text.from("b"));
+      value.set(Text.from("v"));
+      // Abandon the store without committing, as if the process had crashed.
+
+      store = new FileStore(storeContext, storePath, stage).open();
+      database = store.openDatabase();
+      final BTreeMap replayedMap = database.openBTreeMap("map");
+      assertEquals(replayedMap.size(), 15);
+      assertEquals(replayedMap.get(Text.from("k0")), Value.absent());
+      for (int i = 1; i < 16; i += 1) {
+        assertEquals(replayedMap.get(Text.from("k" + i)), Value.fromObject(i));
+      }
+      final STreeList replayedList = database.openSTreeList("list");
+      assertEquals(replayedList.size(), 3);
+      assertEquals(replayedList.get(0), Text.from("a"));
+      assertEquals(replayedList.get(1), Text.from("b"));
+      assertEquals(replayedList.get(2), Text.from("c"));
+      assertEquals(database.openUTreeValue("value").get(), Text.from("v"));
+
+      database.commit(Commit.forced());
+      // The next synced write is flushed after the checkpoint has truncated the log.
+      replayedMap.put(Text.from("k16"), Value.fromObject(16));
+      assertEquals(store.log.logFiles().size(), 1);
+      store.close();
+
+      store = new FileStore(storeContext, storePath, stage).open();
+      database = store.openDatabase();
+      assertEquals(database.openBTreeMap("map").size(), 16);
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
   @Test
   public void testAutoCommit() throws InterruptedException {
     final File storePath = new File(testOutputDir, "auto-commit.swimdb");
@@ -466,6 +660,141 @@ public class FileStoreSpec {
     }
   }
 
+  @Test
+  public void testIncrementalCompact() throws InterruptedException {
+    final File storePath = new File(testOutputDir, "incremental-compact.swimdb");
+    final Theater stage = new Theater();
+    final List<Double> progress = new CopyOnWriteArrayList<Double>();
+    final StoreContext storeContext = new StoreContext(storeSettings.compactStepSize(1L)) {
+      @Override
+      public boolean pageShouldSplit(Store store, Database database, Page page) {
+        return page.arity() > 3;
+      }
+
+      @Override
+      public boolean pageShouldMerge(Store store, Database database, Page page) {
+        return page.arity() < 2;
+      }
+
+      @Override
+      public void treeDidChange(Store store, Database database, Tree newTree, Tree oldTree) {
+        // Override auto commit behavior.
+      }
+
+      @Override
+      public void databaseDidCommit(Store store, Database database, Chunk chunk) {
+        // Override auto compact behavior.
+      }
+
+      @Override
+      public void databaseDidEvacuate(Store store, Database database, Compact compact, double stepProgress) {
+        progress.add(stepProgress);
+      }
+    };
+    final FileStore store = new FileStore(storeContext, storePath, stage).open();
+    try {
+      stage.start();
+      final Database database = store.openDatabase();
+      final Map<String, Integer> map = database.openBTreeMap("test")
+          .keyForm(Form.forString())
+          .valueForm(Form.forInteger());
+      for (int i = 0; i < 64; i += 1) {
+        map.put("k" + i, i);
+      }
+      database.commit(Commit.forced());
+      final long writtenSize = store.writtenSize();
+      assertEquals(store.rewrittenSize(), 0L);
+      assertEquals(store.writeAmplification(), 1.0);
+
+      map.put("k64", 64); // Compaction only shifts zones with pending changes.
+      database.compact(Compact.forced(0));
+      assertEquals(store.zoneFiles().size(), 1);
+      assertTrue(progress.size() > 1);
+      assertEquals(progress.get(progress.size() - 1), 1.0);
+      assertEquals(store.compactProgress(), 1.0);
+      assertTrue(store.rewrittenSize() > 0L);
+      assertTrue(store.writtenSize() > writtenSize);
+      assertTrue(store.writeAmplification() > 1.0);
+      for (int i = 0; i <= 64; i += 1) {
+        assertEquals(map.get("k" + i), Integer.valueOf(i));
+      }
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testEvacuateResumesWithinBudget() throws InterruptedException {
+    final File storePath = new File(testOutputDir, "evacuate-resume.swimdb");
+    final Theater stage = new Theater();
+    final StoreContext storeContext = new StoreContext(storeSettings) {
+      @Override
+      public boolean pageShouldSplit(Store store, Database database, Page page) {
+        return page.arity() > 3;
+      }
+
+      @Override
+      public boolean pageShouldMerge(Store store, Database database, Page page) {
+        return page.arity() < 2;
+      }
+
+      @Override
+      public void treeDidChange(Store store, Database database, Tree newTree, Tree oldTree) {
+        // Override auto commit behavior.
+      }
+
+      @Override
+      public Commit databaseWillCommit(Store store, Database database, Commit commit) {
+        return commit; // Override auto shift behavior.
+      }
+
+      @Override
+      public void databaseDidCommit(Store store, Database database, Chunk chunk) {
+        // Override auto compact behavior.
+      }
+    };
+    final FileStore store = new FileStore(storeContext, storePath, stage).open();
+    try {
+      stage.start();
+      final Database database = store.openDatabase();
+      final Map<String, Integer> a = database.openBTreeMap("a")
+          .keyForm(Form.forString())
+          .valueForm(Form.forInteger());
+      final Map<String, Integer> b = database.openBTreeMap("b")
+          .keyForm(Form.forString())
+          .valueForm(Form.forInteger());
+      for (int i = 0; i < 64; i += 1) {
+        a.put("k" + i, i);
+        b.put("k" + i, -i);
+      }
+      database.commit(Commit.forced());
+      a.put("k64", 64); // Only commits with pending changes shift zones.
+      database.commit(Commit.forced().isShifted(true));
+      final int post = store.zone().id();
+
+      int steps = 0;
+      while (!database.evacuate(post, 1L)) {
+        assertTrue(database.evacuateName != null);
+        steps += 1;
+        database.commit(Commit.forced());
+      }
+      // A single byte budget moves one leaf path per step.
+      assertTrue(steps > 2 * 16);
+      assertTrue(database.evacuateName == null);
+      assertTrue(database.evacuate(post, 1L));
+      for (int i = 0; i < 64; i += 1) {
+        assertEquals(a.get("k" + i), Integer.valueOf(i));
+        assertEquals(b.get("k" + i), Integer.valueOf(-i));
+      }
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
   @Test
   public void benchmarkLargeWrites() throws InterruptedException {
     final File storePath = new File(testOutputDir, "large-writes.swimdb");
@@ -0,0 +1,147 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import org.testng.annotations.Test;
+import swim.structure.Num;
+import swim.structure.Text;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class PageCacheSpec {
+
+  static Page page(PageContext context, int i) {
+    return UTreeLeaf.create(context, 0, 0L, Num.from(i));
+  }
+
+  static long queueWeight(PageCacheEntry queue) {
+    long weight = 0L;
+    for (PageCacheEntry entry = queue.next; entry != queue; entry = entry.next) {
+      weight += entry.weight;
+    }
+    return weight;
+  }
+
+  static void assertSegmentWeights(PageCache cache) {
+    final long windowWeight = queueWeight(cache.window);
+    final long probationWeight = queueWeight(cache.probation);
+    final long protectedWeight = queueWeight(cache.protect);
+    assertEquals(cache.windowWeight, windowWeight);
+    assertEquals(cache.protectedWeight, protectedWeight);
+    assertEquals(cache.weight(), windowWeight + probationWeight + protectedWeight);
+  }
+
+  @Test
+  public void testWeightBound() {
+    final PageContext context = new PageContext();
+    final PageCache cache = new PageCache(4096L, 256);
+    for (int i = 0; i < 1024; i += 1) {
+      cache.put(page(context, i));
+      assertTrue(cache.weight() <= cache.maxWeight());
+    }
+    assertEquals(cache.misses(), 1024L);
+    assertTrue(cache.evictions() > 0L);
+    assertEquals(cache.weight(), cache.trunkWeight(context));
+    assertEquals(cache.size(), cache.trunkSize(context));
+  }
+
+  @Test
+  public void testScanResistance() {
+    final PageContext context = new PageContext();
+    final Page[] hot = new Page[32];
+    for (int i = 0; i < hot.length; i += 1) {
+      hot[i] = page(context, i);
+    }
+    final long maxWeight = 2L * hot.length * hot[0].pageSize();
+    final PageCache cache = new PageCache(maxWeight, 256);
+    for (int k = 0; k < 8; k += 1) {
+      for (int i = 0; i < hot.length; i += 1) {
+        cache.put(hot[i]);
+      }
+    }
+    for (int i = 0; i < 4096; i += 1) {
+      cache.put(page(context, hot.length + i));
+    }
+    for (int i = 0; i < hot.length; i += 1) {
+      assertTrue(cache.contains(hot[i]), "hot page " + i + " evicted by scan");
+    }
+  }
+
+  @Test
+  public void testSegmentWeightsAfterEviction() {
+    final PageContext context = new PageContext();
+    final int pageSize = page(context, 0).pageSize();
+    final PageCache cache = new PageCache(200L * pageSize, 256);
+    final Page[] hot = new Page[150];
+    for (int i = 0; i < hot.length; i += 1) {
+      hot[i] = page(context, i);
+      cache.put(hot[i]);
+      assertSegmentWeights(cache);
+    }
+    for (int i = 0; i < hot.length; i += 1) {
+      cache.put(hot[i]);
+      assertSegmentWeights(cache);
+    }
+    assertTrue(cache.protectedWeight > 0L);
+    // A frequently hit window entry displaces protected entries when it leaves the window.
+    final Page warm = page(context, hot.length);
+    for (int k = 0; k < 5; k += 1) {
+      cache.put(warm);
+      assertSegmentWeights(cache);
+    }
+    final StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 60 * pageSize; i += 1) {
+      text.append('x');
+    }
+    cache.put(UTreeLeaf.create(context, 0, 0L, Text.from(text.toString())));
+    assertSegmentWeights(cache);
+    assertTrue(cache.evictions() > 0L);
+    assertTrue(cache.weight() <= cache.maxWeight());
+    for (int i = 0; i < 1024; i += 1) {
+      cache.put(page(context, hot.length + 1 + i));
+      assertSegmentWeights(cache);
+    }
+    cache.remove(warm);
+    assertSegmentWeights(cache);
+    cache.clear();
+    assertEquals(cache.windowWeight, 0L);
+    assertEquals(cache.protectedWeight, 0L);
+    assertEquals(cache.weight(), 0L);
+  }
+
+  @Test
+  public void testTrunkAccounting() {
+    final PageContext context1 = new PageContext();
+    final PageContext context2 = new PageContext();
+    final PageCache cache = new PageCache(1L << 20, 256);
+    final Page page1 = page(context1, 1);
+    final Page page2 = page(context2, 2);
+    cache.put(page1);
+    cache.put(page1);
+    cache.put(page2);
+    assertEquals(cache.trunkSize(context1), 1);
+    assertEquals(cache.trunkSize(context2), 1);
+    assertEquals(cache.trunkWeight(context1), (long) page1.pageSize());
+    assertEquals(cache.trunkWeight(context2), (long) page2.pageSize());
+    assertEquals(cache.trunkHits(context1), 1L);
+    assertEquals(cache.trunkMisses(context2), 1L);
+    assertEquals(cache.hits(), 1L);
+    assertEquals(cache.misses(), 2L);
+    cache.remove(page1);
+    assertEquals(cache.trunkSize(context1), 0);
+    assertEquals(cache.weight(), (long) page2.pageSize());
+  }
+
+}
@@ -348,6 +348,8 @@ public class Deflate<O> extends Encoder<Encoder<?, O>, O> implements Cloneable {
   public int avail_out;
   // total number of bytes output so far
   public long total_out;
+  // heap staging buffer for output buffers without a backing array
+  byte[] stage_out;
   // flush mode for pull operations
   protected int flush;
   // best guess about the data type: binary or text
@@ -824,13 +826,24 @@ public class Deflate<O> extends Encoder<Encoder<?, O>, O> implements Cloneable {
 
   @Override
   public Encoder<Encoder<?, O>, O> pull(OutputBuffer<?> output) {
-    next_out = output.array();
-    next_out_index = output.arrayOffset() + output.index();
+    final boolean hasArray = output.hasArray();
     avail_out = output.remaining();
+    if (hasArray) {
+      next_out = output.array();
+      next_out_index = output.arrayOffset() + output.index();
+    } else {
+      // Deflate into a heap array, and copy the result into the direct buffer.
+      next_out = stage_out(avail_out);
+      next_out_index = 0;
+    }
 
     try {
       final boolean needsMore = deflate(flush);
-      output.index(next_out_index - output.arrayOffset());
+      if (hasArray) {
+        output.index(next_out_index - output.arrayOffset());
+      } else {
+        output = output.write(next_out, 0, next_out_index);
+      }
 
       if (input.isDone() && !needsMore) {
         return input.asDone();
@@ -852,6 +865,15 @@ public class Deflate<O> extends Encoder<Encoder<?, O>, O> implements Cloneable {
     }
   }
 
+  byte[] stage_out(int size) {
+    byte[] stage = stage_out;
+    if (stage == null || stage.length < size) {
+      stage = new byte[size];
+      stage_out = stage;
+    }
+    return stage;
+  }
+
   public boolean deflate(int flush) {
     int old_flush; // value of flush param for previous deflate call
 
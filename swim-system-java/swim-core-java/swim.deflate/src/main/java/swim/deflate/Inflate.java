@@ -289,6 +289,8 @@ public class Inflate<O> extends Decoder<O> implements Cloneable {
   public int next_in_index;
   // number of bytes available at next_in_index
   public int avail_in;
+  // heap staging buffer for input buffers without a backing array
+  byte[] stage_in;
   // total number of input bytes read so far
   public long total_in;
   // output buffer
@@ -366,7 +368,9 @@ public class Inflate<O> extends Decoder<O> implements Cloneable {
   // work area for code table building
   short work[] = new short[288];
   // space for code tables
-  int codes[] = new int[ENOUGH];
+  final int table[] = new int[ENOUGH];
+  // current code tables; either table, or the shared fixed tables
+  int codes[] = table;
   // if false, allow invalid distance too far
   boolean sane;
   // bits back of last unprocessed length/lit
@@ -449,7 +453,8 @@ public class Inflate<O> extends Decoder<O> implements Cloneable {
     next = from.next;
     System.arraycopy(from.lens, 0, lens, 0, lens.length);
     System.arraycopy(from.work, 0, work, 0, work.length);
-    System.arraycopy(from.codes, 0, codes, 0, codes.length);
+    System.arraycopy(from.table, 0, table, 0, table.length);
+    codes = from.codes == fixed ? fixed : table;
     sane = from.sane;
     back = from.back;
     was = from.was;
@@ -527,9 +532,18 @@ public class Inflate<O> extends Decoder<O> implements Cloneable {
   @Override
   public Decoder<O> feed(InputBuffer input) {
     is_last = !input.isPart();
-    next_in = input.array();
-    next_in_index = input.arrayOffset() + input.index();
+    final boolean hasArray = input.hasArray();
+    final int base = input.index();
     avail_in = input.remaining();
+    if (hasArray) {
+      next_in = input.array();
+      next_in_index = input.arrayOffset() + base;
+    } else {
+      // Copy the direct buffer into a heap array to inflate from.
+      next_in = stage_in(avail_in);
+      next_in_index = 0;
+      input.get(base, next_in, 0, avail_in);
+    }
 
     initWindow();
     next_out = window;
@@ -558,7 +572,11 @@ public class Inflate<O> extends Decoder<O> implements Cloneable {
     } catch (DeflateException cause) {
       return error(cause);
     } finally {
-      input.index(next_in_index - input.arrayOffset());
+      if (hasArray) {
+        input.index(next_in_index - input.arrayOffset());
+      } else {
+        input.index(base + next_in_index);
+      }
 
       next_out = null;
       next_out_index = 0;
@@ -570,6 +588,15 @@ public class Inflate<O> extends Decoder<O> implements Cloneable {
     }
   }
 
+  byte[] stage_in(int size) {
+    byte[] stage = stage_in;
+    if (stage == null || stage.length < size) {
+      stage = new byte[size];
+      stage_in = stage;
+    }
+    return stage;
+  }
+
   @SuppressWarnings("fallthrough")
   public boolean inflate(int flush) {
     int in, out; // save starting available input and output
@@ -1680,6 +1707,10 @@ public class Inflate<O> extends Decoder<O> implements Cloneable {
     // at length counts to determine sub-table sizes when building the
     // decoding tables.
 
+    // build tables in this inflater's own table space, never in the shared
+    // fixed tables selected by a previous fixed block
+    codes = table;
+
     // accumulate lengths for codes (assumes lens[] all in 0..MAXBITS)
     for (len = 0; len <= MAXBITS; len++) {
       count[len] = 0;
@@ -15,6 +15,7 @@
 package swim.deflate;
 
 import java.nio.charset.Charset;
+import java.util.zip.Deflater;
 import org.testng.TestException;
 import org.testng.annotations.Test;
 import swim.codec.Binary;
@@ -144,4 +145,26 @@ public class InflateSpec {
     return output.bind();
   }
 
+  @Test
+  public void inflateDynamicBlockAfterFixedBlock() {
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 256; i += 1) {
+      builder.append("@event(node:\"/unit/").append(i % 17).append("\",lane:\"value\")").append(i * 31);
+    }
+    final String inflated = "Hello" + builder.toString();
+    final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    final byte[] deflated = new byte[inflated.length()];
+    deflater.setInput("Hello".getBytes(Charset.forName("UTF-8")));
+    int deflatedSize = deflater.deflate(deflated, 0, deflated.length, Deflater.SYNC_FLUSH);
+    deflater.setInput(builder.toString().getBytes(Charset.forName("UTF-8")));
+    deflater.finish();
+    deflatedSize += deflater.deflate(deflated, deflatedSize, deflated.length - deflatedSize);
+    deflater.end();
+    final byte[] stream = new byte[deflatedSize];
+    System.arraycopy(deflated, 0, stream, 0, deflatedSize);
+    // repeat to verify that the shared fixed code tables stay intact
+    assertInflates(stream, inflated, Deflate.Z_NO_WRAP, 15);
+    assertInflates(stream, inflated, Deflate.Z_NO_WRAP, 15);
+  }
+
 }
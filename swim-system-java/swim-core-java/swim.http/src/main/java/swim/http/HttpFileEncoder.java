@@ -0,0 +1,99 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package swim.http;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import swim.codec.Encoder;
+import swim.codec.EncoderException;
+import swim.codec.OutputBuffer;
+
+final class HttpFileEncoder<T> extends Encoder<Object, HttpMessage<T>> {
+
+  final HttpMessage<T> message;
+  final FileChannel channel;
+  final long length;
+  final long offset;
+
+  HttpFileEncoder(HttpMessage<T> message, FileChannel channel, long length, long offset) {
+    this.message = message;
+    this.channel = channel;
+    this.length = length;
+    this.offset = offset;
+  }
+
+  HttpFileEncoder(HttpMessage<T> message, FileChannel channel, long length) {
+    this(message, channel, length, 0L);
+  }
+
+  static <T> Encoder<Object, HttpMessage<T>> encode(OutputBuffer<?> output, HttpMessage<T> message,
+                                                    FileChannel channel, long length, long offset) {
+    try {
+      final long inputRemaining = length - offset;
+      if (inputRemaining > 0L && output.transferFrom(channel, offset, inputRemaining)) {
+        // The transport now owns the channel, and closes it once it has
+        // transferred the rest of the file.
+        return done(message);
+      }
+      if (inputRemaining > 0L) {
+        final int outputStart = output.index();
+        final int outputLimit = output.limit();
+        final boolean outputPart = output.isPart();
+        if (inputRemaining <= outputLimit - outputStart) {
+          output = output.limit(outputStart + (int) inputRemaining).isPart(false);
+        } else {
+          output = output.isPart(true);
+        }
+        final int count = output.write(channel);
+        output = output.limit(outputLimit).isPart(outputPart);
+        if (count < 0) {
+          channel.close();
+          return error(new EncoderException("buffer underflow"));
+        }
+        offset += count;
+      }
+      if (offset >= length) {
+        channel.close();
+        return done(message);
+      } else if (output.isDone()) {
+        channel.close();
+        return error(new EncoderException("truncated"));
+      } else if (output.isError()) {
+        channel.close();
+        return error(output.trap());
+      }
+      return new HttpFileEncoder<T>(message, channel, length, offset);
+    } catch (IOException cause) {
+      try {
+        channel.close();
+      } catch (IOException swallow) {
+        // swallow
+      }
+      return error(cause);
+    }
+  }
+
+  static <T> Encoder<Object, HttpMessage<T>> encode(OutputBuffer<?> output, HttpMessage<T> message,
+                                                    FileChannel channel, long length) {
+    return encode(output, message, channel, length, 0L);
+  }
+
+  @Override
+  public Encoder<Object, HttpMessage<T>> pull(OutputBuffer<?> output) {
+    return encode(output, this.message, this.channel, this.length, this.offset);
+  }
+
+}
@@ -67,7 +67,7 @@ public abstract class HttpMessage<T> extends HttpPart {
       return updatedHeaders(oldHeaders, newHeaders.head());
     } else {
       final Builder<HttpHeader, FingerTrieSeq<HttpHeader>> headers = FingerTrieSeq.builder();
-      final HashTrieSet<HttpHeader> absent = HashTrieSet.from(newHeaders);
+      HashTrieSet<HttpHeader> absent = HashTrieSet.from(newHeaders);
       boolean changed = false;
       loop:
       for (int i = 0, oldHeaderCount = oldHeaders.size(); i < oldHeaderCount; i += 1) {
@@ -75,7 +75,7 @@ public abstract class HttpMessage<T> extends HttpPart {
         for (int j = 0; j < newHeaderCount; j += 1) {
           final HttpHeader newHeader = newHeaders.get(j);
           if (oldHeader.lowerCaseName().equals(newHeader.lowerCaseName())) {
-            absent.remove(newHeader);
+            absent = absent.removed(newHeader);
             if (!oldHeader.equals(newHeader)) {
               changed = true;
             }
@@ -45,6 +45,7 @@ import swim.http.header.Server;
 import swim.http.header.TransferEncoding;
 import swim.http.header.Upgrade;
 import swim.http.header.UserAgent;
+import swim.http.header.Vary;
 import swim.uri.Uri;
 
 public class HttpParser {
@@ -270,6 +271,8 @@ public class HttpParser {
       return Upgrade.parseHttpValue(input, this);
     } else if ("User-Agent".equalsIgnoreCase(name)) {
       return UserAgent.parseHttpValue(input, this);
+    } else if ("Vary".equalsIgnoreCase(name)) {
+      return Vary.parseHttpValue(input, this);
     } else {
       return RawHeader.parseHttpValue(input, this, name.toLowerCase(), name);
     }
@@ -74,6 +74,19 @@ public final class AcceptEncoding extends HttpHeader {
     return this.codings;
   }
 
+  public boolean accepts(String coding) {
+    float starWeight = 0f;
+    for (int i = 0, n = this.codings.size(); i < n; i += 1) {
+      final ContentCoding contentCoding = this.codings.get(i);
+      if (contentCoding.name().equalsIgnoreCase(coding)) {
+        return contentCoding.weight() > 0f;
+      } else if (contentCoding.isStar()) {
+        starWeight = contentCoding.weight();
+      }
+    }
+    return starWeight > 0f;
+  }
+
   @Override
   public Writer<?, ?> writeHttpValue(Output<?> output, HttpWriter http) {
     return http.writeParamList(this.codings.iterator(), output);
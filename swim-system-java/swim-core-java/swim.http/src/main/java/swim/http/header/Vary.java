@@ -0,0 +1,137 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.http.header;
+
+import swim.codec.Input;
+import swim.codec.Output;
+import swim.codec.Parser;
+import swim.codec.Writer;
+import swim.collections.FingerTrieSeq;
+import swim.http.HttpHeader;
+import swim.http.HttpParser;
+import swim.http.HttpWriter;
+import swim.util.Murmur3;
+
+public final class Vary extends HttpHeader {
+
+  private static int hashSeed;
+  private static Vary acceptEncoding;
+  final FingerTrieSeq<String> fields;
+
+  Vary(FingerTrieSeq<String> fields) {
+    this.fields = fields;
+  }
+
+  public static Vary acceptEncoding() {
+    if (acceptEncoding == null) {
+      acceptEncoding = new Vary(FingerTrieSeq.of("Accept-Encoding"));
+    }
+    return acceptEncoding;
+  }
+
+  public static Vary from(FingerTrieSeq<String> fields) {
+    if (fields.size() == 1 && "Accept-Encoding".equals(fields.head())) {
+      return acceptEncoding();
+    }
+    return new Vary(fields);
+  }
+
+  public static Vary from(String... fields) {
+    return from(FingerTrieSeq.of(fields));
+  }
+
+  public static Parser<Vary> parseHttpValue(Input input, HttpParser http) {
+    return VaryParser.parse(input, http);
+  }
+
+  @Override
+  public boolean isBlank() {
+    return this.fields.isEmpty();
+  }
+
+  @Override
+  public String lowerCaseName() {
+    return "vary";
+  }
+
+  @Override
+  public String name() {
+    return "Vary";
+  }
+
+  public FingerTrieSeq<String> fields() {
+    return this.fields;
+  }
+
+  public boolean contains(String field) {
+    final FingerTrieSeq<String> fields = this.fields;
+    for (int i = 0, n = fields.size(); i < n; i += 1) {
+      if (field.equalsIgnoreCase(fields.get(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns this header with {@code field} appended to its list of fields,
+   * or this header unchanged if it already lists {@code field}, or varies by
+   * all fields ({@code *}).
+   */
+  public Vary appended(String field) {
+    if (contains(field) || contains("*")) {
+      return this;
+    }
+    return from(this.fields.appended(field));
+  }
+
+  @Override
+  public Writer<?, ?> writeHttpValue(Output<?> output, HttpWriter http) {
+    return http.writeTokenList(this.fields.iterator(), output);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    } else if (other instanceof Vary) {
+      final Vary that = (Vary) other;
+      return this.fields.equals(that.fields);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    if (hashSeed == 0) {
+      hashSeed = Murmur3.seed(Vary.class);
+    }
+    return Murmur3.mash(Murmur3.mix(hashSeed, this.fields.hashCode()));
+  }
+
+  @Override
+  public void debug(Output<?> output) {
+    output = output.write("Vary").write('.').write("from").write('(');
+    final int n = this.fields.size();
+    if (n > 0) {
+      output.debug(this.fields.head());
+      for (int i = 1; i < n; i += 1) {
+        output = output.write(", ").debug(this.fields.get(i));
+      }
+    }
+    output = output.write(')');
+  }
+
+}
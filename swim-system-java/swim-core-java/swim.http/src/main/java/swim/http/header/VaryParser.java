@@ -0,0 +1,68 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.http.header;
+
+import swim.codec.Diagnostic;
+import swim.codec.Input;
+import swim.codec.Parser;
+import swim.collections.FingerTrieSeq;
+import swim.http.HttpParser;
+
+final class VaryParser extends Parser<Vary> {
+
+  final HttpParser http;
+  final Parser<FingerTrieSeq<String>> fields;
+
+  VaryParser(HttpParser http, Parser<FingerTrieSeq<String>> fields) {
+    this.http = http;
+    this.fields = fields;
+  }
+
+  VaryParser(HttpParser http) {
+    this(http, null);
+  }
+
+  static Parser<Vary> parse(Input input, HttpParser http,
+                            Parser<FingerTrieSeq<String>> fields) {
+    if (fields == null) {
+      fields = http.parseTokenList(input);
+    } else {
+      fields = fields.feed(input);
+    }
+    if (fields.isDone()) {
+      final FingerTrieSeq<String> tokens = fields.bind();
+      if (!tokens.isEmpty()) {
+        return done(Vary.from(tokens));
+      } else {
+        return error(Diagnostic.expected("vary field", input));
+      }
+    } else if (fields.isError()) {
+      return fields.asError();
+    } else if (input.isError()) {
+      return error(input.trap());
+    }
+    return new VaryParser(http, fields);
+  }
+
+  static Parser<Vary> parse(Input input, HttpParser http) {
+    return parse(input, http, null);
+  }
+
+  @Override
+  public Parser<Vary> feed(Input input) {
+    return parse(input, this.http, this.fields);
+  }
+
+}
@@ -15,12 +15,16 @@
 package swim.http;
 
 import org.testng.annotations.Test;
+import swim.codec.Utf8;
 import swim.http.header.Connection;
 import swim.http.header.ContentLength;
+import swim.http.header.ContentType;
 import swim.http.header.RawHeader;
 import swim.http.header.SecWebSocketAccept;
 import swim.http.header.SecWebSocketProtocol;
+import swim.http.header.TransferEncoding;
 import swim.http.header.Upgrade;
+import static org.testng.Assert.assertEquals;
 import static swim.http.HttpAssertions.assertWrites;
 
 public class HttpResponseSpec {
@@ -97,4 +101,13 @@ public class HttpResponseSpec {
             + "\r\n");
   }
 
+  @Test
+  public void replaceResponseContent() {
+    final HttpResponse<Object> response = HttpResponse.from(HttpStatus.OK).body("Hello")
+        .content(HttpChunked.from(Utf8.stringWriter("Hello"), MediaType.textHtml()));
+    assertEquals(response.headers().size(), 3);
+    assertEquals(response.getHeader(ContentType.class), ContentType.from(MediaType.textHtml()));
+    assertEquals(response.getHeader(TransferEncoding.class), TransferEncoding.chunked());
+  }
+
 }
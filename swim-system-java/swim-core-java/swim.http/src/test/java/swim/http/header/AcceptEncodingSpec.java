@@ -19,6 +19,8 @@ import swim.http.ContentCoding;
 import swim.http.Http;
 import swim.http.HttpAssertions;
 import swim.http.HttpHeader;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 import static swim.http.HttpAssertions.assertWrites;
 
 public class AcceptEncodingSpec {
@@ -69,4 +71,16 @@ public class AcceptEncodingSpec {
         "Accept-Encoding: gzip, deflate; q=0.5, identity; q=0");
   }
 
+  @Test
+  public void acceptContentCodings() {
+    assertTrue(AcceptEncoding.from("gzip").accepts("gzip"));
+    assertTrue(AcceptEncoding.from("GZIP").accepts("gzip"));
+    assertTrue(AcceptEncoding.from("deflate", "gzip; q=0.5").accepts("gzip"));
+    assertTrue(AcceptEncoding.from("*").accepts("gzip"));
+    assertFalse(AcceptEncoding.from("deflate").accepts("gzip"));
+    assertFalse(AcceptEncoding.from("gzip; q=0").accepts("gzip"));
+    assertFalse(AcceptEncoding.from("gzip; q=0", "*").accepts("gzip"));
+    assertFalse(AcceptEncoding.from("*; q=0").accepts("gzip"));
+  }
+
 }
@@ -0,0 +1,56 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.http.header;
+
+import org.testng.annotations.Test;
+import swim.http.Http;
+import swim.http.HttpAssertions;
+import swim.http.HttpHeader;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static swim.http.HttpAssertions.assertWrites;
+
+public class VarySpec {
+
+  public void assertParses(String string, HttpHeader header) {
+    HttpAssertions.assertParses(Http.standardParser().headerParser(), string, header);
+  }
+
+  @Test
+  public void parseVaryHeaders() {
+    assertParses("Vary: *", Vary.from("*"));
+    assertParses("Vary: Accept-Encoding", Vary.acceptEncoding());
+    assertParses("Vary: Origin,Accept-Encoding", Vary.from("Origin", "Accept-Encoding"));
+    assertParses("Vary: Origin, Accept-Encoding", Vary.from("Origin", "Accept-Encoding"));
+    assertParses("Vary: Origin , Accept-Encoding", Vary.from("Origin", "Accept-Encoding"));
+  }
+
+  @Test
+  public void writeVaryHeaders() {
+    assertWrites(Vary.from("*"), "Vary: *");
+    assertWrites(Vary.acceptEncoding(), "Vary: Accept-Encoding");
+    assertWrites(Vary.from("Origin", "Accept-Encoding"), "Vary: Origin, Accept-Encoding");
+  }
+
+  @Test
+  public void appendVaryFields() {
+    assertEquals(Vary.from("Origin").appended("Accept-Encoding"), Vary.from("Origin", "Accept-Encoding"));
+    final Vary vary = Vary.from("Origin", "accept-encoding");
+    assertSame(vary.appended("Accept-Encoding"), vary);
+    final Vary any = Vary.from("*");
+    assertSame(any.appended("Accept-Encoding"), any);
+  }
+
+}
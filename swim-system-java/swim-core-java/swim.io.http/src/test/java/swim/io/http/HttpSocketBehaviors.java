@@ -14,12 +14,17 @@
 
 package swim.io.http;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.concurrent.CountDownLatch;
 import org.testng.TestException;
 import org.testng.annotations.Test;
 import swim.codec.Utf8;
 import swim.concurrent.Theater;
 import swim.http.HttpChunked;
+import swim.http.HttpFile;
 import swim.http.HttpRequest;
 import swim.http.HttpResponse;
 import swim.http.HttpStatus;
@@ -271,4 +276,98 @@ public abstract class HttpSocketBehaviors {
     }
   }
 
+  @Test
+  public void testFileResponse() throws IOException {
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; builder.length() < 256 * 1024; i += 1) {
+      builder.append("line ").append(i).append('\n');
+    }
+    final String fileContent = builder.toString();
+    final File file = File.createTempFile("swim-http-file", ".txt");
+    Files.write(file.toPath(), fileContent.getBytes(StandardCharsets.UTF_8));
+    final Theater stage = new Theater();
+    final HttpEndpoint endpoint = new HttpEndpoint(stage);
+    final CountDownLatch clientResponse = new CountDownLatch(2);
+    final CountDownLatch serverResponse = new CountDownLatch(2);
+    final AbstractHttpClient client = new AbstractHttpClient() {
+      @Override
+      public void didConnect() {
+        super.didConnect();
+        doRequest(new AbstractHttpRequester<String>() {
+          @Override
+          public void doRequest() {
+            writeRequest(HttpRequest.get(Uri.parse("/file")));
+          }
+
+          @Override
+          public void didRespond(HttpResponse<String> response) {
+            assertEquals(clientResponse.getCount(), 2);
+            assertEquals(response.entity().get(), fileContent);
+            clientResponse.countDown();
+          }
+        });
+        doRequest(new AbstractHttpRequester<String>() {
+          @Override
+          public void doRequest() {
+            writeRequest(HttpRequest.get(Uri.parse("/")));
+          }
+
+          @Override
+          public void didRespond(HttpResponse<String> response) {
+            assertEquals(clientResponse.getCount(), 1);
+            assertEquals(response.entity().get(), "serverToClient");
+            clientResponse.countDown();
+          }
+        });
+      }
+    };
+    final AbstractHttpServer server = new AbstractHttpServer() {
+      @Override
+      public HttpResponder<?> doRequest(HttpRequest<?> request) {
+        return new AbstractHttpResponder<Object>() {
+          @Override
+          public void doRespond(HttpRequest<Object> request) {
+            if ("/file".equals(request.uri().path().toString())) {
+              try {
+                writeResponse(HttpResponse.from(HttpStatus.OK).content(HttpFile.fromFile(file.getPath())));
+              } catch (IOException cause) {
+                throw new TestException(cause);
+              }
+            } else {
+              writeResponse(HttpResponse.from(HttpStatus.OK).body("serverToClient"));
+            }
+          }
+
+          @Override
+          public void didRespond(HttpResponse<?> response) {
+            serverResponse.countDown();
+          }
+        };
+      }
+    };
+    final AbstractHttpService service = new AbstractHttpService() {
+      @Override
+      public HttpServer createServer() {
+        return server;
+      }
+    };
+    try {
+      stage.start();
+      endpoint.start();
+      bind(endpoint, service);
+      connect(endpoint, client);
+      clientResponse.await();
+      serverResponse.await();
+    } catch (InterruptedException cause) {
+      throw new TestException(cause);
+    } finally {
+      client.close();
+      server.close();
+      service.unbind();
+      endpoint.stop();
+      stage.stop();
+      file.delete();
+    }
+  }
+
 }
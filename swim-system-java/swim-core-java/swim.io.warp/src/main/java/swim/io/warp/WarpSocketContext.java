@@ -25,6 +25,13 @@ public interface WarpSocketContext extends IpContext, FlowContext {
 
   WarpSettings warpSettings();
 
+  /**
+   * Returns the per-connection link id of the envelope currently being
+   * delivered to {@link WarpSocket#didRead(Envelope)}, or {@code -1} if the
+   * envelope was not addressed by an interned link.
+   */
+  int readLinkId();
+
   void feed(PullRequest<Envelope> pullRequest);
 
   void feed(Envelope envelope, float prio);
@@ -19,6 +19,9 @@ import java.security.Principal;
 import java.security.cert.Certificate;
 import java.util.Collection;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import swim.codec.Decoder;
+import swim.codec.InputBuffer;
+import swim.collections.FingerTrieSeq;
 import swim.concurrent.ConcurrentTrancheQueue;
 import swim.concurrent.Conts;
 import swim.concurrent.DropException;
@@ -28,32 +31,76 @@ import swim.concurrent.PushRequest;
 import swim.concurrent.StayContext;
 import swim.http.HttpRequest;
 import swim.http.HttpResponse;
+import swim.http.header.SecWebSocketProtocol;
 import swim.io.FlowControl;
 import swim.io.FlowModifier;
 import swim.io.IpSocket;
 import swim.io.ws.WebSocket;
 import swim.io.ws.WebSocketContext;
 import swim.warp.Envelope;
+import swim.warp.EnvelopeDictionary;
 import swim.warp.WarpException;
+import swim.ws.WsBinary;
 import swim.ws.WsClose;
 import swim.ws.WsControl;
 import swim.ws.WsData;
 import swim.ws.WsFragment;
 import swim.ws.WsFrame;
+import swim.ws.WsOpcode;
 import swim.ws.WsText;
 
 public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketContext, PullContext<Envelope>, StayContext {
 
+  public static final String PROTOCOL = "warp0";
+  public static final String LEGACY_PROTOCOL = "swim-0.0";
+  public static final String BINARY_PROTOCOL = "warp0-binary";
+
   protected final WarpSocket socket;
   protected final WarpSettings warpSettings;
   final ConcurrentTrancheQueue<PullRequest<Envelope>> supply;
   protected WebSocketContext<Envelope, Envelope> context;
+  EnvelopeDictionary encoderDictionary;
+  EnvelopeDictionary decoderDictionary;
+  boolean readBinary;
+  int readLinkId;
   volatile long status;
 
   public WarpWebSocket(WarpSocket socket, WarpSettings warpSettings) {
     this.socket = socket;
     this.warpSettings = warpSettings;
     this.supply = new ConcurrentTrancheQueue<PullRequest<Envelope>>(TRANCHES);
+    this.readLinkId = -1;
+  }
+
+  /**
+   * Returns the WebSocket subprotocols a WARP client should offer, in order
+   * of preference.  The binary subprotocol is only offered when the
+   * {@code swim.warp.binary} system property is {@code true}.
+   */
+  public static FingerTrieSeq<String> protocols() {
+    if (BINARY_ENABLED) {
+      return FingerTrieSeq.of(BINARY_PROTOCOL, PROTOCOL, LEGACY_PROTOCOL);
+    } else {
+      return FingerTrieSeq.of(PROTOCOL, LEGACY_PROTOCOL);
+    }
+  }
+
+  /**
+   * Returns the subprotocol a WARP server should accept from among the
+   * client's offered {@code protocols}, or {@code null} to use the default
+   * Recon text framing without echoing a subprotocol.
+   */
+  public static String acceptProtocol(FingerTrieSeq<String> protocols) {
+    if (BINARY_ENABLED && protocols.contains(BINARY_PROTOCOL)) {
+      return BINARY_PROTOCOL;
+    } else {
+      return null;
+    }
+  }
+
+  static boolean isBinaryProtocol(HttpResponse<?> httpResponse) {
+    final SecWebSocketProtocol header = httpResponse.getHeader(SecWebSocketProtocol.class);
+    return header != null && header.protocols().contains(BINARY_PROTOCOL);
   }
 
   @Override
@@ -84,11 +131,12 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
       this.context.read(fragment.contentDecoder());
     } else {
       if (frame instanceof WsData<?>) {
+        this.readLinkId = this.readBinary ? this.decoderDictionary.linkId() : -1;
         this.socket.didRead(frame.get());
       } else if (frame instanceof WsControl<?, ?>) {
         this.socket.didRead((WsControl<?, ?>) frame);
       }
-      this.context.read(Envelope.decoder());
+      this.context.read(envelopeDecoder());
     }
   }
 
@@ -121,15 +169,40 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
     generateDemand();
   }
 
+  /**
+   * Returns the maximum number of WARP frames to pack into a single network
+   * write, as configured by the {@code swim.warp.write.batch.size} system
+   * property.  Defaults to {@code 1}, which disables write combining.
+   */
+  @Override
+  public int writeBatchSize() {
+    return WRITE_BATCH_SIZE;
+  }
+
+  /**
+   * Returns the maximum number of nanoseconds to spend packing a batch of
+   * WARP frames before flushing it, as configured in microseconds by the
+   * {@code swim.warp.write.batch.latency} system property.
+   */
+  @Override
+  public long writeBatchTime() {
+    return WRITE_BATCH_TIME;
+  }
+
   @Override
   public void didUpgrade(HttpRequest<?> httpRequest, HttpResponse<?> httpResponse) {
     do {
       final long oldStatus = this.status;
-      final long newStatus = oldStatus | UPGRADED;
+      final boolean binary = isBinaryProtocol(httpResponse);
+      final long newStatus = oldStatus | UPGRADED | (binary ? BINARY : 0L);
       if (oldStatus != newStatus) {
+        if (binary) {
+          this.encoderDictionary = new EnvelopeDictionary(DICTIONARY_CAPACITY);
+          this.decoderDictionary = new EnvelopeDictionary(DICTIONARY_CAPACITY);
+        }
         if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
           this.socket.didUpgrade(httpRequest, httpResponse);
-          this.context.read(Envelope.decoder());
+          this.context.read(envelopeDecoder());
           generateDemand();
           break;
         }
@@ -178,7 +251,7 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
   public void didDisconnect() {
     do {
       final long oldStatus = this.status;
-      final long newStatus = oldStatus & ~(UPGRADED | CLOSING);
+      final long newStatus = oldStatus & ~(UPGRADED | CLOSING | BINARY);
       if (oldStatus != newStatus) {
         if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
           break;
@@ -307,6 +380,11 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
     return this.warpSettings;
   }
 
+  @Override
+  public int readLinkId() {
+    return this.readLinkId;
+  }
+
   @Override
   public void feed(PullRequest<Envelope> pullRequest) {
     do {
@@ -344,6 +422,7 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
 
   @Override
   public void push(Envelope envelope) {
+    long newStatus;
     do {
       final long oldStatus = this.status;
       final long oldDemand = (oldStatus & DEMAND_MASK) >>> DEMAND_SHIFT;
@@ -352,7 +431,7 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
       final long newBuffer = oldBuffer + 1L;
       if (newDemand >= 0L) {
         if (newBuffer <= BUFFER_MAX) {
-          final long newStatus = oldStatus & ~(DEMAND_MASK | BUFFER_MASK)
+          newStatus = oldStatus & ~(DEMAND_MASK | BUFFER_MASK)
               | newDemand << DEMAND_SHIFT
               | newBuffer << BUFFER_SHIFT;
           if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
@@ -365,7 +444,15 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
         throw new WarpException("overdemand");
       }
     } while (true);
-    this.context.write(WsText.from(envelope, envelope.reconEncoder()));
+    if ((newStatus & BINARY) != 0L) {
+      final EnvelopeDictionary encoderDictionary = this.encoderDictionary;
+      synchronized (encoderDictionary) {
+        // Dictionary ids must be assigned in wire order.
+        this.context.write(WsBinary.from(envelope, envelope.binaryWriter(encoderDictionary)));
+      }
+    } else {
+      this.context.write(WsText.from(envelope, envelope.reconEncoder()));
+    }
   }
 
   @Override
@@ -385,6 +472,14 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
     } while (true);
   }
 
+  protected Decoder<Envelope> envelopeDecoder() {
+    if ((this.status & BINARY) != 0L) {
+      return new WarpWebSocketDecoder(this);
+    } else {
+      return Envelope.decoder();
+    }
+  }
+
   protected void generateDemand() {
     demand:
     do {
@@ -502,10 +597,17 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
   static final long BUFFER_MASK;
   static final long UPGRADED;
   static final long CLOSING;
+  static final long BINARY;
 
   static final long TARGET_DEMAND;
   static final int TRANCHES;
 
+  static final boolean BINARY_ENABLED;
+  static final int DICTIONARY_CAPACITY;
+
+  static final int WRITE_BATCH_SIZE;
+  static final long WRITE_BATCH_TIME;
+
   static final AtomicLongFieldUpdater<WarpWebSocket> STATUS =
       AtomicLongFieldUpdater.newUpdater(WarpWebSocket.class, "status");
 
@@ -545,6 +647,7 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
     BUFFER_MASK = BUFFER_MAX << BUFFER_SHIFT;
     UPGRADED = 1L << 60;
     CLOSING = 1L << 61;
+    BINARY = 1L << 62;
 
     int targetDemand;
     try {
@@ -561,6 +664,58 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
       tranches = 5;
     }
     TRANCHES = tranches;
+
+    BINARY_ENABLED = "true".equals(System.getProperty("swim.warp.binary"));
+
+    int dictionaryCapacity;
+    try {
+      dictionaryCapacity = Integer.parseInt(System.getProperty("swim.warp.binary.dictionary"));
+    } catch (NumberFormatException e) {
+      dictionaryCapacity = 4096;
+    }
+    DICTIONARY_CAPACITY = dictionaryCapacity;
+
+    int writeBatchSize;
+    try {
+      writeBatchSize = Integer.parseInt(System.getProperty("swim.warp.write.batch.size"));
+    } catch (NumberFormatException e) {
+      writeBatchSize = 1;
+    }
+    WRITE_BATCH_SIZE = Math.max(1, writeBatchSize);
+
+    long writeBatchLatency;
+    try {
+      writeBatchLatency = Long.parseLong(System.getProperty("swim.warp.write.batch.latency"));
+    } catch (NumberFormatException e) {
+      writeBatchLatency = 0L;
+    }
+    WRITE_BATCH_TIME = Math.max(0L, writeBatchLatency) * 1000L;
+  }
+
+}
+
+final class WarpWebSocketDecoder extends Decoder<Envelope> {
+
+  final WarpWebSocket webSocket;
+
+  WarpWebSocketDecoder(WarpWebSocket webSocket) {
+    this.webSocket = webSocket;
+  }
+
+  @Override
+  public Decoder<Envelope> feed(InputBuffer input) {
+    return Envelope.decoder().feed(input);
+  }
+
+  @Override
+  public Decoder<Envelope> fork(Object condition) {
+    if (condition == WsOpcode.BINARY) {
+      this.webSocket.readBinary = true;
+      return Envelope.binaryDecoder(this.webSocket.decoderDictionary);
+    } else {
+      this.webSocket.readBinary = false;
+      return Envelope.decoder();
+    }
   }
 
 }
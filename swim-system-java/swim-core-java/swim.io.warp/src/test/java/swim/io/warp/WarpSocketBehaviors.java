@@ -19,9 +19,11 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import org.testng.TestException;
 import org.testng.annotations.Test;
+import swim.collections.FingerTrieSeq;
 import swim.concurrent.Theater;
 import swim.http.HttpRequest;
 import swim.http.HttpResponse;
+import swim.http.header.SecWebSocketProtocol;
 import swim.io.IpServiceRef;
 import swim.io.IpSocketRef;
 import swim.io.http.AbstractHttpService;
@@ -29,10 +31,12 @@ import swim.io.http.HttpEndpoint;
 import swim.io.http.HttpResponder;
 import swim.io.http.HttpServer;
 import swim.io.http.HttpService;
+import swim.structure.Num;
 import swim.structure.Record;
 import swim.structure.Value;
 import swim.warp.CommandMessage;
 import swim.warp.Envelope;
+import swim.warp.EventMessage;
 import swim.warp.LinkRequest;
 import swim.warp.LinkedResponse;
 import swim.ws.WsClose;
@@ -277,6 +281,74 @@ public abstract class WarpSocketBehaviors {
     }
   }
 
+  @Test
+  public void testBinaryProtocol() {
+    final Theater stage = new Theater();
+    final HttpEndpoint endpoint = new HttpEndpoint(stage);
+    final int messageCount = 8;
+    final CountDownLatch clientUpgrade = new CountDownLatch(1);
+    final CountDownLatch clientRead = new CountDownLatch(messageCount);
+    final CountDownLatch serverRead = new CountDownLatch(messageCount);
+    final AbstractWarpSocket clientSocket = new AbstractWarpSocket() {
+      @Override
+      public void didUpgrade(HttpRequest<?> httpRequest, HttpResponse<?> httpResponse) {
+        final SecWebSocketProtocol protocol = httpResponse.getHeader(SecWebSocketProtocol.class);
+        assertEquals(protocol.protocols(), FingerTrieSeq.of(WarpWebSocket.BINARY_PROTOCOL));
+        clientUpgrade.countDown();
+        for (int i = 0; i < messageCount; i += 1) {
+          feed(new CommandMessage("node", "lane", Num.from(i)));
+        }
+      }
+
+      @Override
+      public void didRead(Envelope envelope) {
+        assertEquals(envelope, new EventMessage("node", "lane", Num.from(messageCount - clientRead.getCount())));
+        clientRead.countDown();
+      }
+    };
+    final AbstractWarpSocket serverSocket = new AbstractWarpSocket() {
+      @Override
+      public void didRead(Envelope envelope) {
+        assertEquals(envelope, new CommandMessage("node", "lane", Num.from(messageCount - serverRead.getCount())));
+        serverRead.countDown();
+        feed(new EventMessage(envelope.nodeUri(), envelope.laneUri(), envelope.body()));
+      }
+    };
+    final AbstractWarpServer server = new AbstractWarpServer() {
+      @Override
+      public HttpResponder<?> doRequest(HttpRequest<?> httpRequest) {
+        final WsRequest wsRequest = WsRequest.from(httpRequest);
+        final String protocol = WarpWebSocket.acceptProtocol(wsRequest.protocols());
+        final WsResponse wsResponse = wsRequest.accept(wsSettings, protocol);
+        return upgrade(serverSocket, wsResponse);
+      }
+    };
+    final AbstractHttpService service = new AbstractHttpService() {
+      @Override
+      public HttpServer createServer() {
+        return server;
+      }
+    };
+
+    try {
+      stage.start();
+      endpoint.start();
+      bind(endpoint, service);
+      connect(endpoint, clientSocket);
+      clientUpgrade.await();
+      serverRead.await();
+      clientRead.await();
+    } catch (InterruptedException cause) {
+      throw new TestException(cause);
+    } finally {
+      clientSocket.close();
+      serverSocket.close();
+      service.unbind();
+      endpoint.stop();
+      stage.stop();
+    }
+  }
+
   protected void benchmark(int connections, final long duration, final Envelope envelope) {
     final Theater stage = new Theater();
     final HttpEndpoint endpoint = new HttpEndpoint(stage);
@@ -34,7 +34,7 @@ public class WarpSocketSpec extends WarpSocketBehaviors {
 
   @Override
   protected IpSocketRef connect(HttpEndpoint endpoint, final WarpSocket socket) {
-    final WsRequest wsRequest = this.warpSettings.wsSettings().handshakeRequest(this.wsUri);
+    final WsRequest wsRequest = this.warpSettings.wsSettings().handshakeRequest(this.wsUri, WarpWebSocket.protocols());
     final HttpClient client = new AbstractWarpClient(this.warpSettings) {
       @Override
       public void didConnect() {
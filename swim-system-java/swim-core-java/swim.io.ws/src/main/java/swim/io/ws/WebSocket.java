@@ -35,6 +35,14 @@ public interface WebSocket<I, O> {
 
   void didWrite(WsFrame<? extends O> frame);
 
+  default int writeBatchSize() {
+    return 1;
+  }
+
+  default long writeBatchTime() {
+    return 0L;
+  }
+
   void didUpgrade(HttpRequest<?> httpRequest, HttpResponse<?> httpResponse);
 
   void willConnect();
@@ -85,6 +85,16 @@ public class WebSocketModem<I, O> implements IpModem<Object, Object>, WebSocketC
     this.socket.didWrite((WsFrame<O>) output);
   }
 
+  @Override
+  public int writeBatchSize() {
+    return this.socket.writeBatchSize();
+  }
+
+  @Override
+  public long writeBatchTime() {
+    return this.socket.writeBatchTime();
+  }
+
   @Override
   public void willConnect() {
     this.socket.willConnect();
@@ -122,7 +132,14 @@ public class WebSocketModem<I, O> implements IpModem<Object, Object>, WebSocketC
 
   @Override
   public void didDisconnect() {
-    this.socket.didDisconnect();
+    try {
+      this.socket.didDisconnect();
+    } finally {
+      // Free native compression state now, rather than when the codecs get
+      // garbage collected.
+      this.decoder.close();
+      this.encoder.close();
+    }
   }
 
   @Override
@@ -25,6 +25,7 @@ import swim.structure.Kind;
 import swim.structure.Record;
 import swim.structure.Value;
 import swim.util.Murmur3;
+import swim.ws.WsDeflateCodec;
 import swim.ws.WsEngineSettings;
 
 /**
@@ -40,9 +41,11 @@ public class WsSettings extends WsEngineSettings {
   public WsSettings(HttpSettings httpSettings, int maxFrameSize, int maxMessageSize,
                     int serverCompressionLevel, int clientCompressionLevel,
                     boolean serverNoContextTakeover, boolean clientNoContextTakeover,
-                    int serverMaxWindowBits, int clientMaxWindowBits) {
+                    int serverMaxWindowBits, int clientMaxWindowBits,
+                    WsDeflateCodec deflateCodec) {
     super(maxFrameSize, maxMessageSize, serverCompressionLevel, clientCompressionLevel,
-        serverNoContextTakeover, clientNoContextTakeover, serverMaxWindowBits, clientMaxWindowBits);
+        serverNoContextTakeover, clientNoContextTakeover, serverMaxWindowBits, clientMaxWindowBits,
+        deflateCodec);
     this.httpSettings = httpSettings;
   }
 
@@ -53,7 +56,8 @@ public class WsSettings extends WsEngineSettings {
           engineSettings.maxFrameSize(), engineSettings.maxMessageSize(),
           engineSettings.serverCompressionLevel(), engineSettings.clientCompressionLevel(),
           engineSettings.serverNoContextTakeover(), engineSettings.clientNoContextTakeover(),
-          engineSettings.serverMaxWindowBits(), engineSettings.clientMaxWindowBits());
+          engineSettings.serverMaxWindowBits(), engineSettings.clientMaxWindowBits(),
+          engineSettings.deflateCodec());
     }
     return standard;
   }
@@ -106,7 +110,8 @@ public class WsSettings extends WsEngineSettings {
     return copy(httpSettings, this.maxFrameSize, this.maxMessageSize,
         this.serverCompressionLevel, this.clientCompressionLevel,
         this.serverNoContextTakeover, this.clientNoContextTakeover,
-        this.serverMaxWindowBits, this.clientMaxWindowBits);
+        this.serverMaxWindowBits, this.clientMaxWindowBits,
+        this.deflateCodec);
   }
 
   public final IpSettings ipSettings() {
@@ -137,7 +142,8 @@ public class WsSettings extends WsEngineSettings {
     return copy(engineSettings.maxFrameSize(), engineSettings.maxMessageSize(),
         engineSettings.serverCompressionLevel(), engineSettings.clientCompressionLevel(),
         engineSettings.serverNoContextTakeover(), engineSettings.clientNoContextTakeover(),
-        engineSettings.serverMaxWindowBits(), engineSettings.clientMaxWindowBits());
+        engineSettings.serverMaxWindowBits(), engineSettings.clientMaxWindowBits(),
+        engineSettings.deflateCodec());
   }
 
   @Override
@@ -185,6 +191,11 @@ public class WsSettings extends WsEngineSettings {
     return (WsSettings) super.clientMaxWindowBits(clientMaxWindowBits);
   }
 
+  @Override
+  public WsSettings deflateCodec(WsDeflateCodec deflateCodec) {
+    return (WsSettings) super.deflateCodec(deflateCodec);
+  }
+
   @Override
   public Value toValue() {
     return form().mold(this).toValue();
@@ -193,22 +204,26 @@ public class WsSettings extends WsEngineSettings {
   protected WsSettings copy(HttpSettings httpSettings, int maxFrameSize, int maxMessageSize,
                             int serverCompressionLevel, int clientCompressionLevel,
                             boolean serverNoContextTakeover, boolean clientNoContextTakeover,
-                            int serverMaxWindowBits, int clientMaxWindowBits) {
+                            int serverMaxWindowBits, int clientMaxWindowBits,
+                            WsDeflateCodec deflateCodec) {
     return new WsSettings(httpSettings, maxFrameSize, maxMessageSize,
         serverCompressionLevel, clientCompressionLevel,
         serverNoContextTakeover, clientNoContextTakeover,
-        serverMaxWindowBits, clientMaxWindowBits);
+        serverMaxWindowBits, clientMaxWindowBits,
+        deflateCodec);
   }
 
   @Override
   protected WsSettings copy(int maxFrameSize, int maxMessageSize,
                             int serverCompressionLevel, int clientCompressionLevel,
                             boolean serverNoContextTakeover, boolean clientNoContextTakeover,
-                            int serverMaxWindowBits, int clientMaxWindowBits) {
+                            int serverMaxWindowBits, int clientMaxWindowBits,
+                            WsDeflateCodec deflateCodec) {
     return copy(this.httpSettings, maxFrameSize, maxMessageSize,
         serverCompressionLevel, clientCompressionLevel,
         serverNoContextTakeover, clientNoContextTakeover,
-        serverMaxWindowBits, clientMaxWindowBits);
+        serverMaxWindowBits, clientMaxWindowBits,
+        deflateCodec);
   }
 
   public boolean canEqual(Object other) {
@@ -230,7 +245,8 @@ public class WsSettings extends WsEngineSettings {
           && this.serverNoContextTakeover == that.serverNoContextTakeover
           && this.clientNoContextTakeover == that.clientNoContextTakeover
           && this.serverMaxWindowBits == that.serverMaxWindowBits
-          && this.clientMaxWindowBits == that.clientMaxWindowBits;
+          && this.clientMaxWindowBits == that.clientMaxWindowBits
+          && this.deflateCodec.equals(that.deflateCodec);
     }
     return false;
   }
@@ -240,11 +256,11 @@ public class WsSettings extends WsEngineSettings {
     if (hashSeed == 0) {
       hashSeed = Murmur3.seed(WsSettings.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
         Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(hashSeed, this.httpSettings.hashCode()),
             this.maxFrameSize), this.maxMessageSize), this.serverCompressionLevel), this.clientCompressionLevel),
         Murmur3.hash(this.serverNoContextTakeover)), Murmur3.hash(this.clientNoContextTakeover)),
-        this.serverMaxWindowBits), this.clientMaxWindowBits));
+        this.serverMaxWindowBits), this.clientMaxWindowBits), this.deflateCodec.hashCode()));
   }
 
   @Override
@@ -258,7 +274,9 @@ public class WsSettings extends WsEngineSettings {
         .write('.').write("serverNoContextTakeover").write('(').debug(this.serverNoContextTakeover).write(')')
         .write('.').write("clientNoContextTakeover").write('(').debug(this.clientNoContextTakeover).write(')')
         .write('.').write("serverMaxWindowBits").write('(').debug(this.serverMaxWindowBits).write(')')
-        .write('.').write("clientMaxWindowBits").write('(').debug(this.clientMaxWindowBits).write(')');
+        .write('.').write("clientMaxWindowBits").write('(').debug(this.clientMaxWindowBits).write(')')
+        .write('.').write("deflateCodec").write('(').write("WsDeflateCodec").write('.')
+            .write(this.deflateCodec.name()).write('(').write(')').write(')');
   }
 
 }
@@ -279,7 +297,7 @@ final class WsSettingsForm extends Form<WsSettings> {
   public Item mold(WsSettings settings) {
     if (settings != null) {
       final WsSettings standard = WsSettings.standard();
-      final Record ws = Record.create(9).attr("ws");
+      final Record ws = Record.create(10).attr("ws");
       if (settings.maxFrameSize() != standard.maxFrameSize()) {
         ws.slot("maxFrameSize", settings.maxFrameSize());
       }
@@ -304,6 +322,9 @@ final class WsSettingsForm extends Form<WsSettings> {
       if (settings.clientMaxWindowBits() != standard.clientMaxWindowBits()) {
         ws.slot("clientMaxWindowBits", settings.clientMaxWindowBits());
       }
+      if (!settings.deflateCodec().equals(standard.deflateCodec())) {
+        ws.slot("deflateCodec", settings.deflateCodec().name());
+      }
       return Record.of(ws).concat(HttpSettings.form().mold(settings.httpSettings));
     } else {
       return Item.extant();
@@ -323,6 +344,7 @@ final class WsSettingsForm extends Form<WsSettings> {
     boolean clientNoContextTakeover = standard.clientNoContextTakeover();
     int serverMaxWindowBits = standard.serverMaxWindowBits();
     int clientMaxWindowBits = standard.clientMaxWindowBits();
+    WsDeflateCodec deflateCodec = standard.deflateCodec();
     for (Item member : value) {
       if (member.getAttr("ws").isDefined() || member.getAttr("websocket").isDefined()) {
         maxFrameSize = member.get("maxFrameSize").intValue(maxFrameSize);
@@ -333,12 +355,14 @@ final class WsSettingsForm extends Form<WsSettings> {
         clientNoContextTakeover = member.get("clientNoContextTakeover").booleanValue(clientNoContextTakeover);
         serverMaxWindowBits = member.get("serverMaxWindowBits").intValue(serverMaxWindowBits);
         clientMaxWindowBits = member.get("clientMaxWindowBits").intValue(clientMaxWindowBits);
+        deflateCodec = WsDeflateCodec.from(member.get("deflateCodec").stringValue(deflateCodec.name()));
       }
     }
     return new WsSettings(httpSettings, maxFrameSize, maxMessageSize,
         serverCompressionLevel, clientCompressionLevel,
         serverNoContextTakeover, clientNoContextTakeover,
-        serverMaxWindowBits, clientMaxWindowBits);
+        serverMaxWindowBits, clientMaxWindowBits,
+        deflateCodec);
   }
 
 }
@@ -0,0 +1,163 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io.ws;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import org.testng.TestException;
+import org.testng.annotations.Test;
+import swim.codec.Utf8;
+import swim.concurrent.Theater;
+import swim.deflate.Deflate;
+import swim.http.HttpRequest;
+import swim.http.HttpResponse;
+import swim.io.TcpSettings;
+import swim.io.http.AbstractHttpService;
+import swim.io.http.HttpClient;
+import swim.io.http.HttpEndpoint;
+import swim.io.http.HttpResponder;
+import swim.io.http.HttpServer;
+import swim.uri.Uri;
+import swim.ws.WsDeflateEncoder;
+import swim.ws.WsEncoder;
+import swim.ws.WsFrame;
+import swim.ws.WsRequest;
+import swim.ws.WsResponse;
+import swim.ws.WsText;
+import swim.ws.WsValue;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class PooledWebSocketDeflateSpec {
+
+  final WsSettings wsSettings = WsSettings.defaultCompression()
+      .tcpSettings(TcpSettings.standard().bufferPool(true));
+  final Uri wsUri = Uri.parse("ws://127.0.0.1:33557/");
+
+  static String payload(String prefix) {
+    final StringBuilder payload = new StringBuilder(prefix);
+    for (int i = 0; i < 1024; i += 1) {
+      payload.append("test");
+    }
+    return payload.toString();
+  }
+
+  static long deflatedBytes(WebSocketContext<?, ?> context) {
+    final WsEncoder encoder = ((WebSocketModem<?, ?>) context).encoder;
+    if (encoder instanceof WsDeflateEncoder) {
+      final Deflate<?> deflate = ((WsDeflateEncoder) encoder).deflate();
+      return deflate.total_in;
+    }
+    return 0L;
+  }
+
+  @Test
+  public void testDeflateReadWriteOverPooledBuffers() {
+    final Theater stage = new Theater();
+    final HttpEndpoint endpoint = new HttpEndpoint(stage);
+    final String clientPayload = payload("@clientToServer");
+    final String serverPayload = payload("@serverToClient");
+    final AtomicLong clientDeflated = new AtomicLong();
+    final AtomicLong serverDeflated = new AtomicLong();
+    final CountDownLatch clientWrite = new CountDownLatch(1);
+    final CountDownLatch serverWrite = new CountDownLatch(1);
+    final CountDownLatch clientRead = new CountDownLatch(1);
+    final CountDownLatch serverRead = new CountDownLatch(1);
+    final AbstractWebSocket<String, String> clientSocket = new AbstractWebSocket<String, String>() {
+      @Override
+      public void didUpgrade(HttpRequest<?> httpRequest, HttpResponse<?> httpResponse) {
+        read(Utf8.stringParser());
+        write(WsText.from(clientPayload));
+      }
+
+      @Override
+      public void didRead(WsFrame<? extends String> frame) {
+        assertEquals(frame, WsValue.from(serverPayload));
+        clientRead.countDown();
+      }
+
+      @Override
+      public void didWrite(WsFrame<? extends String> frame) {
+        assertEquals(frame, WsText.from(clientPayload));
+        clientDeflated.set(deflatedBytes(context));
+        clientWrite.countDown();
+      }
+    };
+    final AbstractWebSocket<String, String> serverSocket = new AbstractWebSocket<String, String>() {
+      @Override
+      public void didUpgrade(HttpRequest<?> httpRequest, HttpResponse<?> httpResponse) {
+        read(Utf8.stringParser());
+        write(WsText.from(serverPayload));
+      }
+
+      @Override
+      public void didRead(WsFrame<? extends String> frame) {
+        assertEquals(frame, WsValue.from(clientPayload));
+        serverRead.countDown();
+      }
+
+      @Override
+      public void didWrite(WsFrame<? extends String> frame) {
+        assertEquals(frame, WsText.from(serverPayload));
+        serverDeflated.set(deflatedBytes(context));
+        serverWrite.countDown();
+      }
+    };
+    final AbstractWsServer server = new AbstractWsServer(this.wsSettings) {
+      @Override
+      public HttpResponder<?> doRequest(HttpRequest<?> httpRequest) {
+        final WsRequest wsRequest = WsRequest.from(httpRequest);
+        final WsResponse wsResponse = wsRequest.accept(wsSettings);
+        return upgrade(serverSocket, wsResponse);
+      }
+    };
+    final AbstractHttpService service = new AbstractHttpService() {
+      @Override
+      public HttpServer createServer() {
+        return server;
+      }
+    };
+    final WsRequest wsRequest = this.wsSettings.handshakeRequest(this.wsUri);
+    final HttpClient client = new AbstractWsClient(this.wsSettings) {
+      @Override
+      public void didConnect() {
+        super.didConnect();
+        doRequest(upgrade(clientSocket, wsRequest));
+      }
+    };
+
+    try {
+      stage.start();
+      endpoint.start();
+      endpoint.bindHttp("127.0.0.1", 33557, service, this.wsSettings.httpSettings());
+      endpoint.connectHttp("127.0.0.1", 33557, client, this.wsSettings.httpSettings());
+      clientWrite.await();
+      serverWrite.await();
+      clientRead.await();
+      serverRead.await();
+      assertTrue(clientDeflated.get() > 0L);
+      assertTrue(serverDeflated.get() > 0L);
+    } catch (InterruptedException cause) {
+      throw new TestException(cause);
+    } finally {
+      clientSocket.close();
+      serverSocket.close();
+      service.unbind();
+      endpoint.stop();
+      stage.stop();
+    }
+  }
+
+}
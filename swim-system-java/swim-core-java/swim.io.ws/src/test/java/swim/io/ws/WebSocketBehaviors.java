@@ -18,6 +18,7 @@ import java.nio.charset.Charset;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
 import org.testng.TestException;
 import org.testng.annotations.Test;
 import swim.codec.Utf8;
@@ -44,6 +45,7 @@ import swim.ws.WsRequest;
 import swim.ws.WsResponse;
 import swim.ws.WsText;
 import swim.ws.WsValue;
+import swim.ws.WsZlibEncoder;
 import static org.testng.Assert.assertEquals;
 
 public abstract class WebSocketBehaviors {
@@ -433,6 +435,10 @@ public abstract class WebSocketBehaviors {
                       final Deflate<?> deflate = ((WsDeflateEncoder) encoder).deflate();
                       in.addAndGet(deflate.total_in);
                       out.addAndGet(deflate.total_out);
+                    } else if (encoder instanceof WsZlibEncoder) {
+                      final Deflater deflater = ((WsZlibEncoder) encoder).deflater();
+                      in.addAndGet(deflater.getBytesRead());
+                      out.addAndGet(deflater.getBytesWritten());
                     }
                     serverDone.countDown();
                   }
@@ -24,6 +24,7 @@ import swim.structure.Attr;
 import swim.structure.Record;
 import swim.structure.Slot;
 import swim.structure.Value;
+import swim.ws.WsDeflateCodec;
 import static org.testng.Assert.assertEquals;
 
 public class WsSettingsSpec {
@@ -49,7 +50,8 @@ public class WsSettingsSpec {
         Slot.of("serverNoContextTakeover", true),
         Slot.of("clientNoContextTakeover", true),
         Slot.of("serverMaxWindowBits", 11),
-        Slot.of("clientMaxWindowBits", 13))),
+        Slot.of("clientMaxWindowBits", 13),
+        Slot.of("deflateCodec", "zlib"))),
         WsSettings.standard().maxFrameSize(2048)
             .maxMessageSize(4096)
             .serverCompressionLevel(7)
@@ -57,7 +59,8 @@ public class WsSettingsSpec {
             .serverNoContextTakeover(true)
             .clientNoContextTakeover(true)
             .serverMaxWindowBits(11)
-            .clientMaxWindowBits(13));
+            .clientMaxWindowBits(13)
+            .deflateCodec(WsDeflateCodec.zlib()));
   }
 
   @Test
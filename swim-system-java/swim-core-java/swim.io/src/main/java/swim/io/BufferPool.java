@@ -0,0 +1,238 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Shared pool of direct {@code ByteBuffer}s, bucketed into power-of-two size
+ * classes.  Sockets configured with {@link TcpSettings#bufferPool()} borrow
+ * their channel buffers from the {@link #global() global} pool only while a
+ * read or write operation is in progress, and return them once they hold no
+ * unprocessed data, so that idle connections pin no buffer memory.
+ * <p>
+ * Released buffers are kept for reuse until the pool's idle buffers would
+ * exceed {@link #maxIdleSize()} bytes; beyond that, released buffers are left
+ * to the garbage collector.  Requests larger than the largest size class are
+ * served by unpooled direct buffers.
+ */
+public final class BufferPool {
+
+  final int minClassShift;
+  final int maxClassShift;
+  final long maxIdleSize;
+  final ConcurrentLinkedQueue<ByteBuffer>[] idleBuffers;
+  volatile long lentCount;
+  volatile long lentSize;
+  volatile long idleCount;
+  volatile long idleSize;
+  volatile long allocateCount;
+
+  @SuppressWarnings("unchecked")
+  public BufferPool(int minClassShift, int maxClassShift, long maxIdleSize) {
+    if (minClassShift < 0 || maxClassShift < minClassShift || maxClassShift > 30) {
+      throw new IllegalArgumentException("invalid size classes: " + minClassShift + ".." + maxClassShift);
+    }
+    this.minClassShift = minClassShift;
+    this.maxClassShift = maxClassShift;
+    this.maxIdleSize = maxIdleSize;
+    final int classCount = maxClassShift - minClassShift + 1;
+    this.idleBuffers = (ConcurrentLinkedQueue<ByteBuffer>[]) new ConcurrentLinkedQueue<?>[classCount];
+    for (int i = 0; i < this.idleBuffers.length; i += 1) {
+      this.idleBuffers[i] = new ConcurrentLinkedQueue<ByteBuffer>();
+    }
+  }
+
+  public BufferPool(long maxIdleSize) {
+    this(MIN_CLASS_SHIFT, MAX_CLASS_SHIFT, maxIdleSize);
+  }
+
+  /**
+   * Returns the capacity in bytes of the smallest size class.
+   */
+  public int minClassSize() {
+    return 1 << this.minClassShift;
+  }
+
+  /**
+   * Returns the capacity in bytes of the largest size class.
+   */
+  public int maxClassSize() {
+    return 1 << this.maxClassShift;
+  }
+
+  /**
+   * Returns the maximum number of bytes of released buffers retained for
+   * reuse.
+   */
+  public long maxIdleSize() {
+    return this.maxIdleSize;
+  }
+
+  /**
+   * Returns the number of buffers currently lent out of this pool.
+   */
+  public long lentCount() {
+    return this.lentCount;
+  }
+
+  /**
+   * Returns the total capacity in bytes of all buffers currently lent out of
+   * this pool.
+   */
+  public long lentSize() {
+    return this.lentSize;
+  }
+
+  /**
+   * Returns the number of released buffers currently retained for reuse.
+   */
+  public long idleCount() {
+    return this.idleCount;
+  }
+
+  /**
+   * Returns the total capacity in bytes of all released buffers currently
+   * retained for reuse.
+   */
+  public long idleSize() {
+    return this.idleSize;
+  }
+
+  /**
+   * Returns the number of direct buffers this pool has allocated, because no
+   * idle buffer of the requested size class was available.
+   */
+  public long allocateCount() {
+    return this.allocateCount;
+  }
+
+  /**
+   * Returns a cleared direct buffer with at least {@code size} bytes of
+   * capacity, which must later be handed back to this pool, either by {@link
+   * #release(ByteBuffer)} or by {@link #discard(ByteBuffer)}.
+   */
+  public ByteBuffer lend(int size) {
+    final int classIndex = classIndex(size);
+    ByteBuffer buffer;
+    if (classIndex >= 0) {
+      buffer = this.idleBuffers[classIndex].poll();
+      if (buffer != null) {
+        IDLE_COUNT.addAndGet(this, -1L);
+        IDLE_SIZE.addAndGet(this, -buffer.capacity());
+      } else {
+        buffer = ByteBuffer.allocateDirect(1 << (this.minClassShift + classIndex));
+        ALLOCATE_COUNT.incrementAndGet(this);
+      }
+    } else {
+      buffer = ByteBuffer.allocateDirect(size);
+      ALLOCATE_COUNT.incrementAndGet(this);
+    }
+    LENT_COUNT.incrementAndGet(this);
+    LENT_SIZE.addAndGet(this, buffer.capacity());
+    return buffer;
+  }
+
+  /**
+   * Returns a lent {@code buffer} to this pool for reuse.  The caller must not
+   * access the {@code buffer} after releasing it.
+   */
+  public void release(ByteBuffer buffer) {
+    final int capacity = buffer.capacity();
+    LENT_COUNT.addAndGet(this, -1L);
+    LENT_SIZE.addAndGet(this, -capacity);
+    final int classIndex = classIndex(capacity);
+    if (classIndex >= 0 && capacity == 1 << (this.minClassShift + classIndex) && buffer.isDirect()) {
+      do {
+        final long oldIdleSize = this.idleSize;
+        if (oldIdleSize + capacity <= this.maxIdleSize) {
+          if (IDLE_SIZE.compareAndSet(this, oldIdleSize, oldIdleSize + capacity)) {
+            ((Buffer) buffer).clear();
+            this.idleBuffers[classIndex].offer(buffer);
+            IDLE_COUNT.incrementAndGet(this);
+            break;
+          }
+        } else {
+          break;
+        }
+      } while (true);
+    }
+  }
+
+  /**
+   * Accounts for a lent {@code buffer} that will never be reused, typically
+   * because it may still be referenced by a concurrent I/O operation on a
+   * closed channel.
+   */
+  public void discard(ByteBuffer buffer) {
+    LENT_COUNT.addAndGet(this, -1L);
+    LENT_SIZE.addAndGet(this, -buffer.capacity());
+  }
+
+  int classIndex(int size) {
+    if (size <= 1 << this.minClassShift) {
+      return 0;
+    } else if (size <= 1 << this.maxClassShift) {
+      return 32 - Integer.numberOfLeadingZeros(size - 1) - this.minClassShift;
+    } else {
+      return -1;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "BufferPool(lentCount: " + this.lentCount + ", lentSize: " + this.lentSize
+        + ", idleCount: " + this.idleCount + ", idleSize: " + this.idleSize
+        + ", allocateCount: " + this.allocateCount + ')';
+  }
+
+  static final int MIN_CLASS_SHIFT = 9;
+  static final int MAX_CLASS_SHIFT = 20;
+
+  static final AtomicLongFieldUpdater<BufferPool> LENT_COUNT =
+      AtomicLongFieldUpdater.newUpdater(BufferPool.class, "lentCount");
+  static final AtomicLongFieldUpdater<BufferPool> LENT_SIZE =
+      AtomicLongFieldUpdater.newUpdater(BufferPool.class, "lentSize");
+  static final AtomicLongFieldUpdater<BufferPool> IDLE_COUNT =
+      AtomicLongFieldUpdater.newUpdater(BufferPool.class, "idleCount");
+  static final AtomicLongFieldUpdater<BufferPool> IDLE_SIZE =
+      AtomicLongFieldUpdater.newUpdater(BufferPool.class, "idleSize");
+  static final AtomicLongFieldUpdater<BufferPool> ALLOCATE_COUNT =
+      AtomicLongFieldUpdater.newUpdater(BufferPool.class, "allocateCount");
+
+  private static BufferPool global;
+
+  /**
+   * Returns the process-wide {@code BufferPool} shared by all pooled sockets.
+   * The {@code swim.io.buffer.pool.size} system property bounds the number of
+   * idle bytes it retains; it defaults to 32 MiB.
+   */
+  public static synchronized BufferPool global() {
+    if (global == null) {
+      long maxIdleSize;
+      try {
+        maxIdleSize = Long.parseLong(System.getProperty("swim.io.buffer.pool.size"));
+      } catch (NumberFormatException error) {
+        maxIdleSize = 32L * 1024L * 1024L;
+      }
+      global = new BufferPool(maxIdleSize);
+    }
+    return global;
+  }
+
+}
@@ -91,6 +91,27 @@ public interface IpModem<I, O> {
    */
   void didWrite(O output);
 
+  /**
+   * Returns the maximum number of write {@code Encoder}s the modem context may
+   * pack back to back into the socket's output buffer before flushing it to
+   * the network.  Returns {@code 1}, by default, to flush each write {@code
+   * Encoder} on its own.  Write combining trades a little latency for fewer,
+   * larger network writes when many small messages are queued at once.
+   */
+  default int writeBatchSize() {
+    return 1;
+  }
+
+  /**
+   * Returns the maximum number of nanoseconds the modem context may spend
+   * packing a batch of write {@code Encoder}s before flushing the output
+   * buffer.  Returns {@code 0}, by default, to bound write batches by {@link
+   * #writeBatchSize()} alone.
+   */
+  default long writeBatchTime() {
+    return 0L;
+  }
+
   /**
    * Lifecycle callback invoked by the modem context before the underlying
    * network socket attempts to open a connection.
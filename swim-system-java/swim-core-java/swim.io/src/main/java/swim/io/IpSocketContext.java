@@ -36,14 +36,18 @@ public interface IpSocketContext extends IpSocketRef, FlowContext {
   /**
    * Returns the buffer into which input data is read by the underlying network
    * socket.  The bound {@code IpSocket} reads from this buffer in response to
-   * {@link IpSocket#doRead() doRead} callbacks.
+   * {@link IpSocket#doRead() doRead} callbacks.  Sockets that lend their
+   * buffers from a {@link BufferPool} reacquire a buffer on access, so the
+   * returned buffer is never {@code null}, but may differ between calls.
    */
   InputBuffer inputBuffer();
 
   /**
    * Returns the buffer from which output data is written by the underlying
    * network socket.  The bound {@code IpSocket} writes to this buffer in
-   * repsonse to {@link IpSocket#doWrite() doWrite} callbacks.
+   * repsonse to {@link IpSocket#doWrite() doWrite} callbacks.  Sockets that
+   * lend their buffers from a {@link BufferPool} reacquire a buffer on access,
+   * so the returned buffer is never {@code null}, but may differ between calls.
    */
   OutputBuffer<?> outputBuffer();
 
@@ -233,16 +233,39 @@ public class IpSocketModem<I, O> implements IpSocket, IpModemContext<I, O> {
       }
     }
     OutputBuffer<?> outputBuffer = this.context.outputBuffer();
+    final int batchSize = this.modem.writeBatchSize();
+    final long batchTime = batchSize > 1 ? this.modem.writeBatchTime() : 0L;
+    final long batchDeadline = batchTime > 0L ? System.nanoTime() + batchTime : 0L;
+    int batchCount = 1;
     int oldIndex;
     int newIndex;
     do {
-      oldIndex = outputBuffer.index();
-      outputBuffer = outputBuffer.isPart(true);
-      writer = writer.pull(outputBuffer);
-      newIndex = outputBuffer.index();
-    } while (oldIndex != newIndex && outputBuffer.isCont() && writer.isCont());
+      do {
+        oldIndex = outputBuffer.index();
+        outputBuffer = outputBuffer.isPart(true);
+        writer = writer.pull(outputBuffer);
+        newIndex = outputBuffer.index();
+      } while (oldIndex != newIndex && outputBuffer.isCont() && writer.isCont());
+      if (batchCount >= batchSize || !writer.isDone() || !outputBuffer.isCont()
+          || batchDeadline != 0L && System.nanoTime() - batchDeadline >= 0L) {
+        break;
+      }
+      // Pack the next queued writer behind the completed one, so that both
+      // get flushed by the same network write.  The last completed writer
+      // of a batch is left for didWrite to report after the flush.
+      final Encoder<?, ? extends O> nextWriter = this.writerQueue.poll();
+      if (nextWriter == null) {
+        break;
+      }
+      this.writing = nextWriter;
+      this.modem.didWrite(writer.bind());
+      writer = nextWriter;
+      batchCount += 1;
+    } while (true);
     this.writing = writer;
-    if (newIndex == 0) {
+    if (newIndex == 0 && !outputBuffer.isFull()) {
+      // A writer that hands off a file transfer leaves the output buffer
+      // full; the transport reports the write once the transfer completes.
       didWrite();
     }
   }
@@ -33,6 +33,7 @@ import swim.concurrent.AbstractTask;
 import swim.concurrent.Conts;
 import swim.concurrent.MainStage;
 import swim.concurrent.Stage;
+import swim.concurrent.Theater;
 
 /**
  * Asynchronous I/O multiplexor.
@@ -55,6 +56,30 @@ public class Station {
    */
   static final AtomicIntegerFieldUpdater<Station> STATUS =
       AtomicIntegerFieldUpdater.newUpdater(Station.class, "status");
+  /**
+   * Atomic {@link #startCount} field updater, used to invoke {@link
+   * #didStart()} once all selector threads have started.
+   */
+  static final AtomicIntegerFieldUpdater<Station> START_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(Station.class, "startCount");
+  /**
+   * Atomic {@link #stopCount} field updater, used to invoke {@link
+   * #willStop()} when the first selector thread stops.
+   */
+  static final AtomicIntegerFieldUpdater<Station> STOP_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(Station.class, "stopCount");
+  /**
+   * Atomic {@link #doneCount} field updater, used to invoke {@link
+   * #didStop()} once all selector threads have stopped.
+   */
+  static final AtomicIntegerFieldUpdater<Station> DONE_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(Station.class, "doneCount");
+  /**
+   * Atomic {@link #nextThread} field updater, used to distribute transports
+   * across selector threads.
+   */
+  static final AtomicIntegerFieldUpdater<Station> NEXT_THREAD =
+      AtomicIntegerFieldUpdater.newUpdater(Station.class, "nextThread");
   /**
    * Stage on which to execute I/O tasks.
    */
@@ -68,9 +93,10 @@ public class Station {
    */
   final CountDownLatch stopLatch;
   /**
-   * Thread that waits on and dispatches I/O readiness events.
+   * Threads that wait on and dispatch I/O readiness events, each for its own
+   * subset of the station's transports.
    */
-  final StationThread thread;
+  final StationThread[] threads;
   /**
    * Transport configuration parameters.
    */
@@ -79,6 +105,22 @@ public class Station {
    * Atomic bit field with {@link #STARTED} and {@link #STOPPED} flags.
    */
   volatile int status;
+  /**
+   * Number of selector threads that have started.
+   */
+  volatile int startCount;
+  /**
+   * Number of selector threads that have exited their select loop.
+   */
+  volatile int stopCount;
+  /**
+   * Number of selector threads that have finished shutting down.
+   */
+  volatile int doneCount;
+  /**
+   * Counter used to pick the selector thread for the next bound transport.
+   */
+  volatile int nextThread;
 
   public Station(Stage stage, TransportSettings transportSettings) {
     // Assign the I/O task execution stage.
@@ -87,14 +129,23 @@ public class Station {
     // Assign the initial transport configuration parameters.
     this.transportSettings = transportSettings != null ? transportSettings : TransportSettings.standard();
 
+    // Determine the number of selector threads.
+    int threadCount = this.transportSettings.selectorCount;
+    if (threadCount <= 0) {
+      threadCount = Runtime.getRuntime().availableProcessors();
+    }
+
     // Initialize the barrier used to sequence station startup.
-    this.startLatch = new CountDownLatch(1);
+    this.startLatch = new CountDownLatch(threadCount);
 
     // Initialize the barrier used to sequence station shutdown.
-    this.stopLatch = new CountDownLatch(1);
+    this.stopLatch = new CountDownLatch(threadCount);
 
-    // Initialize--but don't start--the station thread.
-    this.thread = new StationThread(this);
+    // Initialize--but don't start--the station threads.
+    this.threads = new StationThread[threadCount];
+    for (int i = 0; i < threadCount; i += 1) {
+      this.threads[i] = new StationThread(this);
+    }
   }
 
   public Station(Stage stage) {
@@ -108,6 +159,14 @@ public class Station {
     return this.stage;
   }
 
+  /**
+   * Returns the number of selector threads across which this {@code Station}
+   * distributes its transports.
+   */
+  public final int threadCount() {
+    return this.threads.length;
+  }
+
   /**
    * Returns the transport configuration parameters that govern this {@code
    * Station}'s regsitered transports.
@@ -127,7 +186,7 @@ public class Station {
 
   /**
    * Ensures that this {@code Station} is up and running, starting up the
-   * selector thread if it has not yet been started.
+   * selector threads if they have not yet been started.
    *
    * @throws StationException if this {@code Station} has been stopped.
    */
@@ -142,7 +201,22 @@ public class Station {
           if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
             // Initaite selector thread startup.
             willStart();
-            this.thread.start();
+            final boolean pinTasks = this.transportSettings.pinTasks;
+            for (int i = 0; i < this.threads.length; i += 1) {
+              final StationThread thread = this.threads[i];
+              if (pinTasks) {
+                // Give each selector thread its own stage lane, so that
+                // a transport's I/O tasks always execute on the same thread.
+                final Stage lane = createLane(i);
+                if (lane instanceof MainStage) {
+                  ((MainStage) lane).start();
+                }
+                thread.stage = lane;
+              } else {
+                thread.stage = this.stage;
+              }
+              thread.start();
+            }
             break;
           }
         } else {
@@ -183,15 +257,18 @@ public class Station {
         final int newStatus = oldStatus | STOPPED;
         // Try to set the STOPPED flag; linearization point for station shutdown.
         if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
-          // Loop while the selector thread is still running.
-          while (this.thread.isAlive()) {
-            // Interrupt the selector thread so it will wakeup and die.
-            this.thread.interrupt();
-            try {
-              // Wait for the selector thread to exit.
-              this.thread.join(100);
-            } catch (InterruptedException cause) {
-              interrupted = true;
+          for (int i = 0; i < this.threads.length; i += 1) {
+            final StationThread thread = this.threads[i];
+            // Loop while the selector thread is still running.
+            while (thread.isAlive()) {
+              // Interrupt the selector thread so it will wakeup and die.
+              thread.interrupt();
+              try {
+                // Wait for the selector thread to exit.
+                thread.join(100);
+              } catch (InterruptedException cause) {
+                interrupted = true;
+              }
             }
           }
         }
@@ -210,6 +287,12 @@ public class Station {
         interrupted = true;
       }
     }
+    for (int i = 0; i < this.threads.length; i += 1) {
+      final Stage lane = this.threads[i].stage;
+      if (lane != this.stage && lane instanceof MainStage) {
+        ((MainStage) lane).stop();
+      }
+    }
     if (this.stage instanceof MainStage) {
       ((MainStage) this.stage).stop();
     }
@@ -232,23 +315,29 @@ public class Station {
     // Ensure that the station has started.
     start();
 
+    // Distribute transports round-robin across the selector threads.
+    final int threadIndex = (NEXT_THREAD.getAndIncrement(this) & 0x7fffffff) % this.threads.length;
+    final StationThread thread = this.threads[threadIndex];
+
     // Create the context that binds the transport to this station.
-    final StationTransport context = new StationTransport(this, transport, flowControl);
+    final StationTransport context = new StationTransport(this, thread, transport, flowControl);
     transport.setTransportContext(context);
 
     // Initialize the transport's flow control.
-    reselect(context);
+    context.reselect();
 
     // Return the transport context.
     return context;
   }
 
   /**
-   * Informs the selector thread of a possible change to the given transport
-   * {@code context}'s flow control state.
+   * Returns a new single-threaded {@code Stage} on which to execute the I/O
+   * tasks of the transports managed by the selector thread with the given
+   * {@code index}, when {@link TransportSettings#pinTasks()} is enabled.
+   * Returned {@code MainStage}s are started and stopped with the station.
    */
-  void reselect(StationTransport context) {
-    this.thread.reselect(context);
+  protected Stage createLane(int index) {
+    return new Theater("SwimStationLane" + index + ".", 1);
   }
 
   /**
@@ -346,6 +435,15 @@ final class StationTransport implements TransportContext, TransportRef {
    * {@code Station} to which the {@code transport} is bound.
    */
   final Station station;
+  /**
+   * Selector thread that dispatches I/O readiness events for the {@code
+   * transport}.
+   */
+  final StationThread thread;
+  /**
+   * Stage on which to execute the {@code transport}'s I/O tasks.
+   */
+  final Stage stage;
   /**
    * {@code Transport} binding on which to invoke I/O callbacks.
    */
@@ -371,18 +469,20 @@ final class StationTransport implements TransportContext, TransportRef {
    */
   volatile long lastSelectTime;
 
-  StationTransport(Station station, Transport transport, FlowControl flowControl) {
+  StationTransport(Station station, StationThread thread, Transport transport, FlowControl flowControl) {
     this.station = station;
+    this.thread = thread;
+    this.stage = thread.stage;
     this.transport = transport;
     this.flowControl = flowControl;
   }
 
   /**
-   * Informs the station's selector thread of a possible change to the
+   * Informs the transport's selector thread of a possible change to the
    * transport's flow control state.
    */
   void reselect() {
-    this.station.reselect(this);
+    this.thread.reselect(this);
   }
 
   /**
@@ -531,7 +631,7 @@ final class StationTransport implements TransportContext, TransportRef {
       if (reader == null) {
         // Lazily instantiate the reader task, and bind it to the station's stage.
         reader = new StationReader(this);
-        this.station.stage.task(reader);
+        this.stage.task(reader);
         this.reader = reader;
       }
       // Schedule the reader task to run.
@@ -627,6 +727,9 @@ final class StationTransport implements TransportContext, TransportRef {
         break;
       }
     }
+    // Let the transport return its read buffer to its pool, if it no longer
+    // holds any unread input.
+    this.transport.releaseReadBuffer();
     return yield;
   }
 
@@ -640,7 +743,7 @@ final class StationTransport implements TransportContext, TransportRef {
       if (writer == null) {
         // Lazily instantiate the writer task, and bind it to the station's stage.
         writer = new StationWriter(this);
-        this.station.stage.task(writer);
+        this.stage.task(writer);
         this.writer = writer;
       }
       // Schedule the writer task to run.
@@ -690,6 +793,10 @@ final class StationTransport implements TransportContext, TransportRef {
           // Output bytes were successfully written to the transport channel.
           if (!writeBuffer.hasRemaining()) {
             // The output buffer has no more bytes to be written.
+            if (this.transport.isTransferring()) {
+              // Transfer the pending file before completing the write.
+              continue;
+            }
             try {
               // Inform the transport binding that the write completed.
               this.transport.didWrite();
@@ -718,6 +825,55 @@ final class StationTransport implements TransportContext, TransportRef {
           reselect();
           break;
         }
+      } else if (this.transport.isTransferring()) {
+        // The output buffer is empty, but the transport has a file transfer
+        // pending; transfer the file directly to the transport channel.
+        final long count;
+        try {
+          count = this.transport.doTransfer(channel);
+        } catch (ClosedChannelException cause) {
+          // Channel closed during the transfer operation; complete the close.
+          didClose();
+          break;
+        } catch (IOException cause) {
+          // Report the transport I/O exception.
+          didFail(cause);
+          break;
+        } catch (Throwable cause) {
+          if (!Conts.isNonFatal(cause)) {
+            // Rethrow the fatal exception.
+            throw cause;
+          }
+          // Report the non-fatal transport exception.
+          didFail(cause);
+          break;
+        }
+        if (count > 0L) {
+          // File bytes were successfully transferred to the transport channel.
+          if (!this.transport.isTransferring()) {
+            // The file transfer completed.
+            try {
+              // Inform the transport binding that the write completed.
+              this.transport.didWrite();
+            } catch (Throwable cause) {
+              if (!Conts.isNonFatal(cause)) {
+                // Rethrow the fatal exception.
+                throw cause;
+              }
+              // Report the non-fatal transport exception.
+              didFail(cause);
+              break;
+            }
+          }
+          continue;
+        } else {
+          // No file bytes were transferred to the transport channel;
+          // synchronize the transport's flow control state with the station's
+          // selector to ensure that doWrite gets called again, when ready and
+          // permitted.
+          reselect();
+          break;
+        }
       } else if (FLOW_CONTROL.get(this).isWriteEnabled()) {
         // The output buffer is empty, and writing is permitted.
         // Clear the output buffer to prepare it for new output data.
@@ -737,10 +893,10 @@ final class StationTransport implements TransportContext, TransportRef {
         }
         // Prepare the output buffer to be written to the transport channel.
         ((Buffer) writeBuffer).flip();
-        if (writeBuffer.hasRemaining()) {
-          // New output bytes were written by the transport binding to the
-          // output buffer; continue writing the output buffer to the transport
-          // channel.
+        if (writeBuffer.hasRemaining() || this.transport.isTransferring()) {
+          // New output bytes, or a file transfer, were written by the transport
+          // binding to the output buffer; continue writing the output buffer
+          // to the transport channel.
           continue;
         } else {
           // No new output bytes were written by the transport binding to the
@@ -759,6 +915,9 @@ final class StationTransport implements TransportContext, TransportRef {
         break;
       }
     } while (true);
+    // Let the transport return its write buffer to its pool, if it no longer
+    // holds any unwritten output.
+    this.transport.releaseWriteBuffer();
   }
 
   void didTimeout() {
@@ -932,6 +1091,11 @@ final class StationThread extends Thread {
    * I/O selector used to wait on I/O readiness events.
    */
   final Selector selector;
+  /**
+   * Stage on which to execute the I/O tasks of this thread's transports;
+   * assigned before the thread starts.
+   */
+  Stage stage;
   /**
    * Submission queue used to sequence transport flow control modifications;
    * needed because {@code SelectionKey}'s cannot be atomically mutated by
@@ -963,7 +1127,10 @@ final class StationThread extends Thread {
     try {
       // Linearization point for station start.
       station.startLatch.countDown();
-      station.didStart();
+      if (Station.START_COUNT.incrementAndGet(station) == station.threads.length) {
+        // Last selector thread to start.
+        station.didStart();
+      }
 
       // Loop while the station has not been stopped.
       do {
@@ -977,7 +1144,10 @@ final class StationThread extends Thread {
         checkIdle();
       } while ((Station.STATUS.get(station) & Station.STOPPED) == 0);
 
-      station.willStop();
+      if (Station.STOP_COUNT.getAndIncrement(station) == 0) {
+        // First selector thread to stop.
+        station.willStop();
+      }
     } catch (Throwable cause) {
       if (!Conts.isNonFatal(cause)) {
         // Rethrow fatal exception.
@@ -1010,9 +1180,19 @@ final class StationThread extends Thread {
     try {
       // Force the station into the stopped state.
       Station.STATUS.set(station, Station.STOPPED);
+      // Interrupt any peer selector threads, so they notice the stop.
+      final StationThread[] threads = station.threads;
+      for (int i = 0; i < threads.length; i += 1) {
+        if (threads[i] != this) {
+          threads[i].interrupt();
+        }
+      }
       // Linearization point for station stop.
       station.stopLatch.countDown();
-      station.didStop();
+      if (Station.DONE_COUNT.incrementAndGet(station) == threads.length) {
+        // Last selector thread to stop.
+        station.didStop();
+      }
     } catch (Throwable cause) {
       if (!Conts.isNonFatal(cause)) {
         // Rethrow fatal exception.
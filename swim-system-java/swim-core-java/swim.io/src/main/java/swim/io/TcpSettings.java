@@ -40,15 +40,22 @@ public class TcpSettings implements Debug {
   protected final int sendBufferSize;
   protected final int readBufferSize;
   protected final int writeBufferSize;
+  protected final boolean bufferPool;
 
-  public TcpSettings(boolean keepAlive, boolean noDelay, int receiveBufferSize,
-                     int sendBufferSize, int readBufferSize, int writeBufferSize) {
+  public TcpSettings(boolean keepAlive, boolean noDelay, int receiveBufferSize, int sendBufferSize,
+                     int readBufferSize, int writeBufferSize, boolean bufferPool) {
     this.keepAlive = keepAlive;
     this.noDelay = noDelay;
     this.receiveBufferSize = receiveBufferSize;
     this.sendBufferSize = sendBufferSize;
     this.readBufferSize = readBufferSize;
     this.writeBufferSize = writeBufferSize;
+    this.bufferPool = bufferPool;
+  }
+
+  public TcpSettings(boolean keepAlive, boolean noDelay, int receiveBufferSize,
+                     int sendBufferSize, int readBufferSize, int writeBufferSize) {
+    this(keepAlive, noDelay, receiveBufferSize, sendBufferSize, readBufferSize, writeBufferSize, false);
   }
 
   /**
@@ -88,8 +95,10 @@ public class TcpSettings implements Debug {
         writeBufferSize = 4096;
       }
 
+      final boolean bufferPool = Boolean.parseBoolean(System.getProperty("swim.tcp.buffer.pool"));
+
       standard = new TcpSettings(keepAlive, noDelay, receiveBufferSize,
-          sendBufferSize, readBufferSize, writeBufferSize);
+          sendBufferSize, readBufferSize, writeBufferSize, bufferPool);
     }
     return standard;
   }
@@ -120,7 +129,7 @@ public class TcpSettings implements Debug {
    */
   public TcpSettings keepAlive(boolean keepAlive) {
     return copy(keepAlive, this.noDelay, this.receiveBufferSize,
-        this.sendBufferSize, this.readBufferSize, this.writeBufferSize);
+        this.sendBufferSize, this.readBufferSize, this.writeBufferSize, this.bufferPool);
   }
 
   /**
@@ -137,7 +146,7 @@ public class TcpSettings implements Debug {
    */
   public TcpSettings noDelay(boolean noDelay) {
     return copy(this.keepAlive, noDelay, this.receiveBufferSize,
-        this.sendBufferSize, this.readBufferSize, this.writeBufferSize);
+        this.sendBufferSize, this.readBufferSize, this.writeBufferSize, this.bufferPool);
   }
 
   /**
@@ -154,7 +163,7 @@ public class TcpSettings implements Debug {
    */
   public TcpSettings receiveBufferSize(int receiveBufferSize) {
     return copy(this.keepAlive, this.noDelay, receiveBufferSize,
-        this.sendBufferSize, this.readBufferSize, this.writeBufferSize);
+        this.sendBufferSize, this.readBufferSize, this.writeBufferSize, this.bufferPool);
   }
 
   /**
@@ -171,7 +180,7 @@ public class TcpSettings implements Debug {
    */
   public TcpSettings sendBufferSize(int sendBufferSize) {
     return copy(this.keepAlive, this.noDelay, this.receiveBufferSize,
-        sendBufferSize, this.readBufferSize, this.writeBufferSize);
+        sendBufferSize, this.readBufferSize, this.writeBufferSize, this.bufferPool);
   }
 
   /**
@@ -188,7 +197,7 @@ public class TcpSettings implements Debug {
    */
   public TcpSettings readBufferSize(int readBufferSize) {
     return copy(this.keepAlive, this.noDelay, this.receiveBufferSize,
-        this.sendBufferSize, readBufferSize, this.writeBufferSize);
+        this.sendBufferSize, readBufferSize, this.writeBufferSize, this.bufferPool);
   }
 
   /**
@@ -205,7 +214,26 @@ public class TcpSettings implements Debug {
    */
   public TcpSettings writeBufferSize(int writeBufferSize) {
     return copy(this.keepAlive, this.noDelay, this.receiveBufferSize,
-        this.sendBufferSize, this.readBufferSize, writeBufferSize);
+        this.sendBufferSize, this.readBufferSize, writeBufferSize, this.bufferPool);
+  }
+
+  /**
+   * Returns {@code true} if sockets should borrow their read and write
+   * buffers from the shared {@link BufferPool#global() BufferPool} only while
+   * actively reading or writing, instead of holding dedicated heap buffers for
+   * their entire lifetime.
+   */
+  public final boolean bufferPool() {
+    return this.bufferPool;
+  }
+
+  /**
+   * Returns a copy of these {@code TcpSettings} configured with the given
+   * {@code bufferPool} option for lending per-socket userspace buffers.
+   */
+  public TcpSettings bufferPool(boolean bufferPool) {
+    return copy(this.keepAlive, this.noDelay, this.receiveBufferSize,
+        this.sendBufferSize, this.readBufferSize, this.writeBufferSize, bufferPool);
   }
 
   /**
@@ -213,10 +241,10 @@ public class TcpSettings implements Debug {
    * Subclasses may override this method to ensure the proper class is
    * instantiated when updating settings.
    */
-  protected TcpSettings copy(boolean keepAlive, boolean noDelay, int receiveBufferSize,
-                             int sendBufferSize, int readBufferSize, int writeBufferSize) {
+  protected TcpSettings copy(boolean keepAlive, boolean noDelay, int receiveBufferSize, int sendBufferSize,
+                             int readBufferSize, int writeBufferSize, boolean bufferPool) {
     return new TcpSettings(keepAlive, noDelay, receiveBufferSize,
-        sendBufferSize, readBufferSize, writeBufferSize);
+        sendBufferSize, readBufferSize, writeBufferSize, bufferPool);
   }
 
   /**
@@ -256,7 +284,8 @@ public class TcpSettings implements Debug {
       final TcpSettings that = (TcpSettings) other;
       return that.canEqual(this) && this.keepAlive == that.keepAlive && this.noDelay == that.noDelay
           && this.receiveBufferSize == that.receiveBufferSize && this.sendBufferSize == that.sendBufferSize
-          && this.readBufferSize == that.readBufferSize && this.writeBufferSize == that.writeBufferSize;
+          && this.readBufferSize == that.readBufferSize && this.writeBufferSize == that.writeBufferSize
+          && this.bufferPool == that.bufferPool;
     }
     return false;
   }
@@ -266,9 +295,9 @@ public class TcpSettings implements Debug {
     if (hashSeed == 0) {
       hashSeed = Murmur3.seed(TcpSettings.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
         hashSeed, Murmur3.hash(this.keepAlive)), Murmur3.hash(this.noDelay)), this.receiveBufferSize),
-        this.sendBufferSize), this.readBufferSize), this.writeBufferSize));
+        this.sendBufferSize), this.readBufferSize), this.writeBufferSize), Murmur3.hash(this.bufferPool)));
   }
 
   @Override
@@ -279,7 +308,8 @@ public class TcpSettings implements Debug {
         .write('.').write("receiveBufferSize").write('(').debug(this.receiveBufferSize).write(')')
         .write('.').write("sendBufferSize").write('(').debug(this.sendBufferSize).write(')')
         .write('.').write("readBufferSize").write('(').debug(this.readBufferSize).write(')')
-        .write('.').write("writeBufferSize").write('(').debug(this.writeBufferSize).write(')');
+        .write('.').write("writeBufferSize").write('(').debug(this.writeBufferSize).write(')')
+        .write('.').write("bufferPool").write('(').debug(this.bufferPool).write(')');
   }
 
   @Override
@@ -310,7 +340,7 @@ final class TcpSettingsForm extends Form<TcpSettings> {
   public Item mold(TcpSettings settings) {
     if (settings != null) {
       final TcpSettings standard = TcpSettings.standard();
-      final Record record = Record.create(7).attr(tag());
+      final Record record = Record.create(8).attr(tag());
       if (settings.keepAlive != standard.keepAlive) {
         record.slot("keepAlive", true);
       }
@@ -329,6 +359,9 @@ final class TcpSettingsForm extends Form<TcpSettings> {
       if (settings.writeBufferSize != standard.writeBufferSize) {
         record.slot("writeBufferSize", settings.writeBufferSize);
       }
+      if (settings.bufferPool != standard.bufferPool) {
+        record.slot("bufferPool", settings.bufferPool);
+      }
       return record;
     } else {
       return Item.extant();
@@ -346,8 +379,9 @@ final class TcpSettingsForm extends Form<TcpSettings> {
       final int sendBufferSize = value.get("sendBufferSize").intValue(standard.sendBufferSize);
       final int readBufferSize = value.get("readBufferSize").intValue(standard.readBufferSize);
       final int writeBufferSize = value.get("writeBufferSize").intValue(standard.writeBufferSize);
+      final boolean bufferPool = value.get("bufferPool").booleanValue(standard.bufferPool);
       return new TcpSettings(keepAlive, noDelay, receiveBufferSize,
-          sendBufferSize, readBufferSize, writeBufferSize);
+          sendBufferSize, readBufferSize, writeBufferSize, bufferPool);
     }
     return null;
   }
@@ -19,15 +19,20 @@ import java.net.ConnectException;
 import java.net.InetSocketAddress;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
 import java.security.Principal;
 import java.security.cert.Certificate;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.codec.Binary;
 import swim.codec.InputBuffer;
 import swim.codec.OutputBuffer;
+import swim.codec.OutputSettings;
 import swim.concurrent.Conts;
 
 class TcpSocket implements Transport, IpSocketContext {
@@ -38,14 +43,24 @@ class TcpSocket implements Transport, IpSocketContext {
   static final int CONNECTED = 1 << 3;
   static final AtomicIntegerFieldUpdater<TcpSocket> STATUS =
       AtomicIntegerFieldUpdater.newUpdater(TcpSocket.class, "status");
+  static final AtomicReferenceFieldUpdater<TcpSocket, ByteBuffer> READ_BUFFER =
+      AtomicReferenceFieldUpdater.newUpdater(TcpSocket.class, ByteBuffer.class, "readBuffer");
+  static final AtomicReferenceFieldUpdater<TcpSocket, ByteBuffer> WRITE_BUFFER =
+      AtomicReferenceFieldUpdater.newUpdater(TcpSocket.class, ByteBuffer.class, "writeBuffer");
   final InetSocketAddress localAddress;
   final InetSocketAddress remoteAddress;
-  final ByteBuffer readBuffer;
-  final ByteBuffer writeBuffer;
-  final InputBuffer inputBuffer;
-  final OutputBuffer<?> outputBuffer;
   final SocketChannel channel;
   final IpSettings ipSettings;
+  final BufferPool bufferPool;
+  final int readBufferSize;
+  final int writeBufferSize;
+  volatile ByteBuffer readBuffer;
+  volatile ByteBuffer writeBuffer;
+  InputBuffer inputBuffer;
+  OutputBuffer<?> outputBuffer;
+  FileChannel transferChannel;
+  long transferPosition;
+  long transferLimit;
   TransportContext context;
   volatile IpSocket socket;
   volatile int status;
@@ -58,11 +73,74 @@ class TcpSocket implements Transport, IpSocketContext {
     this.ipSettings = ipSettings;
     this.status = isClient ? CLIENT : SERVER;
     final TcpSettings tcpSettings = ipSettings.tcpSettings();
-    this.readBuffer = ByteBuffer.allocate(tcpSettings.readBufferSize());
-    this.writeBuffer = ByteBuffer.allocate(tcpSettings.writeBufferSize());
-    ((Buffer) this.writeBuffer).position(this.writeBuffer.capacity());
-    this.inputBuffer = Binary.inputBuffer(this.readBuffer);
-    this.outputBuffer = Binary.outputBuffer(this.writeBuffer);
+    this.readBufferSize = tcpSettings.readBufferSize();
+    this.writeBufferSize = tcpSettings.writeBufferSize();
+    if (tcpSettings.bufferPool()) {
+      // Buffers are lent by the pool on demand, while reading or writing.
+      this.bufferPool = BufferPool.global();
+    } else {
+      this.bufferPool = null;
+      initReadBuffer(ByteBuffer.allocate(this.readBufferSize));
+      initWriteBuffer(ByteBuffer.allocate(this.writeBufferSize));
+    }
+  }
+
+  void initReadBuffer(ByteBuffer readBuffer) {
+    this.inputBuffer = Binary.inputBuffer(readBuffer);
+    this.readBuffer = readBuffer;
+  }
+
+  void initWriteBuffer(ByteBuffer writeBuffer) {
+    ((Buffer) writeBuffer).position(writeBuffer.capacity());
+    this.outputBuffer = new TcpSocketOutput(this, Binary.outputBuffer(writeBuffer));
+    this.writeBuffer = writeBuffer;
+  }
+
+  boolean transferFrom(FileChannel channel, long position, long count) {
+    if (this.transferChannel != null) {
+      return false;
+    }
+    this.transferChannel = channel;
+    this.transferPosition = position;
+    this.transferLimit = position + count;
+    return true;
+  }
+
+  @Override
+  public boolean isTransferring() {
+    return this.transferChannel != null;
+  }
+
+  @Override
+  public long doTransfer(WritableByteChannel channel) throws IOException {
+    final FileChannel transferChannel = this.transferChannel;
+    if (transferChannel == null) {
+      return 0L;
+    }
+    final long count = transferChannel.transferTo(this.transferPosition,
+        this.transferLimit - this.transferPosition, channel);
+    if (count > 0L) {
+      this.transferPosition += count;
+    } else if (this.transferPosition >= transferChannel.size()) {
+      closeTransfer();
+      throw new IOException("truncated");
+    }
+    if (this.transferPosition >= this.transferLimit) {
+      closeTransfer();
+    }
+    return count;
+  }
+
+  void closeTransfer() {
+    final FileChannel transferChannel = this.transferChannel;
+    if (transferChannel != null) {
+      this.transferChannel = null;
+      try {
+        transferChannel.close();
+      } catch (IOException swallow) {
+        // swallow
+      }
+    }
   }
 
   @Override
@@ -82,12 +160,57 @@ class TcpSocket implements Transport, IpSocketContext {
 
   @Override
   public ByteBuffer readBuffer() {
-    return this.readBuffer;
+    ByteBuffer readBuffer = this.readBuffer;
+    if (readBuffer == null) {
+      readBuffer = this.bufferPool.lend(this.readBufferSize);
+      initReadBuffer(readBuffer);
+    }
+    return readBuffer;
   }
 
   @Override
   public ByteBuffer writeBuffer() {
-    return this.writeBuffer;
+    ByteBuffer writeBuffer = this.writeBuffer;
+    if (writeBuffer == null) {
+      writeBuffer = this.bufferPool.lend(this.writeBufferSize);
+      initWriteBuffer(writeBuffer);
+    }
+    return writeBuffer;
+  }
+
+  @Override
+  public void releaseReadBuffer() {
+    final ByteBuffer readBuffer = this.readBuffer;
+    if (this.bufferPool != null && readBuffer != null && readBuffer.position() == 0
+        && READ_BUFFER.compareAndSet(this, readBuffer, null)) {
+      this.inputBuffer = null;
+      this.bufferPool.release(readBuffer);
+    }
+  }
+
+  @Override
+  public void releaseWriteBuffer() {
+    final ByteBuffer writeBuffer = this.writeBuffer;
+    if (this.bufferPool != null && writeBuffer != null && !writeBuffer.hasRemaining()
+        && WRITE_BUFFER.compareAndSet(this, writeBuffer, null)) {
+      this.outputBuffer = null;
+      this.bufferPool.release(writeBuffer);
+    }
+  }
+
+  void discardBuffers() {
+    if (this.bufferPool != null) {
+      // A concurrent I/O pass may still be using a lent buffer, so don't
+      // hand it to another socket; let it be garbage collected instead.
+      final ByteBuffer readBuffer = READ_BUFFER.getAndSet(this, null);
+      if (readBuffer != null) {
+        this.bufferPool.discard(readBuffer);
+      }
+      final ByteBuffer writeBuffer = WRITE_BUFFER.getAndSet(this, null);
+      if (writeBuffer != null) {
+        this.bufferPool.discard(writeBuffer);
+      }
+    }
   }
 
   @Override
@@ -102,12 +225,24 @@ class TcpSocket implements Transport, IpSocketContext {
 
   @Override
   public InputBuffer inputBuffer() {
-    return this.inputBuffer;
+    InputBuffer inputBuffer = this.inputBuffer;
+    if (inputBuffer == null) {
+      // Reacquire a read buffer returned to the pool since the last read pass.
+      readBuffer();
+      inputBuffer = this.inputBuffer;
+    }
+    return inputBuffer;
   }
 
   @Override
   public OutputBuffer<?> outputBuffer() {
-    return this.outputBuffer;
+    OutputBuffer<?> outputBuffer = this.outputBuffer;
+    if (outputBuffer == null) {
+      // Reacquire a write buffer returned to the pool since the last write pass.
+      writeBuffer();
+      outputBuffer = this.outputBuffer;
+    }
+    return outputBuffer;
   }
 
   @Override
@@ -290,6 +425,8 @@ class TcpSocket implements Transport, IpSocketContext {
         break;
       }
     } while (true);
+    closeTransfer();
+    discardBuffers();
   }
 
   @Override
@@ -319,3 +456,169 @@ class TcpSocket implements Transport, IpSocketContext {
   }
 
 }
+
+final class TcpSocketOutput extends OutputBuffer<ByteBuffer> {
+
+  final TcpSocket socket;
+  OutputBuffer<ByteBuffer> output;
+
+  TcpSocketOutput(TcpSocket socket, OutputBuffer<ByteBuffer> output) {
+    this.socket = socket;
+    this.output = output;
+  }
+
+  @Override
+  public boolean isCont() {
+    return this.output.isCont();
+  }
+
+  @Override
+  public boolean isFull() {
+    return this.output.isFull();
+  }
+
+  @Override
+  public boolean isDone() {
+    return this.output.isDone();
+  }
+
+  @Override
+  public boolean isError() {
+    return this.output.isError();
+  }
+
+  @Override
+  public boolean isPart() {
+    return this.output.isPart();
+  }
+
+  @Override
+  public OutputBuffer<ByteBuffer> isPart(boolean isPart) {
+    this.output = this.output.isPart(isPart);
+    return this;
+  }
+
+  @Override
+  public int index() {
+    return this.output.index();
+  }
+
+  @Override
+  public OutputBuffer<ByteBuffer> index(int index) {
+    this.output = this.output.index(index);
+    return this;
+  }
+
+  @Override
+  public int limit() {
+    return this.output.limit();
+  }
+
+  @Override
+  public OutputBuffer<ByteBuffer> limit(int limit) {
+    this.output = this.output.limit(limit);
+    return this;
+  }
+
+  @Override
+  public int capacity() {
+    return this.output.capacity();
+  }
+
+  @Override
+  public int remaining() {
+    return this.output.remaining();
+  }
+
+  @Override
+  public boolean hasArray() {
+    return this.output.hasArray();
+  }
+
+  @Override
+  public byte[] array() {
+    return this.output.array();
+  }
+
+  @Override
+  public int arrayOffset() {
+    return this.output.arrayOffset();
+  }
+
+  @Override
+  public boolean has(int index) {
+    return this.output.has(index);
+  }
+
+  @Override
+  public int get(int index) {
+    return this.output.get(index);
+  }
+
+  @Override
+  public void set(int index, int token) {
+    this.output.set(index, token);
+  }
+
+  @Override
+  public int write(ReadableByteChannel channel) throws IOException {
+    return this.output.write(channel);
+  }
+
+  @Override
+  public boolean transferFrom(FileChannel channel, long position, long count) {
+    if (this.socket.transferFrom(channel, position, count)) {
+      // Seal the buffer so that no more output gets written ahead of the
+      // transferred file during this write pass.
+      this.output = this.output.limit(this.output.index());
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public OutputBuffer<ByteBuffer> write(int token) {
+    this.output = this.output.write(token);
+    return this;
+  }
+
+  @Override
+  public OutputBuffer<ByteBuffer> write(byte[] array, int offset, int length) {
+    this.output = this.output.write(array, offset, length);
+    return this;
+  }
+
+  @Override
+  public OutputBuffer<ByteBuffer> move(int fromIndex, int toIndex, int length) {
+    this.output = this.output.move(fromIndex, toIndex, length);
+    return this;
+  }
+
+  @Override
+  public OutputBuffer<ByteBuffer> step(int offset) {
+    this.output = this.output.step(offset);
+    return this;
+  }
+
+  @Override
+  public ByteBuffer bind() {
+    return this.output.bind();
+  }
+
+  @Override
+  public Throwable trap() {
+    return this.output.trap();
+  }
+
+  @Override
+  public OutputSettings settings() {
+    return this.output.settings();
+  }
+
+  @Override
+  public OutputBuffer<ByteBuffer> settings(OutputSettings settings) {
+    this.output = this.output.settings(settings);
+    return this;
+  }
+
+}
@@ -51,14 +51,26 @@ class TlsSocket implements Transport, IpSocketContext {
       AtomicReferenceFieldUpdater.newUpdater(TlsSocket.class, FlowControl.class, "flowControl");
   static final AtomicIntegerFieldUpdater<TlsSocket> STATUS =
       AtomicIntegerFieldUpdater.newUpdater(TlsSocket.class, "status");
+  static final AtomicReferenceFieldUpdater<TlsSocket, ByteBuffer> READ_BUFFER =
+      AtomicReferenceFieldUpdater.newUpdater(TlsSocket.class, ByteBuffer.class, "readBuffer");
+  static final AtomicReferenceFieldUpdater<TlsSocket, ByteBuffer> WRITE_BUFFER =
+      AtomicReferenceFieldUpdater.newUpdater(TlsSocket.class, ByteBuffer.class, "writeBuffer");
+  static final AtomicReferenceFieldUpdater<TlsSocket, ByteBuffer> INPUT_BUFFER =
+      AtomicReferenceFieldUpdater.newUpdater(TlsSocket.class, ByteBuffer.class, "inputBuffer");
+  static final AtomicReferenceFieldUpdater<TlsSocket, ByteBuffer> OUTPUT_BUFFER =
+      AtomicReferenceFieldUpdater.newUpdater(TlsSocket.class, ByteBuffer.class, "outputBuffer");
+  static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate(0).asReadOnlyBuffer();
   final InetSocketAddress localAddress;
   final InetSocketAddress remoteAddress;
-  final ByteBuffer readBuffer;
-  final ByteBuffer writeBuffer;
-  final ByteBuffer inputBuffer;
-  final ByteBuffer outputBuffer;
-  final InputBuffer reader;
-  final OutputBuffer<?> writer;
+  final BufferPool bufferPool;
+  final int readBufferSize;
+  final int writeBufferSize;
+  volatile ByteBuffer readBuffer;
+  volatile ByteBuffer writeBuffer;
+  volatile ByteBuffer inputBuffer;
+  volatile ByteBuffer outputBuffer;
+  InputBuffer reader;
+  OutputBuffer<?> writer;
   final SocketChannel channel;
   final SSLEngine sslEngine;
   final IpSettings ipSettings;
@@ -84,14 +96,67 @@ class TlsSocket implements Transport, IpSocketContext {
     final TcpSettings tcpSettings = this.ipSettings.tcpSettings();
     final int readBufferSize = Math.max(tcpSettings.readBufferSize(), sslSession.getApplicationBufferSize());
     final int writeBufferSize = Math.max(tcpSettings.writeBufferSize(), sslSession.getPacketBufferSize());
-    this.readBuffer = ByteBuffer.allocate(readBufferSize);
-    this.writeBuffer = ByteBuffer.allocate(writeBufferSize);
-    ((Buffer) this.writeBuffer).position(this.writeBuffer.capacity());
-    this.inputBuffer = ByteBuffer.allocate(readBufferSize);
-    this.outputBuffer = ByteBuffer.allocate(writeBufferSize);
-    ((Buffer) this.outputBuffer).position(this.outputBuffer.capacity());
+    this.readBufferSize = readBufferSize;
+    this.writeBufferSize = writeBufferSize;
+    if (tcpSettings.bufferPool()) {
+      // Network and application buffers are lent by the pool on demand, while
+      // reading or writing, and returned once they hold no pending data.
+      this.bufferPool = BufferPool.global();
+    } else {
+      this.bufferPool = null;
+      this.readBuffer = ByteBuffer.allocate(readBufferSize);
+      this.writeBuffer = ByteBuffer.allocate(writeBufferSize);
+      ((Buffer) this.writeBuffer).position(this.writeBuffer.capacity());
+      initInputBuffer(ByteBuffer.allocate(readBufferSize));
+      initOutputBuffer(ByteBuffer.allocate(writeBufferSize));
+    }
+  }
+
+  void initInputBuffer(ByteBuffer inputBuffer) {
     this.reader = Binary.inputBuffer(inputBuffer);
+    this.inputBuffer = inputBuffer;
+  }
+
+  void initOutputBuffer(ByteBuffer outputBuffer) {
+    ((Buffer) outputBuffer).position(outputBuffer.capacity());
     this.writer = Binary.outputBuffer(outputBuffer);
+    this.outputBuffer = outputBuffer;
+  }
+
+  ByteBuffer lendInputBuffer() {
+    ByteBuffer inputBuffer = this.inputBuffer;
+    if (inputBuffer == null) {
+      inputBuffer = this.bufferPool.lend(this.readBufferSize);
+      initInputBuffer(inputBuffer);
+    }
+    return inputBuffer;
+  }
+
+  ByteBuffer lendOutputBuffer() {
+    ByteBuffer outputBuffer = this.outputBuffer;
+    if (outputBuffer == null) {
+      outputBuffer = this.bufferPool.lend(this.writeBufferSize);
+      initOutputBuffer(outputBuffer);
+    }
+    return outputBuffer;
+  }
+
+  void releaseInputBuffer() {
+    final ByteBuffer inputBuffer = this.inputBuffer;
+    if (this.bufferPool != null && inputBuffer != null && inputBuffer.position() == 0
+        && INPUT_BUFFER.compareAndSet(this, inputBuffer, null)) {
+      this.reader = null;
+      this.bufferPool.release(inputBuffer);
+    }
+  }
+
+  void releaseOutputBuffer() {
+    final ByteBuffer outputBuffer = this.outputBuffer;
+    if (this.bufferPool != null && outputBuffer != null && !outputBuffer.hasRemaining()
+        && OUTPUT_BUFFER.compareAndSet(this, outputBuffer, null)) {
+      this.writer = null;
+      this.bufferPool.release(outputBuffer);
+    }
   }
 
   @Override
@@ -111,12 +176,64 @@ class TlsSocket implements Transport, IpSocketContext {
 
   @Override
   public ByteBuffer readBuffer() {
-    return this.readBuffer;
+    ByteBuffer readBuffer = this.readBuffer;
+    if (readBuffer == null) {
+      readBuffer = this.bufferPool.lend(this.readBufferSize);
+      this.readBuffer = readBuffer;
+    }
+    return readBuffer;
   }
 
   @Override
   public ByteBuffer writeBuffer() {
-    return this.writeBuffer;
+    ByteBuffer writeBuffer = this.writeBuffer;
+    if (writeBuffer == null) {
+      writeBuffer = this.bufferPool.lend(this.writeBufferSize);
+      ((Buffer) writeBuffer).position(writeBuffer.capacity());
+      this.writeBuffer = writeBuffer;
+    }
+    return writeBuffer;
+  }
+
+  @Override
+  public void releaseReadBuffer() {
+    final ByteBuffer readBuffer = this.readBuffer;
+    if (this.bufferPool != null && readBuffer != null && readBuffer.position() == 0
+        && READ_BUFFER.compareAndSet(this, readBuffer, null)) {
+      this.bufferPool.release(readBuffer);
+    }
+  }
+
+  @Override
+  public void releaseWriteBuffer() {
+    final ByteBuffer writeBuffer = this.writeBuffer;
+    if (this.bufferPool != null && writeBuffer != null && !writeBuffer.hasRemaining()
+        && WRITE_BUFFER.compareAndSet(this, writeBuffer, null)) {
+      this.bufferPool.release(writeBuffer);
+    }
+  }
+
+  void discardBuffers() {
+    if (this.bufferPool != null) {
+      // A concurrent I/O pass may still be using a lent buffer, so don't
+      // hand it to another socket; let it be garbage collected instead.
+      final ByteBuffer readBuffer = READ_BUFFER.getAndSet(this, null);
+      if (readBuffer != null) {
+        this.bufferPool.discard(readBuffer);
+      }
+      final ByteBuffer writeBuffer = WRITE_BUFFER.getAndSet(this, null);
+      if (writeBuffer != null) {
+        this.bufferPool.discard(writeBuffer);
+      }
+      final ByteBuffer inputBuffer = INPUT_BUFFER.getAndSet(this, null);
+      if (inputBuffer != null) {
+        this.bufferPool.discard(inputBuffer);
+      }
+      final ByteBuffer outputBuffer = OUTPUT_BUFFER.getAndSet(this, null);
+      if (outputBuffer != null) {
+        this.bufferPool.discard(outputBuffer);
+      }
+    }
   }
 
   @Override
@@ -131,12 +248,24 @@ class TlsSocket implements Transport, IpSocketContext {
 
   @Override
   public InputBuffer inputBuffer() {
-    return this.reader;
+    InputBuffer reader = this.reader;
+    if (reader == null) {
+      // Reacquire an input buffer returned to the pool since the last read pass.
+      lendInputBuffer();
+      reader = this.reader;
+    }
+    return reader;
   }
 
   @Override
   public OutputBuffer<?> outputBuffer() {
-    return this.writer;
+    OutputBuffer<?> writer = this.writer;
+    if (writer == null) {
+      // Reacquire an output buffer returned to the pool since the last write pass.
+      lendOutputBuffer();
+      writer = this.writer;
+    }
+    return writer;
   }
 
   @Override
@@ -312,11 +441,20 @@ class TlsSocket implements Transport, IpSocketContext {
 
   @Override
   public void doRead() {
+    try {
+      read(lendInputBuffer());
+    } finally {
+      // Return the input buffer to the pool if the socket consumed all of it.
+      releaseInputBuffer();
+    }
+  }
+
+  void read(ByteBuffer inputBuffer) {
     read:
     do {
       final SSLEngineResult result;
       try {
-        result = this.sslEngine.unwrap(this.readBuffer, this.inputBuffer);
+        result = this.sslEngine.unwrap(this.readBuffer, inputBuffer);
       } catch (SSLException cause) {
         this.socket.didFail(cause);
         this.context.close();
@@ -333,13 +471,13 @@ class TlsSocket implements Transport, IpSocketContext {
       SSLEngineResult.HandshakeStatus handshakeStatus;
       switch (sslStatus) {
         case OK:
-          if (this.inputBuffer.position() > 0) {
-            ((Buffer) this.inputBuffer).flip();
+          if (inputBuffer.position() > 0) {
+            ((Buffer) inputBuffer).flip();
             this.socket.doRead();
-            if (this.inputBuffer.hasRemaining()) {
-              this.inputBuffer.compact();
+            if (inputBuffer.hasRemaining()) {
+              inputBuffer.compact();
             } else {
-              ((Buffer) this.inputBuffer).clear();
+              ((Buffer) inputBuffer).clear();
             }
           }
           handshakeStatus = result.getHandshakeStatus();
@@ -412,14 +550,28 @@ class TlsSocket implements Transport, IpSocketContext {
 
   @Override
   public void doWrite() {
-    if ((this.status & OPEN) != 0 && !this.outputBuffer.hasRemaining()) {
-      ((Buffer) this.outputBuffer).clear();
+    try {
+      write();
+    } finally {
+      // Return the output buffer to the pool once all of it has been wrapped.
+      releaseOutputBuffer();
+    }
+  }
+
+  void write() {
+    ByteBuffer outputBuffer = this.outputBuffer;
+    if ((this.status & OPEN) != 0 && (outputBuffer == null || !outputBuffer.hasRemaining())) {
+      outputBuffer = lendOutputBuffer();
+      ((Buffer) outputBuffer).clear();
       this.socket.doWrite();
-      ((Buffer) this.outputBuffer).flip();
+      ((Buffer) outputBuffer).flip();
+    } else if (outputBuffer == null) {
+      // Handshake and close messages don't carry application data.
+      outputBuffer = EMPTY_BUFFER;
     }
     final SSLEngineResult result;
     try {
-      result = this.sslEngine.wrap(this.outputBuffer, this.writeBuffer);
+      result = this.sslEngine.wrap(outputBuffer, this.writeBuffer);
     } catch (SSLException cause) {
       this.socket.didFail(cause);
       this.context.close();
@@ -642,6 +794,7 @@ class TlsSocket implements Transport, IpSocketContext {
         break;
       }
     } while (true);
+    discardBuffers();
   }
 
   @Override
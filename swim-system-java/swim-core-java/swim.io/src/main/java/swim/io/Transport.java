@@ -17,6 +17,7 @@ package swim.io;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * I/O transport binding that handles asynchronous I/O operations for a
@@ -50,16 +51,40 @@ public interface Transport {
 
   /**
    * Returns the buffer into which input data should be read by the underlying
-   * I/O transport.
+   * I/O transport.  Transports that borrow their buffers from a {@link
+   * BufferPool} may lend a buffer on demand, which remains valid until the
+   * next call to {@link #releaseReadBuffer()}.
    */
   ByteBuffer readBuffer();
 
   /**
    * Returns the buffer from which output data should be written by the
-   * underlying I/O transport.
+   * underlying I/O transport.  Transports that borrow their buffers from a
+   * {@link BufferPool} may lend a buffer on demand, which remains valid until
+   * the next call to {@link #releaseWriteBuffer()}.
    */
   ByteBuffer writeBuffer();
 
+  /**
+   * I/O callback invoked by the transport context after it finishes a
+   * <em>read</em> pass over the {@code readBuffer}.  Pooled transports may
+   * return the {@code readBuffer} to its pool if it holds no unread input.
+   * Does nothing by default.
+   */
+  default void releaseReadBuffer() {
+    // nop
+  }
+
+  /**
+   * I/O callback invoked by the transport context after it finishes a
+   * <em>write</em> pass over the {@code writeBuffer}.  Pooled transports may
+   * return the {@code writeBuffer} to its pool if it holds no unwritten
+   * output.  Does nothing by default.
+   */
+  default void releaseWriteBuffer() {
+    // nop
+  }
+
   /**
    * Returns the number of idle milliseconds after which this {@code Transport}
    * should be closed due to inactivity.  Returns {@code -1} if a default idle
@@ -107,6 +132,28 @@ public interface Transport {
    */
   void didWrite();
 
+  /**
+   * Returns {@code true} if this {@code Transport} has a file transfer pending
+   * that the transport context should complete, by calling {@link
+   * #doTransfer(WritableByteChannel)}, once it has written all data in the
+   * {@code writeBuffer}, and before it invokes {@link #didWrite()}.  Returns
+   * {@code false} by default.
+   */
+  default boolean isTransferring() {
+    return false;
+  }
+
+  /**
+   * I/O callback invoked by the transport context asking this {@code Transport}
+   * to transfer as much of its pending file transfer as possible directly to
+   * the NIO {@code channel}, without copying it through the {@code
+   * writeBuffer}.  Returns the number of bytes transferred, which may be zero
+   * if the {@code channel} isn't ready to accept more data.
+   */
+  default long doTransfer(WritableByteChannel channel) throws IOException {
+    return 0L;
+  }
+
   /**
    * Lifecycle callback invoked by the transport context after the underlying
    * transport has timed out.  The transport will automatically be closed.
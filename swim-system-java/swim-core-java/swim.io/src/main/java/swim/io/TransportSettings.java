@@ -35,11 +35,20 @@ public class TransportSettings implements Debug {
   protected final int backlog;
   protected final long idleInterval;
   protected final long idleTimeout;
+  protected final int selectorCount;
+  protected final boolean pinTasks;
 
-  public TransportSettings(int backlog, long idleInterval, long idleTimeout) {
+  public TransportSettings(int backlog, long idleInterval, long idleTimeout,
+                           int selectorCount, boolean pinTasks) {
     this.backlog = backlog;
     this.idleInterval = idleInterval;
     this.idleTimeout = idleTimeout;
+    this.selectorCount = selectorCount;
+    this.pinTasks = pinTasks;
+  }
+
+  public TransportSettings(int backlog, long idleInterval, long idleTimeout) {
+    this(backlog, idleInterval, idleTimeout, 1, false);
   }
 
   /**
@@ -68,7 +77,16 @@ public class TransportSettings implements Debug {
         idleTimeout = 90000L; // 90 seconds
       }
 
-      standard = new TransportSettings(backlog, idleInterval, idleTimeout);
+      int selectorCount;
+      try {
+        selectorCount = Integer.parseInt(System.getProperty("swim.transport.selector.count"));
+      } catch (NumberFormatException error) {
+        selectorCount = 1;
+      }
+
+      final boolean pinTasks = Boolean.parseBoolean(System.getProperty("swim.transport.pin.tasks"));
+
+      standard = new TransportSettings(backlog, idleInterval, idleTimeout, selectorCount, pinTasks);
     }
     return standard;
   }
@@ -97,7 +115,7 @@ public class TransportSettings implements Debug {
    * connections.
    */
   public TransportSettings backlog(int backlog) {
-    return copy(backlog, this.idleInterval, this.idleTimeout);
+    return copy(backlog, this.idleInterval, this.idleTimeout, this.selectorCount, this.pinTasks);
   }
 
   /**
@@ -112,7 +130,7 @@ public class TransportSettings implements Debug {
    * given {@code idleInterval} for transport idle checks.
    */
   public TransportSettings idleInterval(long idleInterval) {
-    return copy(this.backlog, idleInterval, this.idleTimeout);
+    return copy(this.backlog, idleInterval, this.idleTimeout, this.selectorCount, this.pinTasks);
   }
 
   /**
@@ -128,7 +146,41 @@ public class TransportSettings implements Debug {
    * given {@code idleTimeout} for transport idle timeouts
    */
   public TransportSettings idleTimeout(long idleTimeout) {
-    return copy(this.backlog, this.idleInterval, idleTimeout);
+    return copy(this.backlog, this.idleInterval, idleTimeout, this.selectorCount, this.pinTasks);
+  }
+
+  /**
+   * Returns the number of selector threads across which a {@link Station}
+   * distributes its transports.  Zero or negative values request one
+   * selector thread per available processor.
+   */
+  public final int selectorCount() {
+    return this.selectorCount;
+  }
+
+  /**
+   * Returns a copy of these {@code TransportSettings} configured with the
+   * given {@code selectorCount} for the number of station selector threads.
+   */
+  public TransportSettings selectorCount(int selectorCount) {
+    return copy(this.backlog, this.idleInterval, this.idleTimeout, selectorCount, this.pinTasks);
+  }
+
+  /**
+   * Returns {@code true} if the I/O tasks of each transport should run on a
+   * dedicated single-threaded stage lane belonging to the transport's
+   * selector thread, rather than on the station's shared stage.
+   */
+  public final boolean pinTasks() {
+    return this.pinTasks;
+  }
+
+  /**
+   * Returns a copy of these {@code TransportSettings} configured with the
+   * given {@code pinTasks} option for pinning I/O tasks to selector lanes.
+   */
+  public TransportSettings pinTasks(boolean pinTasks) {
+    return copy(this.backlog, this.idleInterval, this.idleTimeout, this.selectorCount, pinTasks);
   }
 
   /**
@@ -136,8 +188,9 @@ public class TransportSettings implements Debug {
    * Subclasses may override this method to ensure the proper class is
    * instantiated when updating settings.
    */
-  protected TransportSettings copy(int backlog, long idleInterval, long idleTimeout) {
-    return new TransportSettings(backlog, idleInterval, idleTimeout);
+  protected TransportSettings copy(int backlog, long idleInterval, long idleTimeout,
+                                   int selectorCount, boolean pinTasks) {
+    return new TransportSettings(backlog, idleInterval, idleTimeout, selectorCount, pinTasks);
   }
 
   /**
@@ -164,7 +217,9 @@ public class TransportSettings implements Debug {
       final TransportSettings that = (TransportSettings) other;
       return that.canEqual(this) && this.backlog == that.backlog
           && this.idleInterval == that.idleInterval
-          && this.idleTimeout == that.idleTimeout;
+          && this.idleTimeout == that.idleTimeout
+          && this.selectorCount == that.selectorCount
+          && this.pinTasks == that.pinTasks;
     }
     return false;
   }
@@ -174,8 +229,9 @@ public class TransportSettings implements Debug {
     if (hashSeed == 0) {
       hashSeed = Murmur3.seed(TransportSettings.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(hashSeed, backlog),
-        Murmur3.hash(this.idleInterval)), Murmur3.hash(this.idleTimeout)));
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(hashSeed, backlog),
+        Murmur3.hash(this.idleInterval)), Murmur3.hash(this.idleTimeout)), this.selectorCount),
+        Murmur3.hash(this.pinTasks)));
   }
 
   @Override
@@ -183,7 +239,9 @@ public class TransportSettings implements Debug {
     output = output.write("TransportSettings").write('.').write("standard").write('(').write(')')
         .write('.').write("backlog").write('(').debug(this.backlog).write(')')
         .write('.').write("idleInterval").write('(').debug(this.idleInterval).write(')')
-        .write('.').write("idleTimeout").write('(').debug(this.idleTimeout).write(')');
+        .write('.').write("idleTimeout").write('(').debug(this.idleTimeout).write(')')
+        .write('.').write("selectorCount").write('(').debug(this.selectorCount).write(')')
+        .write('.').write("pinTasks").write('(').debug(this.pinTasks).write(')');
   }
 
   @Override
@@ -214,7 +272,7 @@ final class TransportSettingsForm extends Form<TransportSettings> {
   public Item mold(TransportSettings settings) {
     if (settings != null) {
       final TransportSettings standard = TransportSettings.standard();
-      final Record record = Record.create(4).attr(tag());
+      final Record record = Record.create(6).attr(tag());
       if (settings.backlog != standard.backlog) {
         record.slot("backlog", settings.backlog);
       }
@@ -224,6 +282,12 @@ final class TransportSettingsForm extends Form<TransportSettings> {
       if (settings.idleTimeout != standard.idleTimeout) {
         record.slot("idleTimeout", settings.idleTimeout);
       }
+      if (settings.selectorCount != standard.selectorCount) {
+        record.slot("selectorCount", settings.selectorCount);
+      }
+      if (settings.pinTasks != standard.pinTasks) {
+        record.slot("pinTasks", settings.pinTasks);
+      }
       return record;
     } else {
       return Item.extant();
@@ -238,7 +302,9 @@ final class TransportSettingsForm extends Form<TransportSettings> {
       final int backlog = value.get("backlog").intValue(standard.backlog);
       final long idleInterval = value.get("idleInterval").longValue(standard.idleInterval);
       final long idleTimeout = value.get("idleTimeout").longValue(standard.idleTimeout);
-      return new TransportSettings(backlog, idleInterval, idleTimeout);
+      final int selectorCount = value.get("selectorCount").intValue(standard.selectorCount);
+      final boolean pinTasks = value.get("pinTasks").booleanValue(standard.pinTasks);
+      return new TransportSettings(backlog, idleInterval, idleTimeout, selectorCount, pinTasks);
     }
     return null;
   }
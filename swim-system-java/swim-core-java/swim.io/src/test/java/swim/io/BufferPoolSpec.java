@@ -0,0 +1,83 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io;
+
+import java.nio.ByteBuffer;
+import org.testng.annotations.Test;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class BufferPoolSpec {
+
+  @Test
+  public void lendSizeClassedDirectBuffers() {
+    final BufferPool pool = new BufferPool(9, 12, 1L << 20);
+    assertEquals(pool.lend(1).capacity(), 512);
+    assertEquals(pool.lend(512).capacity(), 512);
+    assertEquals(pool.lend(513).capacity(), 1024);
+    final ByteBuffer buffer = pool.lend(4000);
+    assertEquals(buffer.capacity(), 4096);
+    assertTrue(buffer.isDirect());
+    assertEquals(pool.lend(5000).capacity(), 5000);
+    assertEquals(pool.lentCount(), 5L);
+    assertEquals(pool.lentSize(), 512L + 512L + 1024L + 4096L + 5000L);
+    assertEquals(pool.allocateCount(), 5L);
+  }
+
+  @Test
+  public void reuseReleasedBuffers() {
+    final BufferPool pool = new BufferPool(9, 12, 1L << 20);
+    final ByteBuffer buffer = pool.lend(1000);
+    buffer.put((byte) 1);
+    pool.release(buffer);
+    assertEquals(pool.lentCount(), 0L);
+    assertEquals(pool.idleCount(), 1L);
+    assertEquals(pool.idleSize(), 1024L);
+
+    final ByteBuffer reused = pool.lend(600);
+    assertSame(reused, buffer);
+    assertEquals(reused.position(), 0);
+    assertEquals(reused.remaining(), 1024);
+    assertEquals(pool.idleCount(), 0L);
+    assertEquals(pool.idleSize(), 0L);
+    assertEquals(pool.allocateCount(), 1L);
+  }
+
+  @Test
+  public void boundIdleBuffers() {
+    final BufferPool pool = new BufferPool(9, 12, 1024L);
+    final ByteBuffer a = pool.lend(1024);
+    final ByteBuffer b = pool.lend(1024);
+    final ByteBuffer c = pool.lend(8192);
+    pool.release(a);
+    pool.release(b);
+    pool.release(c);
+    assertEquals(pool.lentCount(), 0L);
+    assertEquals(pool.lentSize(), 0L);
+    assertEquals(pool.idleCount(), 1L);
+    assertEquals(pool.idleSize(), 1024L);
+  }
+
+  @Test
+  public void discardLentBuffers() {
+    final BufferPool pool = new BufferPool(9, 12, 1L << 20);
+    pool.discard(pool.lend(2048));
+    assertEquals(pool.lentCount(), 0L);
+    assertEquals(pool.lentSize(), 0L);
+    assertEquals(pool.idleCount(), 0L);
+  }
+
+}
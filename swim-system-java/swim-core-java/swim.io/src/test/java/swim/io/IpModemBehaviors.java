@@ -402,6 +402,79 @@ public abstract class IpModemBehaviors {
     }
   }
 
+  @Test
+  public void testTransmitBatchedLines() {
+    final Theater stage = new Theater();
+    final IpEndpoint endpoint = new IpEndpoint(stage);
+    final CountDownLatch clientWrite = new CountDownLatch(1);
+    final CountDownLatch serverRead = new CountDownLatch(1);
+    final String phrase = "Hello, world!";
+    final String line = phrase + "\n";
+    final int lineCount = 1024;
+    final AbstractIpModem<String, String> client = new AbstractIpModem<String, String>() {
+      int writeCount;
+
+      @Override
+      public int writeBatchSize() {
+        return 64;
+      }
+
+      @Override
+      public void didConnect() {
+        for (int i = 0; i < lineCount; i += 1) {
+          write(Utf8.stringWriter(line));
+        }
+      }
+
+      @Override
+      public void didWrite(String line) {
+        writeCount += 1;
+        if (writeCount == lineCount) {
+          clientWrite.countDown();
+        }
+      }
+    };
+    final AbstractIpModem<String, String> server = new AbstractIpModem<String, String>() {
+      int readCount;
+
+      @Override
+      public void didConnect() {
+        read(Utf8.decodedParser(Unicode.lineParser()));
+      }
+
+      @Override
+      public void didRead(String line) {
+        assertEquals(line, phrase);
+        readCount += 1;
+        if (readCount < lineCount) {
+          read(Utf8.decodedParser(Unicode.lineParser()));
+        } else {
+          serverRead.countDown();
+        }
+      }
+    };
+    final IpService service = new AbstractIpService() {
+      @Override
+      public IpModem<?, ?> createModem() {
+        return server;
+      }
+    };
+
+    try {
+      stage.start();
+      endpoint.start();
+      bind(endpoint, service);
+      connect(endpoint, client);
+      clientWrite.await();
+      serverRead.await();
+    } catch (InterruptedException cause) {
+      throw new TestException(cause);
+    } finally {
+      endpoint.stop();
+      stage.stop();
+    }
+  }
+
   private String blob(int size) {
     final StringBuilder s = new StringBuilder(size);
     for (int i = 0; i < size; i += 1) {
@@ -81,6 +81,64 @@ public abstract class IpSocketBehaviors {
     }
   }
 
+  @Test
+  public void testBuffersOutsideIoPass() {
+    final Theater stage = new Theater();
+    final IpEndpoint endpoint = new IpEndpoint(stage);
+    final CountDownLatch clientConnect = new CountDownLatch(1);
+    final CountDownLatch serverConnect = new CountDownLatch(1);
+    final CountDownLatch serverBind = new CountDownLatch(1);
+    final AtomicInteger buffers = new AtomicInteger();
+    final AbstractIpSocket client = new AbstractIpSocket() {
+      @Override
+      public void didConnect() {
+        if (inputBuffer() != null) {
+          buffers.incrementAndGet();
+        }
+        if (outputBuffer() != null) {
+          buffers.incrementAndGet();
+        }
+        clientConnect.countDown();
+      }
+    };
+    final AbstractIpSocket server = new AbstractIpSocket() {
+      @Override
+      public void didConnect() {
+        serverConnect.countDown();
+      }
+    };
+    final AbstractIpService service = new AbstractIpService() {
+      @Override
+      public IpSocket createSocket() {
+        return server;
+      }
+
+      @Override
+      public void didBind() {
+        serverBind.countDown();
+      }
+    };
+
+    try {
+      stage.start();
+      endpoint.start();
+      bind(endpoint, service);
+      serverBind.await();
+      connect(endpoint, client);
+      serverConnect.await();
+      clientConnect.await();
+      assertEquals(buffers.get(), 2);
+    } catch (InterruptedException cause) {
+      throw new TestException(cause);
+    } finally {
+      client.close();
+      server.close();
+      service.unbind();
+      endpoint.stop();
+      stage.stop();
+    }
+  }
+
   @Test
   public void testClientConnectError() {
     final Theater stage = new Theater();
@@ -0,0 +1,141 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import org.testng.TestException;
+import org.testng.annotations.Test;
+import swim.codec.Binary;
+import swim.concurrent.Theater;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class StationSpec {
+
+  @Test
+  public void startAndStopSelectorThreads() {
+    final Theater stage = new Theater();
+    final CountDownLatch didStart = new CountDownLatch(1);
+    final CountDownLatch didStop = new CountDownLatch(1);
+    final Station station = new Station(stage, TransportSettings.standard().selectorCount(3)) {
+      @Override
+      protected void didStart() {
+        didStart.countDown();
+      }
+
+      @Override
+      protected void didStop() {
+        didStop.countDown();
+      }
+    };
+    try {
+      stage.start();
+      assertEquals(station.threadCount(), 3);
+      station.start();
+      didStart.await();
+      station.stop();
+      didStop.await();
+    } catch (InterruptedException cause) {
+      throw new TestException(cause);
+    } finally {
+      station.stop();
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void distributeTransportsAcrossPinnedSelectorThreads() {
+    final int clientCount = 4;
+    final Theater stage = new Theater();
+    final Station station = new Station(stage, TransportSettings.standard().selectorCount(4).pinTasks(true));
+    final IpEndpoint endpoint = new IpEndpoint(station);
+    final Set<String> readThreads = ConcurrentHashMap.newKeySet();
+    final CountDownLatch serverBind = new CountDownLatch(1);
+    final CountDownLatch serverRead = new CountDownLatch(clientCount);
+    final AbstractIpService service = new AbstractIpService() {
+      @Override
+      public IpSocket createSocket() {
+        return new AbstractIpSocket() {
+          @Override
+          public void didConnect() {
+            flowControl(FlowModifier.ENABLE_READ);
+          }
+
+          @Override
+          public void doRead() {
+            while (inputBuffer().isCont()) {
+              inputBuffer().step();
+            }
+            readThreads.add(Thread.currentThread().getName());
+            serverRead.countDown();
+          }
+        };
+      }
+
+      @Override
+      public void didBind() {
+        serverBind.countDown();
+      }
+    };
+    final AbstractIpSocket[] clients = new AbstractIpSocket[clientCount];
+    try {
+      stage.start();
+      endpoint.start();
+      endpoint.bindTcp("127.0.0.1", 53559, service, IpSettings.standard());
+      serverBind.await();
+      for (int i = 0; i < clientCount; i += 1) {
+        final CountDownLatch clientWrite = new CountDownLatch(1);
+        clients[i] = new AbstractIpSocket() {
+          @Override
+          public void didConnect() {
+            flowControl(FlowModifier.ENABLE_WRITE);
+          }
+
+          @Override
+          public void doWrite() {
+            Binary.writeByteArray(new byte[] {'@', 't', 'e', 's', 't'}, outputBuffer());
+          }
+
+          @Override
+          public void didWrite() {
+            flowControl(FlowModifier.DISABLE_WRITE);
+            clientWrite.countDown();
+          }
+        };
+        endpoint.connectTcp("127.0.0.1", 53559, clients[i], IpSettings.standard());
+        clientWrite.await();
+      }
+      serverRead.await();
+      assertTrue(readThreads.size() > 1, readThreads.toString());
+      for (String readThread : readThreads) {
+        assertTrue(readThread.startsWith("SwimStationLane"), readThread);
+      }
+    } catch (InterruptedException cause) {
+      throw new TestException(cause);
+    } finally {
+      for (int i = 0; i < clientCount; i += 1) {
+        if (clients[i] != null) {
+          clients[i].close();
+        }
+      }
+      service.unbind();
+      endpoint.stop();
+      stage.stop();
+    }
+  }
+
+}
@@ -50,6 +50,12 @@ public class TcpSettingsSpec {
         new TcpSettings(true, true, 2, 3, 5, 7));
   }
 
+  @Test
+  public void decodesPooledTcpSettings() {
+    assertDecodes(Record.of(Attr.of("tcp"), Slot.of("bufferPool", true)),
+        TcpSettings.standard().bufferPool(true));
+  }
+
   @Test
   public void encodesStandardTcpSettings() {
     assertEncodes(TcpSettings.standard(), Record.of(Attr.of("tcp")));
@@ -67,4 +73,10 @@ public class TcpSettingsSpec {
             Slot.of("writeBufferSize", 7)));
   }
 
+  @Test
+  public void encodesPooledTcpSettings() {
+    assertEncodes(TcpSettings.standard().bufferPool(true),
+        Record.of(Attr.of("tcp"), Slot.of("bufferPool", true)));
+  }
+
 }
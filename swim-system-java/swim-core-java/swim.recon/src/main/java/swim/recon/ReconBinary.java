@@ -0,0 +1,383 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.recon;
+
+import java.math.BigInteger;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import swim.codec.DecoderException;
+import swim.codec.Output;
+import swim.structure.Attr;
+import swim.structure.Bool;
+import swim.structure.Data;
+import swim.structure.Item;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Text;
+import swim.structure.Value;
+
+/**
+ * Compact binary encoding of structured values: a tag byte followed by a
+ * self-delimiting payload of varints, length-prefixed UTF-8 strings, and
+ * nested items.  Values with no binary form, such as expressions, are
+ * embedded as Recon strings.
+ */
+public final class ReconBinary {
+
+  private ReconBinary() {
+    // static
+  }
+
+  static final int ABSENT = 0x00;
+  static final int EXTANT = 0x01;
+  static final int FALSE = 0x02;
+  static final int TRUE = 0x03;
+  static final int INT32 = 0x04;
+  static final int INT64 = 0x05;
+  static final int UINT32 = 0x06;
+  static final int UINT64 = 0x07;
+  static final int FLOAT32 = 0x08;
+  static final int FLOAT64 = 0x09;
+  static final int INTEGER = 0x0A;
+  static final int TEXT = 0x0B;
+  static final int DATA = 0x0C;
+  static final int RECORD = 0x0D;
+  static final int ATTR = 0x0E;
+  static final int SLOT = 0x0F;
+  static final int RECON = 0x10;
+
+  public static int sizeOfVarint(long value) {
+    int size = 1;
+    while ((value & ~0x7fL) != 0L) {
+      value >>>= 7;
+      size += 1;
+    }
+    return size;
+  }
+
+  public static void writeVarint(Output<?> output, long value) {
+    while ((value & ~0x7fL) != 0L) {
+      output.write(((int) value & 0x7f) | 0x80);
+      value >>>= 7;
+    }
+    output.write((int) value);
+  }
+
+  public static int readVarint(ByteBuffer buffer) {
+    return (int) readVarlong(buffer);
+  }
+
+  public static long readVarlong(ByteBuffer buffer) {
+    long value = 0L;
+    int shift = 0;
+    int b;
+    do {
+      if (shift > 63) {
+        throw new DecoderException("malformed varint");
+      }
+      b = buffer.get() & 0xff;
+      value |= (long) (b & 0x7f) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+
+  public static void writeInt(Output<?> output, int value) {
+    output.write(value >>> 24);
+    output.write((value >>> 16) & 0xff);
+    output.write((value >>> 8) & 0xff);
+    output.write(value & 0xff);
+  }
+
+  public static int sizeOfItem(Item item) {
+    if (item instanceof Attr) {
+      final Attr attr = (Attr) item;
+      return 1 + sizeOfString(attr.key().stringValue()) + sizeOfValue(attr.value());
+    } else if (item instanceof Slot) {
+      return 1 + sizeOfValue(item.key()) + sizeOfValue(item.toValue());
+    } else {
+      return sizeOfValue((Value) item);
+    }
+  }
+
+  public static void writeItem(Output<?> output, Item item) {
+    if (item instanceof Attr) {
+      final Attr attr = (Attr) item;
+      output.write(ATTR);
+      writeString(output, attr.key().stringValue());
+      writeValue(output, attr.value());
+    } else if (item instanceof Slot) {
+      output.write(SLOT);
+      writeValue(output, item.key());
+      writeValue(output, item.toValue());
+    } else {
+      writeValue(output, (Value) item);
+    }
+  }
+
+  public static Item readItem(ByteBuffer buffer) {
+    final int tag = buffer.get(buffer.position()) & 0xff;
+    if (tag == ATTR) {
+      buffer.get();
+      final Text key = Text.from(readString(buffer));
+      return Attr.of(key, readValue(buffer));
+    } else if (tag == SLOT) {
+      buffer.get();
+      final Value key = readValue(buffer);
+      return Slot.of(key, readValue(buffer));
+    } else {
+      return readValue(buffer);
+    }
+  }
+
+  public static int sizeOfValue(Value value) {
+    if (value instanceof Record) {
+      final Record record = (Record) value;
+      int size = 1 + sizeOfVarint(record.size());
+      for (Item item : record) {
+        size += sizeOfItem(item);
+      }
+      return size;
+    } else if (value instanceof Text) {
+      return 1 + sizeOfString(value.stringValue());
+    } else if (value instanceof Num) {
+      return sizeOfNum((Num) value);
+    } else if (value instanceof Bool || !value.isDefined() || value == Value.extant()) {
+      return 1;
+    } else if (value instanceof Data) {
+      final int size = ((Data) value).size();
+      return 1 + sizeOfVarint(size) + size;
+    } else {
+      return 1 + sizeOfString(Recon.toString(value));
+    }
+  }
+
+  public static void writeValue(Output<?> output, Value value) {
+    if (value instanceof Record) {
+      final Record record = (Record) value;
+      output.write(RECORD);
+      writeVarint(output, record.size());
+      for (Item item : record) {
+        writeItem(output, item);
+      }
+    } else if (value instanceof Text) {
+      output.write(TEXT);
+      writeString(output, value.stringValue());
+    } else if (value instanceof Num) {
+      writeNum(output, (Num) value);
+    } else if (value instanceof Bool) {
+      output.write(value.booleanValue() ? TRUE : FALSE);
+    } else if (!value.isDefined()) {
+      output.write(ABSENT);
+    } else if (value == Value.extant()) {
+      output.write(EXTANT);
+    } else if (value instanceof Data) {
+      final Data data = (Data) value;
+      final int size = data.size();
+      output.write(DATA);
+      writeVarint(output, size);
+      for (int i = 0; i < size; i += 1) {
+        output.write(data.getByte(i) & 0xff);
+      }
+    } else {
+      output.write(RECON);
+      writeString(output, Recon.toString(value));
+    }
+  }
+
+  public static Value readValue(ByteBuffer buffer) {
+    final int tag = buffer.get() & 0xff;
+    switch (tag) {
+      case ABSENT:
+        return Value.absent();
+      case EXTANT:
+        return Value.extant();
+      case FALSE:
+        return Bool.from(false);
+      case TRUE:
+        return Bool.from(true);
+      case INT32:
+        return Num.from(decodeZigZag(readVarint(buffer)));
+      case INT64:
+        return Num.from(decodeZigZag(readVarlong(buffer)));
+      case UINT32:
+        return Num.uint32(readVarint(buffer));
+      case UINT64:
+        return Num.uint64(readVarlong(buffer));
+      case FLOAT32:
+        return Num.from(buffer.getFloat());
+      case FLOAT64:
+        return Num.from(buffer.getDouble());
+      case INTEGER:
+        return Num.from(new BigInteger(readBytes(buffer)));
+      case TEXT:
+        return Text.from(readString(buffer));
+      case DATA:
+        return Data.wrap(readBytes(buffer));
+      case RECORD:
+        final int n = readVarint(buffer);
+        final Record record = Record.create(n);
+        for (int i = 0; i < n; i += 1) {
+          record.add(readItem(buffer));
+        }
+        return record;
+      case RECON:
+        return Recon.parse(readString(buffer));
+      default:
+        throw new DecoderException("unknown binary value tag: " + tag);
+    }
+  }
+
+  static int sizeOfNum(Num num) {
+    final Number number = num.numberValue();
+    if (number instanceof Integer) {
+      if (num.isUint32()) {
+        return 1 + sizeOfVarint(num.intValue() & 0xffffffffL);
+      } else {
+        return 1 + sizeOfVarint(encodeZigZag(num.intValue()) & 0xffffffffL);
+      }
+    } else if (number instanceof Long) {
+      if (num.isUint64()) {
+        return 1 + sizeOfVarint(num.longValue());
+      } else {
+        return 1 + sizeOfVarint(encodeZigZag(num.longValue()));
+      }
+    } else if (number instanceof Float) {
+      return 5;
+    } else if (number instanceof Double) {
+      return 9;
+    } else {
+      final int size = num.integerValue().toByteArray().length;
+      return 1 + sizeOfVarint(size) + size;
+    }
+  }
+
+  static void writeNum(Output<?> output, Num num) {
+    final Number number = num.numberValue();
+    if (number instanceof Integer) {
+      if (num.isUint32()) {
+        output.write(UINT32);
+        writeVarint(output, num.intValue() & 0xffffffffL);
+      } else {
+        output.write(INT32);
+        writeVarint(output, encodeZigZag(num.intValue()) & 0xffffffffL);
+      }
+    } else if (number instanceof Long) {
+      if (num.isUint64()) {
+        output.write(UINT64);
+        writeVarint(output, num.longValue());
+      } else {
+        output.write(INT64);
+        writeVarint(output, encodeZigZag(num.longValue()));
+      }
+    } else if (number instanceof Float) {
+      output.write(FLOAT32);
+      writeInt(output, Float.floatToIntBits(num.floatValue()));
+    } else if (number instanceof Double) {
+      output.write(FLOAT64);
+      final long bits = Double.doubleToLongBits(num.doubleValue());
+      writeInt(output, (int) (bits >>> 32));
+      writeInt(output, (int) bits);
+    } else {
+      final byte[] bytes = num.integerValue().toByteArray();
+      output.write(INTEGER);
+      writeVarint(output, bytes.length);
+      for (int i = 0; i < bytes.length; i += 1) {
+        output.write(bytes[i] & 0xff);
+      }
+    }
+  }
+
+  static int encodeZigZag(int value) {
+    return (value << 1) ^ (value >> 31);
+  }
+
+  static long encodeZigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  static int decodeZigZag(int value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  static long decodeZigZag(long value) {
+    return (value >>> 1) ^ -(value & 1L);
+  }
+
+  static int sizeOfUtf8(String string) {
+    int size = 0;
+    for (int i = 0, n = string.length(); i < n; i = string.offsetByCodePoints(i, 1)) {
+      final int c = string.codePointAt(i);
+      size += c < 0x80 ? 1 : c < 0x800 ? 2 : c < 0x10000 ? 3 : 4;
+    }
+    return size;
+  }
+
+  public static int sizeOfString(String string) {
+    final int size = sizeOfUtf8(string);
+    return sizeOfVarint(size) + size;
+  }
+
+  public static void writeString(Output<?> output, String string) {
+    writeVarint(output, sizeOfUtf8(string));
+    for (int i = 0, n = string.length(); i < n; i = string.offsetByCodePoints(i, 1)) {
+      final int c = string.codePointAt(i);
+      if (c < 0x80) {
+        output.write(c);
+      } else if (c < 0x800) {
+        output.write(0xc0 | (c >>> 6));
+        output.write(0x80 | (c & 0x3f));
+      } else if (c < 0x10000) {
+        output.write(0xe0 | (c >>> 12));
+        output.write(0x80 | ((c >>> 6) & 0x3f));
+        output.write(0x80 | (c & 0x3f));
+      } else {
+        output.write(0xf0 | (c >>> 18));
+        output.write(0x80 | ((c >>> 12) & 0x3f));
+        output.write(0x80 | ((c >>> 6) & 0x3f));
+        output.write(0x80 | (c & 0x3f));
+      }
+    }
+  }
+
+  public static String readString(ByteBuffer buffer) {
+    final int size = readVarint(buffer);
+    if (size < 0 || size > buffer.remaining()) {
+      throw new DecoderException("truncated binary string: " + size);
+    } else if (buffer.hasArray()) {
+      final int offset = buffer.arrayOffset() + buffer.position();
+      final String string = new String(buffer.array(), offset, size, StandardCharsets.UTF_8);
+      ((Buffer) buffer).position(buffer.position() + size);
+      return string;
+    } else {
+      final byte[] bytes = new byte[size];
+      buffer.get(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+  }
+
+  static byte[] readBytes(ByteBuffer buffer) {
+    final int size = readVarint(buffer);
+    if (size < 0 || size > buffer.remaining()) {
+      throw new DecoderException("truncated binary data: " + size);
+    }
+    final byte[] bytes = new byte[size];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+}
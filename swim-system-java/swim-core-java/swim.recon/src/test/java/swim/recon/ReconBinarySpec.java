@@ -0,0 +1,96 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.recon;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import org.testng.annotations.Test;
+import swim.codec.Output;
+import swim.structure.Attr;
+import swim.structure.Bool;
+import swim.structure.Data;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Text;
+import swim.structure.Value;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+public class ReconBinarySpec {
+
+  static void assertTranscodes(Value value) {
+    final Output<Data> output = Data.output();
+    ReconBinary.writeValue(output, value);
+    final Data data = output.bind();
+    assertEquals(data.size(), ReconBinary.sizeOfValue(value));
+    final ByteBuffer buffer = data.toByteBuffer();
+    assertEquals(ReconBinary.readValue(buffer), value);
+    assertFalse(buffer.hasRemaining());
+  }
+
+  @Test
+  public void transcodeScalars() {
+    assertTranscodes(Value.absent());
+    assertTranscodes(Value.extant());
+    assertTranscodes(Bool.from(false));
+    assertTranscodes(Bool.from(true));
+    assertTranscodes(Text.empty());
+    assertTranscodes(Text.from("test"));
+    assertTranscodes(Text.from("é中😀"));
+    assertTranscodes(Data.fromBase64("AAECAwQ="));
+  }
+
+  @Test
+  public void transcodeNumbers() {
+    assertTranscodes(Num.from(0));
+    assertTranscodes(Num.from(-1));
+    assertTranscodes(Num.from(Integer.MIN_VALUE));
+    assertTranscodes(Num.from(Integer.MAX_VALUE));
+    assertTranscodes(Num.from(Long.MIN_VALUE));
+    assertTranscodes(Num.from(Long.MAX_VALUE));
+    assertTranscodes(Num.uint32(0xffffffff));
+    assertTranscodes(Num.uint64(-1L));
+    assertTranscodes(Num.from(2.5f));
+    assertTranscodes(Num.from(-0.1));
+    assertTranscodes(Num.from(BigInteger.ONE.shiftLeft(80).negate()));
+  }
+
+  @Test
+  public void transcodeRecords() {
+    assertTranscodes(Record.empty());
+    assertTranscodes(Record.of(Attr.of("test"), Slot.of("x", 1), Num.from(2.5), "text"));
+    assertTranscodes(Record.of(Slot.of(Record.of(1, 2), Record.of(Attr.of("a", 1), Slot.of("b")))));
+  }
+
+  @Test
+  public void transcodeExpressionsAsRecon() {
+    assertTranscodes(Recon.parse("$a + 1"));
+  }
+
+  @Test
+  public void encodeVarints() {
+    assertEquals(ReconBinary.sizeOfVarint(0L), 1);
+    assertEquals(ReconBinary.sizeOfVarint(0x7fL), 1);
+    assertEquals(ReconBinary.sizeOfVarint(0x80L), 2);
+    assertEquals(ReconBinary.sizeOfVarint(-1L), 10);
+    final Output<Data> output = Data.output();
+    ReconBinary.writeVarint(output, 300L);
+    final ByteBuffer buffer = output.bind().toByteBuffer();
+    assertEquals(buffer.remaining(), 2);
+    assertEquals(ReconBinary.readVarlong(buffer), 300L);
+  }
+
+}
@@ -21,6 +21,7 @@ import swim.codec.Format;
 import swim.codec.Output;
 import swim.codec.Writer;
 import swim.recon.Recon;
+import swim.structure.Data;
 import swim.structure.Form;
 import swim.structure.Value;
 import swim.uri.Uri;
@@ -30,6 +31,8 @@ public abstract class Envelope implements Debug {
   private static Decoder<Envelope> decoder;
   private static Encoder<Envelope, Envelope> encoder;
 
+  volatile Data reconData;
+
   Envelope() {
     // stub
   }
@@ -48,6 +51,10 @@ public abstract class Envelope implements Debug {
     return encoder;
   }
 
+  public static Decoder<Envelope> binaryDecoder(EnvelopeDictionary dictionary) {
+    return new EnvelopeBinaryDecoder(dictionary);
+  }
+
   public static Envelope fromValue(Value value) {
     final String tag = value.tag();
     final Form<? extends Envelope> form = form(tag);
@@ -63,6 +70,10 @@ public abstract class Envelope implements Debug {
     return fromValue(value);
   }
 
+  public static Envelope fromBinary(Data data, EnvelopeDictionary dictionary) {
+    return EnvelopeBinary.readEnvelope(data.asByteBuffer(), dictionary);
+  }
+
   @SuppressWarnings("unchecked")
   public static <E extends Envelope> Form<E> form(String tag) {
     if ("event".equals(tag)) {
@@ -130,6 +141,30 @@ public abstract class Envelope implements Debug {
     return Recon.toString(toValue());
   }
 
+  /**
+   * Returns the UTF-8 encoded Recon form of this envelope, memoized the
+   * first time the envelope gets encoded.  Every subsequent {@link
+   * #reconEncoder()} writes the same bytes, so an envelope fanned out to many
+   * sockets only gets serialized once.  The returned {@code Data} is
+   * immutable, and is released along with the envelope.
+   */
+  public Data toReconData() {
+    Data reconData = this.reconData;
+    if (reconData == null) {
+      reconData = Recon.toData(toValue()).commit();
+      this.reconData = reconData;
+    }
+    return reconData;
+  }
+
+  public Writer<?, ?> binaryWriter(EnvelopeDictionary dictionary) {
+    return toBinary(dictionary).writer();
+  }
+
+  public Data toBinary(EnvelopeDictionary dictionary) {
+    return EnvelopeBinary.writeEnvelope(this, dictionary);
+  }
+
   @Override
   public abstract void debug(Output<?> output);
 
@@ -0,0 +1,117 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.nio.ByteBuffer;
+import swim.codec.DecoderException;
+import swim.codec.Output;
+import swim.recon.ReconBinary;
+import swim.structure.Data;
+import swim.structure.Value;
+import swim.uri.Uri;
+
+/**
+ * Binary envelope encoding: an envelope kind byte, a dictionary-coded link
+ * or pair of node and lane URIs, a flags byte followed by the non-zero {@code prio} and
+ * {@code rate} of link-addressed envelopes, and a body value in the
+ * {@link ReconBinary} encoding.
+ */
+final class EnvelopeBinary {
+
+  private EnvelopeBinary() {
+    // static
+  }
+
+  // Envelope kinds are indexes into TAGS.
+  static final String[] TAGS = {
+    null, "event", "command", "link", "linked", "sync", "synced",
+    "unlink", "unlinked", "auth", "authed", "deauth", "deauthed",
+  };
+
+  static final int PRIO_FLAG = 0x01;
+  static final int RATE_FLAG = 0x02;
+
+  static int kindOf(String tag) {
+    for (int kind = 1; kind < TAGS.length; kind += 1) {
+      if (TAGS[kind].equals(tag)) {
+        return kind;
+      }
+    }
+    throw new WarpException("unknown envelope tag: " + tag);
+  }
+
+  static Data writeEnvelope(Envelope envelope, EnvelopeDictionary dictionary) {
+    final Output<Data> output = Data.output();
+    final int kind = kindOf(envelope.tag());
+    output.write(kind);
+    if (envelope instanceof LaneAddressed) {
+      dictionary.writeLink(output, envelope.nodeUri(), envelope.laneUri(), envelope instanceof LinkAddressed);
+      if (envelope instanceof LinkAddressed) {
+        final LinkAddressed link = (LinkAddressed) envelope;
+        final float prio = link.prio();
+        final float rate = link.rate();
+        output.write((prio != 0f ? PRIO_FLAG : 0) | (rate != 0f ? RATE_FLAG : 0));
+        if (prio != 0f) {
+          ReconBinary.writeInt(output, Float.floatToIntBits(prio));
+        }
+        if (rate != 0f) {
+          ReconBinary.writeInt(output, Float.floatToIntBits(rate));
+        }
+      }
+    }
+    ReconBinary.writeValue(output, envelope.body());
+    if (isUnlink(envelope)) {
+      dictionary.unlink(envelope.nodeUri(), envelope.laneUri());
+    }
+    return output.bind();
+  }
+
+  static Envelope readEnvelope(ByteBuffer buffer, EnvelopeDictionary dictionary) {
+    final int kind = buffer.get() & 0xff;
+    if (kind == 0 || kind >= TAGS.length) {
+      throw new DecoderException("unknown binary envelope kind: " + kind);
+    }
+    final Object form = Envelope.form(TAGS[kind]);
+    if (form instanceof HostAddressedForm<?>) {
+      dictionary.linkId = -1;
+      final Value body = ReconBinary.readValue(buffer);
+      return ((HostAddressedForm<?>) form).from(body);
+    } else {
+      final Envelope envelope = dictionary.readLink(buffer, form);
+      if (isUnlink(envelope)) {
+        dictionary.unlink(envelope.nodeUri(), envelope.laneUri());
+      }
+      return envelope;
+    }
+  }
+
+  static boolean isUnlink(Envelope envelope) {
+    return envelope instanceof UnlinkRequest || envelope instanceof UnlinkedResponse;
+  }
+
+  static Envelope readLaneAddressed(ByteBuffer buffer, Object form, Uri nodeUri, Uri laneUri) {
+    if (form instanceof LinkAddressedForm<?>) {
+      final int flags = buffer.get() & 0xff;
+      final float prio = (flags & PRIO_FLAG) != 0 ? buffer.getFloat() : 0f;
+      final float rate = (flags & RATE_FLAG) != 0 ? buffer.getFloat() : 0f;
+      final Value body = ReconBinary.readValue(buffer);
+      return ((LinkAddressedForm<?>) form).from(nodeUri, laneUri, prio, rate, body);
+    } else {
+      final Value body = ReconBinary.readValue(buffer);
+      return ((LaneAddressedForm<?>) form).from(nodeUri, laneUri, body);
+    }
+  }
+
+}
@@ -0,0 +1,61 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import swim.codec.Binary;
+import swim.codec.Decoder;
+import swim.codec.InputBuffer;
+import swim.structure.Data;
+
+final class EnvelopeBinaryDecoder extends Decoder<Envelope> {
+
+  final EnvelopeDictionary dictionary;
+  final Decoder<Data> output;
+
+  EnvelopeBinaryDecoder(EnvelopeDictionary dictionary, Decoder<Data> output) {
+    this.dictionary = dictionary;
+    this.output = output;
+  }
+
+  EnvelopeBinaryDecoder(EnvelopeDictionary dictionary) {
+    this(dictionary, null);
+  }
+
+  static Decoder<Envelope> decode(InputBuffer input, EnvelopeDictionary dictionary, Decoder<Data> output) {
+    if (output == null) {
+      output = Binary.outputParser(Data.output());
+    }
+    output = output.feed(input);
+    if (output.isDone()) {
+      try {
+        final Data data = output.bind();
+        return done(EnvelopeBinary.readEnvelope(data.asByteBuffer(), dictionary));
+      } catch (RuntimeException cause) {
+        return error(cause);
+      }
+    } else if (output.isError()) {
+      return error(output.trap());
+    } else if (input.isError()) {
+      return error(input.trap());
+    }
+    return new EnvelopeBinaryDecoder(dictionary, output);
+  }
+
+  @Override
+  public Decoder<Envelope> feed(InputBuffer input) {
+    return decode(input, this.dictionary, this.output);
+  }
+
+}
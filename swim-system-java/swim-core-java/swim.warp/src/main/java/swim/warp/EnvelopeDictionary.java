@@ -0,0 +1,323 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import swim.codec.DecoderException;
+import swim.codec.Output;
+import swim.recon.ReconBinary;
+import swim.uri.Uri;
+
+/**
+ * One direction of a binary WARP connection's node and lane URI table.
+ * The encoding side assigns each new URI the next free id and sends it
+ * inline once; the decoding side assigns ids in the same order, so every
+ * later envelope can reference the URI by id alone.  While {@code capacity}
+ * URIs are interned, new URIs are sent inline without an id.
+ *
+ * Link-addressed envelopes additionally assign a link id to their
+ * (node, lane) pair, which all later lane-addressed envelopes for the same
+ * pair send in place of both URIs.  The decoding side reports the link id
+ * of the most recently decoded envelope, so receivers can route by array
+ * index instead of by URI.
+ *
+ * Encoding or decoding an {@code @unlink} or {@code @unlinked} envelope frees
+ * the link id of its (node, lane) pair, along with any URI id no longer held
+ * by a live link.  Both sides free ids at the same point in the envelope
+ * stream, so freed ids are reused without an explicit eviction message.
+ *
+ * Dictionaries are not thread-safe; callers must encode envelopes in the
+ * same order in which they are written to the wire.
+ */
+public final class EnvelopeDictionary {
+
+  final int capacity;
+  final HashMap<Uri, Integer> ids;
+  Uri[] uris;
+  int[] uriRefs;
+  int size;
+  int uriLimit;
+  int[] freeUriIds;
+  int freeUriCount;
+  final HashMap<Uri, HashMap<Uri, Integer>> linkIds;
+  Uri[] linkNodeUris;
+  Uri[] linkLaneUris;
+  int[] linkNodeIds;
+  int[] linkLaneIds;
+  int linkCount;
+  int linkLimit;
+  int[] freeLinkIds;
+  int freeLinkCount;
+  int linkId;
+
+  public EnvelopeDictionary(int capacity) {
+    this.capacity = capacity;
+    this.ids = new HashMap<Uri, Integer>();
+    this.uris = new Uri[Math.min(capacity, 16)];
+    this.uriRefs = new int[Math.min(capacity, 16)];
+    this.size = 0;
+    this.uriLimit = 0;
+    this.freeUriIds = null;
+    this.freeUriCount = 0;
+    this.linkIds = new HashMap<Uri, HashMap<Uri, Integer>>();
+    this.linkNodeUris = new Uri[Math.min(capacity, 16)];
+    this.linkLaneUris = new Uri[Math.min(capacity, 16)];
+    this.linkNodeIds = new int[Math.min(capacity, 16)];
+    this.linkLaneIds = new int[Math.min(capacity, 16)];
+    this.linkCount = 0;
+    this.linkLimit = 0;
+    this.freeLinkIds = null;
+    this.freeLinkCount = 0;
+    this.linkId = -1;
+  }
+
+  public EnvelopeDictionary() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public int capacity() {
+    return this.capacity;
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  public int linkCount() {
+    return this.linkCount;
+  }
+
+  /**
+   * Returns the link id of the most recently decoded envelope, or {@code -1}
+   * if that envelope did not reference an interned link.
+   */
+  public int linkId() {
+    return this.linkId;
+  }
+
+  void writeLink(Output<?> output, Uri nodeUri, Uri laneUri, boolean define) {
+    final HashMap<Uri, Integer> laneIds = this.linkIds.get(nodeUri);
+    final Integer id = laneIds != null ? laneIds.get(laneUri) : null;
+    if (id != null) {
+      ReconBinary.writeVarint(output, id + 2);
+    } else if (define && this.linkCount < this.capacity) {
+      output.write(LINK_DEFINE);
+      writeUri(output, nodeUri);
+      writeUri(output, laneUri);
+      defineLink(nodeUri, laneUri);
+    } else {
+      output.write(LINK_INLINE);
+      writeUri(output, nodeUri);
+      writeUri(output, laneUri);
+    }
+  }
+
+  Envelope readLink(ByteBuffer buffer, Object form) {
+    final int code = ReconBinary.readVarint(buffer);
+    final Uri nodeUri;
+    final Uri laneUri;
+    if (code == LINK_INLINE) {
+      nodeUri = readUri(buffer);
+      laneUri = readUri(buffer);
+      this.linkId = -1;
+    } else if (code == LINK_DEFINE) {
+      nodeUri = readUri(buffer);
+      laneUri = readUri(buffer);
+      if (this.linkCount < this.capacity) {
+        this.linkId = defineLink(nodeUri, laneUri);
+      } else {
+        this.linkId = -1;
+      }
+    } else {
+      final int id = code - 2;
+      if (id < this.linkLimit && this.linkNodeUris[id] != null) {
+        nodeUri = this.linkNodeUris[id];
+        laneUri = this.linkLaneUris[id];
+        this.linkId = id;
+      } else {
+        throw new DecoderException("undefined link id: " + id);
+      }
+    }
+    return EnvelopeBinary.readLaneAddressed(buffer, form, nodeUri, laneUri);
+  }
+
+  int defineLink(Uri nodeUri, Uri laneUri) {
+    final int id;
+    if (this.freeLinkCount > 0) {
+      this.freeLinkCount -= 1;
+      id = this.freeLinkIds[this.freeLinkCount];
+    } else {
+      id = this.linkLimit;
+      if (id == this.linkNodeUris.length) {
+        final int newLength = Math.min(this.capacity, id << 1);
+        final Uri[] newLinkNodeUris = new Uri[newLength];
+        System.arraycopy(this.linkNodeUris, 0, newLinkNodeUris, 0, id);
+        this.linkNodeUris = newLinkNodeUris;
+        final Uri[] newLinkLaneUris = new Uri[newLength];
+        System.arraycopy(this.linkLaneUris, 0, newLinkLaneUris, 0, id);
+        this.linkLaneUris = newLinkLaneUris;
+        final int[] newLinkNodeIds = new int[newLength];
+        System.arraycopy(this.linkNodeIds, 0, newLinkNodeIds, 0, id);
+        this.linkNodeIds = newLinkNodeIds;
+        final int[] newLinkLaneIds = new int[newLength];
+        System.arraycopy(this.linkLaneIds, 0, newLinkLaneIds, 0, id);
+        this.linkLaneIds = newLinkLaneIds;
+      }
+      this.linkLimit = id + 1;
+    }
+    HashMap<Uri, Integer> laneIds = this.linkIds.get(nodeUri);
+    if (laneIds == null) {
+      laneIds = new HashMap<Uri, Integer>();
+      this.linkIds.put(nodeUri, laneIds);
+    }
+    laneIds.put(laneUri, id);
+    this.linkNodeUris[id] = nodeUri;
+    this.linkLaneUris[id] = laneUri;
+    this.linkNodeIds[id] = retainUri(nodeUri);
+    this.linkLaneIds[id] = retainUri(laneUri);
+    this.linkCount += 1;
+    return id;
+  }
+
+  /**
+   * Frees the link id of the (node, lane) pair, and the id of each of its
+   * URIs that is no longer held by a live link.
+   */
+  void unlink(Uri nodeUri, Uri laneUri) {
+    final HashMap<Uri, Integer> laneIds = this.linkIds.get(nodeUri);
+    final Integer id = laneIds != null ? laneIds.remove(laneUri) : null;
+    if (id != null) {
+      if (laneIds.isEmpty()) {
+        this.linkIds.remove(nodeUri);
+      }
+      this.linkNodeUris[id] = null;
+      this.linkLaneUris[id] = null;
+      releaseUri(this.linkNodeIds[id]);
+      releaseUri(this.linkLaneIds[id]);
+      this.freeLinkIds = pushId(this.freeLinkIds, this.freeLinkCount, id);
+      this.freeLinkCount += 1;
+      this.linkCount -= 1;
+    }
+    freeUri(nodeUri);
+    freeUri(laneUri);
+  }
+
+  void writeUri(Output<?> output, Uri uri) {
+    final Integer id = this.ids.get(uri);
+    if (id != null) {
+      ReconBinary.writeVarint(output, id + 2);
+    } else if (this.size < this.capacity) {
+      output.write(URI_DEFINE);
+      ReconBinary.writeString(output, uri.toString());
+      defineUri(uri);
+    } else {
+      output.write(URI_LITERAL);
+      ReconBinary.writeString(output, uri.toString());
+    }
+  }
+
+  Uri readUri(ByteBuffer buffer) {
+    final int code = ReconBinary.readVarint(buffer);
+    if (code == URI_LITERAL) {
+      return Uri.parse(ReconBinary.readString(buffer));
+    } else if (code == URI_DEFINE) {
+      final Uri uri = Uri.parse(ReconBinary.readString(buffer));
+      if (this.size < this.capacity) {
+        defineUri(uri);
+      }
+      return uri;
+    } else {
+      final int id = code - 2;
+      if (id < this.uriLimit && this.uris[id] != null) {
+        return this.uris[id];
+      } else {
+        throw new DecoderException("undefined uri id: " + id);
+      }
+    }
+  }
+
+  void defineUri(Uri uri) {
+    final int id;
+    if (this.freeUriCount > 0) {
+      this.freeUriCount -= 1;
+      id = this.freeUriIds[this.freeUriCount];
+    } else {
+      id = this.uriLimit;
+      if (id == this.uris.length) {
+        final int newLength = Math.min(this.capacity, id << 1);
+        final Uri[] newUris = new Uri[newLength];
+        System.arraycopy(this.uris, 0, newUris, 0, id);
+        this.uris = newUris;
+        final int[] newUriRefs = new int[newLength];
+        System.arraycopy(this.uriRefs, 0, newUriRefs, 0, id);
+        this.uriRefs = newUriRefs;
+      }
+      this.uriLimit = id + 1;
+    }
+    this.ids.put(uri, id);
+    this.uris[id] = uri;
+    this.uriRefs[id] = 0;
+    this.size += 1;
+  }
+
+  int retainUri(Uri uri) {
+    final Integer id = this.ids.get(uri);
+    if (id != null) {
+      this.uriRefs[id] += 1;
+      return id;
+    } else {
+      return -1;
+    }
+  }
+
+  void releaseUri(int id) {
+    if (id >= 0) {
+      this.uriRefs[id] -= 1;
+    }
+  }
+
+  void freeUri(Uri uri) {
+    final Integer id = this.ids.get(uri);
+    if (id != null && this.uriRefs[id] == 0) {
+      this.ids.remove(uri);
+      this.uris[id] = null;
+      this.freeUriIds = pushId(this.freeUriIds, this.freeUriCount, id);
+      this.freeUriCount += 1;
+      this.size -= 1;
+    }
+  }
+
+  static int[] pushId(int[] ids, int count, int id) {
+    if (ids == null) {
+      ids = new int[16];
+    } else if (count == ids.length) {
+      final int[] newIds = new int[count << 1];
+      System.arraycopy(ids, 0, newIds, 0, count);
+      ids = newIds;
+    }
+    ids[count] = id;
+    return ids;
+  }
+
+  static final int DEFAULT_CAPACITY = 4096;
+
+  static final int URI_LITERAL = 0;
+  static final int URI_DEFINE = 1;
+
+  static final int LINK_INLINE = 0;
+  static final int LINK_DEFINE = 1;
+
+}
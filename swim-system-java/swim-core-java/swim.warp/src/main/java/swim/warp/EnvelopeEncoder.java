@@ -16,7 +16,6 @@ package swim.warp;
 
 import swim.codec.Encoder;
 import swim.codec.OutputBuffer;
-import swim.codec.Utf8;
 
 final class EnvelopeEncoder extends Encoder<Envelope, Envelope> {
 
@@ -38,7 +37,7 @@ final class EnvelopeEncoder extends Encoder<Envelope, Envelope> {
 
   static Encoder<Envelope, Envelope> encode(OutputBuffer<?> output, Envelope envelope, Encoder<?, ?> input) {
     if (input == null) {
-      input = Utf8.writeEncoded(envelope.reconWriter(), output);
+      input = envelope.toReconData().write(output);
     } else {
       input = input.pull(output);
     }
@@ -52,6 +52,10 @@ public final class EventMessage extends LaneAddressed {
 
   @Override
   public EventMessage nodeUri(Uri nodeUri) {
+    if (nodeUri.equals(this.nodeUri)) {
+      // Preserve the identity, and any memoized encoding, of fanned out events.
+      return this;
+    }
     return new EventMessage(nodeUri, this.laneUri, this.body);
   }
 
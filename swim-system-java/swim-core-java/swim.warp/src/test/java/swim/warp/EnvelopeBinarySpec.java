@@ -0,0 +1,174 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import org.testng.annotations.Test;
+import swim.codec.Decoder;
+import swim.structure.Attr;
+import swim.structure.Data;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Value;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class EnvelopeBinarySpec {
+
+  static void assertTranscodes(Envelope envelope) {
+    final EnvelopeDictionary encoderDictionary = new EnvelopeDictionary();
+    final EnvelopeDictionary decoderDictionary = new EnvelopeDictionary();
+    final Data data = envelope.toBinary(encoderDictionary);
+    assertEquals(Envelope.fromBinary(data, decoderDictionary), envelope);
+  }
+
+  @Test
+  public void transcodeLaneAddressedEnvelopes() {
+    final Value body = Record.of(Attr.of("test"), Slot.of("x", 1), Num.from(2.5), "text");
+    assertTranscodes(new EventMessage("node_uri", "lane_uri", body));
+    assertTranscodes(new CommandMessage("/node/uri", "lane/uri", body));
+    assertTranscodes(new SyncedResponse("node_uri", "lane_uri"));
+    assertTranscodes(new UnlinkRequest("node_uri", "lane_uri"));
+    assertTranscodes(new UnlinkedResponse("node_uri", "lane_uri", body));
+  }
+
+  @Test
+  public void transcodeLinkAddressedEnvelopes() {
+    assertTranscodes(new LinkRequest("node_uri", "lane_uri"));
+    assertTranscodes(new LinkRequest("node_uri", "lane_uri", 0.5f, 0.0f));
+    assertTranscodes(new LinkedResponse("node_uri", "lane_uri", 0.0f, 1.0f, Record.of(Attr.of("test"))));
+    assertTranscodes(new SyncRequest("node_uri", "lane_uri", 0.5f, 1.0f));
+  }
+
+  @Test
+  public void transcodeHostAddressedEnvelopes() {
+    assertTranscodes(new AuthRequest(Record.of(Slot.of("key", 1234L))));
+    assertTranscodes(new AuthedResponse());
+    assertTranscodes(new DeauthRequest());
+    assertTranscodes(new DeauthedResponse(Record.of(Attr.of("reason"))));
+  }
+
+  @Test
+  public void internRepeatedUris() {
+    final EnvelopeDictionary encoderDictionary = new EnvelopeDictionary();
+    final EnvelopeDictionary decoderDictionary = new EnvelopeDictionary();
+    final EventMessage event = new EventMessage("/unit/building/floor/room", "temperature", Num.from(21));
+    final Data first = event.toBinary(encoderDictionary);
+    final Data second = event.toBinary(encoderDictionary);
+    assertTrue(second.size() < first.size());
+    assertEquals(encoderDictionary.size(), 2);
+    assertEquals(Envelope.fromBinary(first, decoderDictionary), event);
+    assertEquals(Envelope.fromBinary(second, decoderDictionary), event);
+    assertEquals(decoderDictionary.size(), 2);
+  }
+
+  @Test
+  public void sendUrisInlineWhenDictionaryIsFull() {
+    final EnvelopeDictionary encoderDictionary = new EnvelopeDictionary(1);
+    final EnvelopeDictionary decoderDictionary = new EnvelopeDictionary(1);
+    for (int i = 0; i < 4; i += 1) {
+      final EventMessage event = new EventMessage("node_uri", "lane" + i);
+      assertEquals(Envelope.fromBinary(event.toBinary(encoderDictionary), decoderDictionary), event);
+    }
+    assertEquals(encoderDictionary.size(), 1);
+    assertEquals(decoderDictionary.size(), 1);
+  }
+
+  @Test
+  public void internLinks() {
+    final EnvelopeDictionary encoderDictionary = new EnvelopeDictionary();
+    final EnvelopeDictionary decoderDictionary = new EnvelopeDictionary();
+    final EventMessage before = new EventMessage("/unit/building/floor/room", "temperature", Num.from(20));
+    final LinkedResponse linked = new LinkedResponse("/unit/building/floor/room", "temperature");
+    final EventMessage after = new EventMessage("/unit/building/floor/room", "temperature", Num.from(21));
+    final Data beforeData = before.toBinary(encoderDictionary);
+    assertEquals(encoderDictionary.linkCount(), 0);
+    final Data linkedData = linked.toBinary(encoderDictionary);
+    assertEquals(encoderDictionary.linkCount(), 1);
+    final Data afterData = after.toBinary(encoderDictionary);
+    assertEquals(afterData.size(), 4); // kind, link id, int32 tag, varint
+    assertTrue(afterData.size() < beforeData.size());
+
+    assertEquals(Envelope.fromBinary(beforeData, decoderDictionary), before);
+    assertEquals(decoderDictionary.linkId(), -1);
+    final Envelope linkedEnvelope = Envelope.fromBinary(linkedData, decoderDictionary);
+    assertEquals(linkedEnvelope, linked);
+    assertEquals(decoderDictionary.linkId(), 0);
+    final Envelope afterEnvelope = Envelope.fromBinary(afterData, decoderDictionary);
+    assertEquals(afterEnvelope, after);
+    assertEquals(decoderDictionary.linkId(), 0);
+    assertTrue(afterEnvelope.nodeUri() == linkedEnvelope.nodeUri());
+    assertTrue(afterEnvelope.laneUri() == linkedEnvelope.laneUri());
+    assertEquals(Envelope.fromBinary(new AuthRequest().toBinary(encoderDictionary), decoderDictionary), new AuthRequest());
+    assertEquals(decoderDictionary.linkId(), -1);
+  }
+
+  @Test
+  public void freeIdsOnUnlinked() {
+    final EnvelopeDictionary encoderDictionary = new EnvelopeDictionary(4);
+    final EnvelopeDictionary decoderDictionary = new EnvelopeDictionary(4);
+    for (int i = 0; i < 16; i += 1) {
+      final LinkedResponse linked = new LinkedResponse("/node" + i, "lane" + i);
+      final EventMessage event = new EventMessage("/node" + i, "lane" + i, Num.from(i));
+      final UnlinkedResponse unlinked = new UnlinkedResponse("/node" + i, "lane" + i);
+      assertEquals(Envelope.fromBinary(linked.toBinary(encoderDictionary), decoderDictionary), linked);
+      assertEquals(decoderDictionary.linkId(), 0);
+      final Data eventData = event.toBinary(encoderDictionary);
+      assertEquals(eventData.size(), 4); // kind, link id, int32 tag, varint
+      assertEquals(Envelope.fromBinary(eventData, decoderDictionary), event);
+      assertEquals(decoderDictionary.linkId(), 0);
+      assertEquals(Envelope.fromBinary(unlinked.toBinary(encoderDictionary), decoderDictionary), unlinked);
+      assertEquals(encoderDictionary.linkCount(), 0);
+      assertEquals(encoderDictionary.size(), 0);
+      assertEquals(decoderDictionary.linkCount(), 0);
+      assertEquals(decoderDictionary.size(), 0);
+    }
+  }
+
+  @Test
+  public void retainUrisOfLiveLinks() {
+    final EnvelopeDictionary encoderDictionary = new EnvelopeDictionary();
+    final EnvelopeDictionary decoderDictionary = new EnvelopeDictionary();
+    final Envelope[] envelopes = {
+      new LinkRequest("/node", "a"),
+      new LinkRequest("/node", "b"),
+      new UnlinkRequest("/node", "a"),
+      new CommandMessage("/node", "b", Num.from(1)),
+      new LinkRequest("/node", "c"),
+      new CommandMessage("/node", "c", Num.from(2)),
+    };
+    for (int i = 0; i < envelopes.length; i += 1) {
+      assertEquals(Envelope.fromBinary(envelopes[i].toBinary(encoderDictionary), decoderDictionary), envelopes[i]);
+    }
+    assertEquals(encoderDictionary.linkCount(), 2);
+    assertEquals(encoderDictionary.size(), 3); // "/node", "b", "c"
+    assertEquals(decoderDictionary.linkCount(), 2);
+    assertEquals(decoderDictionary.size(), 3);
+    assertEquals(decoderDictionary.linkId(), 0); // reused id of the unlinked link
+  }
+
+  @Test
+  public void decodeBinaryInput() {
+    final EnvelopeDictionary encoderDictionary = new EnvelopeDictionary();
+    final EnvelopeDictionary decoderDictionary = new EnvelopeDictionary();
+    final LinkRequest link = new LinkRequest("node_uri", "lane_uri", 0.5f, 1.0f);
+    final Data data = link.toBinary(encoderDictionary);
+    final Decoder<Envelope> decoder = Envelope.binaryDecoder(decoderDictionary)
+        .feed(data.toInputBuffer().isPart(false));
+    assertTrue(decoder.isDone());
+    assertEquals(decoder.bind(), link);
+  }
+
+}
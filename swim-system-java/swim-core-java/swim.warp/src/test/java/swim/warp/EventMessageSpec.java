@@ -14,9 +14,18 @@
 
 package swim.warp;
 
+import java.nio.ByteBuffer;
 import org.testng.annotations.Test;
+import swim.codec.Binary;
+import swim.codec.Encoder;
+import swim.codec.OutputBuffer;
 import swim.structure.Attr;
+import swim.structure.Data;
 import swim.structure.Record;
+import swim.uri.Uri;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 import static swim.warp.Assertions.assertParses;
 import static swim.warp.Assertions.assertWrites;
 
@@ -52,4 +61,19 @@ public class EventMessageSpec {
         "@event(node:\"node/uri\",lane:lane_uri)@test");
   }
 
+  @Test
+  public void encodeSharedEventOnce() {
+    final EventMessage event = new EventMessage("node/uri", "lane_uri", Record.of(Attr.of("test")));
+    final Data reconData = event.toReconData();
+    assertSame(event.toReconData(), reconData);
+    assertSame(event.nodeUri(Uri.parse("node/uri")), event);
+    assertEquals(reconData, Data.fromUtf8("@event(node:\"node/uri\",lane:lane_uri)@test"));
+    for (int i = 0; i < 2; i += 1) {
+      final OutputBuffer<ByteBuffer> output = Binary.outputBuffer(new byte[64]);
+      final Encoder<?, Envelope> encoder = event.reconEncoder().pull(output);
+      assertTrue(encoder.isDone());
+      assertEquals(Data.wrap(output.array(), 0, output.index()), reconData);
+    }
+  }
+
 }
@@ -0,0 +1,211 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.web;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import swim.codec.Binary;
+import swim.codec.Encoder;
+import swim.codec.EncoderException;
+import swim.codec.OutputBuffer;
+import swim.collections.FingerTrieSeq;
+import swim.deflate.Deflate;
+import swim.http.HttpBody;
+import swim.http.HttpChunked;
+import swim.http.HttpEntity;
+import swim.http.HttpHeader;
+import swim.http.HttpRequest;
+import swim.http.HttpResponse;
+import swim.http.MediaType;
+import swim.http.header.AcceptEncoding;
+import swim.http.header.ContentEncoding;
+import swim.http.header.Vary;
+
+/**
+ * Negotiates the {@code gzip} content coding of HTTP responses.  Responses
+ * with compressible media types get compressed on the fly, with a streaming
+ * {@link Deflate} encoder, for clients whose {@code Accept-Encoding} header
+ * accepts {@code gzip}.
+ */
+public final class WebContentEncoding {
+
+  private WebContentEncoding() {
+    // nop
+  }
+
+  /**
+   * Responses with bodies shorter than this many bytes aren't worth
+   * compressing.
+   */
+  public static final long MIN_GZIP_LENGTH = 1024L;
+
+  private static ContentEncoding gzipHeader;
+
+  public static Vary varyHeader() {
+    return Vary.acceptEncoding();
+  }
+
+  public static ContentEncoding gzipHeader() {
+    if (gzipHeader == null) {
+      gzipHeader = ContentEncoding.from("gzip");
+    }
+    return gzipHeader;
+  }
+
+  public static boolean acceptsGzip(HttpRequest<?> request) {
+    final AcceptEncoding acceptEncoding = request.getHeader(AcceptEncoding.class);
+    return acceptEncoding != null && acceptEncoding.accepts("gzip");
+  }
+
+  public static boolean isCompressible(MediaType mediaType) {
+    if (mediaType == null) {
+      return false;
+    } else if (mediaType.isText()) {
+      return true;
+    }
+    final String subtype = mediaType.subtype().toLowerCase();
+    if (mediaType.isApplication()) {
+      return "json".equals(subtype) || "javascript".equals(subtype) || "xml".equals(subtype)
+          || "x-recon".equals(subtype) || subtype.endsWith("+json") || subtype.endsWith("+xml");
+    } else if (mediaType.isImage()) {
+      return "svg+xml".equals(subtype);
+    }
+    return false;
+  }
+
+  /**
+   * Returns an {@code Encoder} that writes the gzip compressed output of the
+   * {@code content} encoder.
+   */
+  public static <O> Encoder<?, O> gzipEncoder(Encoder<?, O> content, int level) {
+    return new Deflate<O>(content, Deflate.Z_WRAP_GZIP, level).flush(Deflate.Z_FINISH);
+  }
+
+  public static <O> Encoder<?, O> gzipEncoder(Encoder<?, O> content) {
+    return gzipEncoder(content, Deflate.Z_DEFAULT_COMPRESSION);
+  }
+
+  /**
+   * Returns a new buffer containing the gzip compressed bytes remaining in
+   * {@code data}, without changing the position of {@code data}.
+   */
+  public static ByteBuffer gzip(ByteBuffer data, int level) {
+    Encoder<?, ?> encoder = gzipEncoder(Binary.byteBufferWriter(data.duplicate()), level);
+    byte[] array = new byte[Math.max(256, data.remaining() >>> 1)];
+    int size = 0;
+    do {
+      final OutputBuffer<ByteBuffer> output = Binary.outputBuffer(array, size, array.length - size).isPart(true);
+      encoder = encoder.pull(output);
+      size = output.index();
+      if (encoder.isDone()) {
+        break;
+      } else if (encoder.isError()) {
+        throw new EncoderException(encoder.trap());
+      } else if (size == array.length) {
+        array = Arrays.copyOf(array, array.length << 1);
+      }
+    } while (true);
+    return ByteBuffer.wrap(array, 0, size);
+  }
+
+  public static ByteBuffer gzip(ByteBuffer data) {
+    return gzip(data, Deflate.Z_DEFAULT_COMPRESSION);
+  }
+
+  /**
+   * Returns a copy of {@code response} whose body gets gzip compressed on the
+   * fly, and sent with the chunked transfer coding.  Returns {@code response}
+   * unchanged if its entity can't be re-encoded.
+   */
+  @SuppressWarnings("unchecked")
+  public static HttpResponse<?> gzipped(HttpResponse<?> response) {
+    final HttpEntity<?> entity = response.entity();
+    final Encoder<?, Object> content;
+    if (entity instanceof HttpBody<?>) {
+      content = (Encoder<?, Object>) ((HttpBody<?>) entity).content();
+    } else if (entity instanceof HttpChunked<?>) {
+      content = (Encoder<?, Object>) ((HttpChunked<?>) entity).content();
+    } else {
+      return response;
+    }
+    final FingerTrieSeq<HttpHeader> oldHeaders = response.headers();
+    FingerTrieSeq<HttpHeader> newHeaders = FingerTrieSeq.empty();
+    for (int i = 0, n = oldHeaders.size(); i < n; i += 1) {
+      final HttpHeader header = oldHeaders.get(i);
+      final String name = header.lowerCaseName();
+      if (!"content-length".equals(name) && !"transfer-encoding".equals(name)
+          && !"content-encoding".equals(name)) {
+        newHeaders = newHeaders.appended(header);
+      }
+    }
+    return varied(HttpResponse.from(response.version(), response.status(), newHeaders)
+        .content(HttpChunked.from(gzipEncoder(content), entity.mediaType()))
+        .appendedHeader(gzipHeader()));
+  }
+
+  /**
+   * Returns {@code response} marked as varying by {@code Accept-Encoding},
+   * merging the field into any {@code Vary} header the response already has.
+   */
+  public static HttpResponse<?> varied(HttpResponse<?> response) {
+    final HttpHeader oldHeader = response.getHeader("Vary");
+    final Vary newHeader;
+    if (oldHeader instanceof Vary) {
+      newHeader = ((Vary) oldHeader).appended("Accept-Encoding");
+      if (newHeader == oldHeader) {
+        return response;
+      }
+    } else if (oldHeader != null) {
+      // Merge into a Vary header that was constructed as a raw header.
+      FingerTrieSeq<String> fields = FingerTrieSeq.empty();
+      final String[] values = oldHeader.value().split(",");
+      for (int i = 0; i < values.length; i += 1) {
+        final String field = values[i].trim();
+        if (!field.isEmpty()) {
+          fields = fields.appended(field);
+        }
+      }
+      newHeader = Vary.from(fields).appended("Accept-Encoding");
+    } else {
+      return response.appendedHeader(varyHeader());
+    }
+    return response.updatedHeader(newHeader);
+  }
+
+  /**
+   * Returns {@code response} gzip compressed on the fly, if the client that
+   * sent {@code request} accepts gzip, and the response body is long enough,
+   * and compressible; otherwise returns {@code response}, marked as varying
+   * by {@code Accept-Encoding} when it could have been compressed.
+   */
+  public static HttpResponse<?> negotiate(HttpRequest<?> request, HttpResponse<?> response) {
+    final HttpEntity<?> entity = response.entity();
+    final int code = response.status().code();
+    if (!(entity instanceof HttpBody<?> || entity instanceof HttpChunked<?>)
+        || response.getHeader(ContentEncoding.class) != null
+        || code < 200 || code == 204 || code == 206 || code == 304
+        || !isCompressible(entity.mediaType())) {
+      return response;
+    }
+    final long length = entity.length();
+    if (length >= 0L && length < MIN_GZIP_LENGTH) {
+      return response;
+    } else if (!acceptsGzip(request)) {
+      return varied(response);
+    }
+    return gzipped(response);
+  }
+
+}
@@ -15,10 +15,14 @@
 package swim.web.route;
 
 import java.io.IOException;
-import swim.http.HttpBody;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import swim.http.HttpFile;
 import swim.http.HttpResponse;
 import swim.http.HttpStatus;
+import swim.http.MediaType;
 import swim.uri.UriPath;
+import swim.web.WebContentEncoding;
 import swim.web.WebRequest;
 import swim.web.WebResponse;
 import swim.web.WebRoute;
@@ -45,8 +49,24 @@ public final class DirectoryRoute implements WebRoute {
     path = this.directory.appended(path).removeDotSegments();
     if (path.isRelativeTo(this.directory)) {
       try {
-        final HttpBody<Object> body = HttpBody.fromFile(path.toString());
-        final HttpResponse<Object> response = HttpResponse.from(HttpStatus.OK).content(body);
+        final String file = path.toString();
+        final String gzipFile = file + ".gz";
+        final HttpResponse<Object> response;
+        if (Files.isRegularFile(Paths.get(gzipFile))) {
+          // Serve the precompressed sibling of the file to clients that
+          // accept gzip.
+          if (WebContentEncoding.acceptsGzip(request.httpRequest())) {
+            final HttpFile<Object> body = HttpFile.fromFile(gzipFile, MediaType.forPath(file));
+            response = HttpResponse.from(HttpStatus.OK, WebContentEncoding.varyHeader()).content(body)
+                .appendedHeader(WebContentEncoding.gzipHeader());
+          } else {
+            final HttpFile<Object> body = HttpFile.fromFile(file);
+            response = HttpResponse.from(HttpStatus.OK, WebContentEncoding.varyHeader()).content(body);
+          }
+        } else {
+          final HttpFile<Object> body = HttpFile.fromFile(file);
+          response = HttpResponse.from(HttpStatus.OK).content(body);
+        }
         return request.respond(response);
       } catch (IOException error) {
         return request.reject();
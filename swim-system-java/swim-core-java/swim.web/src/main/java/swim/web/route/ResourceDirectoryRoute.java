@@ -12,13 +12,26 @@
 // See the License for the specific language governing permissions and
 // limitations under the License.
 
+
 package swim.web.route;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import swim.codec.Binary;
 import swim.http.HttpBody;
+import swim.http.HttpEntity;
+import swim.http.HttpFile;
 import swim.http.HttpResponse;
 import swim.http.HttpStatus;
+import swim.http.MediaType;
 import swim.uri.UriPath;
+import swim.web.WebContentEncoding;
 import swim.web.WebRequest;
 import swim.web.WebResponse;
 import swim.web.WebRoute;
@@ -28,11 +41,18 @@ public final class ResourceDirectoryRoute implements WebRoute {
   final ClassLoader classLoader;
   final UriPath directory;
   final String indexFile;
+  final ResourceDirectoryCache gzipCache;
 
-  public ResourceDirectoryRoute(ClassLoader classLoader, UriPath directory, String indexFile) {
+  public ResourceDirectoryRoute(ClassLoader classLoader, UriPath directory, String indexFile,
+                                long gzipCacheSize) {
     this.classLoader = classLoader;
     this.directory = directory;
     this.indexFile = indexFile;
+    this.gzipCache = new ResourceDirectoryCache(gzipCacheSize);
+  }
+
+  public ResourceDirectoryRoute(ClassLoader classLoader, UriPath directory, String indexFile) {
+    this(classLoader, directory, indexFile, GZIP_CACHE_SIZE);
   }
 
   @Override
@@ -47,16 +67,156 @@ public final class ResourceDirectoryRoute implements WebRoute {
     path = this.directory.appended(path).removeDotSegments();
     if (path.isRelativeTo(this.directory)) {
       try {
-        final HttpBody<Object> body = HttpBody.fromResource(this.classLoader, path.toString());
-        if (body != null) {
-          final HttpResponse<Object> response = HttpResponse.from(HttpStatus.OK).content(body);
+        final String resource = path.toString();
+        final URL url = this.classLoader.getResource(resource);
+        if (url != null) {
+          final MediaType mediaType = MediaType.forPath(resource);
+          final boolean acceptsGzip = WebContentEncoding.acceptsGzip(request.httpRequest());
+          final String gzipResource = resource + ".gz";
+          final URL gzipUrl = this.classLoader.getResource(gzipResource);
+          final HttpResponse<Object> response;
+          if (gzipUrl != null) {
+            // Serve the precompressed sibling of the resource to clients that
+            // accept gzip.
+            if (acceptsGzip) {
+              final HttpEntity<Object> body = resourceEntity(gzipResource, gzipUrl, mediaType);
+              response = HttpResponse.from(HttpStatus.OK, WebContentEncoding.varyHeader()).content(body)
+                  .appendedHeader(WebContentEncoding.gzipHeader());
+            } else {
+              final HttpEntity<Object> body = resourceEntity(resource, url, mediaType);
+              response = HttpResponse.from(HttpStatus.OK, WebContentEncoding.varyHeader()).content(body);
+            }
+          } else if (WebContentEncoding.isCompressible(mediaType) && this.gzipCache.capacity > 0L) {
+            // Compress the resource once, and serve it from memory thereafter.
+            final ByteBuffer data = gzipResource(resource);
+            if (data == null) {
+              return request.reject();
+            } else if (!data.hasRemaining()) {
+              // The resource is too short to be worth compressing, or too
+              // long to keep compressed, so it gets served as is.
+              final HttpEntity<Object> body = resourceEntity(resource, url, mediaType);
+              response = HttpResponse.from(HttpStatus.OK).content(body);
+            } else if (acceptsGzip) {
+              final HttpBody<Object> body = HttpBody.from(data.duplicate(), mediaType);
+              response = HttpResponse.from(HttpStatus.OK, WebContentEncoding.varyHeader()).content(body)
+                  .appendedHeader(WebContentEncoding.gzipHeader());
+            } else {
+              final HttpEntity<Object> body = resourceEntity(resource, url, mediaType);
+              response = HttpResponse.from(HttpStatus.OK, WebContentEncoding.varyHeader()).content(body);
+            }
+          } else {
+            final HttpEntity<Object> body = resourceEntity(resource, url, mediaType);
+            response = HttpResponse.from(HttpStatus.OK).content(body);
+          }
           return request.respond(response);
         }
-      } catch (IOException error) {
+      } catch (IOException | URISyntaxException error) {
         // continue
       }
     }
     return request.reject();
   }
 
+  HttpEntity<Object> resourceEntity(String resource, URL url, MediaType mediaType)
+      throws IOException, URISyntaxException {
+    if ("file".equals(url.getProtocol())) {
+      // Resources unpacked on the file system can be transferred directly
+      // from their files.
+      return HttpFile.fromFile(Paths.get(url.toURI()).toString(), mediaType);
+    } else {
+      final HttpBody<Object> body = HttpBody.fromResource(this.classLoader, resource, mediaType);
+      if (body == null) {
+        throw new IOException("missing resource: " + resource);
+      }
+      return body;
+    }
+  }
+
+  /**
+   * Returns the gzip compressed bytes of {@code resource}, compressing and
+   * caching them on first use.  Returns an empty buffer if the resource is
+   * shorter than {@link WebContentEncoding#MIN_GZIP_LENGTH}, or compresses to
+   * more bytes than the cache can hold; the empty entry is cached too, so
+   * the resource doesn't get read, or compressed, again.
+   */
+  ByteBuffer gzipResource(String resource) throws IOException {
+    ByteBuffer data = this.gzipCache.get(resource);
+    if (data == null) {
+      final InputStream input = this.classLoader.getResourceAsStream(resource);
+      if (input == null) {
+        return null;
+      }
+      try {
+        data = Binary.read(Binary.outputParser(Binary.byteBufferOutput()), input);
+      } finally {
+        input.close();
+      }
+      if (data.remaining() < WebContentEncoding.MIN_GZIP_LENGTH) {
+        data = ResourceDirectoryCache.IDENTITY;
+      } else {
+        data = WebContentEncoding.gzip(data);
+        if ((long) data.remaining() > this.gzipCache.capacity) {
+          data = ResourceDirectoryCache.IDENTITY;
+        }
+      }
+      this.gzipCache.put(resource, data);
+    }
+    return data;
+  }
+
+  private static final long GZIP_CACHE_SIZE;
+
+  static {
+    // Initializes the default number of bytes of compressed resources cached
+    // by each resource directory route.
+    long gzipCacheSize;
+    try {
+      gzipCacheSize = Long.parseLong(System.getProperty("swim.web.gzip.cache.size"));
+    } catch (NumberFormatException e) {
+      gzipCacheSize = 16L * 1024L * 1024L;
+    }
+    GZIP_CACHE_SIZE = Math.max(0L, gzipCacheSize);
+  }
+
+}
+
+/**
+ * Least recently used cache of compressed resources, bounded by the total
+ * number of bytes it retains.  Resources that are served without compression
+ * map to the empty {@link #IDENTITY} buffer, which retains no bytes.
+ */
+final class ResourceDirectoryCache {
+
+  static final ByteBuffer IDENTITY = ByteBuffer.allocate(0).asReadOnlyBuffer();
+
+  final long capacity;
+  final LinkedHashMap<String, ByteBuffer> entries;
+  long size;
+
+  ResourceDirectoryCache(long capacity) {
+    this.capacity = capacity;
+    this.entries = new LinkedHashMap<String, ByteBuffer>(16, 0.75f, true);
+  }
+
+  synchronized ByteBuffer get(String resource) {
+    return this.entries.get(resource);
+  }
+
+  synchronized void put(String resource, ByteBuffer data) {
+    final long dataSize = (long) data.remaining();
+    if (dataSize > this.capacity) {
+      return;
+    }
+    final ByteBuffer oldData = this.entries.put(resource, data);
+    if (oldData != null) {
+      this.size -= (long) oldData.remaining();
+    }
+    this.size += dataSize;
+    final Iterator<ByteBuffer> values = this.entries.values().iterator();
+    while (this.size > this.capacity && values.hasNext()) {
+      this.size -= (long) values.next().remaining();
+      values.remove();
+    }
+  }
+
 }
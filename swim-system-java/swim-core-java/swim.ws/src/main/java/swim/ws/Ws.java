@@ -14,6 +14,8 @@
 
 package swim.ws;
 
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 import swim.deflate.Deflate;
 import swim.deflate.Inflate;
 
@@ -72,4 +74,28 @@ public final class Ws {
     return new WsDeflateEncoderUnmasked(new Deflate<Object>(), Deflate.Z_SYNC_FLUSH);
   }
 
+  public static WsZlibDecoder zlibDecoder(Inflater inflater) {
+    return new WsZlibDecoder(inflater);
+  }
+
+  public static WsZlibDecoder zlibDecoder() {
+    return new WsZlibDecoder(new Inflater(true));
+  }
+
+  public static WsZlibEncoder zlibEncoderMasked(Deflater deflater, int flush) {
+    return new WsZlibEncoderMasked(deflater, flush);
+  }
+
+  public static WsZlibEncoder zlibEncoderMasked() {
+    return new WsZlibEncoderMasked(new Deflater(Deflater.DEFAULT_COMPRESSION, true), Deflater.SYNC_FLUSH);
+  }
+
+  public static WsZlibEncoder zlibEncoderUnmasked(Deflater deflater, int flush) {
+    return new WsZlibEncoderUnmasked(deflater, flush);
+  }
+
+  public static WsZlibEncoder zlibEncoderUnmasked() {
+    return new WsZlibEncoderUnmasked(new Deflater(Deflater.DEFAULT_COMPRESSION, true), Deflater.SYNC_FLUSH);
+  }
+
 }
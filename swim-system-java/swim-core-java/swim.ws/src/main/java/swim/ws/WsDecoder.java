@@ -22,6 +22,14 @@ import swim.structure.Data;
 
 public abstract class WsDecoder {
 
+  /**
+   * Releases any resources held by this decoder, such as native compression
+   * state.  The decoder must not be used after it's been closed.
+   */
+  public void close() {
+    // nop
+  }
+
   public <T> WsFrame<T> fragment(WsOpcode opcode, Decoder<T> content) {
     return new WsFragment<T>(opcode, content);
   }
@@ -14,8 +14,6 @@
 
 package swim.ws;
 
-import swim.deflate.Deflate;
-import swim.deflate.Inflate;
 import swim.http.WebSocketExtension;
 import swim.http.WebSocketParam;
 
@@ -25,13 +23,16 @@ final class WsDeflateClientEngine extends WsEngine {
   protected final boolean clientNoContextTakeover;
   protected final int serverMaxWindowBits;
   protected final int clientMaxWindowBits;
+  protected final WsDeflateCodec deflateCodec;
 
   WsDeflateClientEngine(int clientCompressionLevel, boolean clientNoContextTakeover,
-                        int serverMaxWindowBits, int clientMaxWindowBits) {
+                        int serverMaxWindowBits, int clientMaxWindowBits,
+                        WsDeflateCodec deflateCodec) {
     this.clientCompressionLevel = clientCompressionLevel;
     this.clientNoContextTakeover = clientNoContextTakeover;
     this.serverMaxWindowBits = serverMaxWindowBits;
     this.clientMaxWindowBits = clientMaxWindowBits;
+    this.deflateCodec = deflateCodec;
   }
 
   static WsDeflateClientEngine from(WebSocketExtension extension, WsEngineSettings settings) {
@@ -60,24 +61,18 @@ final class WsDeflateClientEngine extends WsEngine {
       }
     }
     return new WsDeflateClientEngine(settings.clientCompressionLevel, clientNoContextTakeover,
-        serverMaxWindowBits, clientMaxWindowBits);
+        serverMaxWindowBits, clientMaxWindowBits, settings.deflateCodec);
   }
 
   @Override
   public WsDecoder decoder() {
-    return Ws.deflateDecoder(new Inflate<Object>(Inflate.Z_NO_WRAP, this.serverMaxWindowBits));
+    return this.deflateCodec.decoder(this.serverMaxWindowBits);
   }
 
   @Override
   public WsEncoder encoder() {
-    final int flush;
-    if (this.clientNoContextTakeover) {
-      flush = Deflate.Z_FULL_FLUSH;
-    } else {
-      flush = Deflate.Z_SYNC_FLUSH;
-    }
-    return Ws.deflateEncoderMasked(new Deflate<Object>(Deflate.Z_NO_WRAP, this.clientCompressionLevel,
-        this.clientMaxWindowBits), flush);
+    return this.deflateCodec.encoderMasked(this.clientCompressionLevel, this.clientNoContextTakeover,
+        this.clientMaxWindowBits);
   }
 
   @Override
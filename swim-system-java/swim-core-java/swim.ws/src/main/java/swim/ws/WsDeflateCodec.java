@@ -0,0 +1,82 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+/**
+ * Compression engine that implements the permessage-deflate WebSocket
+ * extension.  The {@link #standard() standard} codec runs the pure Java
+ * {@code swim.deflate} implementation; the {@link #zlib() zlib} codec runs
+ * the JDK's native {@code java.util.zip} implementation, which is faster,
+ * and keeps its compression state off heap, but buffers each deflated
+ * message before framing it, and always deflates with a 32KB window.
+ */
+public abstract class WsDeflateCodec {
+
+  private static WsDeflateCodec standard;
+  private static WsDeflateCodec zlib;
+
+  /**
+   * Returns the unique name of this codec, as used by {@link #from(String)}.
+   */
+  public abstract String name();
+
+  /**
+   * Returns a new decoder that inflates compressed messages sent by a peer
+   * that deflates with a sliding window of {@code 2^maxWindowBits} bytes.
+   */
+  public abstract WsDecoder decoder(int maxWindowBits);
+
+  /**
+   * Returns a new encoder that deflates and masks outgoing messages, as
+   * required of WebSocket clients.
+   */
+  public abstract WsEncoder encoderMasked(int compressionLevel, boolean noContextTakeover, int maxWindowBits);
+
+  /**
+   * Returns a new encoder that deflates outgoing messages without masking,
+   * as required of WebSocket servers.
+   */
+  public abstract WsEncoder encoderUnmasked(int compressionLevel, boolean noContextTakeover, int maxWindowBits);
+
+  @Override
+  public String toString() {
+    return name();
+  }
+
+  public static WsDeflateCodec standard() {
+    if (standard == null) {
+      standard = new WsStandardDeflateCodec();
+    }
+    return standard;
+  }
+
+  public static WsDeflateCodec zlib() {
+    if (zlib == null) {
+      zlib = new WsZlibDeflateCodec();
+    }
+    return zlib;
+  }
+
+  public static WsDeflateCodec from(String name) {
+    if ("standard".equals(name)) {
+      return standard();
+    } else if ("zlib".equals(name)) {
+      return zlib();
+    } else {
+      throw new IllegalArgumentException(name);
+    }
+  }
+
+}
@@ -22,6 +22,7 @@ public class WsDeflateDecoder extends WsDecoder implements Cloneable {
 
   protected final Inflate<?> inflate;
   protected boolean decompressing;
+  byte[] inputBuffer;
 
   public WsDeflateDecoder(Inflate<?> inflate, boolean decompressing) {
     this.inflate = inflate;
@@ -40,6 +41,19 @@ public class WsDeflateDecoder extends WsDecoder implements Cloneable {
     return this.decompressing;
   }
 
+  /**
+   * Returns a heap array of at least {@code size} bytes into which to copy
+   * payloads from input buffers without a backing array.
+   */
+  final byte[] inputBuffer(int size) {
+    byte[] inputBuffer = this.inputBuffer;
+    if (inputBuffer == null || inputBuffer.length < size) {
+      inputBuffer = new byte[size];
+      this.inputBuffer = inputBuffer;
+    }
+    return inputBuffer;
+  }
+
   @Override
   public <T> Decoder<WsFrame<T>> decodeContinuationFrame(int finRsvOp, Decoder<T> content, InputBuffer input) {
     if (decompressing) { // compressed
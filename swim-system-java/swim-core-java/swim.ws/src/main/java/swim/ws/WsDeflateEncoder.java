@@ -22,6 +22,7 @@ public abstract class WsDeflateEncoder extends WsEncoder {
 
   protected final Deflate<?> deflate;
   protected final int flush;
+  byte[] outputBuffer;
 
   public WsDeflateEncoder(Deflate<?> deflate, int flush) {
     this.deflate = deflate;
@@ -36,6 +37,19 @@ public abstract class WsDeflateEncoder extends WsEncoder {
     return this.flush;
   }
 
+  /**
+   * Returns a heap array of at least {@code size} bytes into which to deflate
+   * payloads bound for output buffers without a backing array.
+   */
+  final byte[] outputBuffer(int size) {
+    byte[] outputBuffer = this.outputBuffer;
+    if (outputBuffer == null || outputBuffer.length < size) {
+      outputBuffer = new byte[size];
+      this.outputBuffer = outputBuffer;
+    }
+    return outputBuffer;
+  }
+
   @Override
   public <T> Encoder<?, WsFrame<T>> textFrameEncoder(WsFrame<T> frame) {
     return new WsFrameDeflater<T>(this, frame);
@@ -14,8 +14,6 @@
 
 package swim.ws;
 
-import swim.deflate.Deflate;
-import swim.deflate.Inflate;
 import swim.http.WebSocketExtension;
 import swim.http.WebSocketParam;
 
@@ -25,13 +23,16 @@ final class WsDeflateServerEngine extends WsEngine {
   protected final boolean serverNoContextTakeover;
   protected final int serverMaxWindowBits;
   protected final int clientMaxWindowBits;
+  protected final WsDeflateCodec deflateCodec;
 
   WsDeflateServerEngine(int serverCompressionLevel, boolean serverNoContextTakeover,
-                        int serverMaxWindowBits, int clientMaxWindowBits) {
+                        int serverMaxWindowBits, int clientMaxWindowBits,
+                        WsDeflateCodec deflateCodec) {
     this.serverCompressionLevel = serverCompressionLevel;
     this.serverNoContextTakeover = serverNoContextTakeover;
     this.serverMaxWindowBits = serverMaxWindowBits;
     this.clientMaxWindowBits = clientMaxWindowBits;
+    this.deflateCodec = deflateCodec;
   }
 
   static WsDeflateServerEngine from(WebSocketExtension extension, WsEngineSettings settings) {
@@ -60,24 +61,18 @@ final class WsDeflateServerEngine extends WsEngine {
       }
     }
     return new WsDeflateServerEngine(settings.serverCompressionLevel, serverNoContextTakeover,
-        serverMaxWindowBits, clientMaxWindowBits);
+        serverMaxWindowBits, clientMaxWindowBits, settings.deflateCodec);
   }
 
   @Override
   public WsDecoder decoder() {
-    return Ws.deflateDecoder(new Inflate<Object>(Inflate.Z_NO_WRAP, this.clientMaxWindowBits));
+    return this.deflateCodec.decoder(this.clientMaxWindowBits);
   }
 
   @Override
   public WsEncoder encoder() {
-    final int flush;
-    if (serverNoContextTakeover) {
-      flush = Deflate.Z_FULL_FLUSH;
-    } else {
-      flush = Deflate.Z_SYNC_FLUSH;
-    }
-    return Ws.deflateEncoderUnmasked(new Deflate<Object>(Deflate.Z_NO_WRAP, this.serverCompressionLevel,
-        this.serverMaxWindowBits), flush);
+    return this.deflateCodec.encoderUnmasked(this.serverCompressionLevel, this.serverNoContextTakeover,
+        this.serverMaxWindowBits);
   }
 
   @Override
@@ -24,6 +24,14 @@ public abstract class WsEncoder {
 
   public abstract void maskingKey(byte[] maskingKey);
 
+  /**
+   * Releases any resources held by this encoder, such as native compression
+   * state.  The encoder must not be used after it's been closed.
+   */
+  public void close() {
+    // nop
+  }
+
   public <T> Encoder<?, WsFrame<T>> frameEncoder(WsFrame<T> frame) {
     final WsOpcode opcode = frame.opcode();
     switch (opcode) {
@@ -42,11 +42,13 @@ public class WsEngineSettings implements Debug {
   protected final boolean clientNoContextTakeover;
   protected final int serverMaxWindowBits;
   protected final int clientMaxWindowBits;
+  protected final WsDeflateCodec deflateCodec;
 
   public WsEngineSettings(int maxFrameSize, int maxMessageSize,
                           int serverCompressionLevel, int clientCompressionLevel,
                           boolean serverNoContextTakeover, boolean clientNoContextTakeover,
-                          int serverMaxWindowBits, int clientMaxWindowBits) {
+                          int serverMaxWindowBits, int clientMaxWindowBits,
+                          WsDeflateCodec deflateCodec) {
     this.maxFrameSize = maxFrameSize;
     this.maxMessageSize = maxMessageSize;
     this.serverCompressionLevel = serverCompressionLevel;
@@ -55,6 +57,7 @@ public class WsEngineSettings implements Debug {
     this.clientNoContextTakeover = clientNoContextTakeover;
     this.serverMaxWindowBits = serverMaxWindowBits;
     this.clientMaxWindowBits = clientMaxWindowBits;
+    this.deflateCodec = deflateCodec;
   }
 
   public static WsEngineSettings standard() {
@@ -105,10 +108,18 @@ public class WsEngineSettings implements Debug {
         clientMaxWindowBits = 15;
       }
 
+      WsDeflateCodec deflateCodec;
+      try {
+        deflateCodec = WsDeflateCodec.from(System.getProperty("swim.ws.deflate.codec", "standard"));
+      } catch (IllegalArgumentException error) {
+        deflateCodec = WsDeflateCodec.standard();
+      }
+
       standard = new WsEngineSettings(maxFrameSize, maxMessageSize,
           serverCompressionLevel, clientCompressionLevel,
           serverNoContextTakeover, clientNoContextTakeover,
-          serverMaxWindowBits, clientMaxWindowBits);
+          serverMaxWindowBits, clientMaxWindowBits,
+          deflateCodec);
     }
     return standard;
   }
@@ -145,7 +156,8 @@ public class WsEngineSettings implements Debug {
     return copy(maxFrameSize, this.maxMessageSize,
         this.serverCompressionLevel, this.clientCompressionLevel,
         this.serverNoContextTakeover, this.clientNoContextTakeover,
-        this.serverMaxWindowBits, this.clientMaxWindowBits);
+        this.serverMaxWindowBits, this.clientMaxWindowBits,
+        this.deflateCodec);
   }
 
   public final int maxMessageSize() {
@@ -156,7 +168,8 @@ public class WsEngineSettings implements Debug {
     return copy(this.maxFrameSize, maxMessageSize,
         this.serverCompressionLevel, this.clientCompressionLevel,
         this.serverNoContextTakeover, this.clientNoContextTakeover,
-        this.serverMaxWindowBits, this.clientMaxWindowBits);
+        this.serverMaxWindowBits, this.clientMaxWindowBits,
+        this.deflateCodec);
   }
 
   public final int serverCompressionLevel() {
@@ -167,7 +180,8 @@ public class WsEngineSettings implements Debug {
     return copy(this.maxFrameSize, this.maxMessageSize,
         serverCompressionLevel, this.clientCompressionLevel,
         this.serverNoContextTakeover, this.clientNoContextTakeover,
-        this.serverMaxWindowBits, this.clientMaxWindowBits);
+        this.serverMaxWindowBits, this.clientMaxWindowBits,
+        this.deflateCodec);
   }
 
   public final int clientCompressionLevel() {
@@ -178,14 +192,16 @@ public class WsEngineSettings implements Debug {
     return copy(this.maxFrameSize, this.maxMessageSize,
         this.serverCompressionLevel, clientCompressionLevel,
         this.serverNoContextTakeover, this.clientNoContextTakeover,
-        this.serverMaxWindowBits, this.clientMaxWindowBits);
+        this.serverMaxWindowBits, this.clientMaxWindowBits,
+        this.deflateCodec);
   }
 
   public WsEngineSettings compressionLevel(int serverCompressionLevel, int clientCompressionLevel) {
     return copy(this.maxFrameSize, this.maxMessageSize,
         serverCompressionLevel, clientCompressionLevel,
         this.serverNoContextTakeover, this.clientNoContextTakeover,
-        this.serverMaxWindowBits, this.clientMaxWindowBits);
+        this.serverMaxWindowBits, this.clientMaxWindowBits,
+        this.deflateCodec);
   }
 
   public final boolean serverNoContextTakeover() {
@@ -196,7 +212,8 @@ public class WsEngineSettings implements Debug {
     return copy(this.maxFrameSize, this.maxMessageSize,
         this.serverCompressionLevel, this.clientCompressionLevel,
         serverNoContextTakeover, this.clientNoContextTakeover,
-        this.serverMaxWindowBits, this.clientMaxWindowBits);
+        this.serverMaxWindowBits, this.clientMaxWindowBits,
+        this.deflateCodec);
   }
 
   public final boolean clientNoContextTakeover() {
@@ -207,7 +224,8 @@ public class WsEngineSettings implements Debug {
     return copy(this.maxFrameSize, this.maxMessageSize,
         this.serverCompressionLevel, this.clientCompressionLevel,
         this.serverNoContextTakeover, clientNoContextTakeover,
-        this.serverMaxWindowBits, this.clientMaxWindowBits);
+        this.serverMaxWindowBits, this.clientMaxWindowBits,
+        this.deflateCodec);
   }
 
   public final int serverMaxWindowBits() {
@@ -218,7 +236,8 @@ public class WsEngineSettings implements Debug {
     return copy(this.maxFrameSize, this.maxMessageSize,
         this.serverCompressionLevel, this.clientCompressionLevel,
         this.serverNoContextTakeover, this.clientNoContextTakeover,
-        serverMaxWindowBits, this.clientMaxWindowBits);
+        serverMaxWindowBits, this.clientMaxWindowBits,
+        this.deflateCodec);
   }
 
   public final int clientMaxWindowBits() {
@@ -229,7 +248,20 @@ public class WsEngineSettings implements Debug {
     return copy(this.maxFrameSize, this.maxMessageSize,
         this.serverCompressionLevel, this.clientCompressionLevel,
         this.serverNoContextTakeover, this.clientNoContextTakeover,
-        this.serverMaxWindowBits, clientMaxWindowBits);
+        this.serverMaxWindowBits, clientMaxWindowBits,
+        this.deflateCodec);
+  }
+
+  public final WsDeflateCodec deflateCodec() {
+    return this.deflateCodec;
+  }
+
+  public WsEngineSettings deflateCodec(WsDeflateCodec deflateCodec) {
+    return copy(this.maxFrameSize, this.maxMessageSize,
+        this.serverCompressionLevel, this.clientCompressionLevel,
+        this.serverNoContextTakeover, this.clientNoContextTakeover,
+        this.serverMaxWindowBits, this.clientMaxWindowBits,
+        deflateCodec);
   }
 
   public FingerTrieSeq<WebSocketExtension> extensions() {
@@ -333,11 +365,13 @@ public class WsEngineSettings implements Debug {
   protected WsEngineSettings copy(int maxFrameSize, int maxMessageSize,
                                   int serverCompressionLevel, int clientCompressionLevel,
                                   boolean serverNoContextTakeover, boolean clientNoContextTakeover,
-                                  int serverMaxWindowBits, int clientMaxWindowBits) {
+                                  int serverMaxWindowBits, int clientMaxWindowBits,
+                                  WsDeflateCodec deflateCodec) {
     return new WsEngineSettings(maxFrameSize, maxMessageSize,
         serverCompressionLevel, clientCompressionLevel,
         serverNoContextTakeover, clientNoContextTakeover,
-        serverMaxWindowBits, clientMaxWindowBits);
+        serverMaxWindowBits, clientMaxWindowBits,
+        deflateCodec);
   }
 
   public boolean canEqual(Object other) {
@@ -358,7 +392,8 @@ public class WsEngineSettings implements Debug {
           && this.serverNoContextTakeover == that.serverNoContextTakeover
           && this.clientNoContextTakeover == that.clientNoContextTakeover
           && this.serverMaxWindowBits == that.serverMaxWindowBits
-          && this.clientMaxWindowBits == that.clientMaxWindowBits;
+          && this.clientMaxWindowBits == that.clientMaxWindowBits
+          && this.deflateCodec.equals(that.deflateCodec);
     }
     return false;
   }
@@ -368,11 +403,11 @@ public class WsEngineSettings implements Debug {
     if (hashSeed == 0) {
       hashSeed = Murmur3.seed(WsEngineSettings.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
         Murmur3.mix(Murmur3.mix(Murmur3.mix(hashSeed, this.maxFrameSize), this.maxMessageSize),
             this.serverCompressionLevel), this.clientCompressionLevel),
         Murmur3.hash(this.serverNoContextTakeover)), Murmur3.hash(this.clientNoContextTakeover)),
-        this.serverMaxWindowBits), this.clientMaxWindowBits));
+        this.serverMaxWindowBits), this.clientMaxWindowBits), this.deflateCodec.hashCode()));
   }
 
   @Override
@@ -385,7 +420,9 @@ public class WsEngineSettings implements Debug {
         .write('.').write("serverNoContextTakeover").write('(').debug(this.serverNoContextTakeover).write(')')
         .write('.').write("clientNoContextTakeover").write('(').debug(this.clientNoContextTakeover).write(')')
         .write('.').write("serverMaxWindowBits").write('(').debug(this.serverMaxWindowBits).write(')')
-        .write('.').write("clientMaxWindowBits").write('(').debug(this.clientMaxWindowBits).write(')');
+        .write('.').write("clientMaxWindowBits").write('(').debug(this.clientMaxWindowBits).write(')')
+        .write('.').write("deflateCodec").write('(').write("WsDeflateCodec").write('.')
+            .write(this.deflateCodec.name()).write('(').write(')').write(')');
   }
 
   @Override
@@ -411,7 +448,7 @@ final class WsEngineSettingsForm extends Form<WsEngineSettings> {
   public Item mold(WsEngineSettings settings) {
     if (settings != null) {
       final WsEngineSettings standard = WsEngineSettings.standard();
-      final Record record = Record.create(8);
+      final Record record = Record.create(9);
       if (settings.maxFrameSize != standard.maxFrameSize) {
         record.slot("maxFrameSize", settings.maxFrameSize);
       }
@@ -436,6 +473,9 @@ final class WsEngineSettingsForm extends Form<WsEngineSettings> {
       if (settings.clientMaxWindowBits != standard.clientMaxWindowBits) {
         record.slot("clientMaxWindowBits", settings.clientMaxWindowBits);
       }
+      if (!settings.deflateCodec.equals(standard.deflateCodec)) {
+        record.slot("deflateCodec", settings.deflateCodec.name());
+      }
       return record;
     } else {
       return Item.extant();
@@ -454,10 +494,12 @@ final class WsEngineSettingsForm extends Form<WsEngineSettings> {
     final boolean clientNoContextTakeover = value.get("clientNoContextTakeover").booleanValue(standard.clientNoContextTakeover);
     final int serverMaxWindowBits = value.get("serverMaxWindowBits").intValue(standard.serverMaxWindowBits);
     final int clientMaxWindowBits = value.get("clientMaxWindowBits").intValue(standard.clientMaxWindowBits);
+    final WsDeflateCodec deflateCodec = WsDeflateCodec.from(value.get("deflateCodec").stringValue(standard.deflateCodec.name()));
     return new WsEngineSettings(maxFrameSize, maxMessageSize,
         serverCompressionLevel, clientCompressionLevel,
         serverNoContextTakeover, clientNoContextTakeover,
-        serverMaxWindowBits, clientMaxWindowBits);
+        serverMaxWindowBits, clientMaxWindowBits,
+        deflateCodec);
   }
 
 }
@@ -59,8 +59,17 @@ final class WsFrameDeflater<O> extends Encoder<Object, WsFrame<O>> {
       } else {
         ((Deflate<Object>) ws.deflate).input = (Encoder<?, Object>) content;
       }
-      ws.deflate.next_out = output.array();
-      ws.deflate.next_out_index = output.arrayOffset() + maxPayloadBase;
+      final boolean hasArray = output.hasArray();
+      final int payloadOffset;
+      if (hasArray) {
+        ws.deflate.next_out = output.array();
+        payloadOffset = output.arrayOffset() + maxPayloadBase;
+      } else {
+        // deflate into a heap array, then copy the payload into the buffer
+        ws.deflate.next_out = ws.outputBuffer(outputSize - maxHeaderSize);
+        payloadOffset = 0;
+      }
+      ws.deflate.next_out_index = payloadOffset;
       ws.deflate.avail_out = outputSize - maxHeaderSize;
 
       try {
@@ -68,7 +77,10 @@ final class WsFrameDeflater<O> extends Encoder<Object, WsFrame<O>> {
         final boolean needsMore = ws.deflate.deflate(ws.flush);
         content = ws.deflate.input;
         final boolean eof = content.isDone() && !needsMore;
-        final int payloadSize = ws.deflate.next_out_index - (output.arrayOffset() + maxPayloadBase) - (eof ? 4 : 0);
+        final int payloadSize = ws.deflate.next_out_index - payloadOffset - (eof ? 4 : 0);
+        if (!hasArray) {
+          output = output.index(maxPayloadBase).write(ws.deflate.next_out, 0, payloadSize);
+        }
         final int headerSize = (payloadSize <= 125 ? 2 : payloadSize <= 65535 ? 4 : 10) + maskSize;
 
         // encode header
@@ -123,7 +135,7 @@ final class WsFrameDeflater<O> extends Encoder<Object, WsFrame<O>> {
           }
         } else if (headerSize < maxHeaderSize) {
           // shift payload if header smaller than anticipated
-          output = output.move(maxHeaderSize, headerSize, payloadSize);
+          output = output.move(outputBase + maxHeaderSize, outputBase + headerSize, payloadSize);
         }
         position += payloadSize;
         offset += payloadSize;
@@ -126,8 +126,18 @@ final class WsFrameInflater<O> extends Decoder<WsFrame<O>> {
       ((Inflate<Object>) ws.inflate).output = (Decoder<Object>) (Decoder<?>) content;
       ws.inflate.is_last = false;
 
-      ws.inflate.next_in = input.array();
-      ws.inflate.next_in_index = input.arrayOffset() + base;
+      final boolean hasArray = input.hasArray();
+      final int inputOffset;
+      if (hasArray) {
+        ws.inflate.next_in = input.array();
+        inputOffset = input.arrayOffset() + base;
+      } else {
+        // copy the payload into a heap array to inflate from
+        ws.inflate.next_in = ws.inputBuffer(size);
+        inputOffset = 0;
+        input.get(base, ws.inflate.next_in, 0, size);
+      }
+      ws.inflate.next_in_index = inputOffset;
       ws.inflate.avail_in = Math.min(input.remaining(), size);
 
       try {
@@ -138,7 +148,7 @@ final class WsFrameInflater<O> extends Decoder<WsFrame<O>> {
           needsMore = ws.inflate.inflate(Inflate.Z_SYNC_FLUSH);
           content = (Decoder<O>) ws.inflate.output;
         } while (needsMore && ws.inflate.avail_in > 0 && content.isCont());
-        input = input.index(ws.inflate.next_in_index - input.arrayOffset());
+        input = input.index(base + ws.inflate.next_in_index - inputOffset);
 
         if (eof) {
           ws.inflate.next_in = EMPTY_BLOCK;
@@ -0,0 +1,206 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+import java.util.zip.Deflater;
+import swim.codec.Binary;
+import swim.codec.Encoder;
+import swim.codec.EncoderException;
+import swim.codec.OutputBuffer;
+
+final class WsFrameZlibDeflater<O> extends Encoder<Object, WsFrame<O>> {
+
+  final WsZlibEncoder ws;
+  final WsFrame<O> frame;
+  final Encoder<?, ?> content;
+  final byte[] payload;
+  final int payloadSize;
+  final int offset;
+  final int step;
+
+  WsFrameZlibDeflater(WsZlibEncoder ws, WsFrame<O> frame, Encoder<?, ?> content,
+                      byte[] payload, int payloadSize, int offset, int step) {
+    this.ws = ws;
+    this.frame = frame;
+    this.content = content;
+    this.payload = payload;
+    this.payloadSize = payloadSize;
+    this.offset = offset;
+    this.step = step;
+  }
+
+  WsFrameZlibDeflater(WsZlibEncoder ws, WsFrame<O> frame) {
+    this(ws, frame, null, null, 0, 0, 1);
+  }
+
+  static <O> Encoder<Object, WsFrame<O>> encode(OutputBuffer<?> output, WsZlibEncoder ws,
+                                                WsFrame<O> frame, Encoder<?, ?> content,
+                                                byte[] payload, int payloadSize, int offset, int step) {
+    if (step == 1) { // deflate payload
+      if (content == null) {
+        content = frame.contentEncoder(ws);
+        payload = new byte[PAYLOAD_BUFFER_SIZE];
+      }
+      // java.util.zip deflates byte arrays, so the content gets staged
+      // through the encoder's input buffer, and the compressed message
+      // gets buffered before it's framed.
+      final Deflater deflater = ws.deflater;
+      final byte[] inputBuffer = ws.inputBuffer();
+      while (content.isCont()) {
+        final OutputBuffer<?> input = Binary.outputBuffer(inputBuffer).isPart(true);
+        content = content.pull(input);
+        final int inputSize = input.index();
+        if (inputSize == 0) {
+          break;
+        }
+        deflater.setInput(inputBuffer, 0, inputSize);
+        do {
+          if (payloadSize == payload.length) {
+            payload = expand(payload);
+          }
+          payloadSize += deflater.deflate(payload, payloadSize, payload.length - payloadSize, Deflater.NO_FLUSH);
+        } while (!deflater.needsInput());
+      }
+
+      if (content.isError()) {
+        return content.asError();
+      } else if (content.isDone()) {
+        // flush until the deflater leaves some output space unused
+        int size;
+        int count;
+        do {
+          if (payload.length - payloadSize < MIN_FLUSH_SIZE) {
+            payload = expand(payload);
+          }
+          size = payload.length - payloadSize;
+          count = deflater.deflate(payload, payloadSize, size, ws.flush);
+          payloadSize += count;
+        } while (count == size);
+        if (payloadSize != 0) {
+          // strip the empty block trailer that terminates each flush
+          payloadSize -= 4;
+        } else {
+          // zlib doesn't flush twice in a row without new input, so encode
+          // an empty message as the header of an empty stored block
+          payload[0] = 0x00;
+          payloadSize = 1;
+        }
+        step = 2;
+      }
+    }
+    if (step == 2) { // encode frames
+      final boolean isMasked = ws.isMasked();
+      final int outputSize = output.remaining();
+      final int maskSize = isMasked ? 4 : 0;
+      final int remaining = payloadSize - offset;
+      final int headerSize = (remaining <= 125 ? 2 : remaining <= 65535 ? 4 : 10) + maskSize;
+      final int maxHeaderSize = (outputSize <= 127 ? 2 : outputSize <= 65539 ? 4 : 10) + maskSize;
+
+      final boolean eof;
+      final int frameSize;
+      if (outputSize >= headerSize + remaining) {
+        eof = true;
+        frameSize = remaining;
+      } else if (outputSize > maxHeaderSize) {
+        eof = false;
+        frameSize = outputSize - maxHeaderSize;
+      } else {
+        eof = false;
+        frameSize = 0;
+      }
+
+      if (frameSize > 0 || eof) {
+        // encode header
+        final WsOpcode opcode = frame.opcode();
+        final int finRsvOp;
+        if (eof) {
+          if (offset == 0) {
+            finRsvOp = 0xc0 | opcode.code;
+          } else {
+            finRsvOp = 0x80;
+          }
+        } else if (offset == 0) {
+          finRsvOp = 0x40 | opcode.code;
+        } else {
+          finRsvOp = 0x00;
+        }
+        output = output.write(finRsvOp);
+        if (frameSize < 126) {
+          output = output.write(isMasked ? 0x80 | frameSize : frameSize);
+        } else if (frameSize < 1 << 16) {
+          output = output.write(isMasked ? 254 : 126)
+              .write(frameSize >>> 8)
+              .write(frameSize);
+        } else {
+          output = output.write(isMasked ? 255 : 127)
+              .write(0)
+              .write(0)
+              .write(0)
+              .write(0)
+              .write(frameSize >>> 24)
+              .write(frameSize >>> 16)
+              .write(frameSize >>> 8)
+              .write(frameSize);
+        }
+
+        // encode payload
+        if (isMasked) {
+          // generate and encode masking key
+          final byte[] maskingKey = new byte[4];
+          ws.maskingKey(maskingKey);
+          output = output.write(maskingKey[0] & 0xff)
+              .write(maskingKey[1] & 0xff)
+              .write(maskingKey[2] & 0xff)
+              .write(maskingKey[3] & 0xff);
+          // mask in place; payload bytes are only framed once
+          for (int i = 0; i < frameSize; i += 1) {
+            payload[offset + i] ^= maskingKey[i & 0x3];
+          }
+        }
+        output = output.write(payload, offset, frameSize);
+        offset += frameSize;
+
+        if (eof) {
+          return done(frame);
+        }
+      }
+    }
+    if (output.isDone()) {
+      return error(new EncoderException("truncated"));
+    } else if (output.isError()) {
+      return error(output.trap());
+    }
+    return new WsFrameZlibDeflater<O>(ws, frame, content, payload, payloadSize, offset, step);
+  }
+
+  static <O> Encoder<Object, WsFrame<O>> encode(OutputBuffer<?> output, WsZlibEncoder ws, WsFrame<O> frame) {
+    return encode(output, ws, frame, null, null, 0, 0, 1);
+  }
+
+  static byte[] expand(byte[] payload) {
+    final byte[] newPayload = new byte[payload.length << 1];
+    System.arraycopy(payload, 0, newPayload, 0, payload.length);
+    return newPayload;
+  }
+
+  @Override
+  public Encoder<Object, WsFrame<O>> pull(OutputBuffer<?> output) {
+    return encode(output, this.ws, this.frame, this.content, this.payload, this.payloadSize, this.offset, this.step);
+  }
+
+  static final int PAYLOAD_BUFFER_SIZE = 256;
+  static final int MIN_FLUSH_SIZE = 16;
+
+}
@@ -0,0 +1,52 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+import swim.deflate.Deflate;
+import swim.deflate.Inflate;
+
+final class WsStandardDeflateCodec extends WsDeflateCodec {
+
+  @Override
+  public String name() {
+    return "standard";
+  }
+
+  @Override
+  public WsDecoder decoder(int maxWindowBits) {
+    return Ws.deflateDecoder(new Inflate<Object>(Inflate.Z_NO_WRAP, maxWindowBits));
+  }
+
+  @Override
+  public WsEncoder encoderMasked(int compressionLevel, boolean noContextTakeover, int maxWindowBits) {
+    return Ws.deflateEncoderMasked(new Deflate<Object>(Deflate.Z_NO_WRAP, compressionLevel, maxWindowBits),
+                                   flush(noContextTakeover));
+  }
+
+  @Override
+  public WsEncoder encoderUnmasked(int compressionLevel, boolean noContextTakeover, int maxWindowBits) {
+    return Ws.deflateEncoderUnmasked(new Deflate<Object>(Deflate.Z_NO_WRAP, compressionLevel, maxWindowBits),
+                                     flush(noContextTakeover));
+  }
+
+  static int flush(boolean noContextTakeover) {
+    if (noContextTakeover) {
+      return Deflate.Z_FULL_FLUSH;
+    } else {
+      return Deflate.Z_SYNC_FLUSH;
+    }
+  }
+
+}
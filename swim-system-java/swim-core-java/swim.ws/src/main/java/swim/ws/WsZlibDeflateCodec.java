@@ -0,0 +1,62 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+final class WsZlibDeflateCodec extends WsDeflateCodec {
+
+  @Override
+  public String name() {
+    return "zlib";
+  }
+
+  @Override
+  public WsDecoder decoder(int maxWindowBits) {
+    // A raw zlib inflater always allocates a full 32KB window, which can
+    // inflate streams deflated with any smaller window.
+    return Ws.zlibDecoder(new Inflater(true));
+  }
+
+  @Override
+  public WsEncoder encoderMasked(int compressionLevel, boolean noContextTakeover, int maxWindowBits) {
+    if (maxWindowBits < MAX_WINDOW_BITS) {
+      // java.util.zip can't constrain the deflate window size.
+      return WsDeflateCodec.standard().encoderMasked(compressionLevel, noContextTakeover, maxWindowBits);
+    }
+    return Ws.zlibEncoderMasked(new Deflater(compressionLevel, true), flush(noContextTakeover));
+  }
+
+  @Override
+  public WsEncoder encoderUnmasked(int compressionLevel, boolean noContextTakeover, int maxWindowBits) {
+    if (maxWindowBits < MAX_WINDOW_BITS) {
+      // java.util.zip can't constrain the deflate window size.
+      return WsDeflateCodec.standard().encoderUnmasked(compressionLevel, noContextTakeover, maxWindowBits);
+    }
+    return Ws.zlibEncoderUnmasked(new Deflater(compressionLevel, true), flush(noContextTakeover));
+  }
+
+  static int flush(boolean noContextTakeover) {
+    if (noContextTakeover) {
+      return Deflater.FULL_FLUSH;
+    } else {
+      return Deflater.SYNC_FLUSH;
+    }
+  }
+
+  static final int MAX_WINDOW_BITS = 15;
+
+}
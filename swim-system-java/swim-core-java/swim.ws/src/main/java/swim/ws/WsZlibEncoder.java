@@ -0,0 +1,79 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+import java.util.zip.Deflater;
+import swim.codec.Encoder;
+import swim.codec.OutputBuffer;
+
+public abstract class WsZlibEncoder extends WsEncoder {
+
+  protected final Deflater deflater;
+  protected final int flush;
+  byte[] inputBuffer;
+
+  public WsZlibEncoder(Deflater deflater, int flush) {
+    this.deflater = deflater;
+    this.flush = flush;
+  }
+
+  public final Deflater deflater() {
+    return this.deflater;
+  }
+
+  public final int flush() {
+    return this.flush;
+  }
+
+  final byte[] inputBuffer() {
+    byte[] inputBuffer = this.inputBuffer;
+    if (inputBuffer == null) {
+      inputBuffer = new byte[INPUT_BUFFER_SIZE];
+      this.inputBuffer = inputBuffer;
+    }
+    return inputBuffer;
+  }
+
+  /**
+   * Frees the native state of the {@code deflater}.
+   */
+  @Override
+  public void close() {
+    this.deflater.end();
+  }
+
+  @Override
+  public <T> Encoder<?, WsFrame<T>> textFrameEncoder(WsFrame<T> frame) {
+    return new WsFrameZlibDeflater<T>(this, frame);
+  }
+
+  @Override
+  public <T> Encoder<?, WsFrame<T>> encodeTextFrame(WsFrame<T> frame, OutputBuffer<?> output) {
+    return WsFrameZlibDeflater.encode(output, this, frame);
+  }
+
+  @Override
+  public <T> Encoder<?, WsFrame<T>> binaryFrameEncoder(WsFrame<T> frame) {
+    return new WsFrameZlibDeflater<T>(this, frame);
+  }
+
+  @Override
+  public <T> Encoder<?, WsFrame<T>> encodeBinaryFrame(WsFrame<T> frame, OutputBuffer<?> output) {
+    return WsFrameZlibDeflater.encode(output, this, frame);
+  }
+
+  static final int INPUT_BUFFER_SIZE = 4096;
+
+}
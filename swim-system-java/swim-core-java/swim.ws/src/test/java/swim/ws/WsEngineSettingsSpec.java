@@ -45,7 +45,8 @@ public class WsEngineSettingsSpec {
         Slot.of("serverNoContextTakeover", true),
         Slot.of("clientNoContextTakeover", true),
         Slot.of("serverMaxWindowBits", 11),
-        Slot.of("clientMaxWindowBits", 13)),
+        Slot.of("clientMaxWindowBits", 13),
+        Slot.of("deflateCodec", "zlib")),
         WsEngineSettings.standard().maxFrameSize(2048)
             .maxMessageSize(4096)
             .serverCompressionLevel(7)
@@ -53,7 +54,8 @@ public class WsEngineSettingsSpec {
             .serverNoContextTakeover(true)
             .clientNoContextTakeover(true)
             .serverMaxWindowBits(11)
-            .clientMaxWindowBits(13));
+            .clientMaxWindowBits(13)
+            .deflateCodec(WsDeflateCodec.zlib()));
   }
 
   @Test
@@ -14,10 +14,13 @@
 
 package swim.ws;
 
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
 import org.testng.TestException;
 import org.testng.annotations.Test;
 import swim.codec.Binary;
 import swim.codec.Encoder;
+import swim.codec.OutputBuffer;
 import swim.structure.Data;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
@@ -86,4 +89,24 @@ public class WsFrameDeflaterSpec {
     assertEncodes(ws, WsText.from("Hello"), Data.fromBase16("c18437fa213d35e9213d"));
   }
 
+  @Test
+  public void deflateConsecutiveUnmaskedFrames() {
+    final WsEncoder ws = Ws.deflateEncoderUnmasked();
+    final OutputBuffer<ByteBuffer> output = Binary.outputBuffer(new byte[256]);
+    assertTrue(ws.frameEncoder(WsText.from("Hello")).pull(output).isDone());
+    assertTrue(ws.frameEncoder(WsText.from("Hello")).pull(output).isDone());
+    assertEquals(Data.wrap(output.bind()), Data.fromBase16("c107f248cdc9c90700c105f200110000"));
+  }
+
+  @Test
+  public void deflateUnmaskedFramesIntoDirectBuffer() {
+    final WsEncoder ws = Ws.deflateEncoderUnmasked();
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+    final OutputBuffer<ByteBuffer> output = Binary.outputBuffer(buffer);
+    assertTrue(ws.frameEncoder(WsText.from("Hello")).pull(output).isDone());
+    assertTrue(ws.frameEncoder(WsText.from("Hello")).pull(output).isDone());
+    ((Buffer) buffer).flip();
+    assertEquals(Data.from(buffer), Data.fromBase16("c107f248cdc9c90700c105f200110000"));
+  }
+
 }
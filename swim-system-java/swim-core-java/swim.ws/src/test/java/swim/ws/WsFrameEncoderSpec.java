@@ -179,4 +179,13 @@ public class WsFrameEncoderSpec {
     assertEquals(Data.wrap(output.bind()), frame);
   }
 
+  @Test
+  public void encodeConsecutiveUnmaskedFrames() {
+    final WsEncoder ws = Ws.standardEncoderUnmasked();
+    final OutputBuffer<ByteBuffer> output = Binary.outputBuffer(new byte[256]);
+    assertTrue(ws.frameEncoder(WsText.from("Hello")).pull(output).isDone());
+    assertTrue(ws.frameEncoder(WsText.from("Hello")).pull(output).isDone());
+    assertEquals(Data.wrap(output.bind()), Data.fromBase16("810548656c6c6f810548656c6c6f"));
+  }
+
 }
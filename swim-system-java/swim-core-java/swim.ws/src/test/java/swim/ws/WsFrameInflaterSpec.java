@@ -14,8 +14,11 @@
 
 package swim.ws;
 
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
 import org.testng.TestException;
 import org.testng.annotations.Test;
+import swim.codec.Binary;
 import swim.codec.Decoder;
 import swim.codec.InputBuffer;
 import swim.codec.Utf8;
@@ -156,4 +159,20 @@ public class WsFrameInflaterSpec {
     assertEquals(frameDecoder.bind(), WsValue.from("Hello"));
   }
 
+  static InputBuffer directInputBuffer(Data data) {
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(data.size());
+    buffer.put(data.toByteBuffer());
+    ((Buffer) buffer).flip();
+    return Binary.inputBuffer(buffer);
+  }
+
+  @Test
+  public void inflateUnmaskedFramesFromDirectBuffer() {
+    final WsDeflateDecoder ws = Ws.deflateDecoder();
+    Decoder<WsFrame<String>> frameDecoder = ws.decodeFrame(Utf8.stringParser(), directInputBuffer(Data.fromBase16("c107f248cdc9c90700")).isPart(true));
+    assertEquals(frameDecoder.bind(), WsValue.from("Hello"));
+    frameDecoder = ws.decodeFrame(Utf8.stringParser(), directInputBuffer(Data.fromBase16("c105f200110000")).isPart(true));
+    assertEquals(frameDecoder.bind(), WsValue.from("Hello"));
+  }
+
 }
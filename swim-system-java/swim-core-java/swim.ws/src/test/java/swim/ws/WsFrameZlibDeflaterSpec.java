@@ -0,0 +1,214 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import org.testng.TestException;
+import org.testng.annotations.Test;
+import swim.codec.Binary;
+import swim.codec.Decoder;
+import swim.codec.Encoder;
+import swim.codec.OutputBuffer;
+import swim.codec.Utf8;
+import swim.structure.Data;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class WsFrameZlibDeflaterSpec {
+
+  static void assertEncodes(WsEncoder ws, WsFrame<?> frame, Data encoded, int... bufferSizes) {
+    final byte[] actual = new byte[encoded.size() + 4];
+    int bufferSize = encoded.size() + 4;
+    Encoder<?, ?> frameEncoder = ws.frameEncoder(frame);
+    for (int k = 0, i = 0, n = actual.length; i < n; i += bufferSize) {
+      if (k < bufferSizes.length) {
+        bufferSize = bufferSizes[k];
+        k += 1;
+      }
+      frameEncoder = frameEncoder.pull(Binary.outputBuffer(actual, i, Math.min(bufferSize, actual.length - i))
+          .isPart(actual.length - i > bufferSize));
+      if (frameEncoder.isError()) {
+        throw new TestException(frameEncoder.trap());
+      }
+    }
+    assertTrue(frameEncoder.isDone());
+    assertEquals(Data.wrap(actual, 0, encoded.size()), encoded);
+  }
+
+  static void assertEncodes(WsFrame<?> frame, Data encoded, int... bufferSizes) {
+    assertEncodes(Ws.zlibEncoderUnmasked(), frame, encoded, bufferSizes);
+  }
+
+  static void assertEncodes(byte[] maskingKey, WsFrame<?> frame, Data encoded, int... bufferSizes) {
+    assertEncodes(new WsZlibEncoderMaskedSpec(maskingKey), frame, encoded, bufferSizes);
+  }
+
+  static String text(int length) {
+    final StringBuilder text = new StringBuilder(length);
+    for (int i = 0; text.length() < length; i += 1) {
+      text.append("@event(node:\"/unit/").append(i % 17).append("\",lane:\"value\")").append(i * 31);
+    }
+    text.setLength(length);
+    return text.toString();
+  }
+
+  static void assertTransmits(WsEncoder encoder, WsDecoder decoder, String text, int bufferSize) {
+    final byte[] buffer = new byte[bufferSize];
+    Encoder<?, ?> frameEncoder = encoder.frameEncoder(WsText.from(text));
+    Decoder<WsFrame<String>> frameDecoder = decoder.frameDecoder(Utf8.stringParser());
+    while (frameEncoder.isCont()) {
+      final OutputBuffer<ByteBuffer> output = Binary.outputBuffer(buffer).isPart(true);
+      frameEncoder = frameEncoder.pull(output);
+      if (frameEncoder.isError()) {
+        throw new TestException(frameEncoder.trap());
+      }
+      frameDecoder = frameDecoder.feed(Binary.inputBuffer(buffer, 0, output.index()).isPart(true));
+      if (frameDecoder.isDone() && frameDecoder.bind() instanceof WsFragment<?>) {
+        frameDecoder = decoder.frameDecoder(((WsFragment<String>) frameDecoder.bind()).contentDecoder());
+      } else if (frameDecoder.isError()) {
+        throw new TestException(frameDecoder.trap());
+      }
+    }
+    assertTrue(frameDecoder.isDone());
+    assertEquals(frameDecoder.bind(), WsValue.from(text));
+  }
+
+  static void assertTransmitsDirect(WsEncoder encoder, WsDecoder decoder, String text, int bufferSize) {
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize);
+    Encoder<?, ?> frameEncoder = encoder.frameEncoder(WsText.from(text));
+    Decoder<WsFrame<String>> frameDecoder = decoder.frameDecoder(Utf8.stringParser());
+    while (frameEncoder.isCont()) {
+      ((Buffer) buffer).clear();
+      frameEncoder = frameEncoder.pull(Binary.outputBuffer(buffer).isPart(true));
+      if (frameEncoder.isError()) {
+        throw new TestException(frameEncoder.trap());
+      }
+      ((Buffer) buffer).flip();
+      frameDecoder = frameDecoder.feed(Binary.inputBuffer(buffer).isPart(true));
+      if (frameDecoder.isDone() && frameDecoder.bind() instanceof WsFragment<?>) {
+        frameDecoder = decoder.frameDecoder(((WsFragment<String>) frameDecoder.bind()).contentDecoder());
+      } else if (frameDecoder.isError()) {
+        throw new TestException(frameDecoder.trap());
+      }
+    }
+    assertTrue(frameDecoder.isDone());
+    assertEquals(frameDecoder.bind(), WsValue.from(text));
+  }
+
+  @Test
+  public void deflateUnmaskedTextFrame() {
+    assertEncodes(WsText.from("Hello"), Data.fromBase16("c107f248cdc9c90700"));
+  }
+
+  @Test
+  public void deflateUnmaskedEmptyTextFrame() {
+    assertEncodes(WsText.from(""), Data.fromBase16("c10100"));
+  }
+
+  @Test
+  public void deflateUnmaskedTextFragments() {
+    assertEncodes(WsText.from("Hello"), Data.fromBase16("4103f248cd8004c9c90700"), 5, 10);
+  }
+
+  @Test
+  public void deflateMaskedTextFrame() {
+    final byte[] maskingKey = {(byte) 0x37, (byte) 0xfa, (byte) 0x21, (byte) 0x3d};
+    assertEncodes(maskingKey, WsText.from("Hello"), Data.fromBase16("c18737fa213dc5b2ecf4fefd21"));
+  }
+
+  @Test
+  public void deflateUnmaskedSharedWindow() {
+    final WsZlibEncoder ws = Ws.zlibEncoderUnmasked();
+    assertEncodes(ws, WsText.from("Hello"), Data.fromBase16("c107f248cdc9c90700"));
+    assertEncodes(ws, WsText.from("Hello"), Data.fromBase16("c105f200110000"));
+  }
+
+  @Test
+  public void deflateMaskedSharedWindow() {
+    final byte[] maskingKey = {(byte) 0x37, (byte) 0xfa, (byte) 0x21, (byte) 0x3d};
+    final WsZlibEncoder ws = new WsZlibEncoderMaskedSpec(maskingKey);
+    assertEncodes(ws, WsText.from("Hello"), Data.fromBase16("c18737fa213dc5b2ecf4fefd21"));
+    assertEncodes(ws, WsText.from("Hello"), Data.fromBase16("c18537fa213dc5fa303d37"));
+  }
+
+  @Test
+  public void deflateConsecutiveUnmaskedFrames() {
+    final WsEncoder ws = Ws.zlibEncoderUnmasked();
+    final OutputBuffer<ByteBuffer> output = Binary.outputBuffer(new byte[256]);
+    assertTrue(ws.frameEncoder(WsText.from("Hello")).pull(output).isDone());
+    assertTrue(ws.frameEncoder(WsText.from("Hello")).pull(output).isDone());
+    assertEquals(Data.wrap(output.bind()), Data.fromBase16("c107f248cdc9c90700c105f200110000"));
+  }
+
+  @Test
+  public void transmitZlibToZlib() {
+    final WsEncoder encoder = WsDeflateCodec.zlib().encoderMasked(6, false, 15);
+    final WsDecoder decoder = WsDeflateCodec.zlib().decoder(15);
+    for (int length : new int[] {0, 1, 125, 126, 4096, 65536, 200000}) {
+      assertTransmits(encoder, decoder, text(length), 4096);
+      assertTransmits(encoder, decoder, text(length), 131);
+    }
+  }
+
+  @Test
+  public void transmitZlibToStandardInflate() {
+    final WsEncoder encoder = WsDeflateCodec.zlib().encoderUnmasked(6, false, 15);
+    final WsDecoder decoder = WsDeflateCodec.standard().decoder(15);
+    for (int length : new int[] {0, 1, 125, 126, 4096, 16384}) {
+      assertTransmits(encoder, decoder, text(length), 4096);
+      assertTransmits(encoder, decoder, text(length), 131);
+    }
+  }
+
+  @Test
+  public void transmitStandardDeflateToZlib() {
+    final WsEncoder encoder = WsDeflateCodec.standard().encoderUnmasked(6, false, 15);
+    final WsDecoder decoder = WsDeflateCodec.zlib().decoder(15);
+    for (int length : new int[] {0, 1, 125, 126, 4096, 65536, 200000}) {
+      assertTransmits(encoder, decoder, text(length), 4096);
+      assertTransmits(encoder, decoder, text(length), 131);
+    }
+  }
+
+  @Test
+  public void transmitZlibWithoutContextTakeover() {
+    final WsEncoder encoder = WsDeflateCodec.zlib().encoderUnmasked(9, true, 15);
+    for (int length : new int[] {0, 126, 16384}) {
+      assertTransmits(encoder, WsDeflateCodec.zlib().decoder(15), text(length), 4096);
+      assertTransmits(encoder, WsDeflateCodec.standard().decoder(15), text(length), 4096);
+    }
+  }
+
+  @Test
+  public void transmitZlibWithSmallWindow() {
+    final WsEncoder encoder = WsDeflateCodec.zlib().encoderMasked(6, false, 9);
+    final WsDecoder decoder = WsDeflateCodec.zlib().decoder(9);
+    for (int length : new int[] {1, 4096, 65536}) {
+      assertTransmits(encoder, decoder, text(length), 4096);
+    }
+  }
+
+  @Test
+  public void transmitZlibThroughDirectBuffers() {
+    final WsEncoder encoder = WsDeflateCodec.zlib().encoderMasked(6, false, 15);
+    final WsDecoder decoder = WsDeflateCodec.zlib().decoder(15);
+    for (int length : new int[] {0, 1, 125, 126, 4096, 65536}) {
+      assertTransmitsDirect(encoder, decoder, text(length), 4096);
+      assertTransmitsDirect(encoder, decoder, text(length), 131);
+    }
+  }
+
+}
@@ -0,0 +1,42 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+import java.util.zip.Deflater;
+
+final class WsZlibEncoderMaskedSpec extends WsZlibEncoder {
+
+  final byte[] maskingKey;
+
+  WsZlibEncoderMaskedSpec(byte[] maskingKey, Deflater deflater, int flush) {
+    super(deflater, flush);
+    this.maskingKey = maskingKey;
+  }
+
+  WsZlibEncoderMaskedSpec(byte[] maskingKey) {
+    this(maskingKey, new Deflater(Deflater.DEFAULT_COMPRESSION, true), Deflater.SYNC_FLUSH);
+  }
+
+  @Override
+  public boolean isMasked() {
+    return true;
+  }
+
+  @Override
+  public void maskingKey(byte[] maskingKey) {
+    System.arraycopy(this.maskingKey, 0, maskingKey, 0, 4);
+  }
+
+}
@@ -23,6 +23,7 @@ import swim.api.warp.WarpLane;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
+import swim.api.warp.function.DidSync;
 import swim.api.warp.function.DidUplink;
 import swim.api.warp.function.WillCommand;
 import swim.api.warp.function.WillEnter;
@@ -36,6 +37,7 @@ import swim.observable.function.WillClear;
 import swim.observable.function.WillRemoveKey;
 import swim.observable.function.WillUpdateKey;
 import swim.structure.Form;
+import swim.uri.Uri;
 
 public interface JoinMapLane<L, K, V> extends WarpLane, Iterable<Map.Entry<K, V>>, ObservableMap<K, V> {
 
@@ -75,6 +77,8 @@ public interface JoinMapLane<L, K, V> extends WarpLane, Iterable<Map.Entry<K, V>
 
   JoinMapLane<L, K, V> didDownlink(DidDownlinkMap<L> didDownlink);
 
+  JoinMapLane<L, K, V> didSync(DidSync didSync);
+
   @Override
   JoinMapLane<L, K, V> willUpdate(WillUpdateKey<K, V> willUpdate);
 
@@ -119,6 +123,8 @@ public interface JoinMapLane<L, K, V> extends WarpLane, Iterable<Map.Entry<K, V>
 
   MapDownlink<K, V> downlink(L key);
 
+  JoinMapLane<L, K, V> downlinkAll(Uri hostUri, Uri laneUri, Map<? extends L, ? extends Uri> nodeUris);
+
   MapDownlink<?, ?> getDownlink(Object key);
 
   Iterator<K> keyIterator();
@@ -23,6 +23,7 @@ import swim.api.warp.WarpLane;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
+import swim.api.warp.function.DidSync;
 import swim.api.warp.function.DidUplink;
 import swim.api.warp.function.WillCommand;
 import swim.api.warp.function.WillEnter;
@@ -36,6 +37,7 @@ import swim.observable.function.WillClear;
 import swim.observable.function.WillRemoveKey;
 import swim.observable.function.WillUpdateKey;
 import swim.structure.Form;
+import swim.uri.Uri;
 
 public interface JoinValueLane<K, V> extends WarpLane, Iterable<Map.Entry<K, V>>, ObservableMap<K, V> {
 
@@ -69,6 +71,8 @@ public interface JoinValueLane<K, V> extends WarpLane, Iterable<Map.Entry<K, V>>
 
   JoinValueLane<K, V> didDownlink(DidDownlinkValue<K> didDownlink);
 
+  JoinValueLane<K, V> didSync(DidSync didSync);
+
   @Override
   JoinValueLane<K, V> willUpdate(WillUpdateKey<K, V> willUpdate);
 
@@ -113,6 +117,8 @@ public interface JoinValueLane<K, V> extends WarpLane, Iterable<Map.Entry<K, V>>
 
   ValueDownlink<V> downlink(K key);
 
+  JoinValueLane<K, V> downlinkAll(Uri hostUri, Uri laneUri, Map<? extends K, ? extends Uri> nodeUris);
+
   ValueDownlink<?> getDownlink(Object key);
 
   Iterator<K> keyIterator();
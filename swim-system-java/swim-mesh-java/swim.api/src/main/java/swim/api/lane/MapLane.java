@@ -14,7 +14,9 @@
 
 package swim.api.lane;
 
+import java.util.Collection;
 import java.util.Map;
+import swim.api.lane.function.DidUpdateBatch;
 import swim.api.warp.WarpLane;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
@@ -99,6 +101,8 @@ public interface MapLane<K, V> extends WarpLane, ObservableOrderedMap<K, V>, Map
   @Override
   MapLane<K, V> didClear(DidClear didClear);
 
+  MapLane<K, V> didUpdateBatch(DidUpdateBatch<K> didUpdateBatch);
+
   @Override
   MapLane<K, V> willCommand(WillCommand willCommand);
 
@@ -123,6 +127,8 @@ public interface MapLane<K, V> extends WarpLane, ObservableOrderedMap<K, V>, Map
   @Override
   MapLane<K, V> didLeave(DidLeave didLeave);
 
+  void removeAll(Collection<? extends K> keys);
+
   OrderedMap<K, V> snapshot();
 
   @Override
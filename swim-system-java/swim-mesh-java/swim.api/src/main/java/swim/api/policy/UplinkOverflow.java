@@ -0,0 +1,42 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.api.policy;
+
+/**
+ * Action an uplink takes when an event would exceed its {@link
+ * UplinkPolicy#downQueueLimit() downQueueLimit}.  Structural map events,
+ * such as {@code @remove}, {@code @clear}, {@code @drop}, and {@code @take},
+ * are never dropped by {@link #DROP_OLDEST} or {@link #CONFLATE}.
+ */
+public enum UplinkOverflow {
+
+  /**
+   * Drop the oldest queued event to make room for the new event.
+   */
+  DROP_OLDEST,
+
+  /**
+   * Drop the oldest queued event with the same key as the new event, falling
+   * back to dropping the oldest queued event if no queued event has the same
+   * key.  An event's key is the {@code key} slot of its header attribute.
+   */
+  CONFLATE,
+
+  /**
+   * Discard all queued events, and close the uplink with an error.
+   */
+  DISCONNECT;
+
+}
@@ -16,4 +16,20 @@ package swim.api.policy;
 
 public interface UplinkPolicy extends Policy {
 
+  /**
+   * Returns the maximum number of events an uplink buffers for delivery to a
+   * slow consumer; non-positive values leave the queue unbounded.
+   */
+  default int downQueueLimit() {
+    return 0;
+  }
+
+  /**
+   * Returns the action an uplink takes when an event would exceed its
+   * {@link #downQueueLimit()}.
+   */
+  default UplinkOverflow downQueueOverflow() {
+    return UplinkOverflow.DROP_OLDEST;
+  }
+
 }
@@ -25,8 +25,11 @@ import swim.concurrent.SideStage;
 import swim.concurrent.Stage;
 import swim.concurrent.StageClock;
 import swim.concurrent.StageDef;
+import swim.concurrent.StageWheelClock;
 import swim.concurrent.Theater;
 import swim.concurrent.TheaterDef;
+import swim.concurrent.WheelClock;
+import swim.concurrent.WheelClockDef;
 import swim.io.IpService;
 import swim.io.IpServiceRef;
 import swim.io.IpSettings;
@@ -224,6 +227,8 @@ public class BootKernel extends KernelProxy implements IpStation {
   public Schedule createSchedule(ScheduleDef scheduleDef, Stage stage) {
     if (scheduleDef instanceof ClockDef) {
       return createClock((ClockDef) scheduleDef, stage);
+    } else if (scheduleDef instanceof WheelClockDef) {
+      return createWheelClock((WheelClockDef) scheduleDef, stage);
     } else {
       return super.createSchedule(scheduleDef, stage);
     }
@@ -237,6 +242,14 @@ public class BootKernel extends KernelProxy implements IpStation {
     }
   }
 
+  public WheelClock createWheelClock(WheelClockDef wheelClockDef, Stage stage) {
+    if (stage != null) {
+      return new StageWheelClock(stage, wheelClockDef);
+    } else {
+      return new WheelClock(wheelClockDef);
+    }
+  }
+
   @Override
   public StageDef defineStage(Item stageConfig) {
     final StageDef stageDef = StageDef.form().cast(stageConfig);
@@ -22,6 +22,7 @@ import java.util.Iterator;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
 import swim.api.Downlink;
 import swim.api.auth.Identity;
 import swim.api.lane.DemandLane;
@@ -52,6 +53,7 @@ import swim.runtime.HostBinding;
 import swim.runtime.HostContext;
 import swim.runtime.HostException;
 import swim.runtime.LaneBinding;
+import swim.runtime.LatencyRecorder;
 import swim.runtime.LinkBinding;
 import swim.runtime.Metric;
 import swim.runtime.NodeBinding;
@@ -64,6 +66,7 @@ import swim.runtime.agent.AgentNode;
 import swim.runtime.profile.HostProfile;
 import swim.runtime.reflect.AgentPulse;
 import swim.runtime.reflect.HostPulse;
+import swim.runtime.reflect.LatencyHistogram;
 import swim.runtime.reflect.WarpDownlinkPulse;
 import swim.runtime.reflect.WarpUplinkPulse;
 import swim.store.StoreBinding;
@@ -111,23 +114,26 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
   volatile int receiveBacklog;
   RemoteHostMessageCont messageCont;
   final HashGenCacheMap<Uri, Uri> resolveCache;
+  RemoteHostRoute[] routes;
 
   volatile int downlinkOpenDelta;
   volatile long downlinkOpenCount;
   volatile int downlinkCloseDelta;
   volatile long downlinkCloseCount;
-  volatile int downlinkEventDelta;
+  final LongAdder downlinkEventDelta;
   volatile long downlinkEventCount;
-  volatile int downlinkCommandDelta;
+  final LongAdder downlinkCommandDelta;
   volatile long downlinkCommandCount;
   volatile int uplinkOpenDelta;
   volatile long uplinkOpenCount;
   volatile int uplinkCloseDelta;
   volatile long uplinkCloseCount;
-  volatile int uplinkEventDelta;
+  final LongAdder uplinkEventDelta;
   volatile long uplinkEventCount;
-  volatile int uplinkCommandDelta;
+  final LongAdder uplinkCommandDelta;
   volatile long uplinkCommandCount;
+  final LatencyRecorder encodeTime;
+  volatile RemoteHostEncodeSample encodeSample;
   volatile long lastReportTime;
   HostPulse pulse;
   AgentNode metaNode;
@@ -139,6 +145,11 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
     this.downlinks = HashTrieMap.empty();
     this.uplinks = HashTrieMap.empty();
     this.resolveCache = new HashGenCacheMap<Uri, Uri>(URI_RESOLUTION_CACHE_SIZE);
+    this.downlinkEventDelta = new LongAdder();
+    this.downlinkCommandDelta = new LongAdder();
+    this.uplinkEventDelta = new LongAdder();
+    this.uplinkCommandDelta = new LongAdder();
+    this.encodeTime = new LatencyRecorder();
   }
 
   public RemoteHost(Uri baseUri) {
@@ -584,6 +595,7 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
 
   @Override
   public void didUpgrade(HttpRequest<?> request, HttpResponse<?> response) {
+    this.routes = null; // link ids are scoped to a single connection
     start();
   }
 
@@ -644,25 +656,23 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
   }
 
   protected void onEventMessage(EventMessage message) {
-    final Uri nodeUri = resolve(message.nodeUri());
+    final RemoteHostRoute route = route(message);
+    final Uri nodeUri = route != null ? route.nodeUri : resolve(message.nodeUri());
     final Uri laneUri = message.laneUri();
 
-    final HashTrieMap<Uri, HashTrieSet<RemoteWarpUplink>> nodeUplinks = this.uplinks.get(nodeUri);
-    if (nodeUplinks != null) {
-      final HashTrieSet<RemoteWarpUplink> laneUplinks = nodeUplinks.get(laneUri);
-      if (laneUplinks != null) {
-        final EventMessage resolvedMessage = message.nodeUri(nodeUri);
-        final Iterator<RemoteWarpUplink> uplinksIterator = laneUplinks.iterator();
-        while (uplinksIterator.hasNext()) {
-          willPushMessage(resolvedMessage);
-          final RemoteWarpUplink uplink = uplinksIterator.next();
-          uplink.queueDown(new Push<Envelope>(Uri.empty(), Uri.empty(), uplink.nodeUri(), uplink.laneUri(),
-                                              uplink.prio(), remoteIdentity(), resolvedMessage, this.messageCont));
-        }
+    final HashTrieSet<RemoteWarpUplink> laneUplinks = laneUplinks(nodeUri, laneUri, route);
+    if (laneUplinks != null) {
+      final EventMessage resolvedMessage = message.nodeUri(nodeUri);
+      final Iterator<RemoteWarpUplink> uplinksIterator = laneUplinks.iterator();
+      while (uplinksIterator.hasNext()) {
+        willPushMessage(resolvedMessage);
+        final RemoteWarpUplink uplink = uplinksIterator.next();
+        uplink.queueDown(new Push<Envelope>(Uri.empty(), Uri.empty(), uplink.nodeUri(), uplink.laneUri(),
+                                            uplink.prio(), remoteIdentity(), resolvedMessage, this.messageCont));
       }
     }
 
-    UPLINK_EVENT_DELTA.incrementAndGet(this);
+    this.uplinkEventDelta.increment();
     didUpdateMetrics();
   }
 
@@ -681,11 +691,11 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
         message = newMessage;
       }
 
-      final Uri nodeUri = resolve(message.nodeUri());
+      final RemoteHostRoute route = route(message);
+      final Uri nodeUri = route != null ? route.nodeUri : resolve(message.nodeUri());
       final Uri laneUri = message.laneUri();
       final CommandMessage resolvedMessage = message.nodeUri(nodeUri);
-      final HashTrieMap<Uri, RemoteWarpDownlink> nodeDownlinks = this.downlinks.get(nodeUri);
-      final RemoteWarpDownlink laneDownlink = nodeDownlinks != null ? nodeDownlinks.get(laneUri) : null;
+      final RemoteWarpDownlink laneDownlink = laneDownlink(nodeUri, laneUri, route);
       if (laneDownlink != null) {
         laneDownlink.queueUp(resolvedMessage);
       } else {
@@ -697,7 +707,7 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
       forbid();
     }
 
-    DOWNLINK_COMMAND_DELTA.incrementAndGet(this);
+    this.downlinkCommandDelta.increment();
     didUpdateMetrics();
   }
 
@@ -747,10 +757,78 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
     } while (true);
   }
 
+  /**
+   * Returns the cached route for the (node, lane) link that addresses the
+   * envelope currently being read, or {@code null} if the envelope was not
+   * addressed by an interned link id.  Link ids are reused once unlinked, so
+   * a cached route is replaced when its URIs no longer match the envelope.  Routes are only touched from the
+   * read path of the current connection.
+   */
+  RemoteHostRoute route(LaneAddressed envelope) {
+    final WarpSocketContext warpSocketContext = this.warpSocketContext;
+    final int linkId = warpSocketContext != null ? warpSocketContext.readLinkId() : -1;
+    if (linkId < 0) {
+      return null;
+    }
+    RemoteHostRoute[] routes = this.routes;
+    if (routes == null || linkId >= routes.length) {
+      final int newLength = Math.max(linkId + 1, routes != null ? routes.length << 1 : 16);
+      final RemoteHostRoute[] newRoutes = new RemoteHostRoute[newLength];
+      if (routes != null) {
+        System.arraycopy(routes, 0, newRoutes, 0, routes.length);
+      }
+      routes = newRoutes;
+      this.routes = routes;
+    }
+    final Uri remoteNodeUri = envelope.nodeUri();
+    final Uri laneUri = envelope.laneUri();
+    RemoteHostRoute route = routes[linkId];
+    if (route == null || route.remoteNodeUri != remoteNodeUri || route.laneUri != laneUri) {
+      // The link id was freed and reassigned, or the envelope was rewritten by policy.
+      route = new RemoteHostRoute(remoteNodeUri, resolve(remoteNodeUri), laneUri);
+      routes[linkId] = route;
+    }
+    return route;
+  }
+
+  HashTrieSet<RemoteWarpUplink> laneUplinks(Uri nodeUri, Uri laneUri, RemoteHostRoute route) {
+    final HashTrieMap<Uri, HashTrieMap<Uri, HashTrieSet<RemoteWarpUplink>>> uplinks = this.uplinks;
+    if (route != null && route.uplinks == uplinks) {
+      return route.laneUplinks;
+    }
+    final HashTrieMap<Uri, HashTrieSet<RemoteWarpUplink>> nodeUplinks = uplinks.get(nodeUri);
+    final HashTrieSet<RemoteWarpUplink> laneUplinks = nodeUplinks != null ? nodeUplinks.get(laneUri) : null;
+    if (route != null) {
+      route.uplinks = uplinks;
+      route.laneUplinks = laneUplinks;
+    }
+    return laneUplinks;
+  }
+
+  RemoteWarpDownlink laneDownlink(Uri nodeUri, Uri laneUri, RemoteHostRoute route) {
+    final HashTrieMap<Uri, HashTrieMap<Uri, RemoteWarpDownlink>> downlinks = this.downlinks;
+    if (route != null && route.downlinks == downlinks) {
+      return route.downlink;
+    }
+    final HashTrieMap<Uri, RemoteWarpDownlink> nodeDownlinks = downlinks.get(nodeUri);
+    final RemoteWarpDownlink downlink = nodeDownlinks != null ? nodeDownlinks.get(laneUri) : null;
+    if (route != null) {
+      route.downlinks = downlinks;
+      route.downlink = downlink;
+    }
+    return downlink;
+  }
+
   protected void routeDownlink(LinkAddressed envelope) {
+    final RemoteHostRoute route = route(envelope);
     final Uri remoteNodeUri = envelope.nodeUri();
-    final Uri nodeUri = resolve(remoteNodeUri);
+    final Uri nodeUri = route != null ? route.nodeUri : resolve(remoteNodeUri);
     final Uri laneUri = envelope.laneUri();
+    final RemoteWarpDownlink routedDownlink = laneDownlink(nodeUri, laneUri, route);
+    if (routedDownlink != null) {
+      routedDownlink.queueUp(envelope.nodeUri(nodeUri));
+      return;
+    }
     final float prio = envelope.prio();
     final float rate = envelope.rate();
     final Value body = envelope.body();
@@ -803,19 +881,17 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
   }
 
   protected void routeUplink(LaneAddressed envelope) {
-    final Uri nodeUri = resolve(envelope.nodeUri());
+    final RemoteHostRoute route = route(envelope);
+    final Uri nodeUri = route != null ? route.nodeUri : resolve(envelope.nodeUri());
     final Uri laneUri = envelope.laneUri();
-    final HashTrieMap<Uri, HashTrieSet<RemoteWarpUplink>> nodeUplinks = this.uplinks.get(nodeUri);
-    if (nodeUplinks != null) {
-      final HashTrieSet<RemoteWarpUplink> laneUplinks = nodeUplinks.get(laneUri);
-      if (laneUplinks != null) {
-        final LaneAddressed resolvedEnvelope = envelope.nodeUri(nodeUri);
-        final Iterator<RemoteWarpUplink> uplinksIterator = laneUplinks.iterator();
-        while (uplinksIterator.hasNext()) {
-          final RemoteWarpUplink uplink = uplinksIterator.next();
-          uplink.queueDown(new Push<Envelope>(Uri.empty(), Uri.empty(), uplink.nodeUri(), uplink.laneUri(),
-                                              uplink.prio(), remoteIdentity(), resolvedEnvelope, null));
-        }
+    final HashTrieSet<RemoteWarpUplink> laneUplinks = laneUplinks(nodeUri, laneUri, route);
+    if (laneUplinks != null) {
+      final LaneAddressed resolvedEnvelope = envelope.nodeUri(nodeUri);
+      final Iterator<RemoteWarpUplink> uplinksIterator = laneUplinks.iterator();
+      while (uplinksIterator.hasNext()) {
+        final RemoteWarpUplink uplink = uplinksIterator.next();
+        uplink.queueDown(new Push<Envelope>(Uri.empty(), Uri.empty(), uplink.nodeUri(), uplink.laneUri(),
+                                            uplink.prio(), remoteIdentity(), resolvedEnvelope, null));
       }
     }
   }
@@ -1012,9 +1088,24 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
     // nop
   }
 
+  /**
+   * Starts timing the encoding of {@code envelope}, unless the encoding of
+   * another envelope is already being timed.  Only one envelope is timed at
+   * a time, so that sampling never contends with the write path.
+   */
+  void willPushEnvelope(Envelope envelope) {
+    if (this.encodeSample == null) {
+      ENCODE_SAMPLE.compareAndSet(this, null, new RemoteHostEncodeSample(envelope, System.nanoTime()));
+    }
+  }
+
   @Override
   public void didWrite(Envelope envelope) {
-    // nop
+    final RemoteHostEncodeSample encodeSample = this.encodeSample;
+    if (encodeSample != null && encodeSample.envelope == envelope
+        && ENCODE_SAMPLE.compareAndSet(this, encodeSample, null)) {
+      this.encodeTime.record(System.nanoTime() - encodeSample.startTime);
+    }
   }
 
   @Override
@@ -1035,6 +1126,7 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
       this.messageCont = null;
     }
     RECEIVE_BACKLOG.set(this, 0);
+    ENCODE_SAMPLE.set(this, null);
 
     Throwable failure = null;
     try {
@@ -1383,10 +1475,10 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
     final long downlinkOpenCount = DOWNLINK_OPEN_COUNT.addAndGet(this, (long) downlinkOpenDelta);
     final int downlinkCloseDelta = DOWNLINK_CLOSE_DELTA.getAndSet(this, 0);
     final long downlinkCloseCount = DOWNLINK_CLOSE_COUNT.addAndGet(this, (long) downlinkCloseDelta);
-    final int downlinkEventDelta = DOWNLINK_EVENT_DELTA.getAndSet(this, 0);
+    final int downlinkEventDelta = (int) this.downlinkEventDelta.sumThenReset();
     final int downlinkEventRate = (int) Math.ceil((1000.0 * (double) downlinkEventDelta) / (double) dt);
     final long downlinkEventCount = DOWNLINK_EVENT_COUNT.addAndGet(this, (long) downlinkEventDelta);
-    final int downlinkCommandDelta = DOWNLINK_COMMAND_DELTA.getAndSet(this, 0);
+    final int downlinkCommandDelta = (int) this.downlinkCommandDelta.sumThenReset();
     final int downlinkCommandRate = (int) Math.ceil((1000.0 * (double) downlinkCommandDelta) / (double) dt);
     final long downlinkCommandCount = DOWNLINK_COMMAND_COUNT.addAndGet(this, (long) downlinkCommandDelta);
 
@@ -1394,10 +1486,10 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
     final long uplinkOpenCount = UPLINK_OPEN_COUNT.addAndGet(this, (long) uplinkOpenDelta);
     final int uplinkCloseDelta = UPLINK_CLOSE_DELTA.getAndSet(this, 0);
     final long uplinkCloseCount = UPLINK_CLOSE_COUNT.addAndGet(this, (long) uplinkCloseDelta);
-    final int uplinkEventDelta = UPLINK_EVENT_DELTA.getAndSet(this, 0);
+    final int uplinkEventDelta = (int) this.uplinkEventDelta.sumThenReset();
     final int uplinkEventRate = (int) Math.ceil((1000.0 * (double) uplinkEventDelta) / (double) dt);
     final long uplinkEventCount = UPLINK_EVENT_COUNT.addAndGet(this, (long) uplinkEventDelta);
-    final int uplinkCommandDelta = UPLINK_COMMAND_DELTA.getAndSet(this, 0);
+    final int uplinkCommandDelta = (int) this.uplinkCommandDelta.sumThenReset();
     final int uplinkCommandRate = (int) Math.ceil((1000.0 * (double) uplinkCommandDelta) / (double) dt);
     final long uplinkCommandCount = UPLINK_COMMAND_COUNT.addAndGet(this, (long) uplinkCommandDelta);
 
@@ -1409,7 +1501,7 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
         downlinkCommandRate, downlinkCommandCount);
     final long uplinkCount = uplinkOpenCount - uplinkCloseCount;
     final WarpUplinkPulse uplinkPulse = new WarpUplinkPulse(uplinkCount, uplinkEventRate, uplinkEventCount,
-        uplinkCommandRate, uplinkCommandCount);
+        uplinkCommandRate, uplinkCommandCount, LatencyHistogram.empty(), this.encodeTime.collect());
     this.pulse = new HostPulse(nodeCount, agentPulse, downlinkPulse, uplinkPulse);
     final DemandLane<HostPulse> metaPulse = this.metaPulse;
     if (metaPulse != null) {
@@ -1463,12 +1555,8 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
       AtomicIntegerFieldUpdater.newUpdater(RemoteHost.class, "downlinkCloseDelta");
   static final AtomicLongFieldUpdater<RemoteHost> DOWNLINK_CLOSE_COUNT =
       AtomicLongFieldUpdater.newUpdater(RemoteHost.class, "downlinkCloseCount");
-  static final AtomicIntegerFieldUpdater<RemoteHost> DOWNLINK_EVENT_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(RemoteHost.class, "downlinkEventDelta");
   static final AtomicLongFieldUpdater<RemoteHost> DOWNLINK_EVENT_COUNT =
       AtomicLongFieldUpdater.newUpdater(RemoteHost.class, "downlinkEventCount");
-  static final AtomicIntegerFieldUpdater<RemoteHost> DOWNLINK_COMMAND_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(RemoteHost.class, "downlinkCommandDelta");
   static final AtomicLongFieldUpdater<RemoteHost> DOWNLINK_COMMAND_COUNT =
       AtomicLongFieldUpdater.newUpdater(RemoteHost.class, "downlinkCommandCount");
   static final AtomicIntegerFieldUpdater<RemoteHost> UPLINK_OPEN_DELTA =
@@ -1479,14 +1567,12 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
       AtomicIntegerFieldUpdater.newUpdater(RemoteHost.class, "uplinkCloseDelta");
   static final AtomicLongFieldUpdater<RemoteHost> UPLINK_CLOSE_COUNT =
       AtomicLongFieldUpdater.newUpdater(RemoteHost.class, "uplinkCloseCount");
-  static final AtomicIntegerFieldUpdater<RemoteHost> UPLINK_EVENT_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(RemoteHost.class, "uplinkEventDelta");
   static final AtomicLongFieldUpdater<RemoteHost> UPLINK_EVENT_COUNT =
       AtomicLongFieldUpdater.newUpdater(RemoteHost.class, "uplinkEventCount");
-  static final AtomicIntegerFieldUpdater<RemoteHost> UPLINK_COMMAND_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(RemoteHost.class, "uplinkCommandDelta");
   static final AtomicLongFieldUpdater<RemoteHost> UPLINK_COMMAND_COUNT =
       AtomicLongFieldUpdater.newUpdater(RemoteHost.class, "uplinkCommandCount");
+  static final AtomicReferenceFieldUpdater<RemoteHost, RemoteHostEncodeSample> ENCODE_SAMPLE =
+      AtomicReferenceFieldUpdater.newUpdater(RemoteHost.class, RemoteHostEncodeSample.class, "encodeSample");
   static final AtomicLongFieldUpdater<RemoteHost> LAST_REPORT_TIME =
       AtomicLongFieldUpdater.newUpdater(RemoteHost.class, "lastReportTime");
 
@@ -1518,6 +1604,24 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
 
 }
 
+final class RemoteHostRoute {
+
+  final Uri remoteNodeUri;
+  final Uri nodeUri;
+  final Uri laneUri;
+  HashTrieMap<Uri, HashTrieMap<Uri, RemoteWarpDownlink>> downlinks;
+  RemoteWarpDownlink downlink;
+  HashTrieMap<Uri, HashTrieMap<Uri, HashTrieSet<RemoteWarpUplink>>> uplinks;
+  HashTrieSet<RemoteWarpUplink> laneUplinks;
+
+  RemoteHostRoute(Uri remoteNodeUri, Uri nodeUri, Uri laneUri) {
+    this.remoteNodeUri = remoteNodeUri;
+    this.nodeUri = nodeUri;
+    this.laneUri = laneUri;
+  }
+
+}
+
 final class RemoteHostMessageCont implements Cont<Envelope> {
 
   volatile RemoteHost host;
@@ -1544,6 +1648,18 @@ final class RemoteHostMessageCont implements Cont<Envelope> {
 
 }
 
+final class RemoteHostEncodeSample {
+
+  final Envelope envelope;
+  final long startTime;
+
+  RemoteHostEncodeSample(Envelope envelope, long startTime) {
+    this.envelope = envelope;
+    this.startTime = startTime;
+  }
+
+}
+
 final class RemoteHostPull<E extends Envelope> implements PullRequest<E> {
 
   final RemoteHost host;
@@ -1568,12 +1684,13 @@ final class RemoteHostPull<E extends Envelope> implements PullRequest<E> {
     Throwable failure = null;
     final E envelope = this.envelope;
     try {
+      this.host.willPushEnvelope(envelope);
       context.push(this.envelope);
       if (envelope instanceof EventMessage) {
-        RemoteHost.DOWNLINK_EVENT_DELTA.incrementAndGet(this.host);
+        this.host.downlinkEventDelta.increment();
         this.host.didUpdateMetrics();
       } else if (envelope instanceof CommandMessage) {
-        RemoteHost.UPLINK_COMMAND_DELTA.incrementAndGet(this.host);
+        this.host.uplinkCommandDelta.increment();
         this.host.didUpdateMetrics();
       }
     } catch (Throwable cause) {
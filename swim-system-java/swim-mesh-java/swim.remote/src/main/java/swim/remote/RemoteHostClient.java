@@ -43,7 +43,7 @@ import swim.ws.WsRequest;
 public class RemoteHostClient extends RemoteHost {
 
   static final double MAX_RECONNECT_TIMEOUT = 15000.0;
-  static final FingerTrieSeq<String> PROTOCOL_LIST = FingerTrieSeq.of("warp0", "swim-0.0");
+  static final FingerTrieSeq<String> PROTOCOL_LIST = WarpWebSocket.protocols();
   final IpInterface endpoint;
   final WarpSettings warpSettings;
   HttpClient client;
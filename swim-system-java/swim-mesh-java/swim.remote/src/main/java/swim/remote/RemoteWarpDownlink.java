@@ -305,10 +305,11 @@ class RemoteWarpDownlink implements WarpBinding, PullRequest<Envelope> {
         final Envelope remoteEnvelope = ((Envelope) message).nodeUri(this.remoteNodeUri);
         final PullContext<? super Envelope> pullContext = this.pullContext;
         if (pullContext != null) {
+          this.host.willPushEnvelope(remoteEnvelope);
           pullContext.push(remoteEnvelope);
           this.pullContext = null;
           if (remoteEnvelope instanceof EventMessage) {
-            RemoteHost.DOWNLINK_EVENT_DELTA.incrementAndGet(this.host);
+            this.host.downlinkEventDelta.increment();
             this.host.didUpdateMetrics();
           }
         }
@@ -264,11 +264,12 @@ class RemoteWarpUplink implements WarpContext, PullRequest<Envelope> {
       } while (oldStatus != newStatus && !STATUS.compareAndSet(this, oldStatus, newStatus));
       if (oldStatus != newStatus && this.pullContext != null) {
         final Envelope remoteEnvelope = ((Envelope) message).nodeUri(this.remoteNodeUri);
+        this.host.willPushEnvelope(remoteEnvelope);
         this.pullContext.push(remoteEnvelope);
         this.pullContext = null;
         push.bind();
         if (remoteEnvelope instanceof CommandMessage) {
-          RemoteHost.UPLINK_COMMAND_DELTA.incrementAndGet(this.host);
+          this.host.uplinkCommandDelta.increment();
           this.host.didUpdateMetrics();
         }
       }
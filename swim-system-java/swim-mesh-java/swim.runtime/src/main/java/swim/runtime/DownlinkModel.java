@@ -29,6 +29,30 @@ public abstract class DownlinkModel<View extends DownlinkView> extends AbstractD
   }
 
   public void addDownlink(View view) {
+    if (insertDownlink(view)) {
+      openDown();
+    }
+  }
+
+  /**
+   * Adds all {@code views} to this model before opening it, so that every
+   * view observes the link from its first event.
+   */
+  public void addDownlinks(View[] views) {
+    boolean opened = false;
+    for (int i = 0, n = views.length; i < n; i += 1) {
+      opened = insertDownlink(views[i]) || opened;
+    }
+    if (opened) {
+      openDown();
+    }
+  }
+
+  /**
+   * Adds {@code view} to this model, and returns {@code true} if it is the
+   * first view of the model.
+   */
+  boolean insertDownlink(View view) {
     Object oldViews;
     Object newViews;
     do {
@@ -47,9 +71,7 @@ public abstract class DownlinkModel<View extends DownlinkView> extends AbstractD
       }
     } while (!VIEWS.compareAndSet(this, oldViews, newViews));
     didAddDownlink(view);
-    if (oldViews == null) {
-      openDown();
-    }
+    return oldViews == null;
   }
 
   public void removeDownlink(View view) {
@@ -261,6 +261,14 @@ public abstract class LaneModel<View extends LaneView, U extends AbstractUplinkC
     }
   }
 
+  /**
+   * Returns {@code true} if this lane holds state that isn't persisted to its
+   * store, and which would be lost if the lane were closed.
+   */
+  public boolean hasTransientState() {
+    return false;
+  }
+
   @Override
   public boolean isLinked() {
     return !this.uplinks.isEmpty();
@@ -338,6 +346,13 @@ public abstract class LaneModel<View extends LaneView, U extends AbstractUplinkC
     }
   }
 
+  protected void cueMetaUplink(Value linkKey) {
+    final DemandMapLane<Value, UplinkInfo> metaUplinks = this.metaUplinks;
+    if (metaUplinks != null) {
+      metaUplinks.cue(linkKey);
+    }
+  }
+
   @Override
   public void openMetaLane(LaneBinding lane, NodeBinding metaLane) {
     if (metaLane instanceof AgentNode) {
@@ -0,0 +1,78 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.runtime;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import swim.runtime.reflect.LatencyHistogram;
+
+/**
+ * Lock-free recorder of latency samples that accumulates a {@link
+ * LatencyHistogram} between metric reports.  Concurrent samples of different
+ * magnitudes land in different buckets, and the running sum is striped, so
+ * recording threads rarely contend with one another.
+ */
+public final class LatencyRecorder {
+
+  static final AtomicLongFieldUpdater<LatencyRecorder> MAX =
+      AtomicLongFieldUpdater.newUpdater(LatencyRecorder.class, "max");
+  final AtomicLongArray buckets;
+  final LongAdder sum;
+  volatile long max;
+
+  public LatencyRecorder() {
+    this.buckets = new AtomicLongArray(LatencyHistogram.BUCKET_COUNT);
+    this.sum = new LongAdder();
+  }
+
+  /**
+   * Records a latency sample of {@code nanos} nanoseconds.
+   */
+  public void record(long nanos) {
+    if (nanos < 0L) {
+      nanos = 0L;
+    }
+    this.buckets.incrementAndGet(LatencyHistogram.bucketIndex(nanos));
+    this.sum.add(nanos);
+    do {
+      final long oldMax = this.max;
+      if (nanos <= oldMax || MAX.compareAndSet(this, oldMax, nanos)) {
+        break;
+      }
+    } while (true);
+  }
+
+  /**
+   * Returns a histogram of all samples recorded since the previous call to
+   * {@code collect}, and resets this recorder.
+   */
+  public LatencyHistogram collect() {
+    final long[] buckets = new long[LatencyHistogram.BUCKET_COUNT];
+    boolean defined = false;
+    for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i += 1) {
+      final long bucket = this.buckets.getAndSet(i, 0L);
+      buckets[i] = bucket;
+      defined = defined || bucket != 0L;
+    }
+    final long sum = this.sum.sumThenReset();
+    final long max = MAX.getAndSet(this, 0L);
+    if (!defined) {
+      return LatencyHistogram.empty();
+    }
+    return new LatencyHistogram(buckets, sum, max);
+  }
+
+}
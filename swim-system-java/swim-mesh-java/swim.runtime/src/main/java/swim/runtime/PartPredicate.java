@@ -70,12 +70,22 @@ public abstract class PartPredicate {
     return new HashPartPredicate(lowerBound, upperBound);
   }
 
+  public static PartPredicate ring(int virtualNodes) {
+    return new RingPartPredicate(virtualNodes);
+  }
+
+  public static PartPredicate ring() {
+    return new RingPartPredicate(RingPartPredicate.VIRTUAL_NODES);
+  }
+
   public static PartPredicate fromValue(Value value) {
     final String tag = value.tag();
     if ("node".equals(tag)) {
       return NodePartPredicate.fromValue(value);
     } else if ("hash".equals(tag)) {
       return HashPartPredicate.fromValue(value);
+    } else if ("ring".equals(tag)) {
+      return RingPartPredicate.fromValue(value);
     } else if (value instanceof OrOperator) {
       final PartPredicate lhs = fromValue(((OrOperator) value).operand1().toValue());
       final PartPredicate rhs = fromValue(((OrOperator) value).operand2().toValue());
@@ -100,6 +110,15 @@ public abstract class PartPredicate {
     return test(nodeUri, nodeUri.hashCode());
   }
 
+  /**
+   * Returns the number of virtual nodes a part with this predicate claims on
+   * its mesh's consistent hash ring, or {@code 0} if the part doesn't join
+   * the ring.
+   */
+  public int virtualNodes() {
+    return 0;
+  }
+
   public PartPredicate or(PartPredicate that) {
     return new OrPartPredicate(this, that);
   }
@@ -454,3 +473,66 @@ final class HashPartPredicate extends PartPredicate {
   }
 
 }
+
+final class RingPartPredicate extends PartPredicate {
+
+  static final int VIRTUAL_NODES = 64;
+
+  private static int hashSeed;
+  final int virtualNodes;
+
+  RingPartPredicate(int virtualNodes) {
+    this.virtualNodes = virtualNodes;
+  }
+
+  public static RingPartPredicate fromValue(Value value) {
+    final Value header = value.getAttr("ring");
+    final int virtualNodes = header.intValue(VIRTUAL_NODES);
+    return new RingPartPredicate(virtualNodes);
+  }
+
+  /**
+   * Ring parts don't match nodes by predicate; the mesh routes nodes to
+   * ring parts by consulting its consistent hash ring.
+   */
+  @Override
+  public boolean test(Uri nodeUri, int nodeHash) {
+    return false;
+  }
+
+  @Override
+  public int virtualNodes() {
+    return this.virtualNodes;
+  }
+
+  @Override
+  public Value toValue() {
+    return Record.create(1).attr("ring", this.virtualNodes);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    } else if (other instanceof RingPartPredicate) {
+      final RingPartPredicate that = (RingPartPredicate) other;
+      return this.virtualNodes == that.virtualNodes;
+    } else {
+      return false;
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    if (hashSeed == 0) {
+      hashSeed = Murmur3.seed(RingPartPredicate.class);
+    }
+    return Murmur3.mash(Murmur3.mix(hashSeed, this.virtualNodes));
+  }
+
+  @Override
+  public String toString() {
+    return "PartPredicate" + '.' + "ring" + '(' + this.virtualNodes + ')';
+  }
+
+}
@@ -99,6 +99,11 @@ public class Push<M> {
     return this.cont;
   }
 
+  public Push<M> cont(Cont<M> cont) {
+    return copy(this.meshUri, this.hostUri, this.nodeUri, this.laneUri,
+                this.prio, this.identity, this.message, cont);
+  }
+
   protected <M> Push<M> copy(Uri meshUri, Uri hostUri, Uri nodeUri, Uri laneUri, float prio,
                              Identity identity, M message, Cont<M> cont) {
     return new Push<M>(meshUri, hostUri, nodeUri, laneUri, prio, identity, message, cont);
@@ -96,4 +96,14 @@ public final class UplinkError {
     }
   }
 
+  public static void rejectOverflow(LinkBinding link) {
+    if (link instanceof WarpBinding) {
+      rejectWarp((WarpBinding) link, Record.create(1).attr("overflow"));
+    } else if (link instanceof HttpBinding) {
+      rejectHttp((HttpBinding) link);
+    } else {
+      throw new AssertionError();
+    }
+  }
+
 }
@@ -0,0 +1,253 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package swim.runtime.agent;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Multi-producer, single-consumer mailbox of commands awaiting execution by
+ * an {@link AgentNode}.  Commands are enqueued into a ring of sequenced
+ * slots, which performs no allocation in the steady state.  The ring is
+ * allocated lazily, on the first enqueued command, with a small capacity,
+ * so that idle agents stay cheap.  If the ring fills up, commands spill into
+ * an unbounded overflow queue, so that producers never block; once commands
+ * have spilled, subsequent commands also spill until the overflow queue
+ * drains, preserving the order of commands enqueued by any one thread.  When
+ * the consumer finds a ring that has overflowed empty, it replaces the ring
+ * with one of twice the capacity, up to the maximum mailbox capacity.
+ */
+final class AgentMailbox {
+
+  static final AtomicReferenceFieldUpdater<AgentMailbox, AgentMailboxRing> RING =
+      AtomicReferenceFieldUpdater.newUpdater(AgentMailbox.class, AgentMailboxRing.class, "ring");
+  static final AtomicIntegerFieldUpdater<AgentMailbox> OVERFLOW_SIZE =
+      AtomicIntegerFieldUpdater.newUpdater(AgentMailbox.class, "overflowSize");
+
+  /**
+   * Maximum number of commands the ring can grow to hold.
+   */
+  final int capacity;
+  /**
+   * Ring of enqueued commands; {@code null} until the first command is
+   * enqueued.
+   */
+  volatile AgentMailboxRing ring;
+  /**
+   * Queue of commands enqueued while the ring was full.
+   */
+  final ConcurrentLinkedQueue<AgentMailboxEntry> overflow;
+  volatile int overflowSize;
+  /**
+   * Total nanoseconds spent in the mailbox by polled commands, accumulated by
+   * the consumer between calls to {@link #takeWaitTime()}.
+   */
+  long waitTime;
+
+  AgentMailbox(int capacity) {
+    this.capacity = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+    this.overflow = new ConcurrentLinkedQueue<AgentMailboxEntry>();
+  }
+
+  /**
+   * Returns the number of commands the ring can currently hold without
+   * spilling into the overflow queue.
+   */
+  int capacity() {
+    final AgentMailboxRing ring = this.ring;
+    return ring != null ? ring.commands.length : 0;
+  }
+
+  int size() {
+    final AgentMailboxRing ring = this.ring;
+    return (ring != null ? ring.size() : 0) + this.overflowSize;
+  }
+
+  boolean isEmpty() {
+    return size() == 0;
+  }
+
+  void add(Runnable command) {
+    final long enqueueTime = System.nanoTime();
+    if (this.overflowSize == 0) {
+      AgentMailboxRing ring = this.ring;
+      if (ring == null) {
+        ring = new AgentMailboxRing(Math.min(INITIAL_CAPACITY, this.capacity));
+        if (!RING.compareAndSet(this, null, ring)) {
+          ring = this.ring;
+        }
+      }
+      if (ring.offer(command, enqueueTime)) {
+        return;
+      }
+    }
+    OVERFLOW_SIZE.incrementAndGet(this);
+    this.overflow.add(new AgentMailboxEntry(command, enqueueTime));
+  }
+
+  Runnable poll() {
+    final AgentMailboxRing ring = this.ring;
+    if (ring != null) {
+      final long head = ring.head;
+      final int index = (int) head & ring.mask;
+      if (ring.sequences.get(index) == head + 1L) {
+        final Runnable command = ring.commands[index];
+        ring.commands[index] = null;
+        this.waitTime += System.nanoTime() - ring.enqueueTimes[index];
+        ring.sequences.lazySet(index, head + (long) ring.commands.length);
+        ring.head = head + 1L;
+        return command;
+      } else if (ring.tail != head) {
+        // The next ring slot has been claimed, but not yet filled; its producer
+        // will re-cue the consumer after filling it.  Overflowed commands must
+        // not overtake ring commands, so wait for the slot to be filled.
+        return null;
+      } else if (ring.overflowed != 0 && ring.commands.length < this.capacity && ring.close(head)) {
+        // The empty ring overflowed and has been closed to producers, so it
+        // can be replaced by a larger ring.  Producers spill until the
+        // overflow queue drains, so no command can overtake the overflow.
+        this.ring = new AgentMailboxRing(Math.min(ring.commands.length << 1, this.capacity));
+      }
+    }
+    final AgentMailboxEntry entry = this.overflow.poll();
+    if (entry != null) {
+      OVERFLOW_SIZE.decrementAndGet(this);
+      this.waitTime += System.nanoTime() - entry.enqueueTime;
+      return entry.command;
+    }
+    return null;
+  }
+
+  /**
+   * Returns the total nanoseconds that commands polled since the last call
+   * spent in the mailbox, and resets the total; must only be called by the
+   * consumer.
+   */
+  long takeWaitTime() {
+    final long waitTime = this.waitTime;
+    this.waitTime = 0L;
+    return waitTime;
+  }
+
+  /**
+   * Capacity of the ring allocated for the first enqueued command.
+   */
+  static final int INITIAL_CAPACITY = 16;
+
+}
+
+final class AgentMailboxRing {
+
+  static final AtomicLongFieldUpdater<AgentMailboxRing> TAIL =
+      AtomicLongFieldUpdater.newUpdater(AgentMailboxRing.class, "tail");
+  static final AtomicIntegerFieldUpdater<AgentMailboxRing> OVERFLOWED =
+      AtomicIntegerFieldUpdater.newUpdater(AgentMailboxRing.class, "overflowed");
+
+  /**
+   * Enqueued commands, indexed by sequence number modulo capacity.
+   */
+  final Runnable[] commands;
+  /**
+   * {@code System.nanoTime()} at which each slot's command was enqueued.
+   */
+  final long[] enqueueTimes;
+  /**
+   * Per-slot sequence numbers, used to hand off slots between producers and
+   * the consumer.
+   */
+  final AtomicLongArray sequences;
+  final int mask;
+  /**
+   * Sequence number of the next slot to fill, or {@code -1} once the ring has
+   * been closed to producers.
+   */
+  volatile long tail;
+  /**
+   * Sequence number of the next slot to drain; written only by the consumer.
+   */
+  volatile long head;
+  /**
+   * Non-zero once a producer has found this ring full.
+   */
+  volatile int overflowed;
+
+  AgentMailboxRing(int capacity) {
+    this.commands = new Runnable[capacity];
+    this.enqueueTimes = new long[capacity];
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i += 1) {
+      this.sequences.set(i, (long) i);
+    }
+    this.mask = capacity - 1;
+  }
+
+  int size() {
+    final long size = this.tail - this.head;
+    return (int) Math.max(0L, Math.min(size, (long) this.commands.length));
+  }
+
+  /**
+   * Fills the next free slot with {@code command}, returning {@code false}
+   * if the ring is full or closed.
+   */
+  boolean offer(Runnable command, long enqueueTime) {
+    do {
+      final long tail = this.tail;
+      if (tail < 0L) {
+        return false; // ring closed
+      }
+      final int index = (int) tail & this.mask;
+      final long delta = this.sequences.get(index) - tail;
+      if (delta == 0L) {
+        if (TAIL.compareAndSet(this, tail, tail + 1L)) {
+          this.commands[index] = command;
+          this.enqueueTimes[index] = enqueueTime;
+          this.sequences.lazySet(index, tail + 1L);
+          return true;
+        }
+      } else if (delta < 0L) {
+        if (this.overflowed == 0) {
+          OVERFLOWED.compareAndSet(this, 0, 1);
+        }
+        return false; // ring full
+      }
+    } while (true);
+  }
+
+  /**
+   * Closes the ring to producers, if it is still empty at sequence number
+   * {@code head}; must only be called by the consumer.
+   */
+  boolean close(long head) {
+    return TAIL.compareAndSet(this, head, -1L);
+  }
+
+}
+
+final class AgentMailboxEntry {
+
+  final Runnable command;
+  final long enqueueTime;
+
+  AgentMailboxEntry(Runnable command, long enqueueTime) {
+    this.command = command;
+    this.enqueueTime = enqueueTime;
+  }
+
+}
@@ -112,6 +112,10 @@ public class AgentModel extends AgentNode {
       AtomicIntegerFieldUpdater.newUpdater(AgentModel.class, "uplinkCommandRate");
   static final AtomicLongFieldUpdater<AgentModel> UPLINK_COMMAND_COUNT =
       AtomicLongFieldUpdater.newUpdater(AgentModel.class, "uplinkCommandCount");
+  static final AtomicIntegerFieldUpdater<AgentModel> MAILBOX_COMMAND_DELTA =
+      AtomicIntegerFieldUpdater.newUpdater(AgentModel.class, "mailboxCommandDelta");
+  static final AtomicLongFieldUpdater<AgentModel> MAILBOX_WAIT_DELTA =
+      AtomicLongFieldUpdater.newUpdater(AgentModel.class, "mailboxWaitDelta");
   static final AtomicLongFieldUpdater<AgentModel> LAST_REPORT_TIME =
       AtomicLongFieldUpdater.newUpdater(AgentModel.class, "lastReportTime");
   protected final Value props;
@@ -145,6 +149,8 @@ public class AgentModel extends AgentNode {
   volatile int uplinkCommandDelta;
   volatile int uplinkCommandRate;
   volatile long uplinkCommandCount;
+  volatile int mailboxCommandDelta;
+  volatile long mailboxWaitDelta;
   volatile long lastReportTime;
   NodePulse pulse;
   AgentNode metaNode;
@@ -669,6 +675,13 @@ public class AgentModel extends AgentNode {
     didUpdateMetrics();
   }
 
+  @Override
+  protected void didDrainMailbox(int commandCount, long waitTime) {
+    MAILBOX_COMMAND_DELTA.addAndGet(this, commandCount);
+    MAILBOX_WAIT_DELTA.addAndGet(this, waitTime);
+    didUpdateMetrics();
+  }
+
   protected void accumulateWarpLaneProfile(WarpLaneProfile profile) {
     AGENT_EXEC_DELTA.addAndGet(this, profile.execDelta());
     AGENT_EXEC_RATE.addAndGet(this, profile.execRate());
@@ -778,8 +791,14 @@ public class AgentModel extends AgentNode {
     final int uplinkCommandRate = UPLINK_COMMAND_RATE.getAndSet(this, 0);
     final long uplinkCommandCount = UPLINK_COMMAND_COUNT.addAndGet(this, (long) uplinkCommandDelta);
 
+    final int mailboxCommandDelta = MAILBOX_COMMAND_DELTA.getAndSet(this, 0);
+    final long mailboxWaitDelta = MAILBOX_WAIT_DELTA.getAndSet(this, 0L);
+    final long mailboxSize = (long) this.mailbox.size();
+    final long mailboxWait = mailboxCommandDelta != 0 ? mailboxWaitDelta / (1000L * (long) mailboxCommandDelta) : 0L;
+
     final long agentCount = agentOpenCount - agentCloseCount;
-    final AgentPulse agentPulse = new AgentPulse(agentCount, agentExecRate, agentExecTime, timerEventRate, timerEventCount);
+    final AgentPulse agentPulse = new AgentPulse(agentCount, agentExecRate, agentExecTime, timerEventRate, timerEventCount,
+                                                 mailboxSize, mailboxWait);
     final long downlinkCount = downlinkOpenCount - downlinkCloseCount;
     final WarpDownlinkPulse downlinkPulse = new WarpDownlinkPulse(downlinkCount, downlinkEventRate, downlinkEventCount,
         downlinkCommandRate, downlinkCommandCount);
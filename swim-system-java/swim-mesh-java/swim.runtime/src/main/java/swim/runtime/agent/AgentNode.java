@@ -15,7 +15,7 @@
 package swim.runtime.agent;
 
 import java.util.Iterator;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.api.Downlink;
 import swim.api.Lane;
@@ -39,6 +39,7 @@ import swim.api.policy.Policy;
 import swim.api.ws.WsLane;
 import swim.collections.FingerTrieSeq;
 import swim.collections.HashTrieMap;
+import swim.collections.HashTrieSet;
 import swim.concurrent.Call;
 import swim.concurrent.Cont;
 import swim.concurrent.Conts;
@@ -58,6 +59,7 @@ import swim.runtime.HostBinding;
 import swim.runtime.LaneAddress;
 import swim.runtime.LaneBinding;
 import swim.runtime.LaneContext;
+import swim.runtime.LaneModel;
 import swim.runtime.LaneView;
 import swim.runtime.LinkBinding;
 import swim.runtime.Metric;
@@ -88,19 +90,81 @@ import swim.uri.Uri;
 public class AgentNode extends AbstractTierBinding implements NodeBinding, CellContext, LaneFactory, Schedule, Stage, Task {
 
   static final Uri LANES_URI = Uri.parse("lanes");
+  /**
+   * Maximum number of commands the mailbox ring of each agent can grow to
+   * hold before commands spill into an allocating overflow queue.
+   */
+  static final int MAILBOX_CAPACITY;
+  /**
+   * Maximum number of mailbox commands an agent executes per activation
+   * before yielding its stage thread to other agents.
+   */
+  static final int DRAIN_COMMANDS;
+  /**
+   * Maximum number of nanoseconds an agent spends executing mailbox commands
+   * per activation before yielding its stage thread to other agents.
+   */
+  static final long DRAIN_NANOS;
   @SuppressWarnings("unchecked")
   static final AtomicReferenceFieldUpdater<AgentNode, HashTrieMap<Uri, LaneBinding>> LANES =
       AtomicReferenceFieldUpdater.newUpdater(AgentNode.class, (Class<HashTrieMap<Uri, LaneBinding>>) (Class<?>) HashTrieMap.class, "lanes");
-  final ConcurrentLinkedQueue<Runnable> mailbox;
+  @SuppressWarnings("unchecked")
+  static final AtomicReferenceFieldUpdater<AgentNode, HashTrieSet<LinkBinding>> DOWNLINKS =
+      AtomicReferenceFieldUpdater.newUpdater(AgentNode.class, (Class<HashTrieSet<LinkBinding>>) (Class<?>) HashTrieSet.class, "downlinks");
+  static final AtomicIntegerFieldUpdater<AgentNode> TIMER_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(AgentNode.class, "timerCount");
+  static final AtomicIntegerFieldUpdater<AgentNode> ROUTE_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(AgentNode.class, "routeCount");
+
+  static {
+    // Initializes the maximum number of commands each agent mailbox can hold.
+    int mailboxCapacity;
+    try {
+      mailboxCapacity = Integer.parseInt(System.getProperty("swim.agent.mailbox.capacity"));
+    } catch (NumberFormatException e) {
+      mailboxCapacity = 1024;
+    }
+    MAILBOX_CAPACITY = mailboxCapacity;
+
+    // Initializes the maximum number of commands to execute per activation.
+    int drainCommands;
+    try {
+      drainCommands = Integer.parseInt(System.getProperty("swim.agent.drain.commands"));
+    } catch (NumberFormatException e) {
+      drainCommands = 256;
+    }
+    DRAIN_COMMANDS = drainCommands;
+
+    // Initializes the maximum number of microseconds to execute per activation.
+    long drainMicros;
+    try {
+      drainMicros = Long.parseLong(System.getProperty("swim.agent.drain.micros"));
+    } catch (NumberFormatException e) {
+      drainMicros = 2000L;
+    }
+    DRAIN_NANOS = drainMicros * 1000L;
+  }
+
+  final AgentMailbox mailbox;
   final long createdTime;
   protected NodeContext nodeContext;
   protected TaskContext taskContext;
   volatile HashTrieMap<Uri, LaneBinding> lanes;
+  volatile HashTrieSet<LinkBinding> downlinks;
+  volatile int timerCount;
+  /**
+   * Number of links and commands currently being routed to this agent, or
+   * {@code -1} once the agent has begun passivating.
+   */
+  volatile int routeCount;
+  volatile long lastActiveTime;
 
   public AgentNode() {
     this.lanes = HashTrieMap.empty();
-    this.mailbox = new ConcurrentLinkedQueue<Runnable>();
+    this.downlinks = HashTrieSet.empty();
+    this.mailbox = new AgentMailbox(MAILBOX_CAPACITY);
     this.createdTime = System.currentTimeMillis();
+    this.lastActiveTime = this.createdTime;
   }
 
   protected static Uri normalizezLaneUri(Uri laneUri) {
@@ -500,11 +564,24 @@ public class AgentNode extends AbstractTierBinding implements NodeBinding, CellC
   public void openDownlink(LinkBinding link) {
     this.nodeContext.openDownlink(link);
     link.setCellContext(this);
+    do {
+      final HashTrieSet<LinkBinding> oldDownlinks = this.downlinks;
+      final HashTrieSet<LinkBinding> newDownlinks = oldDownlinks.added(link);
+      if (oldDownlinks == newDownlinks || DOWNLINKS.compareAndSet(this, oldDownlinks, newDownlinks)) {
+        break;
+      }
+    } while (true);
   }
 
   @Override
   public void closeDownlink(LinkBinding link) {
-    // nop
+    do {
+      final HashTrieSet<LinkBinding> oldDownlinks = this.downlinks;
+      final HashTrieSet<LinkBinding> newDownlinks = oldDownlinks.removed(link);
+      if (oldDownlinks == newDownlinks || DOWNLINKS.compareAndSet(this, oldDownlinks, newDownlinks)) {
+        break;
+      }
+    } while (true);
   }
 
   @Override
@@ -690,11 +767,28 @@ public class AgentNode extends AbstractTierBinding implements NodeBinding, CellC
     return false;
   }
 
+  /**
+   * Returns the number of commands waiting in this agent's mailbox.
+   */
+  public int mailboxSize() {
+    return this.mailbox.size();
+  }
+
+  /**
+   * Executes mailbox commands until the mailbox is empty, or until the drain
+   * budget of {@code swim.agent.drain.commands} commands or {@code
+   * swim.agent.drain.micros} microseconds is exhausted, in which case the
+   * task re-cues itself behind other waiting tasks.
+   */
   @Override
   public void runTask() {
+    final AgentMailbox mailbox = this.mailbox;
+    final long t0 = System.nanoTime();
+    int commandCount = 0;
     do {
-      final Runnable command = this.mailbox.poll();
+      final Runnable command = mailbox.poll();
       if (command != null) {
+        commandCount += 1;
         try {
           command.run();
         } catch (Throwable error) {
@@ -704,10 +798,110 @@ public class AgentNode extends AbstractTierBinding implements NodeBinding, CellC
             throw error;
           }
         }
+        if (commandCount >= DRAIN_COMMANDS || System.nanoTime() - t0 >= DRAIN_NANOS) {
+          if (!mailbox.isEmpty()) {
+            this.taskContext.cue();
+          }
+          break;
+        }
       } else {
         break;
       }
     } while (true);
+    if (commandCount > 0) {
+      this.lastActiveTime = System.currentTimeMillis();
+      didDrainMailbox(commandCount, mailbox.takeWaitTime());
+    }
+  }
+
+  /**
+   * Returns the time, in milliseconds since the epoch, at which this agent
+   * last executed a command, or was created, if it has never executed one.
+   */
+  public long lastActiveTime() {
+    return this.lastActiveTime;
+  }
+
+  /**
+   * Returns {@code true} if this agent has no linked lanes, no transient
+   * lanes holding state, no open downlinks, no scheduled timers, and no
+   * pending commands, such that it can be closed without losing any state
+   * not held by its store.
+   */
+  public boolean isQuiescent() {
+    if (!this.mailbox.isEmpty() || this.timerCount != 0 || !this.downlinks.isEmpty()) {
+      return false;
+    }
+    final Iterator<LaneBinding> lanesIterator = this.lanes.valueIterator();
+    while (lanesIterator.hasNext()) {
+      final LaneBinding lane = lanesIterator.next();
+      if (lane.isLinked()) {
+        return false;
+      }
+      final LaneModel<?, ?> laneModel = lane.unwrapLane(LaneModel.class);
+      if (laneModel != null && laneModel.hasTransientState()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Registers a link or command about to be routed to this agent.  Returns
+   * {@code false} if the agent has begun passivating, in which case the
+   * router must retry against the node that replaces it; otherwise the router
+   * must call {@link #didRoute()} once the link or command has been routed.
+   */
+  public boolean willRoute() {
+    do {
+      final int oldRouteCount = this.routeCount;
+      if (oldRouteCount < 0) {
+        return false;
+      } else if (ROUTE_COUNT.compareAndSet(this, oldRouteCount, oldRouteCount + 1)) {
+        return true;
+      }
+    } while (true);
+  }
+
+  /**
+   * Completes the routing of a link or command registered by {@link
+   * #willRoute()}.
+   */
+  public void didRoute() {
+    ROUTE_COUNT.decrementAndGet(this);
+  }
+
+  /**
+   * Returns {@code true} if this agent has begun passivating, and no longer
+   * accepts routed links or commands.
+   */
+  public boolean isPassivating() {
+    return this.routeCount < 0;
+  }
+
+  /**
+   * Begins passivating this agent if no links or commands are being routed
+   * to it, and if it's still quiescent once routing has been shut off.
+   * Returns {@code true} if the agent has begun passivating, in which case
+   * the caller must remove it from its node table, and close it.
+   */
+  public boolean passivate() {
+    if (ROUTE_COUNT.compareAndSet(this, 0, -1)) {
+      if (isQuiescent()) {
+        return true;
+      }
+      this.routeCount = 0;
+    }
+    return false;
+  }
+
+  /**
+   * Lifecycle callback invoked after an activation of this agent executes
+   * {@code commandCount} mailbox commands, which spent a total of {@code
+   * waitTime} nanoseconds waiting in the mailbox.
+   */
+  protected void didDrainMailbox(int commandCount, long waitTime) {
+    // hook
   }
 
   @Override
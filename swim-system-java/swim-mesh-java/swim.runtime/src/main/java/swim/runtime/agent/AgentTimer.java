@@ -14,6 +14,7 @@
 
 package swim.runtime.agent;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import swim.concurrent.Conts;
 import swim.concurrent.Schedule;
 import swim.concurrent.Timer;
@@ -23,9 +24,15 @@ import swim.concurrent.TimerRef;
 
 public class AgentTimer implements Timer, TimerContext, TimerRef, Runnable {
 
+  static final int SCHEDULED = 1 << 0;
+
+  static final AtomicIntegerFieldUpdater<AgentTimer> STATUS =
+      AtomicIntegerFieldUpdater.newUpdater(AgentTimer.class, "status");
+
   protected final AgentNode node;
   protected final TimerFunction timer;
   protected TimerContext timerContext;
+  volatile int status;
 
   public AgentTimer(AgentNode node, TimerFunction timer) {
     this.node = node;
@@ -47,11 +54,15 @@ public class AgentTimer implements Timer, TimerContext, TimerRef, Runnable {
 
   @Override
   public void runTimer() {
+    didUnschedule();
     this.node.execute(this);
   }
 
   @Override
   public void timerWillSchedule(long millis) {
+    if (STATUS.compareAndSet(this, 0, SCHEDULED)) {
+      AgentNode.TIMER_COUNT.incrementAndGet(this.node);
+    }
     if (this.timer instanceof Timer) {
       ((Timer) this.timer).timerWillSchedule(millis);
     }
@@ -59,11 +70,18 @@ public class AgentTimer implements Timer, TimerContext, TimerRef, Runnable {
 
   @Override
   public void timerDidCancel() {
+    didUnschedule();
     if (this.timer instanceof Timer) {
       ((Timer) this.timer).timerDidCancel();
     }
   }
 
+  void didUnschedule() {
+    if (STATUS.compareAndSet(this, SCHEDULED, 0)) {
+      AgentNode.TIMER_COUNT.decrementAndGet(this.node);
+    }
+  }
+
   @Override
   public Schedule schedule() {
     return this.node;
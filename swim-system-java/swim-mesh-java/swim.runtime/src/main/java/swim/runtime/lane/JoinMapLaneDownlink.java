@@ -14,17 +14,27 @@
 
 package swim.runtime.lane;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import swim.api.DownlinkException;
 import swim.concurrent.Stage;
 import swim.runtime.CellContext;
+import swim.runtime.LinkBinding;
+import swim.runtime.downlink.MapDownlinkModel;
 import swim.runtime.downlink.MapDownlinkView;
 import swim.structure.Form;
+import swim.structure.Record;
 import swim.structure.Value;
 import swim.uri.Uri;
+import swim.warp.SyncedResponse;
 
 public class JoinMapLaneDownlink<K, V> extends MapDownlinkView<K, V> {
 
+  @SuppressWarnings("unchecked")
+  static final AtomicIntegerFieldUpdater<JoinMapLaneDownlink<?, ?>> SYNCING =
+      AtomicIntegerFieldUpdater.newUpdater((Class<JoinMapLaneDownlink<?, ?>>) (Class<?>) JoinMapLaneDownlink.class, "syncing");
   protected final JoinMapLaneModel laneModel;
   protected final Value key;
+  volatile int syncing;
 
   public JoinMapLaneDownlink(CellContext cellContext, Stage stage, JoinMapLaneModel laneModel,
                              Value key, Uri meshUri, Uri hostUri, Uri nodeUri, Uri laneUri,
@@ -153,6 +163,16 @@ public class JoinMapLaneDownlink<K, V> extends MapDownlinkView<K, V> {
     //this.laneModel.clear(this);
   }
 
+  @Override
+  public void downlinkDidSync(SyncedResponse response) {
+    this.laneModel.didSyncDownlink(this);
+  }
+
+  @Override
+  public void downlinkDidClose() {
+    this.laneModel.didSyncDownlink(this);
+  }
+
   @Override
   public MapDownlinkView<K, V> open() {
     this.laneModel.downlink(this.key, this);
@@ -163,4 +183,40 @@ public class JoinMapLaneDownlink<K, V> extends MapDownlinkView<K, V> {
     super.open();
   }
 
+  /**
+   * Returns the remote lane this downlink links to, along with the link
+   * parameters; downlinks with equal link keys can share a single link.
+   */
+  Value linkKey() {
+    return Record.create(7)
+        .slot("host", this.hostUri.toString())
+        .slot("node", this.nodeUri.toString())
+        .slot("lane", this.laneUri.toString())
+        .slot("prio", this.prio)
+        .slot("rate", this.rate)
+        .slot("body", this.body)
+        .slot("flags", this.flags);
+  }
+
+  /**
+   * Opens a single link shared by all {@code downlinks}, which must have
+   * equal {@link #linkKey() link keys}.
+   */
+  static void openDownlinks(JoinMapLaneDownlink<?, ?>[] downlinks) {
+    if (downlinks.length == 1) {
+      downlinks[0].openDownlink();
+    } else {
+      final LinkBinding linkBinding = downlinks[0].cellContext.bindDownlink(downlinks[0]);
+      if (linkBinding instanceof MapDownlinkModel) {
+        final MapDownlinkModel model = (MapDownlinkModel) linkBinding;
+        for (int i = 0, n = downlinks.length; i < n; i += 1) {
+          downlinks[i].model = model;
+        }
+        model.addDownlinks(downlinks);
+      } else {
+        throw new DownlinkException("downlink type mismatch");
+      }
+    }
+  }
+
 }
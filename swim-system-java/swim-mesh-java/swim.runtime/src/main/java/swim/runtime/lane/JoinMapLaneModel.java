@@ -14,8 +14,11 @@
 
 package swim.runtime.lane;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.api.LaneException;
 import swim.api.Link;
@@ -46,10 +49,13 @@ public class JoinMapLaneModel extends WarpLaneModel<JoinMapLaneView<?, ?, ?>, Jo
   @SuppressWarnings("unchecked")
   static final AtomicReferenceFieldUpdater<JoinMapLaneModel, HashTrieMap<Value, JoinMapLaneDownlink<?, ?>>> DOWNLINKS =
       AtomicReferenceFieldUpdater.newUpdater(JoinMapLaneModel.class, (Class<HashTrieMap<Value, JoinMapLaneDownlink<?, ?>>>) (Class<?>) HashTrieMap.class, "downlinks");
+  static final AtomicIntegerFieldUpdater<JoinMapLaneModel> SYNCING_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(JoinMapLaneModel.class, "syncingCount");
   protected int flags;
   protected MapData<Value, Value> data;
   protected MapData<Value, Value> linkData;
   protected volatile HashTrieMap<Value, JoinMapLaneDownlink<?, ?>> downlinks;
+  volatile int syncingCount;
 
   JoinMapLaneModel(int flags) {
     this.flags = flags;
@@ -80,14 +86,49 @@ public class JoinMapLaneModel extends WarpLaneModel<JoinMapLaneView<?, ?, ?>, Jo
       final float prio = header.get("prio").floatValue(0.0f);
       final float rate = header.get("rate").floatValue(0.0f);
       final Value body = header.get("body");
-      new JoinMapLaneDownlink<Value, Value>(this.laneContext, stage(), this, key,
+      final JoinMapLaneDownlink<Value, Value> downlink = new JoinMapLaneDownlink<Value, Value>(this.laneContext, stage(), this, key,
           this.laneContext.meshUri(), this.laneContext.hostUri(), nodeUri, laneUri,
-          prio, rate, body, Form.forValue(), Form.forValue()).openDownlink();
+          prio, rate, body, Form.forValue(), Form.forValue());
+      awaitDownlinkSync(downlink);
+      downlink.openDownlink();
     }
   }
 
   protected void downlink(Value key, JoinMapLaneDownlink<?, ?> downlink) {
-    Value value = this.linkData.get(key);
+    final Value value = this.linkData.get(key);
+    final Value newValue = downlinkValue(value, downlink);
+    if (newValue != value) {
+      this.linkData.put(key, newValue);
+    }
+    new JoinMapLaneRelayDownlink(this, key, downlink).run();
+  }
+
+  /**
+   * Joins a batch of downlinks at once: the link headers of all keys get
+   * persisted with a single {@code putAll}, and a single relay dispatches
+   * the downlink callbacks for every key and registers all downlinks with
+   * one update of the downlinks map.
+   */
+  protected void downlinkAll(Value[] keys, JoinMapLaneDownlink<?, ?>[] downlinks) {
+    final HashMap<Value, Value> updates = new HashMap<Value, Value>();
+    for (int i = 0, n = keys.length; i < n; i += 1) {
+      final Value value = this.linkData.get(keys[i]);
+      final Value newValue = downlinkValue(value, downlinks[i]);
+      if (newValue != value) {
+        updates.put(keys[i], newValue);
+      }
+    }
+    if (!updates.isEmpty()) {
+      this.linkData.putAll(updates);
+    }
+    new JoinMapLaneRelayDownlinkAll(this, keys, downlinks).run();
+  }
+
+  /**
+   * Returns {@code value} with its {@code @downlink} header describing
+   * {@code downlink}, or {@code value} itself if the header is up to date.
+   */
+  protected Value downlinkValue(Value value, JoinMapLaneDownlink<?, ?> downlink) {
     Record header = value.headers("downlink");
     if (header == null
         || !header.get("node").coerce(Uri.form()).equals(downlink.nodeUri())
@@ -112,12 +153,12 @@ public class JoinMapLaneModel extends WarpLaneModel<JoinMapLaneView<?, ?, ?>, Jo
       } else {
         value = Attr.of("downlink", header).concat(value);
       }
-      this.linkData.put(key, value);
     }
-    new JoinMapLaneRelayDownlink(this, key, downlink).run();
+    return value;
   }
 
   protected void openDownlink(Value key, JoinMapLaneDownlink<?, ?> downlink) {
+    awaitDownlinkSync(downlink);
     downlink.openDownlink(); // Open before CAS
     HashTrieMap<Value, JoinMapLaneDownlink<?, ?>> oldDownlinks;
     HashTrieMap<Value, JoinMapLaneDownlink<?, ?>> newDownlinks;
@@ -132,6 +173,48 @@ public class JoinMapLaneModel extends WarpLaneModel<JoinMapLaneView<?, ?, ?>, Jo
           oldDownlink.close();
         } catch (Exception swallow) {
         }
+        didSyncDownlink(oldDownlink);
+      }
+    }
+  }
+
+  /**
+   * Opens a batch of downlinks, sharing one link between all downlinks of
+   * the batch that target the same remote lane with the same parameters,
+   * and registers them with a single update of the downlinks map.
+   */
+  protected void openDownlinks(Value[] keys, JoinMapLaneDownlink<?, ?>[] downlinks) {
+    final HashMap<Value, ArrayList<JoinMapLaneDownlink<?, ?>>> links = new HashMap<Value, ArrayList<JoinMapLaneDownlink<?, ?>>>();
+    for (int i = 0, n = downlinks.length; i < n; i += 1) {
+      awaitDownlinkSync(downlinks[i]);
+      final Value linkKey = downlinks[i].linkKey();
+      ArrayList<JoinMapLaneDownlink<?, ?>> peers = links.get(linkKey);
+      if (peers == null) {
+        peers = new ArrayList<JoinMapLaneDownlink<?, ?>>();
+        links.put(linkKey, peers);
+      }
+      peers.add(downlinks[i]);
+    }
+    for (ArrayList<JoinMapLaneDownlink<?, ?>> peers : links.values()) {
+      JoinMapLaneDownlink.openDownlinks(peers.toArray(new JoinMapLaneDownlink<?, ?>[peers.size()])); // Open before CAS
+    }
+    HashTrieMap<Value, JoinMapLaneDownlink<?, ?>> oldDownlinks;
+    HashTrieMap<Value, JoinMapLaneDownlink<?, ?>> newDownlinks;
+    do {
+      oldDownlinks = this.downlinks;
+      newDownlinks = oldDownlinks;
+      for (int i = 0, n = keys.length; i < n; i += 1) {
+        newDownlinks = newDownlinks.updated(keys[i], downlinks[i]);
+      }
+    } while (oldDownlinks != newDownlinks && !DOWNLINKS.compareAndSet(this, oldDownlinks, newDownlinks));
+    for (int i = 0, n = keys.length; i < n; i += 1) {
+      final JoinMapLaneDownlink<?, ?> oldDownlink = oldDownlinks.get(keys[i]);
+      if (oldDownlink != null && oldDownlink != downlinks[i]) {
+        try {
+          oldDownlink.close();
+        } catch (Exception swallow) {
+        }
+        didSyncDownlink(oldDownlink);
       }
     }
   }
@@ -148,6 +231,7 @@ public class JoinMapLaneModel extends WarpLaneModel<JoinMapLaneView<?, ?, ?>, Jo
           downlink.close();
         } catch (Exception swallow) {
         }
+        didSyncDownlink(downlink);
       }
     }
   }
@@ -165,6 +249,34 @@ public class JoinMapLaneModel extends WarpLaneModel<JoinMapLaneView<?, ?, ?>, Jo
         downlink.close();
       } catch (Exception swallow) {
       }
+      didSyncDownlink(downlink);
+    }
+  }
+
+  /**
+   * Returns the number of joined downlinks that have yet to complete their
+   * first sync.
+   */
+  public final int syncingCount() {
+    return this.syncingCount;
+  }
+
+  protected void awaitDownlinkSync(JoinMapLaneDownlink<?, ?> downlink) {
+    if (downlink.keepSynced() && JoinMapLaneDownlink.SYNCING.compareAndSet(downlink, 0, 1)) {
+      SYNCING_COUNT.incrementAndGet(this);
+    }
+  }
+
+  /**
+   * Marks {@code downlink} as no longer holding back the sync of this lane,
+   * either because it synced or because it closed; dispatches {@code didSync}
+   * once every joined downlink has synced.
+   */
+  protected void didSyncDownlink(JoinMapLaneDownlink<?, ?> downlink) {
+    if (JoinMapLaneDownlink.SYNCING.compareAndSet(downlink, 1, 0)) {
+      if (SYNCING_COUNT.decrementAndGet(this) == 0) {
+        new JoinMapLaneRelayDidSync(this).run();
+      }
     }
   }
 
@@ -260,6 +372,11 @@ public class JoinMapLaneModel extends WarpLaneModel<JoinMapLaneView<?, ?, ?>, Jo
     return this;
   }
 
+  @Override
+  public boolean hasTransientState() {
+    return isTransient() && (this.data != null && !this.data.isEmpty() || this.linkData != null && !this.linkData.isEmpty());
+  }
+
   public Value get(Object key) {
     if (key != null) {
       return this.data.get(key);
@@ -777,3 +894,96 @@ final class JoinMapLaneRelayDownlink extends LaneRelay<JoinMapLaneModel, JoinMap
   }
 
 }
+
+final class JoinMapLaneRelayDownlinkAll extends LaneRelay<JoinMapLaneModel, JoinMapLaneView<?, ?, ?>> {
+
+  final Value[] keys;
+  final JoinMapLaneDownlink<Object, Object>[] downlinks;
+  Form<Object> keyForm;
+  Object[] keyObjects;
+
+  @SuppressWarnings("unchecked")
+  JoinMapLaneRelayDownlinkAll(JoinMapLaneModel model, Value[] keys, JoinMapLaneDownlink<?, ?>[] downlinks) {
+    super(model, 2);
+    this.keys = keys;
+    this.downlinks = (JoinMapLaneDownlink<Object, Object>[]) new JoinMapLaneDownlink<?, ?>[downlinks.length];
+    for (int i = 0, n = downlinks.length; i < n; i += 1) {
+      this.downlinks[i] = (JoinMapLaneDownlink<Object, Object>) downlinks[i];
+    }
+  }
+
+  @Override
+  protected void beginPhase(int phase) {
+    if (phase == 1) {
+      this.model.openDownlinks(this.keys, this.downlinks);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  void castKeys(JoinMapLaneView<?, ?, ?> view) {
+    final Form<Object> keyForm = (Form<Object>) view.linkForm;
+    if (this.keyForm != keyForm && keyForm != null) {
+      this.keyForm = keyForm;
+      final Object[] keyObjects = new Object[this.keys.length];
+      for (int i = 0, n = keyObjects.length; i < n; i += 1) {
+        Object keyObject = keyForm.cast(this.keys[i]);
+        if (keyObject == null) {
+          keyObject = keyForm.unit();
+        }
+        keyObjects[i] = keyObject;
+      }
+      this.keyObjects = keyObjects;
+    } else if (this.keyObjects == null) {
+      this.keyObjects = new Object[this.keys.length];
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  protected boolean runPhase(JoinMapLaneView<?, ?, ?> view, int phase, boolean preemptive) {
+    castKeys(view);
+    final JoinMapLaneView<Object, Object, Object> objectView = (JoinMapLaneView<Object, Object, Object>) view;
+    boolean complete = true;
+    if (phase == 0) {
+      for (int i = 0, n = this.keys.length; i < n; i += 1) {
+        if (preemptive) {
+          this.downlinks[i] = (JoinMapLaneDownlink<Object, Object>) objectView.laneWillDownlink(this.keyObjects[i], this.downlinks[i]);
+        }
+        final Map.Entry<Boolean, MapDownlink<?, ?>> result = objectView.dispatchWillDownlink(this.keyObjects[i], this.downlinks[i], preemptive);
+        this.downlinks[i] = (JoinMapLaneDownlink<Object, Object>) result.getValue();
+        complete = result.getKey() && complete;
+      }
+    } else if (phase == 1) {
+      for (int i = 0, n = this.keys.length; i < n; i += 1) {
+        if (preemptive) {
+          objectView.laneDidDownlink(this.keyObjects[i], this.downlinks[i]);
+        }
+        complete = objectView.dispatchDidDownlink(this.keyObjects[i], this.downlinks[i], preemptive) && complete;
+      }
+    } else {
+      throw new AssertionError(); // unreachable
+    }
+    return complete;
+  }
+
+}
+
+final class JoinMapLaneRelayDidSync extends LaneRelay<JoinMapLaneModel, JoinMapLaneView<?, ?, ?>> {
+
+  JoinMapLaneRelayDidSync(JoinMapLaneModel model) {
+    super(model);
+  }
+
+  @Override
+  protected boolean runPhase(JoinMapLaneView<?, ?, ?> view, int phase, boolean preemptive) {
+    if (phase == 0) {
+      if (preemptive) {
+        view.laneDidSync();
+      }
+      return view.dispatchDidSync(preemptive);
+    } else {
+      throw new AssertionError(); // unreachable
+    }
+  }
+
+}
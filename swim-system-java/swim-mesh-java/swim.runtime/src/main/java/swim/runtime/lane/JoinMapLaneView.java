@@ -31,6 +31,7 @@ import swim.api.lane.function.WillDownlinkMap;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
+import swim.api.warp.function.DidSync;
 import swim.api.warp.function.DidUplink;
 import swim.api.warp.function.WillCommand;
 import swim.api.warp.function.WillEnter;
@@ -247,6 +248,11 @@ public class JoinMapLaneView<L, K, V> extends WarpLaneView implements JoinMapLan
     return observe(didDownlink);
   }
 
+  @Override
+  public JoinMapLaneView<L, K, V> didSync(DidSync didSync) {
+    return observe(didSync);
+  }
+
   @Override
   public JoinMapLaneView<L, K, V> willUpdate(WillUpdateKey<K, V> willUpdate) {
     return observe(willUpdate);
@@ -701,6 +707,51 @@ public class JoinMapLaneView<L, K, V> extends WarpLaneView implements JoinMapLan
     }
   }
 
+  public boolean dispatchDidSync(boolean preemptive) {
+    final Lane oldLane = SwimContext.getLane();
+    try {
+      SwimContext.setLane(this);
+      final Object observers = this.observers;
+      boolean complete = true;
+      if (observers instanceof DidSync) {
+        if (((DidSync) observers).isPreemptive() == preemptive) {
+          try {
+            ((DidSync) observers).didSync();
+          } catch (Throwable error) {
+            if (Conts.isNonFatal(error)) {
+              laneDidFail(error);
+            }
+            throw error;
+          }
+        } else if (preemptive) {
+          complete = false;
+        }
+      } else if (observers instanceof Object[]) {
+        final Object[] array = (Object[]) observers;
+        for (int i = 0, n = array.length; i < n; i += 1) {
+          final Object observer = array[i];
+          if (observer instanceof DidSync) {
+            if (((DidSync) observer).isPreemptive() == preemptive) {
+              try {
+                ((DidSync) observer).didSync();
+              } catch (Throwable error) {
+                if (Conts.isNonFatal(error)) {
+                  laneDidFail(error);
+                }
+                throw error;
+              }
+            } else if (preemptive) {
+              complete = false;
+            }
+          }
+        }
+      }
+      return complete;
+    } finally {
+      SwimContext.setLane(oldLane);
+    }
+  }
+
   public MapDownlink<K, V> laneWillDownlink(L key, MapDownlink<K, V> downlink) {
     return downlink;
   }
@@ -708,6 +759,9 @@ public class JoinMapLaneView<L, K, V> extends WarpLaneView implements JoinMapLan
   public void laneDidDownlink(K key, MapDownlink<K, V> downlink) {
   }
 
+  public void laneDidSync() {
+  }
+
   public V laneWillUpdate(K key, V newValue) {
     return newValue;
   }
@@ -735,6 +789,24 @@ public class JoinMapLaneView<L, K, V> extends WarpLaneView implements JoinMapLan
         Uri.empty(), Uri.empty(), 0.0f, 0.0f, Value.absent(), this.keyForm, this.valueForm);
   }
 
+  @Override
+  public JoinMapLaneView<L, K, V> downlinkAll(Uri hostUri, Uri laneUri, Map<? extends L, ? extends Uri> nodeUris) {
+    final LaneContext laneContext = this.laneBinding.laneContext();
+    final int n = nodeUris.size();
+    final Value[] keys = new Value[n];
+    final JoinMapLaneDownlink<?, ?>[] downlinks = new JoinMapLaneDownlink<?, ?>[n];
+    int i = 0;
+    for (Map.Entry<? extends L, ? extends Uri> entry : nodeUris.entrySet()) {
+      keys[i] = this.linkForm.mold(entry.getKey()).toValue();
+      downlinks[i] = new JoinMapLaneDownlink<K, V>(laneContext, laneContext.stage(),
+          this.laneBinding, keys[i], this.laneBinding.meshUri(), hostUri, entry.getValue(),
+          laneUri, 0.0f, 0.0f, Value.absent(), this.keyForm, this.valueForm);
+      i += 1;
+    }
+    this.laneBinding.downlinkAll(keys, downlinks);
+    return this;
+  }
+
   @Override
   public boolean isEmpty() {
     return this.dataView.isEmpty();
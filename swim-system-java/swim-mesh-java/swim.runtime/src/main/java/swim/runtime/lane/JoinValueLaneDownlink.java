@@ -14,17 +14,27 @@
 
 package swim.runtime.lane;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import swim.api.DownlinkException;
 import swim.concurrent.Stage;
 import swim.runtime.CellContext;
+import swim.runtime.LinkBinding;
+import swim.runtime.downlink.ValueDownlinkModel;
 import swim.runtime.downlink.ValueDownlinkView;
 import swim.structure.Form;
+import swim.structure.Record;
 import swim.structure.Value;
 import swim.uri.Uri;
+import swim.warp.SyncedResponse;
 
 public class JoinValueLaneDownlink<V> extends ValueDownlinkView<V> {
 
+  @SuppressWarnings("unchecked")
+  static final AtomicIntegerFieldUpdater<JoinValueLaneDownlink<?>> SYNCING =
+      AtomicIntegerFieldUpdater.newUpdater((Class<JoinValueLaneDownlink<?>>) (Class<?>) JoinValueLaneDownlink.class, "syncing");
   protected final JoinValueLaneModel laneModel;
   protected final Value key;
+  volatile int syncing;
 
   public JoinValueLaneDownlink(CellContext cellContext, Stage stage, JoinValueLaneModel laneModel,
                                Value key, Uri meshUri, Uri hostUri, Uri nodeUri, Uri laneUri,
@@ -109,6 +119,16 @@ public class JoinValueLaneDownlink<V> extends ValueDownlinkView<V> {
     this.laneModel.put(this, this.key, newValue);
   }
 
+  @Override
+  public void downlinkDidSync(SyncedResponse response) {
+    this.laneModel.didSyncDownlink(this);
+  }
+
+  @Override
+  public void downlinkDidClose() {
+    this.laneModel.didSyncDownlink(this);
+  }
+
   @Override
   public ValueDownlinkView<V> open() {
     this.laneModel.downlink(this.key, this);
@@ -119,6 +139,42 @@ public class JoinValueLaneDownlink<V> extends ValueDownlinkView<V> {
     super.open();
   }
 
+  /**
+   * Returns the remote lane this downlink links to, along with the link
+   * parameters; downlinks with equal link keys can share a single link.
+   */
+  Value linkKey() {
+    return Record.create(7)
+        .slot("host", this.hostUri.toString())
+        .slot("node", this.nodeUri.toString())
+        .slot("lane", this.laneUri.toString())
+        .slot("prio", this.prio)
+        .slot("rate", this.rate)
+        .slot("body", this.body)
+        .slot("flags", this.flags);
+  }
+
+  /**
+   * Opens a single link shared by all {@code downlinks}, which must have
+   * equal {@link #linkKey() link keys}.
+   */
+  static void openDownlinks(JoinValueLaneDownlink<?>[] downlinks) {
+    if (downlinks.length == 1) {
+      downlinks[0].openDownlink();
+    } else {
+      final LinkBinding linkBinding = downlinks[0].cellContext.bindDownlink(downlinks[0]);
+      if (linkBinding instanceof ValueDownlinkModel) {
+        final ValueDownlinkModel model = (ValueDownlinkModel) linkBinding;
+        for (int i = 0, n = downlinks.length; i < n; i += 1) {
+          downlinks[i].model = model;
+        }
+        model.addDownlinks(downlinks);
+      } else {
+        throw new DownlinkException("downlink type mismatch");
+      }
+    }
+  }
+
   public Value setValue(Value newValue) {
     return this.model.setValue(newValue);
   }
@@ -15,10 +15,13 @@
 package swim.runtime.lane;
 
 import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.api.LaneException;
 import swim.api.Link;
@@ -50,9 +53,12 @@ public class JoinValueLaneModel extends WarpLaneModel<JoinValueLaneView<?, ?>, J
   @SuppressWarnings("unchecked")
   static final AtomicReferenceFieldUpdater<JoinValueLaneModel, HashTrieMap<Value, JoinValueLaneDownlink<?>>> DOWNLINKS =
       AtomicReferenceFieldUpdater.newUpdater(JoinValueLaneModel.class, (Class<HashTrieMap<Value, JoinValueLaneDownlink<?>>>) (Class<?>) HashTrieMap.class, "downlinks");
+  static final AtomicIntegerFieldUpdater<JoinValueLaneModel> SYNCING_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(JoinValueLaneModel.class, "syncingCount");
   protected int flags;
   protected MapData<Value, Value> data;
   protected volatile HashTrieMap<Value, JoinValueLaneDownlink<?>> downlinks;
+  volatile int syncingCount;
 
   JoinValueLaneModel(int flags) {
     this.flags = flags;
@@ -83,14 +89,49 @@ public class JoinValueLaneModel extends WarpLaneModel<JoinValueLaneView<?, ?>, J
       final float prio = header.get("prio").floatValue(0.0f);
       final float rate = header.get("rate").floatValue(0.0f);
       final Value body = header.get("body");
-      new JoinValueLaneDownlink<Value>(this.laneContext, stage(), this, key,
+      final JoinValueLaneDownlink<Value> downlink = new JoinValueLaneDownlink<Value>(this.laneContext, stage(), this, key,
           this.laneContext.meshUri(), this.laneContext.hostUri(), nodeUri, laneUri,
-          prio, rate, body, Form.forValue()).openDownlink();
+          prio, rate, body, Form.forValue());
+      awaitDownlinkSync(downlink);
+      downlink.openDownlink();
     }
   }
 
   protected void downlink(Value key, JoinValueLaneDownlink<?> downlink) {
-    Value value = this.data.get(key);
+    final Value value = this.data.get(key);
+    final Value newValue = downlinkValue(value, downlink);
+    if (newValue != value) {
+      this.data.put(key, newValue);
+    }
+    new JoinValueLaneRelayDownlink(this, key, downlink).run();
+  }
+
+  /**
+   * Joins a batch of downlinks at once: the link headers of all keys get
+   * persisted with a single {@code putAll}, and a single relay dispatches
+   * the downlink callbacks for every key and registers all downlinks with
+   * one update of the downlinks map.
+   */
+  protected void downlinkAll(Value[] keys, JoinValueLaneDownlink<?>[] downlinks) {
+    final HashMap<Value, Value> updates = new HashMap<Value, Value>();
+    for (int i = 0, n = keys.length; i < n; i += 1) {
+      final Value value = this.data.get(keys[i]);
+      final Value newValue = downlinkValue(value, downlinks[i]);
+      if (newValue != value) {
+        updates.put(keys[i], newValue);
+      }
+    }
+    if (!updates.isEmpty()) {
+      this.data.putAll(updates);
+    }
+    new JoinValueLaneRelayDownlinkAll(this, keys, downlinks).run();
+  }
+
+  /**
+   * Returns {@code value} with its {@code @downlink} header describing
+   * {@code downlink}, or {@code value} itself if the header is up to date.
+   */
+  protected Value downlinkValue(Value value, JoinValueLaneDownlink<?> downlink) {
     Record header = value.headers("downlink");
     if (header == null
         || !header.get("node").coerce(Uri.form()).equals(downlink.nodeUri())
@@ -115,12 +156,12 @@ public class JoinValueLaneModel extends WarpLaneModel<JoinValueLaneView<?, ?>, J
       } else {
         value = Attr.of("downlink", header).concat(value);
       }
-      this.data.put(key, value);
     }
-    new JoinValueLaneRelayDownlink(this, key, downlink).run();
+    return value;
   }
 
   protected void openDownlink(Value key, JoinValueLaneDownlink<?> downlink) {
+    awaitDownlinkSync(downlink);
     downlink.openDownlink(); // Open before CAS
     HashTrieMap<Value, JoinValueLaneDownlink<?>> oldDownlinks;
     HashTrieMap<Value, JoinValueLaneDownlink<?>> newDownlinks;
@@ -135,6 +176,48 @@ public class JoinValueLaneModel extends WarpLaneModel<JoinValueLaneView<?, ?>, J
           oldDownlink.close();
         } catch (Exception swallow) {
         }
+        didSyncDownlink(oldDownlink);
+      }
+    }
+  }
+
+  /**
+   * Opens a batch of downlinks, sharing one link between all downlinks of
+   * the batch that target the same remote lane with the same parameters,
+   * and registers them with a single update of the downlinks map.
+   */
+  protected void openDownlinks(Value[] keys, JoinValueLaneDownlink<?>[] downlinks) {
+    final HashMap<Value, ArrayList<JoinValueLaneDownlink<?>>> links = new HashMap<Value, ArrayList<JoinValueLaneDownlink<?>>>();
+    for (int i = 0, n = downlinks.length; i < n; i += 1) {
+      awaitDownlinkSync(downlinks[i]);
+      final Value linkKey = downlinks[i].linkKey();
+      ArrayList<JoinValueLaneDownlink<?>> peers = links.get(linkKey);
+      if (peers == null) {
+        peers = new ArrayList<JoinValueLaneDownlink<?>>();
+        links.put(linkKey, peers);
+      }
+      peers.add(downlinks[i]);
+    }
+    for (ArrayList<JoinValueLaneDownlink<?>> peers : links.values()) {
+      JoinValueLaneDownlink.openDownlinks(peers.toArray(new JoinValueLaneDownlink<?>[peers.size()])); // Open before CAS
+    }
+    HashTrieMap<Value, JoinValueLaneDownlink<?>> oldDownlinks;
+    HashTrieMap<Value, JoinValueLaneDownlink<?>> newDownlinks;
+    do {
+      oldDownlinks = this.downlinks;
+      newDownlinks = oldDownlinks;
+      for (int i = 0, n = keys.length; i < n; i += 1) {
+        newDownlinks = newDownlinks.updated(keys[i], downlinks[i]);
+      }
+    } while (oldDownlinks != newDownlinks && !DOWNLINKS.compareAndSet(this, oldDownlinks, newDownlinks));
+    for (int i = 0, n = keys.length; i < n; i += 1) {
+      final JoinValueLaneDownlink<?> oldDownlink = oldDownlinks.get(keys[i]);
+      if (oldDownlink != null && oldDownlink != downlinks[i]) {
+        try {
+          oldDownlink.close();
+        } catch (Exception swallow) {
+        }
+        didSyncDownlink(oldDownlink);
       }
     }
   }
@@ -151,6 +234,7 @@ public class JoinValueLaneModel extends WarpLaneModel<JoinValueLaneView<?, ?>, J
           downlink.close();
         } catch (Exception swallow) {
         }
+        didSyncDownlink(downlink);
       }
     }
   }
@@ -168,6 +252,34 @@ public class JoinValueLaneModel extends WarpLaneModel<JoinValueLaneView<?, ?>, J
         downlink.close();
       } catch (Exception swallow) {
       }
+      didSyncDownlink(downlink);
+    }
+  }
+
+  /**
+   * Returns the number of joined downlinks that have yet to complete their
+   * first sync.
+   */
+  public final int syncingCount() {
+    return this.syncingCount;
+  }
+
+  protected void awaitDownlinkSync(JoinValueLaneDownlink<?> downlink) {
+    if (downlink.keepSynced() && JoinValueLaneDownlink.SYNCING.compareAndSet(downlink, 0, 1)) {
+      SYNCING_COUNT.incrementAndGet(this);
+    }
+  }
+
+  /**
+   * Marks {@code downlink} as no longer holding back the sync of this lane,
+   * either because it synced or because it closed; dispatches {@code didSync}
+   * once every joined downlink has synced.
+   */
+  protected void didSyncDownlink(JoinValueLaneDownlink<?> downlink) {
+    if (JoinValueLaneDownlink.SYNCING.compareAndSet(downlink, 1, 0)) {
+      if (SYNCING_COUNT.decrementAndGet(this) == 0) {
+        new JoinValueLaneRelayDidSync(this).run();
+      }
     }
   }
 
@@ -258,6 +370,11 @@ public class JoinValueLaneModel extends WarpLaneModel<JoinValueLaneView<?, ?>, J
     return this;
   }
 
+  @Override
+  public boolean hasTransientState() {
+    return isTransient() && this.data != null && !this.data.isEmpty();
+  }
+
   public Value get(Object key) {
     if (key != null) {
       Value value = this.data.get(key);
@@ -850,3 +967,96 @@ final class JoinValueLaneRelayDownlink extends LaneRelay<JoinValueLaneModel, Joi
   }
 
 }
+
+final class JoinValueLaneRelayDownlinkAll extends LaneRelay<JoinValueLaneModel, JoinValueLaneView<?, ?>> {
+
+  final Value[] keys;
+  final JoinValueLaneDownlink<Object>[] downlinks;
+  Form<Object> keyForm;
+  Object[] keyObjects;
+
+  @SuppressWarnings("unchecked")
+  JoinValueLaneRelayDownlinkAll(JoinValueLaneModel model, Value[] keys, JoinValueLaneDownlink<?>[] downlinks) {
+    super(model, 2);
+    this.keys = keys;
+    this.downlinks = (JoinValueLaneDownlink<Object>[]) new JoinValueLaneDownlink<?>[downlinks.length];
+    for (int i = 0, n = downlinks.length; i < n; i += 1) {
+      this.downlinks[i] = (JoinValueLaneDownlink<Object>) downlinks[i];
+    }
+  }
+
+  @Override
+  protected void beginPhase(int phase) {
+    if (phase == 1) {
+      this.model.openDownlinks(this.keys, this.downlinks);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  void castKeys(JoinValueLaneView<?, ?> view) {
+    final Form<Object> keyForm = (Form<Object>) view.keyForm;
+    if (this.keyForm != keyForm && keyForm != null) {
+      this.keyForm = keyForm;
+      final Object[] keyObjects = new Object[this.keys.length];
+      for (int i = 0, n = keyObjects.length; i < n; i += 1) {
+        Object keyObject = keyForm.cast(this.keys[i]);
+        if (keyObject == null) {
+          keyObject = keyForm.unit();
+        }
+        keyObjects[i] = keyObject;
+      }
+      this.keyObjects = keyObjects;
+    } else if (this.keyObjects == null) {
+      this.keyObjects = new Object[this.keys.length];
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  protected boolean runPhase(JoinValueLaneView<?, ?> view, int phase, boolean preemptive) {
+    castKeys(view);
+    final JoinValueLaneView<Object, Object> objectView = (JoinValueLaneView<Object, Object>) view;
+    boolean complete = true;
+    if (phase == 0) {
+      for (int i = 0, n = this.keys.length; i < n; i += 1) {
+        if (preemptive) {
+          this.downlinks[i] = (JoinValueLaneDownlink<Object>) objectView.laneWillDownlink(this.keyObjects[i], this.downlinks[i]);
+        }
+        final Map.Entry<Boolean, ValueDownlink<?>> result = objectView.dispatchWillDownlink(this.keyObjects[i], this.downlinks[i], preemptive);
+        this.downlinks[i] = (JoinValueLaneDownlink<Object>) result.getValue();
+        complete = result.getKey() && complete;
+      }
+    } else if (phase == 1) {
+      for (int i = 0, n = this.keys.length; i < n; i += 1) {
+        if (preemptive) {
+          objectView.laneDidDownlink(this.keyObjects[i], this.downlinks[i]);
+        }
+        complete = objectView.dispatchDidDownlink(this.keyObjects[i], this.downlinks[i], preemptive) && complete;
+      }
+    } else {
+      throw new AssertionError(); // unreachable
+    }
+    return complete;
+  }
+
+}
+
+final class JoinValueLaneRelayDidSync extends LaneRelay<JoinValueLaneModel, JoinValueLaneView<?, ?>> {
+
+  JoinValueLaneRelayDidSync(JoinValueLaneModel model) {
+    super(model);
+  }
+
+  @Override
+  protected boolean runPhase(JoinValueLaneView<?, ?> view, int phase, boolean preemptive) {
+    if (phase == 0) {
+      if (preemptive) {
+        view.laneDidSync();
+      }
+      return view.dispatchDidSync(preemptive);
+    } else {
+      throw new AssertionError(); // unreachable
+    }
+  }
+
+}
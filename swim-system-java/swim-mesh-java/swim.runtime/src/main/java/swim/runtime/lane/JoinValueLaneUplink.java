@@ -14,6 +14,7 @@
 
 package swim.runtime.lane;
 
+import java.util.Iterator;
 import swim.concurrent.Stage;
 import swim.runtime.UplinkAddress;
 import swim.runtime.WarpBinding;
@@ -53,6 +54,11 @@ public class JoinValueLaneUplink extends MapUplinkModem {
     }
   }
 
+  @Override
+  protected Iterator<Value> resyncKeys() {
+    return this.laneBinding.keyIterator();
+  }
+
   @Override
   protected void willSync(SyncRequest request) {
     syncDown(this.laneBinding.keyIterator());
@@ -33,6 +33,7 @@ import swim.api.lane.function.WillDownlinkValue;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
+import swim.api.warp.function.DidSync;
 import swim.api.warp.function.DidUplink;
 import swim.api.warp.function.WillCommand;
 import swim.api.warp.function.WillEnter;
@@ -228,6 +229,11 @@ public class JoinValueLaneView<K, V> extends WarpLaneView implements JoinValueLa
     return observe(didDownlink);
   }
 
+  @Override
+  public JoinValueLaneView<K, V> didSync(DidSync didSync) {
+    return observe(didSync);
+  }
+
   @Override
   public JoinValueLaneView<K, V> willUpdate(WillUpdateKey<K, V> willUpdate) {
     return observe(willUpdate);
@@ -682,6 +688,51 @@ public class JoinValueLaneView<K, V> extends WarpLaneView implements JoinValueLa
     }
   }
 
+  public boolean dispatchDidSync(boolean preemptive) {
+    final Lane oldLane = SwimContext.getLane();
+    try {
+      SwimContext.setLane(this);
+      final Object observers = this.observers;
+      boolean complete = true;
+      if (observers instanceof DidSync) {
+        if (((DidSync) observers).isPreemptive() == preemptive) {
+          try {
+            ((DidSync) observers).didSync();
+          } catch (Throwable error) {
+            if (Conts.isNonFatal(error)) {
+              laneDidFail(error);
+            }
+            throw error;
+          }
+        } else if (preemptive) {
+          complete = false;
+        }
+      } else if (observers instanceof Object[]) {
+        final Object[] array = (Object[]) observers;
+        for (int i = 0, n = array.length; i < n; i += 1) {
+          final Object observer = array[i];
+          if (observer instanceof DidSync) {
+            if (((DidSync) observer).isPreemptive() == preemptive) {
+              try {
+                ((DidSync) observer).didSync();
+              } catch (Throwable error) {
+                if (Conts.isNonFatal(error)) {
+                  laneDidFail(error);
+                }
+                throw error;
+              }
+            } else if (preemptive) {
+              complete = false;
+            }
+          }
+        }
+      }
+      return complete;
+    } finally {
+      SwimContext.setLane(oldLane);
+    }
+  }
+
   public ValueDownlink<V> laneWillDownlink(K key, ValueDownlink<V> downlink) {
     return downlink;
   }
@@ -689,6 +740,9 @@ public class JoinValueLaneView<K, V> extends WarpLaneView implements JoinValueLa
   public void laneDidDownlink(K key, ValueDownlink<V> downlink) {
   }
 
+  public void laneDidSync() {
+  }
+
   public V laneWillUpdate(K key, V newValue) {
     return newValue;
   }
@@ -717,6 +771,24 @@ public class JoinValueLaneView<K, V> extends WarpLaneView implements JoinValueLa
         Value.absent(), this.valueForm);
   }
 
+  @Override
+  public JoinValueLaneView<K, V> downlinkAll(Uri hostUri, Uri laneUri, Map<? extends K, ? extends Uri> nodeUris) {
+    final LaneContext laneContext = this.laneBinding.laneContext();
+    final int n = nodeUris.size();
+    final Value[] keys = new Value[n];
+    final JoinValueLaneDownlink<?>[] downlinks = new JoinValueLaneDownlink<?>[n];
+    int i = 0;
+    for (Map.Entry<? extends K, ? extends Uri> entry : nodeUris.entrySet()) {
+      keys[i] = this.keyForm.mold(entry.getKey()).toValue();
+      downlinks[i] = new JoinValueLaneDownlink<V>(laneContext, laneContext.stage(), this.laneBinding,
+          keys[i], this.laneBinding.meshUri(), hostUri, entry.getValue(), laneUri,
+          0.0f, 0.0f, Value.absent(), this.valueForm);
+      i += 1;
+    }
+    this.laneBinding.downlinkAll(keys, downlinks);
+    return this;
+  }
+
   @Override
   public boolean isEmpty() {
     return this.dataView.isEmpty();
@@ -17,6 +17,7 @@ package swim.runtime.lane;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.api.LaneException;
 import swim.api.Link;
 import swim.api.data.ListData;
@@ -30,6 +31,7 @@ import swim.runtime.Push;
 import swim.runtime.WarpBinding;
 import swim.runtime.warp.ListLinkDelta;
 import swim.runtime.warp.WarpLaneModel;
+import swim.runtime.warp.WarpSyncLog;
 import swim.structure.Form;
 import swim.structure.Value;
 import swim.warp.CommandMessage;
@@ -39,11 +41,16 @@ public class ListLaneModel extends WarpLaneModel<ListLaneView<?>, ListLaneUplink
   static final int RESIDENT = 1 << 0;
   static final int TRANSIENT = 1 << 1;
   static final int SIGNED = 1 << 2;
+  @SuppressWarnings("unchecked")
+  static final AtomicReferenceFieldUpdater<ListLaneModel, WarpSyncLog<ListLinkDelta>> SYNC_LOG =
+      AtomicReferenceFieldUpdater.newUpdater(ListLaneModel.class, (Class<WarpSyncLog<ListLinkDelta>>) (Class<?>) WarpSyncLog.class, "syncLog");
   protected int flags;
   protected ListData<Value> data;
+  volatile WarpSyncLog<ListLinkDelta> syncLog;
 
   ListLaneModel(int flags) {
     this.flags = flags;
+    this.syncLog = WarpSyncLog.empty();
   }
 
   public ListLaneModel() {
@@ -123,7 +130,26 @@ public class ListLaneModel extends WarpLaneModel<ListLaneView<?>, ListLaneUplink
     }
   }
 
+  /**
+   * Returns the log of deltas recently applied to this lane, from which
+   * uplinks resume the sync of downlinks that have seen an earlier version.
+   */
+  public final WarpSyncLog<ListLinkDelta> syncLog() {
+    return this.syncLog;
+  }
+
+  protected long logChange(ListLinkDelta delta) {
+    do {
+      final WarpSyncLog<ListLinkDelta> oldSyncLog = this.syncLog;
+      final WarpSyncLog<ListLinkDelta> newSyncLog = oldSyncLog.appended(delta);
+      if (SYNC_LOG.compareAndSet(this, oldSyncLog, newSyncLog)) {
+        return newSyncLog.version();
+      }
+    } while (true);
+  }
+
   protected void sendDown(ListLinkDelta delta) {
+    final long version = logChange(delta);
     FingerTrieSeq<ListLaneUplink> uplinks;
     FingerTrieSeq<Value> closedLinks = FingerTrieSeq.empty();
     do {
@@ -131,7 +157,7 @@ public class ListLaneModel extends WarpLaneModel<ListLaneView<?>, ListLaneUplink
       for (int i = 0, n = uplinks.size(); i < n; i += 1) {
         final ListLaneUplink uplink = uplinks.get(i);
         if (uplink.isConnected()) {
-          uplink.sendDown(delta);
+          uplink.sendDown(delta, version);
         } else {
           closedLinks = closedLinks.appended(uplink.linkKey());
         }
@@ -193,6 +219,11 @@ public class ListLaneModel extends WarpLaneModel<ListLaneView<?>, ListLaneUplink
     return this;
   }
 
+  @Override
+  public boolean hasTransientState() {
+    return isTransient() && this.data != null && !this.data.isEmpty();
+  }
+
   @SuppressWarnings("unchecked")
   public <V> boolean add(ListLaneView<V> view, int index, V newObject) {
     return add(view, index, newObject, null);
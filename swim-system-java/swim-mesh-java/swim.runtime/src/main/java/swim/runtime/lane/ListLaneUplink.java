@@ -16,17 +16,23 @@ package swim.runtime.lane;
 
 import java.util.Iterator;
 import java.util.Map;
+import swim.collections.FingerTrieSeq;
 import swim.concurrent.Stage;
 import swim.runtime.UplinkAddress;
 import swim.runtime.WarpBinding;
 import swim.runtime.warp.ListLinkDelta;
 import swim.runtime.warp.ListUplinkModem;
+import swim.runtime.warp.WarpSyncLog;
 import swim.structure.Value;
 import swim.warp.SyncRequest;
+import swim.warp.SyncedResponse;
 
 public class ListLaneUplink extends ListUplinkModem {
 
   final ListLaneModel laneBinding;
+  long syncEpoch;
+  long syncVersion;
+  long queueVersion;
 
   public ListLaneUplink(ListLaneModel laneBinding, WarpBinding linkBinding,
                         UplinkAddress uplinkAddress) {
@@ -44,16 +50,58 @@ public class ListLaneUplink extends ListUplinkModem {
     return this.laneBinding.stage();
   }
 
+  /**
+   * Queues the lane delta with the given sync log {@code version}, unless
+   * the delta was already replayed by a sync of this uplink.
+   */
+  public void sendDown(ListLinkDelta delta, long version) {
+    synchronized (this) {
+      if (version <= this.syncVersion) {
+        return;
+      }
+      this.queueVersion = version;
+      queueDown(delta, version);
+    }
+    feedDownQueue();
+  }
+
   @Override
   protected void willSync(SyncRequest request) {
-    final Iterator<Map.Entry<Object, Value>> items = this.laneBinding.iterator();
-    int index = 0;
-    while (items.hasNext()) {
-      final Map.Entry<Object, Value> item = items.next();
-      queueDown(ListLinkDelta.update(index, Value.fromObject(item.getKey()), item.getValue()));
-      index += 1;
+    synchronized (this) {
+      // Deltas are positional, so they're replayed and queued under lock
+      // to keep concurrent lane changes from being sent out of order.
+      final WarpSyncLog<ListLinkDelta> syncLog = this.laneBinding.syncLog();
+      final FingerTrieSeq<ListLinkDelta> changes;
+      if (this.queueVersion == 0L) {
+        changes = syncLog.since(request.body().header("since"));
+      } else {
+        changes = null;
+      }
+      if (changes != null) {
+        for (ListLinkDelta delta : changes) {
+          queueDown(delta);
+        }
+      } else {
+        final Iterator<Map.Entry<Object, Value>> items = this.laneBinding.iterator();
+        int index = 0;
+        while (items.hasNext()) {
+          final Map.Entry<Object, Value> item = items.next();
+          queueDown(ListLinkDelta.update(index, Value.fromObject(item.getKey()), item.getValue()));
+          index += 1;
+        }
+      }
+      this.syncEpoch = syncLog.epoch();
+      this.syncVersion = syncLog.version();
     }
     super.willSync(request);
   }
 
+  @Override
+  protected SyncedResponse syncedResponse() {
+    // Live deltas queued behind the sync are sent before the synced response,
+    // so report the version of the last delta sent, not the version synced.
+    final long version = Math.max(this.syncVersion, downVersion());
+    return new SyncedResponse(nodeUri(), laneUri(), WarpSyncLog.toValue(this.syncEpoch, version));
+  }
+
 }
@@ -14,8 +14,12 @@
 
 package swim.runtime.lane;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.api.LaneException;
 import swim.api.Link;
 import swim.api.data.MapData;
@@ -28,6 +32,7 @@ import swim.runtime.LaneView;
 import swim.runtime.Push;
 import swim.runtime.WarpBinding;
 import swim.runtime.warp.WarpLaneModel;
+import swim.runtime.warp.WarpSyncLog;
 import swim.structure.Form;
 import swim.structure.Record;
 import swim.structure.Value;
@@ -38,11 +43,16 @@ public class MapLaneModel extends WarpLaneModel<MapLaneView<?, ?>, MapLaneUplink
   static final int RESIDENT = 1 << 0;
   static final int TRANSIENT = 1 << 1;
   static final int SIGNED = 1 << 2;
+  @SuppressWarnings("unchecked")
+  static final AtomicReferenceFieldUpdater<MapLaneModel, WarpSyncLog<Value>> SYNC_LOG =
+      AtomicReferenceFieldUpdater.newUpdater(MapLaneModel.class, (Class<WarpSyncLog<Value>>) (Class<?>) WarpSyncLog.class, "syncLog");
   protected int flags;
   protected MapData<Value, Value> data;
+  volatile WarpSyncLog<Value> syncLog;
 
   MapLaneModel(int flags) {
     this.flags = flags;
+    this.syncLog = WarpSyncLog.empty();
   }
 
   public MapLaneModel() {
@@ -93,7 +103,49 @@ public class MapLaneModel extends WarpLaneModel<MapLaneView<?, ?>, MapLaneUplink
     }
   }
 
+  /**
+   * Returns the log of keys recently changed in this lane, from which
+   * uplinks resume the sync of downlinks that have seen an earlier version.
+   */
+  public final WarpSyncLog<Value> syncLog() {
+    return this.syncLog;
+  }
+
+  protected void logChange(Value key) {
+    do {
+      final WarpSyncLog<Value> oldSyncLog = this.syncLog;
+      final WarpSyncLog<Value> newSyncLog = oldSyncLog.appended(key);
+      if (SYNC_LOG.compareAndSet(this, oldSyncLog, newSyncLog)) {
+        break;
+      }
+    } while (true);
+  }
+
+  protected void logChanges(Collection<Value> keys) {
+    do {
+      final WarpSyncLog<Value> oldSyncLog = this.syncLog;
+      WarpSyncLog<Value> newSyncLog = oldSyncLog;
+      for (Value key : keys) {
+        newSyncLog = newSyncLog.appended(key);
+      }
+      if (SYNC_LOG.compareAndSet(this, oldSyncLog, newSyncLog)) {
+        break;
+      }
+    } while (true);
+  }
+
+  protected void truncateSyncLog() {
+    do {
+      final WarpSyncLog<Value> oldSyncLog = this.syncLog;
+      final WarpSyncLog<Value> newSyncLog = oldSyncLog.truncated();
+      if (SYNC_LOG.compareAndSet(this, oldSyncLog, newSyncLog)) {
+        break;
+      }
+    } while (true);
+  }
+
   protected void cueDownKey(Value key) {
+    logChange(key);
     FingerTrieSeq<MapLaneUplink> uplinks;
     do {
       uplinks = this.uplinks;
@@ -103,6 +155,17 @@ public class MapLaneModel extends WarpLaneModel<MapLaneView<?, ?>, MapLaneUplink
     } while (uplinks != this.uplinks);
   }
 
+  protected void cueDownKeys(Collection<Value> keys) {
+    logChanges(keys);
+    FingerTrieSeq<MapLaneUplink> uplinks;
+    do {
+      uplinks = this.uplinks;
+      for (int i = 0, n = uplinks.size(); i < n; i += 1) {
+        uplinks.get(i).cueDownKeys(keys);
+      }
+    } while (uplinks != this.uplinks);
+  }
+
   public final boolean isResident() {
     return (this.flags & RESIDENT) != 0;
   }
@@ -153,6 +216,11 @@ public class MapLaneModel extends WarpLaneModel<MapLaneView<?, ?>, MapLaneUplink
     return this;
   }
 
+  @Override
+  public boolean hasTransientState() {
+    return isTransient() && this.data != null && !this.data.isEmpty();
+  }
+
   public Value get(Value key) {
     if (key != null) {
       return this.data.get(key);
@@ -200,6 +268,53 @@ public class MapLaneModel extends WarpLaneModel<MapLaneView<?, ?>, MapLaneUplink
     }
   }
 
+  @SuppressWarnings("unchecked")
+  public <K, V> void putAll(MapLaneView<K, V> view, Map<? extends K, ? extends V> map) {
+    final int size = map.size();
+    if (size > 0) {
+      final Form<K> keyForm = view.keyForm;
+      final Form<V> valueForm = view.valueForm;
+      final Value[] keys = new Value[size];
+      final Value[] newValues = new Value[size];
+      final Object[] keyObjects = new Object[size];
+      final Object[] newObjects = new Object[size];
+      int i = 0;
+      for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+        final K keyObject = entry.getKey();
+        final V newObject = entry.getValue();
+        keys[i] = keyForm.mold(keyObject).toValue();
+        newValues[i] = valueForm.mold(newObject).toValue();
+        keyObjects[i] = keyObject;
+        newObjects[i] = newObject;
+        i += 1;
+      }
+      final MapLaneRelayUpdateAll relay = new MapLaneRelayUpdateAll(this, stage(), keys, newValues);
+      relay.keyForm = (Form<Object>) keyForm;
+      relay.valueForm = (Form<Object>) valueForm;
+      relay.keyObjects = keyObjects;
+      relay.newObjects = newObjects;
+      relay.run();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  public <K, V> void removeAll(MapLaneView<K, V> view, Collection<? extends K> keyObjects) {
+    final int size = keyObjects.size();
+    if (size > 0) {
+      final Form<K> keyForm = view.keyForm;
+      final Value[] keys = new Value[size];
+      int i = 0;
+      for (K keyObject : keyObjects) {
+        keys[i] = keyForm.mold(keyObject).toValue();
+        i += 1;
+      }
+      final MapLaneRelayRemoveAll relay = new MapLaneRelayRemoveAll(this, stage(), keys);
+      relay.keyForm = (Form<Object>) keyForm;
+      relay.keyObjects = keyObjects.toArray();
+      relay.run();
+    }
+  }
+
   public void drop(MapLaneView<?, ?> view, int lower) {
     if (lower > 0) {
       final MapLaneRelayDrop relay = new MapLaneRelayDrop(this, stage(), lower);
@@ -501,6 +616,7 @@ final class MapLaneRelayRemove extends LaneRelay<MapLaneModel, MapLaneView<?, ?>
   @Override
   protected void done() {
     if (this.oldValue.isDefined()) {
+      this.model.logChange(this.key);
       this.model.sendDown(Record.create(1).attr("remove", Record.create(1).slot("key", this.key)));
     }
     if (this.cont != null) {
@@ -585,6 +701,7 @@ final class MapLaneRelayDrop extends LaneRelay<MapLaneModel, MapLaneView<?, ?>>
 
   @Override
   protected void done() {
+    this.model.truncateSyncLog();
     this.model.sendDown(Record.create(1).attr("drop", this.lower));
     if (this.cont != null) {
       try {
@@ -668,6 +785,7 @@ final class MapLaneRelayTake extends LaneRelay<MapLaneModel, MapLaneView<?, ?>>
 
   @Override
   protected void done() {
+    this.model.truncateSyncLog();
     this.model.sendDown(Record.create(1).attr("take", this.upper));
     if (this.cont != null) {
       try {
@@ -747,6 +865,7 @@ final class MapLaneRelayClear extends LaneRelay<MapLaneModel, MapLaneView<?, ?>>
 
   @Override
   protected void done() {
+    this.model.truncateSyncLog();
     this.model.sendDown(Record.create(1).attr("clear"));
     if (this.cont != null) {
       try {
@@ -762,3 +881,196 @@ final class MapLaneRelayClear extends LaneRelay<MapLaneModel, MapLaneView<?, ?>>
   }
 
 }
+
+final class MapLaneRelayUpdateAll extends LaneRelay<MapLaneModel, MapLaneView<?, ?>> {
+
+  final Value[] keys;
+  final Value[] oldValues;
+  final Value[] newValues;
+  Form<Object> keyForm;
+  Form<Object> valueForm;
+  Object[] keyObjects;
+  Object[] oldObjects;
+  Object[] newObjects;
+
+  MapLaneRelayUpdateAll(MapLaneModel model, Stage stage, Value[] keys, Value[] newValues) {
+    super(model, 1, 3, stage);
+    this.keys = keys;
+    this.oldValues = new Value[keys.length];
+    this.newValues = newValues;
+  }
+
+  @Override
+  protected void beginPhase(int phase) {
+    if (phase == 2) {
+      final Value[] keys = this.keys;
+      final Value[] oldValues = this.oldValues;
+      final Value[] newValues = this.newValues;
+      final Map<Value, Value> updates = new HashMap<Value, Value>();
+      for (int i = 0, n = keys.length; i < n; i += 1) {
+        oldValues[i] = this.model.data.get(keys[i]);
+        updates.put(keys[i], newValues[i]);
+      }
+      this.model.data.putAll(updates);
+      if (this.valueForm != null) {
+        this.oldObjects = castValues(this.valueForm, oldValues);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  protected boolean runPhase(MapLaneView<?, ?> view, int phase, boolean preemptive) {
+    final Form<Object> keyForm = (Form<Object>) view.keyForm;
+    if (this.keyForm != keyForm && keyForm != null) {
+      this.keyForm = keyForm;
+      this.keyObjects = castValues(keyForm, this.keys);
+    }
+    final Form<Object> valueForm = (Form<Object>) view.valueForm;
+    if (phase == 1) {
+      if (this.valueForm != valueForm && valueForm != null) {
+        this.valueForm = valueForm;
+        this.newObjects = castValues(valueForm, this.newValues);
+      }
+      boolean complete = true;
+      for (int i = 0, n = this.keys.length; i < n; i += 1) {
+        final Object keyObject = this.keyObjects[i];
+        Object newObject = this.newObjects[i];
+        if (preemptive) {
+          newObject = ((MapLaneView<Object, Object>) view).laneWillUpdate(keyObject, newObject);
+        }
+        final Map.Entry<Boolean, Object> result = ((MapLaneView<Object, Object>) view).dispatchWillUpdate(null, keyObject, newObject, preemptive);
+        complete = result.getKey() && complete;
+        newObject = result.getValue();
+        if (this.newObjects[i] != newObject) {
+          this.newObjects[i] = newObject;
+          this.newValues[i] = valueForm.mold(newObject).toValue();
+        }
+      }
+      return complete;
+    } else if (phase == 2) {
+      if (this.valueForm != valueForm && valueForm != null) {
+        this.valueForm = valueForm;
+        this.oldObjects = castValues(valueForm, this.oldValues);
+        this.newObjects = castValues(valueForm, this.newValues);
+      }
+      boolean complete = true;
+      for (int i = 0, n = this.keys.length; i < n; i += 1) {
+        final Object keyObject = this.keyObjects[i];
+        final Object newObject = this.newObjects[i];
+        final Object oldObject = this.oldObjects[i];
+        if (preemptive) {
+          ((MapLaneView<Object, Object>) view).laneDidUpdate(keyObject, newObject, oldObject);
+        }
+        complete = ((MapLaneView<Object, Object>) view).dispatchDidUpdate(null, keyObject, newObject, oldObject, preemptive) && complete;
+      }
+      return ((MapLaneView<Object, Object>) view).dispatchDidUpdateBatch(null, Arrays.asList(this.keyObjects), preemptive) && complete;
+    } else {
+      throw new AssertionError(); // unreachable
+    }
+  }
+
+  @Override
+  protected void done() {
+    this.model.cueDownKeys(Arrays.asList(this.keys));
+  }
+
+  static Object[] castValues(Form<Object> form, Value[] values) {
+    final int n = values.length;
+    final Object[] objects = new Object[n];
+    for (int i = 0; i < n; i += 1) {
+      Object object = form.cast(values[i]);
+      if (object == null) {
+        object = form.unit();
+      }
+      objects[i] = object;
+    }
+    return objects;
+  }
+
+}
+
+final class MapLaneRelayRemoveAll extends LaneRelay<MapLaneModel, MapLaneView<?, ?>> {
+
+  final Value[] keys;
+  final Value[] oldValues;
+  Form<Object> keyForm;
+  Form<Object> valueForm;
+  Object[] keyObjects;
+  Object[] oldObjects;
+
+  MapLaneRelayRemoveAll(MapLaneModel model, Stage stage, Value[] keys) {
+    super(model, 1, 3, stage);
+    this.keys = keys;
+    this.oldValues = new Value[keys.length];
+  }
+
+  @Override
+  protected void beginPhase(int phase) {
+    if (phase == 2) {
+      final Value[] keys = this.keys;
+      final Value[] oldValues = this.oldValues;
+      for (int i = 0, n = keys.length; i < n; i += 1) {
+        oldValues[i] = this.model.data.remove(keys[i]);
+      }
+      if (this.valueForm != null) {
+        this.oldObjects = MapLaneRelayUpdateAll.castValues(this.valueForm, oldValues);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  protected boolean runPhase(MapLaneView<?, ?> view, int phase, boolean preemptive) {
+    final Form<Object> keyForm = (Form<Object>) view.keyForm;
+    if (this.keyForm != keyForm && keyForm != null) {
+      this.keyForm = keyForm;
+      this.keyObjects = MapLaneRelayUpdateAll.castValues(keyForm, this.keys);
+    }
+    if (phase == 1) {
+      boolean complete = true;
+      for (int i = 0, n = this.keys.length; i < n; i += 1) {
+        final Object keyObject = this.keyObjects[i];
+        if (preemptive) {
+          ((MapLaneView<Object, Object>) view).laneWillRemove(keyObject);
+        }
+        complete = ((MapLaneView<Object, Object>) view).dispatchWillRemove(null, keyObject, preemptive) && complete;
+      }
+      return complete;
+    } else if (phase == 2) {
+      final Form<Object> valueForm = (Form<Object>) view.valueForm;
+      if (this.valueForm != valueForm && valueForm != null) {
+        this.valueForm = valueForm;
+        this.oldObjects = MapLaneRelayUpdateAll.castValues(valueForm, this.oldValues);
+      }
+      boolean complete = true;
+      for (int i = 0, n = this.keys.length; i < n; i += 1) {
+        final Object keyObject = this.keyObjects[i];
+        final Object oldObject = this.oldObjects[i];
+        if (preemptive) {
+          ((MapLaneView<Object, Object>) view).laneDidRemove(keyObject, oldObject);
+        }
+        complete = ((MapLaneView<Object, Object>) view).dispatchDidRemove(null, keyObject, oldObject, preemptive) && complete;
+      }
+      return ((MapLaneView<Object, Object>) view).dispatchDidUpdateBatch(null, Arrays.asList(this.keyObjects), preemptive) && complete;
+    } else {
+      throw new AssertionError(); // unreachable
+    }
+  }
+
+  @Override
+  protected void done() {
+    final Value[] keys = this.keys;
+    final Value[] oldValues = this.oldValues;
+    FingerTrieSeq<Value> cueKeys = FingerTrieSeq.empty();
+    for (int i = 0, n = keys.length; i < n; i += 1) {
+      if (oldValues[i].isDefined()) {
+        cueKeys = cueKeys.appended(keys[i]);
+      }
+    }
+    if (!cueKeys.isEmpty()) {
+      this.model.cueDownKeys(cueKeys);
+    }
+  }
+
+}
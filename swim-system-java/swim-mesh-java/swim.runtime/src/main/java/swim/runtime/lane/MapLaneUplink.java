@@ -14,23 +14,30 @@
 
 package swim.runtime.lane;
 
+import java.util.Iterator;
+import swim.collections.FingerTrieSeq;
+import swim.collections.HashTrieSet;
 import swim.concurrent.Stage;
 import swim.runtime.UplinkAddress;
 import swim.runtime.WarpBinding;
 import swim.runtime.warp.MapUplinkModem;
+import swim.runtime.warp.WarpSyncLog;
 import swim.structure.Attr;
 import swim.structure.Record;
 import swim.structure.Value;
 import swim.warp.SyncRequest;
+import swim.warp.SyncedResponse;
 
 public class MapLaneUplink extends MapUplinkModem {
 
   final MapLaneModel laneBinding;
+  volatile Value syncSince;
 
   public MapLaneUplink(MapLaneModel laneBinding, WarpBinding linkBinding,
                        UplinkAddress uplinkAddress) {
     super(linkBinding, uplinkAddress);
     this.laneBinding = laneBinding;
+    this.syncSince = Value.absent();
   }
 
   @Override
@@ -46,17 +53,40 @@ public class MapLaneUplink extends MapUplinkModem {
   @Override
   protected Value nextDownKey(Value key) {
     final Value value = this.laneBinding.get(key);
-    if (value != null) {
+    if (value != null && value.isDefined()) {
       return Attr.of("update", Record.create(1).slot("key", key)).concat(value);
     } else {
-      return null;
+      return Record.create(1).attr("remove", Record.create(1).slot("key", key));
     }
   }
 
+  @Override
+  protected Iterator<Value> resyncKeys() {
+    return this.laneBinding.keyIterator();
+  }
+
   @Override
   protected void willSync(SyncRequest request) {
-    syncDown(this.laneBinding.keyIterator());
+    final WarpSyncLog<Value> syncLog = this.laneBinding.syncLog();
+    final FingerTrieSeq<Value> changes = syncLog.since(request.body().header("since"));
+    if (changes != null) {
+      // Resume the sync by replaying only the keys changed since the version
+      // last seen by the downlink; removed keys get replayed as removes.
+      HashTrieSet<Value> keys = HashTrieSet.empty();
+      for (Value key : changes) {
+        keys = keys.added(key);
+      }
+      syncDown(keys.iterator());
+    } else {
+      syncDown(this.laneBinding.keyIterator());
+    }
+    this.syncSince = syncLog.toValue();
     super.willSync(request);
   }
 
+  @Override
+  protected SyncedResponse syncedResponse() {
+    return new SyncedResponse(nodeUri(), laneUri(), this.syncSince);
+  }
+
 }
@@ -26,6 +26,7 @@ import swim.api.SwimContext;
 import swim.api.agent.AgentContext;
 import swim.api.data.MapData;
 import swim.api.lane.MapLane;
+import swim.api.lane.function.DidUpdateBatch;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
@@ -284,6 +285,11 @@ public class MapLaneView<K, V> extends WarpLaneView implements MapLane<K, V> {
     return observe(didClear);
   }
 
+  @Override
+  public MapLaneView<K, V> didUpdateBatch(DidUpdateBatch<K> didUpdateBatch) {
+    return observe(didUpdateBatch);
+  }
+
   @Override
   public MapLaneView<K, V> willCommand(WillCommand willCommand) {
     return observe(willCommand);
@@ -808,6 +814,55 @@ public class MapLaneView<K, V> extends WarpLaneView implements MapLane<K, V> {
     }
   }
 
+  @SuppressWarnings("unchecked")
+  public boolean dispatchDidUpdateBatch(Link link, Collection<K> keys, boolean preemptive) {
+    final Lane oldLane = SwimContext.getLane();
+    final Link oldLink = SwimContext.getLink();
+    try {
+      SwimContext.setLane(this);
+      SwimContext.setLink(link);
+      final Object observers = this.observers;
+      boolean complete = true;
+      if (observers instanceof DidUpdateBatch<?>) {
+        if (((DidUpdateBatch<?>) observers).isPreemptive() == preemptive) {
+          try {
+            ((DidUpdateBatch<K>) observers).didUpdateBatch(keys);
+          } catch (Throwable error) {
+            if (Conts.isNonFatal(error)) {
+              laneDidFail(error);
+            }
+            throw error;
+          }
+        } else if (preemptive) {
+          complete = false;
+        }
+      } else if (observers instanceof Object[]) {
+        final Object[] array = (Object[]) observers;
+        for (int i = 0, n = array.length; i < n; i += 1) {
+          final Object observer = array[i];
+          if (observer instanceof DidUpdateBatch<?>) {
+            if (((DidUpdateBatch<?>) observer).isPreemptive() == preemptive) {
+              try {
+                ((DidUpdateBatch<K>) observer).didUpdateBatch(keys);
+              } catch (Throwable error) {
+                if (Conts.isNonFatal(error)) {
+                  laneDidFail(error);
+                }
+                throw error;
+              }
+            } else if (preemptive) {
+              complete = false;
+            }
+          }
+        }
+      }
+      return complete;
+    } finally {
+      SwimContext.setLink(oldLink);
+      SwimContext.setLane(oldLane);
+    }
+  }
+
   public V laneWillUpdate(K key, V newValue) {
     return newValue;
   }
@@ -950,9 +1005,7 @@ public class MapLaneView<K, V> extends WarpLaneView implements MapLane<K, V> {
 
   @Override
   public void putAll(Map<? extends K, ? extends V> map) {
-    for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
-      this.laneBinding.put(this, entry.getKey(), entry.getValue());
-    }
+    this.laneBinding.putAll(this, map);
   }
 
   @SuppressWarnings("unchecked")
@@ -965,6 +1018,11 @@ public class MapLaneView<K, V> extends WarpLaneView implements MapLane<K, V> {
     return valueForm.unit();
   }
 
+  @Override
+  public void removeAll(Collection<? extends K> keys) {
+    this.laneBinding.removeAll(this, keys);
+  }
+
   @Override
   public void drop(int lower) {
     this.laneBinding.drop(this, lower);
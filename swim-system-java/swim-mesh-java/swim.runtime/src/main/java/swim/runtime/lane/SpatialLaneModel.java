@@ -162,6 +162,11 @@ public class SpatialLaneModel<S> extends WarpLaneModel<SpatialLaneView<?, S, ?>,
     return this;
   }
 
+  @Override
+  public boolean hasTransientState() {
+    return isTransient() && this.data != null && !this.data.isEmpty();
+  }
+
   public Value get(Value key) {
     if (key != null) {
       return this.data.get(key);
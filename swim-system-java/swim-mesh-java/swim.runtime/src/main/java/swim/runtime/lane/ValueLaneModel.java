@@ -121,6 +121,11 @@ public class ValueLaneModel extends WarpLaneModel<ValueLaneView<?>, ValueLaneUpl
     return this;
   }
 
+  @Override
+  public boolean hasTransientState() {
+    return isTransient() && this.data != null && this.data.get().isDefined();
+  }
+
   public Value get() {
     return this.data.get();
   }
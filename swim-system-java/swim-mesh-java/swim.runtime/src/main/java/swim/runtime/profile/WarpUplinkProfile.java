@@ -16,6 +16,7 @@ package swim.runtime.profile;
 
 import swim.runtime.Metric;
 import swim.runtime.UplinkAddress;
+import swim.runtime.reflect.LatencyHistogram;
 
 public final class WarpUplinkProfile extends Metric {
 
@@ -26,10 +27,16 @@ public final class WarpUplinkProfile extends Metric {
   final int commandDelta;
   final int commandRate;
   final long commandCount;
+  final int downQueueSize;
+  final int downDropDelta;
+  final long downDropCount;
+  final LatencyHistogram eventDwell;
 
   public WarpUplinkProfile(UplinkAddress cellAddress,
                            int eventDelta, int eventRate, long eventCount,
-                           int commandDelta, int commandRate, long commandCount) {
+                           int commandDelta, int commandRate, long commandCount,
+                           int downQueueSize, int downDropDelta, long downDropCount,
+                           LatencyHistogram eventDwell) {
     this.cellAddress = cellAddress;
     this.eventDelta = eventDelta;
     this.eventRate = eventRate;
@@ -37,6 +44,26 @@ public final class WarpUplinkProfile extends Metric {
     this.commandDelta = commandDelta;
     this.commandRate = commandRate;
     this.commandCount = commandCount;
+    this.downQueueSize = downQueueSize;
+    this.downDropDelta = downDropDelta;
+    this.downDropCount = downDropCount;
+    this.eventDwell = eventDwell;
+  }
+
+  public WarpUplinkProfile(UplinkAddress cellAddress,
+                           int eventDelta, int eventRate, long eventCount,
+                           int commandDelta, int commandRate, long commandCount,
+                           int downQueueSize, int downDropDelta, long downDropCount) {
+    this(cellAddress, eventDelta, eventRate, eventCount,
+         commandDelta, commandRate, commandCount,
+         downQueueSize, downDropDelta, downDropCount, LatencyHistogram.empty());
+  }
+
+  public WarpUplinkProfile(UplinkAddress cellAddress,
+                           int eventDelta, int eventRate, long eventCount,
+                           int commandDelta, int commandRate, long commandCount) {
+    this(cellAddress, eventDelta, eventRate, eventCount,
+         commandDelta, commandRate, commandCount, 0, 0, 0L);
   }
 
   @Override
@@ -68,4 +95,20 @@ public final class WarpUplinkProfile extends Metric {
     return this.commandCount;
   }
 
+  public int downQueueSize() {
+    return this.downQueueSize;
+  }
+
+  public int downDropDelta() {
+    return this.downDropDelta;
+  }
+
+  public long downDropCount() {
+    return this.downDropCount;
+  }
+
+  public LatencyHistogram eventDwell() {
+    return this.eventDwell;
+  }
+
 }
@@ -0,0 +1,193 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.runtime.reflect;
+
+import swim.structure.Form;
+import swim.structure.Item;
+import swim.structure.Kind;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Value;
+
+/**
+ * Immutable histogram of latency samples, in nanoseconds, bucketed by powers
+ * of two.  Bucket {@code i} counts the samples {@code t} for which {@code
+ * 2^(i-1) <= t < 2^i}; bucket {@code 0} counts samples of zero nanoseconds.
+ * Quantiles are estimated as the upper bound of the bucket that contains
+ * them, capped at the largest recorded sample, which bounds their relative
+ * error to a factor of two.
+ */
+public class LatencyHistogram extends Pulse {
+
+  public static final int BUCKET_COUNT = 64;
+
+  private static Form<LatencyHistogram> form;
+  private static LatencyHistogram empty;
+  protected final long[] buckets;
+  protected final long count;
+  protected final long sum;
+  protected final long max;
+
+  public LatencyHistogram(long[] buckets, long sum, long max) {
+    long count = 0L;
+    for (int i = 0, n = buckets.length; i < n; i += 1) {
+      count += buckets[i];
+    }
+    this.buckets = buckets;
+    this.count = count;
+    this.sum = sum;
+    this.max = max;
+  }
+
+  @Kind
+  public static Form<LatencyHistogram> form() {
+    if (form == null) {
+      form = new LatencyHistogramForm();
+    }
+    return form;
+  }
+
+  public static LatencyHistogram empty() {
+    if (empty == null) {
+      empty = new LatencyHistogram(new long[BUCKET_COUNT], 0L, 0L);
+    }
+    return empty;
+  }
+
+  /**
+   * Returns the index of the bucket that counts samples of {@code nanos}
+   * nanoseconds.
+   */
+  public static int bucketIndex(long nanos) {
+    return nanos > 0L ? 64 - Long.numberOfLeadingZeros(nanos) : 0;
+  }
+
+  @Override
+  public boolean isDefined() {
+    return this.count != 0L;
+  }
+
+  public final long count() {
+    return this.count;
+  }
+
+  public final long sum() {
+    return this.sum;
+  }
+
+  public final long max() {
+    return this.max;
+  }
+
+  public final long mean() {
+    return this.count != 0L ? this.sum / this.count : 0L;
+  }
+
+  public final long bucketCount(int index) {
+    return this.buckets[index];
+  }
+
+  /**
+   * Returns an estimate of the latency below which a fraction {@code q} of
+   * all samples fall.
+   */
+  public long quantile(double q) {
+    if (this.count == 0L) {
+      return 0L;
+    }
+    final long rank = Math.max(1L, (long) Math.ceil(q * (double) this.count));
+    long total = 0L;
+    for (int i = 0, n = this.buckets.length; i < n; i += 1) {
+      total += this.buckets[i];
+      if (total >= rank) {
+        final long upperBound = i < 63 ? (1L << i) - 1L : Long.MAX_VALUE;
+        return Math.min(upperBound, this.max);
+      }
+    }
+    return this.max;
+  }
+
+  /**
+   * Returns a histogram that counts the samples of both this histogram and
+   * {@code that} histogram.
+   */
+  public LatencyHistogram merged(LatencyHistogram that) {
+    if (that.count == 0L) {
+      return this;
+    } else if (this.count == 0L) {
+      return that;
+    }
+    final long[] buckets = new long[BUCKET_COUNT];
+    for (int i = 0; i < BUCKET_COUNT; i += 1) {
+      buckets[i] = this.buckets[i] + that.buckets[i];
+    }
+    return new LatencyHistogram(buckets, this.sum + that.sum, Math.max(this.max, that.max));
+  }
+
+  @Override
+  public Value toValue() {
+    return form().mold(this).toValue();
+  }
+
+}
+
+final class LatencyHistogramForm extends Form<LatencyHistogram> {
+
+  @Override
+  public Class<?> type() {
+    return LatencyHistogram.class;
+  }
+
+  @Override
+  public Item mold(LatencyHistogram histogram) {
+    if (histogram != null) {
+      final Record record = Record.create(8);
+      if (histogram.count > 0L) {
+        record.slot("count", histogram.count);
+        record.slot("sum", histogram.sum);
+        record.slot("max", histogram.max);
+        record.slot("p50", histogram.quantile(0.5));
+        record.slot("p90", histogram.quantile(0.9));
+        record.slot("p99", histogram.quantile(0.99));
+        final Record buckets = Record.create();
+        for (int i = 0, n = histogram.buckets.length; i < n; i += 1) {
+          if (histogram.buckets[i] != 0L) {
+            buckets.slot(Num.from(i), histogram.buckets[i]);
+          }
+        }
+        record.slot("buckets", buckets);
+      }
+      return record;
+    } else {
+      return Item.extant();
+    }
+  }
+
+  @Override
+  public LatencyHistogram cast(Item item) {
+    final Value value = item.toValue();
+    final long sum = value.get("sum").longValue(0L);
+    final long max = value.get("max").longValue(0L);
+    final long[] buckets = new long[LatencyHistogram.BUCKET_COUNT];
+    for (Item bucket : value.get("buckets")) {
+      final int index = bucket.key().intValue(-1);
+      if (index >= 0 && index < LatencyHistogram.BUCKET_COUNT) {
+        buckets[index] = bucket.toValue().longValue(0L);
+      }
+    }
+    return new LatencyHistogram(buckets, sum, max);
+  }
+
+}
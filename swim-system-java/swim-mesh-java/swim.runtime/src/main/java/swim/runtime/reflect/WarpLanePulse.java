@@ -26,11 +26,18 @@ public class WarpLanePulse extends LanePulse {
   protected final long laneCount;
   protected final WarpDownlinkPulse downlinkPulse;
   protected final WarpUplinkPulse uplinkPulse;
+  protected final LatencyHistogram commandDispatch;
 
-  public WarpLanePulse(long laneCount, WarpDownlinkPulse downlinkPulse, WarpUplinkPulse uplinkPulse) {
+  public WarpLanePulse(long laneCount, WarpDownlinkPulse downlinkPulse, WarpUplinkPulse uplinkPulse,
+                       LatencyHistogram commandDispatch) {
     this.laneCount = laneCount;
     this.downlinkPulse = downlinkPulse;
     this.uplinkPulse = uplinkPulse;
+    this.commandDispatch = commandDispatch;
+  }
+
+  public WarpLanePulse(long laneCount, WarpDownlinkPulse downlinkPulse, WarpUplinkPulse uplinkPulse) {
+    this(laneCount, downlinkPulse, uplinkPulse, LatencyHistogram.empty());
   }
 
   @Kind
@@ -43,7 +50,8 @@ public class WarpLanePulse extends LanePulse {
 
   @Override
   public boolean isDefined() {
-    return this.laneCount != 0L || this.downlinkPulse.isDefined() || this.uplinkPulse.isDefined();
+    return this.laneCount != 0L || this.downlinkPulse.isDefined() || this.uplinkPulse.isDefined()
+        || this.commandDispatch.isDefined();
   }
 
   @Override
@@ -59,6 +67,14 @@ public class WarpLanePulse extends LanePulse {
     return this.uplinkPulse;
   }
 
+  /**
+   * Returns the histogram of the time from the lane receiving a command to
+   * the lane completing the dispatch of that command to its observers.
+   */
+  public final LatencyHistogram commandDispatch() {
+    return this.commandDispatch;
+  }
+
   @Override
   public Value toValue() {
     return form().mold(this).toValue();
@@ -76,7 +92,7 @@ final class WarpLanePulseForm extends Form<WarpLanePulse> {
   @Override
   public Item mold(WarpLanePulse pulse) {
     if (pulse != null) {
-      final Record record = Record.create(3);
+      final Record record = Record.create(4);
       if (pulse.laneCount > 0L) {
         record.slot("laneCount", pulse.laneCount);
       }
@@ -86,6 +102,9 @@ final class WarpLanePulseForm extends Form<WarpLanePulse> {
       if (pulse.uplinkPulse.isDefined()) {
         record.slot("uplink", pulse.uplinkPulse.toValue());
       }
+      if (pulse.commandDispatch.isDefined()) {
+        record.slot("commandDispatch", pulse.commandDispatch.toValue());
+      }
       return record;
     } else {
       return Item.extant();
@@ -98,7 +117,8 @@ final class WarpLanePulseForm extends Form<WarpLanePulse> {
     final long laneCount = value.get("laneCount").longValue(0L);
     final WarpDownlinkPulse downlinkPulse = value.get("downlink").coerce(WarpDownlinkPulse.form());
     final WarpUplinkPulse uplinkPulse = value.get("uplink").coerce(WarpUplinkPulse.form());
-    return new WarpLanePulse(laneCount, downlinkPulse, uplinkPulse);
+    final LatencyHistogram commandDispatch = value.get("commandDispatch").coerce(LatencyHistogram.form());
+    return new WarpLanePulse(laneCount, downlinkPulse, uplinkPulse, commandDispatch);
   }
 
 }
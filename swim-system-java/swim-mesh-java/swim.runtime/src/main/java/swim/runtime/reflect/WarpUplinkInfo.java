@@ -15,6 +15,7 @@
 package swim.runtime.reflect;
 
 import swim.runtime.WarpContext;
+import swim.runtime.warp.WarpUplinkModem;
 import swim.structure.Form;
 import swim.structure.Item;
 import swim.structure.Kind;
@@ -28,17 +29,35 @@ public class WarpUplinkInfo extends UplinkInfo implements WarpInfo {
   protected final boolean connected;
   protected final boolean remote;
   protected final boolean secure;
+  protected final int downQueueSize;
+  protected final long downDropCount;
 
-  public WarpUplinkInfo(Value linkKey, boolean connected, boolean remote, boolean secure) {
+  public WarpUplinkInfo(Value linkKey, boolean connected, boolean remote, boolean secure,
+                        int downQueueSize, long downDropCount) {
     this.linkKey = linkKey;
     this.connected = connected;
     this.remote = remote;
     this.secure = secure;
+    this.downQueueSize = downQueueSize;
+    this.downDropCount = downDropCount;
+  }
+
+  public WarpUplinkInfo(Value linkKey, boolean connected, boolean remote, boolean secure) {
+    this(linkKey, connected, remote, secure, 0, 0L);
   }
 
   public static WarpUplinkInfo from(WarpContext warpContext) {
+    final int downQueueSize;
+    final long downDropCount;
+    if (warpContext instanceof WarpUplinkModem) {
+      downQueueSize = ((WarpUplinkModem) warpContext).downQueueSize();
+      downDropCount = ((WarpUplinkModem) warpContext).downDropCount();
+    } else {
+      downQueueSize = 0;
+      downDropCount = 0L;
+    }
     return new WarpUplinkInfo(warpContext.linkKey(), warpContext.isConnectedUp(),
-        warpContext.isRemoteUp(), warpContext.isSecureUp());
+        warpContext.isRemoteUp(), warpContext.isSecureUp(), downQueueSize, downDropCount);
   }
 
   @Kind
@@ -65,6 +84,14 @@ public class WarpUplinkInfo extends UplinkInfo implements WarpInfo {
     return this.secure;
   }
 
+  public final int downQueueSize() {
+    return this.downQueueSize;
+  }
+
+  public final long downDropCount() {
+    return this.downDropCount;
+  }
+
   @Override
   public Value toValue() {
     return warpUplinkForm().mold(this).toValue();
@@ -82,7 +109,7 @@ final class WarpUplinkInfoForm extends Form<WarpUplinkInfo> {
   @Override
   public Item mold(WarpUplinkInfo info) {
     if (info != null) {
-      final Record record = Record.create(4);
+      final Record record = Record.create(6);
       record.slot("linkKey", info.linkKey);
       if (info.connected) {
         record.slot("connected", info.connected);
@@ -93,6 +120,12 @@ final class WarpUplinkInfoForm extends Form<WarpUplinkInfo> {
       if (info.secure) {
         record.slot("secure", info.secure);
       }
+      if (info.downQueueSize != 0) {
+        record.slot("downQueueSize", info.downQueueSize);
+      }
+      if (info.downDropCount != 0L) {
+        record.slot("downDropCount", info.downDropCount);
+      }
       return record;
     } else {
       return Item.extant();
@@ -107,7 +140,9 @@ final class WarpUplinkInfoForm extends Form<WarpUplinkInfo> {
       final boolean connected = value.get("connected").booleanValue(false);
       final boolean remote = value.get("remote").booleanValue(false);
       final boolean secure = value.get("secure").booleanValue(false);
-      return new WarpUplinkInfo(linkKey, connected, remote, secure);
+      final int downQueueSize = value.get("downQueueSize").intValue(0);
+      final long downDropCount = value.get("downDropCount").longValue(0L);
+      return new WarpUplinkInfo(linkKey, connected, remote, secure, downQueueSize, downDropCount);
     }
     return null;
   }
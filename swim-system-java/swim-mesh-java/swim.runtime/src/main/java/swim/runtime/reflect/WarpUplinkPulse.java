@@ -28,14 +28,25 @@ public class WarpUplinkPulse extends UplinkPulse implements WarpPulse {
   protected final long eventCount;
   protected final int commandRate;
   protected final long commandCount;
+  protected final LatencyHistogram eventDwell;
+  protected final LatencyHistogram encodeTime;
 
   public WarpUplinkPulse(long linkCount, int eventRate, long eventCount,
-                         int commandRate, long commandCount) {
+                         int commandRate, long commandCount,
+                         LatencyHistogram eventDwell, LatencyHistogram encodeTime) {
     this.linkCount = linkCount;
     this.eventRate = eventRate;
     this.eventCount = eventCount;
     this.commandRate = commandRate;
     this.commandCount = commandCount;
+    this.eventDwell = eventDwell;
+    this.encodeTime = encodeTime;
+  }
+
+  public WarpUplinkPulse(long linkCount, int eventRate, long eventCount,
+                         int commandRate, long commandCount) {
+    this(linkCount, eventRate, eventCount, commandRate, commandCount,
+         LatencyHistogram.empty(), LatencyHistogram.empty());
   }
 
   @Kind
@@ -49,7 +60,8 @@ public class WarpUplinkPulse extends UplinkPulse implements WarpPulse {
   @Override
   public boolean isDefined() {
     return this.linkCount != 0L || this.eventRate != 0 || this.eventCount != 0L
-        || this.commandRate != 0 || this.commandCount != 0L;
+        || this.commandRate != 0 || this.commandCount != 0L
+        || this.eventDwell.isDefined() || this.encodeTime.isDefined();
   }
 
   @Override
@@ -77,6 +89,22 @@ public class WarpUplinkPulse extends UplinkPulse implements WarpPulse {
     return this.commandCount;
   }
 
+  /**
+   * Returns the histogram of the time that uplinks with pending events waited
+   * for their links to pull the next event.
+   */
+  public final LatencyHistogram eventDwell() {
+    return this.eventDwell;
+  }
+
+  /**
+   * Returns the histogram of the time taken to encode and write envelopes
+   * to the network.
+   */
+  public final LatencyHistogram encodeTime() {
+    return this.encodeTime;
+  }
+
   @Override
   public Value toValue() {
     return form().mold(this).toValue();
@@ -94,7 +122,7 @@ final class WarpUplinkPulseForm extends Form<WarpUplinkPulse> {
   @Override
   public Item mold(WarpUplinkPulse pulse) {
     if (pulse != null) {
-      final Record record = Record.create(5);
+      final Record record = Record.create(7);
       if (pulse.linkCount > 0L) {
         record.slot("linkCount", pulse.linkCount);
       }
@@ -110,6 +138,12 @@ final class WarpUplinkPulseForm extends Form<WarpUplinkPulse> {
       if (pulse.commandCount > 0L) {
         record.slot("commandCount", pulse.commandCount);
       }
+      if (pulse.eventDwell.isDefined()) {
+        record.slot("eventDwell", pulse.eventDwell.toValue());
+      }
+      if (pulse.encodeTime.isDefined()) {
+        record.slot("encodeTime", pulse.encodeTime.toValue());
+      }
       return record;
     } else {
       return Item.extant();
@@ -124,7 +158,10 @@ final class WarpUplinkPulseForm extends Form<WarpUplinkPulse> {
     final long eventCount = value.get("eventCount").longValue(0L);
     final int commandRate = value.get("commandRate").intValue(0);
     final long commandCount = value.get("commandCount").longValue(0L);
-    return new WarpUplinkPulse(linkCount, eventRate, eventCount, commandRate, commandCount);
+    final LatencyHistogram eventDwell = value.get("eventDwell").coerce(LatencyHistogram.form());
+    final LatencyHistogram encodeTime = value.get("encodeTime").coerce(LatencyHistogram.form());
+    return new WarpUplinkPulse(linkCount, eventRate, eventCount, commandRate, commandCount,
+                               eventDwell, encodeTime);
   }
 
 }
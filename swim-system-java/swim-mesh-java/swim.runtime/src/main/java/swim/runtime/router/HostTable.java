@@ -14,6 +14,9 @@
 
 package swim.runtime.router;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
@@ -29,9 +32,12 @@ import swim.api.lane.function.OnSyncKeys;
 import swim.api.policy.Policy;
 import swim.api.warp.WarpUplink;
 import swim.collections.FingerTrieSeq;
+import swim.collections.HashTrieSet;
 import swim.concurrent.Conts;
 import swim.concurrent.Schedule;
 import swim.concurrent.Stage;
+import swim.concurrent.TimerFunction;
+import swim.concurrent.TimerRef;
 import swim.runtime.AbstractTierBinding;
 import swim.runtime.HostAddress;
 import swim.runtime.HostBinding;
@@ -39,6 +45,7 @@ import swim.runtime.HostContext;
 import swim.runtime.HostException;
 import swim.runtime.LaneBinding;
 import swim.runtime.LinkBinding;
+import swim.runtime.MeshBinding;
 import swim.runtime.Metric;
 import swim.runtime.NodeAddress;
 import swim.runtime.NodeBinding;
@@ -76,6 +83,9 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   @SuppressWarnings("unchecked")
   static final AtomicReferenceFieldUpdater<HostTable, UriMapper<NodeBinding>> NODES =
       AtomicReferenceFieldUpdater.newUpdater(HostTable.class, (Class<UriMapper<NodeBinding>>) (Class<?>) UriMapper.class, "nodes");
+  @SuppressWarnings("unchecked")
+  static final AtomicReferenceFieldUpdater<HostTable, HashTrieSet<Uri>> PINNED_NODES =
+      AtomicReferenceFieldUpdater.newUpdater(HostTable.class, (Class<HashTrieSet<Uri>>) (Class<?>) HashTrieSet.class, "pinnedNodes");
   static final AtomicIntegerFieldUpdater<HostTable> FLAGS =
       AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "flags");
   static final AtomicIntegerFieldUpdater<HostTable> NODE_OPEN_DELTA =
@@ -150,6 +160,7 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
       AtomicLongFieldUpdater.newUpdater(HostTable.class, "lastReportTime");
   protected HostContext hostContext;
   volatile UriMapper<NodeBinding> nodes;
+  volatile HashTrieSet<Uri> pinnedNodes;
   volatile int flags;
   volatile int nodeOpenDelta;
   volatile long nodeOpenCount;
@@ -196,9 +207,17 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   SupplyLane<LogEntry> metaWarnLog;
   SupplyLane<LogEntry> metaErrorLog;
   SupplyLane<LogEntry> metaFailLog;
+  final long passivateIdleMillis;
+  final int residentNodeLimit;
+  final long passivateIntervalMillis;
+  TimerRef passivateTimer;
 
   public HostTable() {
     this.nodes = UriMapper.empty();
+    this.pinnedNodes = HashTrieSet.empty();
+    this.passivateIdleMillis = Long.getLong("swim.host.passivate.idle.millis", 0L);
+    this.residentNodeLimit = Integer.getInteger("swim.host.resident.limit", 0);
+    this.passivateIntervalMillis = Long.getLong("swim.host.passivate.interval.millis", 10000L);
   }
 
   @Override
@@ -509,12 +528,55 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
       }
     } while (oldNodes != newNodes && !NODES.compareAndSet(this, oldNodes, newNodes));
     if (nodeBinding != null) {
+      // Explicitly opened nodes can't be recreated by routing, and so must
+      // never be passivated.
+      pinNode(nodeUri);
       activate(nodeBinding);
       didOpenNode(nodeBinding);
     }
     return nodeBinding;
   }
 
+  void pinNode(Uri nodeUri) {
+    do {
+      final HashTrieSet<Uri> oldPinnedNodes = this.pinnedNodes;
+      final HashTrieSet<Uri> newPinnedNodes = oldPinnedNodes.added(nodeUri);
+      if (oldPinnedNodes == newPinnedNodes || PINNED_NODES.compareAndSet(this, oldPinnedNodes, newPinnedNodes)) {
+        break;
+      }
+    } while (true);
+  }
+
+  void unpinNode(Uri nodeUri) {
+    do {
+      final HashTrieSet<Uri> oldPinnedNodes = this.pinnedNodes;
+      final HashTrieSet<Uri> newPinnedNodes = oldPinnedNodes.removed(nodeUri);
+      if (oldPinnedNodes == newPinnedNodes || PINNED_NODES.compareAndSet(this, oldPinnedNodes, newPinnedNodes)) {
+        break;
+      }
+    } while (true);
+  }
+
+  public void closeNode(Uri nodeUri, NodeBinding node) {
+    UriMapper<NodeBinding> oldNodes;
+    UriMapper<NodeBinding> newNodes;
+    do {
+      oldNodes = this.nodes;
+      if (oldNodes.get(nodeUri) == node) {
+        newNodes = oldNodes.removed(nodeUri);
+      } else {
+        // Node was passivated, or has already been replaced.
+        newNodes = oldNodes;
+        break;
+      }
+    } while (oldNodes != newNodes && !NODES.compareAndSet(this, oldNodes, newNodes));
+    if (oldNodes != newNodes) {
+      unpinNode(nodeUri);
+      node.didClose();
+      didCloseNode(node);
+    }
+  }
+
   public void closeNode(Uri nodeUri) {
     UriMapper<NodeBinding> oldNodes;
     UriMapper<NodeBinding> newNodes;
@@ -532,6 +594,7 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
       }
     } while (oldNodes != newNodes && !NODES.compareAndSet(this, oldNodes, newNodes));
     if (nodeBinding != null) {
+      unpinNode(nodeUri);
       nodeBinding.didClose();
       didCloseNode(nodeBinding);
     }
@@ -543,6 +606,7 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
     do {
       oldNodes = this.nodes;
     } while (oldNodes != newNodes && !NODES.compareAndSet(this, oldNodes, newNodes));
+    this.pinnedNodes = HashTrieSet.empty();
     if (!oldNodes.isEmpty()) {
       final DemandMapLane<Uri, NodeInfo> metaNodes = this.metaNodes;
       for (NodeBinding nodeBinding : oldNodes.values()) {
@@ -556,6 +620,192 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
     }
   }
 
+  /**
+   * Returns the number of milliseconds after which a quiescent agent is
+   * passivated, or {@code 0} if agents are never passivated for being idle.
+   * Configured by the {@code swim.host.passivate.idle.millis} system property.
+   */
+  public long passivateIdleMillis() {
+    return this.passivateIdleMillis;
+  }
+
+  /**
+   * Returns the maximum number of nodes to keep resident before passivating
+   * the least recently active quiescent agents, or {@code 0} if the number
+   * of resident nodes is unbounded.  Configured by the {@code
+   * swim.host.resident.limit} system property.
+   */
+  public int residentNodeLimit() {
+    return this.residentNodeLimit;
+  }
+
+  /**
+   * Closes all routed nodes whose agents are quiescent, and which either
+   * haven't been active for {@link #passivateIdleMillis()}, or which are the
+   * least recently active nodes in excess of {@link #residentNodeLimit()}.
+   * Lane state persists in the host's store, and passivated nodes get
+   * reopened the next time a link or command routes to them.
+   */
+  public void passivateNodes() {
+    final long passivateIdleMillis = this.passivateIdleMillis;
+    final int residentNodeLimit = this.residentNodeLimit;
+    final long now = System.currentTimeMillis();
+    final HashTrieSet<Uri> pinnedNodes = this.pinnedNodes;
+    if (passivateIdleMillis > 0L) {
+      final Iterator<Map.Entry<Uri, NodeBinding>> nodesIterator = this.nodes.iterator();
+      while (nodesIterator.hasNext()) {
+        final Map.Entry<Uri, NodeBinding> entry = nodesIterator.next();
+        final Uri nodeUri = entry.getKey();
+        final NodeBinding node = entry.getValue();
+        if (!pinnedNodes.contains(nodeUri)) {
+          final AgentNode agentNode = passivatableNode(node);
+          if (agentNode != null && now - agentNode.lastActiveTime() >= passivateIdleMillis) {
+            passivateNode(nodeUri, node);
+          }
+        }
+      }
+    }
+    if (residentNodeLimit > 0 && this.nodes.size() > residentNodeLimit) {
+      final ArrayList<HostTablePassivateCandidate> candidates = new ArrayList<HostTablePassivateCandidate>();
+      final Iterator<Map.Entry<Uri, NodeBinding>> nodesIterator = this.nodes.iterator();
+      while (nodesIterator.hasNext()) {
+        final Map.Entry<Uri, NodeBinding> entry = nodesIterator.next();
+        final Uri nodeUri = entry.getKey();
+        final NodeBinding node = entry.getValue();
+        if (!pinnedNodes.contains(nodeUri)) {
+          final AgentNode agentNode = passivatableNode(node);
+          if (agentNode != null) {
+            candidates.add(new HostTablePassivateCandidate(nodeUri, node, agentNode.lastActiveTime()));
+          }
+        }
+      }
+      Collections.sort(candidates, HostTablePassivateCandidate.COMPARATOR);
+      for (int i = 0, n = candidates.size(); i < n && this.nodes.size() > residentNodeLimit; i += 1) {
+        final HostTablePassivateCandidate candidate = candidates.get(i);
+        passivateNode(candidate.nodeUri, candidate.node);
+      }
+    }
+  }
+
+  static AgentNode passivatableNode(NodeBinding node) {
+    if (node.isStarted()) {
+      final AgentNode agentNode = node.bottomNode(AgentNode.class);
+      if (agentNode != null && agentNode.isQuiescent()) {
+        return agentNode;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Removes {@code node} from the node table, if it's still bound to {@code
+   * nodeUri}, and closes it.  Subsequent routes to {@code nodeUri} will open
+   * a new node, whose lanes reload their state from the store.  The node's
+   * agent stops accepting routed links and commands before its quiescence
+   * is re-checked, so that nothing gets routed to a closing node.
+   */
+  protected boolean passivateNode(Uri nodeUri, NodeBinding node) {
+    final AgentNode agentNode = node.bottomNode(AgentNode.class);
+    if (agentNode != null && !agentNode.passivate()) {
+      return false;
+    }
+    if (removeNode(nodeUri, node)) {
+      closeRemovedNode(node);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Drains and closes all nodes that the mesh no longer routes to this
+   * host's part.
+   */
+  public void migrateNodes() {
+    final PartBinding part = part();
+    final MeshBinding mesh = part.mesh();
+    final Value partKey = part.partKey();
+    final Iterator<Map.Entry<Uri, NodeBinding>> nodesIterator = this.nodes.iterator();
+    while (nodesIterator.hasNext()) {
+      final Map.Entry<Uri, NodeBinding> entry = nodesIterator.next();
+      final Uri nodeUri = entry.getKey();
+      final PartBinding owner = mesh.getPart(nodeUri);
+      if (owner != null && !partKey.equals(owner.partKey())) {
+        migrateNode(nodeUri, entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * Removes {@code node} from the node table, if it's still bound to {@code
+   * nodeUri}, and closes it once its agent has executed all commands already
+   * in its mailbox.
+   */
+  protected boolean migrateNode(Uri nodeUri, NodeBinding node) {
+    if (removeNode(nodeUri, node)) {
+      unpinNode(nodeUri);
+      final AgentNode agentNode = node.bottomNode(AgentNode.class);
+      if (agentNode != null) {
+        agentNode.execute(new HostTableCloseNode(this, node));
+      } else {
+        closeRemovedNode(node);
+      }
+      return true;
+    }
+    return false;
+  }
+
+  boolean removeNode(Uri nodeUri, NodeBinding node) {
+    UriMapper<NodeBinding> oldNodes;
+    UriMapper<NodeBinding> newNodes;
+    do {
+      oldNodes = this.nodes;
+      if (oldNodes.get(nodeUri) == node) {
+        newNodes = oldNodes.removed(nodeUri);
+      } else {
+        return false;
+      }
+    } while (!NODES.compareAndSet(this, oldNodes, newNodes));
+    return true;
+  }
+
+  void closeRemovedNode(NodeBinding node) {
+    try {
+      node.close();
+      node.didClose();
+    } catch (Throwable error) {
+      if (Conts.isNonFatal(error)) {
+        didFail(error);
+      } else {
+        throw error;
+      }
+    }
+    didCloseNode(node);
+  }
+
+  void schedulePassivation() {
+    if (this.passivateIdleMillis > 0L || this.residentNodeLimit > 0) {
+      this.passivateTimer = schedule().setTimer(this.passivateIntervalMillis, new HostTablePassivator(this));
+    }
+  }
+
+  void cancelPassivation() {
+    final TimerRef passivateTimer = this.passivateTimer;
+    if (passivateTimer != null) {
+      passivateTimer.cancel();
+      this.passivateTimer = null;
+    }
+  }
+
+  void runPassivation() {
+    if (isStarted()) {
+      try {
+        passivateNodes();
+      } finally {
+        schedulePassivation();
+      }
+    }
+  }
+
   protected void didOpenNode(NodeBinding node) {
     final DemandMapLane<Uri, NodeInfo> metaNodes = this.metaNodes;
     if (metaNodes != null) {
@@ -646,29 +896,61 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
 
   @Override
   public void openUplink(LinkBinding link) {
-    NodeBinding nodeBinding = openNode(link.nodeUri());
-    if (nodeBinding != null) {
-      nodeBinding = nodeBinding.bottomNode(NodeBinding.class);
-    }
-    if (nodeBinding != null) {
-      nodeBinding.openUplink(link);
-    } else {
-      UplinkError.rejectNodeNotFound(link);
-    }
+    do {
+      NodeBinding nodeBinding = openNode(link.nodeUri());
+      if (nodeBinding != null) {
+        nodeBinding = nodeBinding.bottomNode(NodeBinding.class);
+      }
+      if (nodeBinding != null) {
+        final AgentNode agentNode = nodeBinding.bottomNode(AgentNode.class);
+        if (agentNode == null) {
+          nodeBinding.openUplink(link);
+        } else if (agentNode.willRoute()) {
+          try {
+            nodeBinding.openUplink(link);
+          } finally {
+            agentNode.didRoute();
+          }
+        } else {
+          // Node is passivating; retry once it has been removed.
+          Thread.yield();
+          continue;
+        }
+      } else {
+        UplinkError.rejectNodeNotFound(link);
+      }
+      break;
+    } while (true);
   }
 
   @Override
   public void pushUp(Push<?> push) {
     final Uri nodeUri = push.nodeUri();
-    NodeBinding nodeBinding = openNode(nodeUri);
-    if (nodeBinding != null) {
-      nodeBinding = nodeBinding.bottomNode(NodeBinding.class);
-    }
-    if (nodeBinding != null) {
-      nodeBinding.pushUp(push);
-    } else {
-      push.trap(new HostException("unknown node: " + nodeUri));
-    }
+    do {
+      NodeBinding nodeBinding = openNode(nodeUri);
+      if (nodeBinding != null) {
+        nodeBinding = nodeBinding.bottomNode(NodeBinding.class);
+      }
+      if (nodeBinding != null) {
+        final AgentNode agentNode = nodeBinding.bottomNode(AgentNode.class);
+        if (agentNode == null) {
+          nodeBinding.pushUp(push);
+        } else if (agentNode.willRoute()) {
+          try {
+            nodeBinding.pushUp(push);
+          } finally {
+            agentNode.didRoute();
+          }
+        } else {
+          // Node is passivating; retry once it has been removed.
+          Thread.yield();
+          continue;
+        }
+      } else {
+        push.trap(new HostException("unknown node: " + nodeUri));
+      }
+      break;
+    } while (true);
   }
 
   @Override
@@ -752,9 +1034,16 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
     }
   }
 
+  @Override
+  protected void didStart() {
+    super.didStart();
+    schedulePassivation();
+  }
+
   @Override
   protected void willStop() {
     super.willStop();
+    cancelPassivation();
     final Iterator<NodeBinding> nodesIterator = this.nodes.valueIterator();
     while (nodesIterator.hasNext()) {
       nodesIterator.next().stop();
@@ -963,6 +1252,65 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
 
 }
 
+final class HostTablePassivator implements TimerFunction, Runnable {
+
+  final HostTable host;
+
+  HostTablePassivator(HostTable host) {
+    this.host = host;
+  }
+
+  @Override
+  public void runTimer() {
+    // Sweep the node table on a stage thread, not the clock thread.
+    this.host.stage().execute(this);
+  }
+
+  @Override
+  public void run() {
+    this.host.runPassivation();
+  }
+
+}
+
+final class HostTableCloseNode implements Runnable {
+
+  final HostTable host;
+  final NodeBinding node;
+
+  HostTableCloseNode(HostTable host, NodeBinding node) {
+    this.host = host;
+    this.node = node;
+  }
+
+  @Override
+  public void run() {
+    this.host.closeRemovedNode(this.node);
+  }
+
+}
+
+final class HostTablePassivateCandidate {
+
+  static final Comparator<HostTablePassivateCandidate> COMPARATOR = new Comparator<HostTablePassivateCandidate>() {
+    @Override
+    public int compare(HostTablePassivateCandidate x, HostTablePassivateCandidate y) {
+      return Long.compare(x.lastActiveTime, y.lastActiveTime);
+    }
+  };
+
+  final Uri nodeUri;
+  final NodeBinding node;
+  final long lastActiveTime;
+
+  HostTablePassivateCandidate(Uri nodeUri, NodeBinding node, long lastActiveTime) {
+    this.nodeUri = nodeUri;
+    this.node = node;
+    this.lastActiveTime = lastActiveTime;
+  }
+
+}
+
 final class HostTableNodesController implements OnCueKey<Uri, NodeInfo>, OnSyncKeys<Uri> {
 
   final HostBinding host;
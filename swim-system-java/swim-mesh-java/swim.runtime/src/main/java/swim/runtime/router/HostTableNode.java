@@ -249,7 +249,7 @@ public class HostTableNode implements NodeContext {
 
   @Override
   public void close() {
-    this.host.closeNode(this.nodeAddress.nodeUri());
+    this.host.closeNode(this.nodeAddress.nodeUri(), this.node.nodeWrapper());
   }
 
   @Override
@@ -71,6 +71,8 @@ public class MeshTable extends AbstractTierBinding implements MeshBinding {
   @SuppressWarnings("unchecked")
   static final AtomicReferenceFieldUpdater<MeshTable, FingerTrieSeq<PartBinding>> PARTS =
       AtomicReferenceFieldUpdater.newUpdater(MeshTable.class, (Class<FingerTrieSeq<PartBinding>>) (Class<?>) FingerTrieSeq.class, "parts");
+  static final AtomicReferenceFieldUpdater<MeshTable, PartRing> RING =
+      AtomicReferenceFieldUpdater.newUpdater(MeshTable.class, PartRing.class, "ring");
   static final AtomicIntegerFieldUpdater<MeshTable> PART_OPEN_DELTA =
       AtomicIntegerFieldUpdater.newUpdater(MeshTable.class, "partOpenDelta");
   static final AtomicLongFieldUpdater<MeshTable> PART_OPEN_COUNT =
@@ -159,6 +161,7 @@ public class MeshTable extends AbstractTierBinding implements MeshBinding {
       AtomicLongFieldUpdater.newUpdater(MeshTable.class, "lastReportTime");
   protected MeshContext meshContext;
   volatile FingerTrieSeq<PartBinding> parts;
+  volatile PartRing ring;
   volatile PartBinding gateway;
   volatile PartBinding ourself;
   volatile int partOpenDelta;
@@ -217,6 +220,7 @@ public class MeshTable extends AbstractTierBinding implements MeshBinding {
 
   public MeshTable() {
     this.parts = FingerTrieSeq.empty();
+    this.ring = PartRing.empty();
   }
 
   @Override
@@ -390,14 +394,22 @@ public class MeshTable extends AbstractTierBinding implements MeshBinding {
     if (isMetaNode(nodeUri)) {
       return this.ourself;
     }
+    PartBinding part = null;
     final FingerTrieSeq<PartBinding> parts = this.parts;
     for (int i = 0, n = parts.size(); i < n; i += 1) {
-      final PartBinding part = parts.get(i);
-      if (part.predicate().test(nodeUri)) {
-        return part;
+      final PartBinding oldPart = parts.get(i);
+      if (oldPart.predicate().test(nodeUri)) {
+        part = oldPart;
+        break;
       }
     }
-    return this.gateway;
+    if (part == null || part == this.gateway) {
+      final PartBinding ringPart = this.ring.get(nodeUri.hashCode());
+      if (ringPart != null) {
+        return ringPart;
+      }
+    }
+    return part != null ? part : this.gateway;
   }
 
   @Override
@@ -431,6 +443,14 @@ public class MeshTable extends AbstractTierBinding implements MeshBinding {
             break;
           }
         }
+        if (part == null || part == this.gateway) {
+          // Ring parts take precedence over the gateway, but not over parts
+          // with explicit predicates.
+          final PartBinding ringPart = this.ring.get(nodeUri.hashCode());
+          if (ringPart != null) {
+            part = ringPart;
+          }
+        }
       }
       if (part != null) {
         if (partBinding != null) {
@@ -541,6 +561,9 @@ public class MeshTable extends AbstractTierBinding implements MeshBinding {
     if (partBinding != null) {
       activate(partBinding);
       didOpenPart(partBinding);
+      if (partBinding.predicate().virtualNodes() > 0) {
+        joinRing(partBinding);
+      }
     }
     return partBinding;
   }
@@ -568,6 +591,9 @@ public class MeshTable extends AbstractTierBinding implements MeshBinding {
       } else if (this.ourself == partBinding) {
         this.ourself = null;
       }
+      if (this.ring.contains(partBinding)) {
+        leaveRing(partBinding);
+      }
       partBinding.didClose();
       didClosePart(partBinding);
       if (newParts.isEmpty()) {
@@ -576,6 +602,57 @@ public class MeshTable extends AbstractTierBinding implements MeshBinding {
     }
   }
 
+  /**
+   * Adds {@code part} to the consistent hash ring, and rebalances the nodes
+   * in the hash ranges it takes over from other parts.
+   */
+  protected void joinRing(PartBinding part) {
+    final int virtualNodes = part.predicate().virtualNodes();
+    PartRing oldRing;
+    PartRing newRing;
+    do {
+      oldRing = this.ring;
+      newRing = oldRing.added(part, virtualNodes);
+    } while (oldRing != newRing && !RING.compareAndSet(this, oldRing, newRing));
+    if (oldRing != newRing) {
+      rebalanceParts(null);
+    }
+  }
+
+  /**
+   * Removes {@code part} from the consistent hash ring, and rebalances the
+   * nodes in the hash ranges it hands off to other parts.
+   */
+  protected void leaveRing(PartBinding part) {
+    PartRing oldRing;
+    PartRing newRing;
+    do {
+      oldRing = this.ring;
+      newRing = oldRing.removed(part);
+    } while (oldRing != newRing && !RING.compareAndSet(this, oldRing, newRing));
+    if (oldRing != newRing) {
+      rebalanceParts(part);
+    }
+  }
+
+  /**
+   * Redirects uplinks and drains local agents of all nodes whose hash ranges
+   * changed owners.  Only ring parts, the gateway, and a departing part can
+   * lose nodes when the ring changes.
+   */
+  protected void rebalanceParts(PartBinding departedPart) {
+    final FingerTrieSeq<PartBinding> parts = this.parts;
+    for (int i = 0, n = parts.size(); i < n; i += 1) {
+      final PartBinding part = parts.get(i);
+      if (part instanceof PartTable && (part == this.gateway || part.predicate().virtualNodes() > 0)) {
+        ((PartTable) part).rebalance();
+      }
+    }
+    if (departedPart instanceof PartTable) {
+      ((PartTable) departedPart).rebalance();
+    }
+  }
+
   protected void didOpenPart(PartBinding part) {
     final DemandMapLane<Value, PartInfo> metaParts = this.metaParts;
     if (metaParts != null) {
@@ -0,0 +1,154 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.runtime.router;
+
+import java.util.Arrays;
+import swim.runtime.PartBinding;
+import swim.structure.Value;
+import swim.util.Murmur3;
+
+/**
+ * Immutable consistent hash ring that maps node hashes to the parts of a
+ * mesh.  Each part claims a number of pseudo-random tokens on the ring,
+ * called virtual nodes, and owns the range of hashes preceding each of its
+ * tokens.  Adding or removing a part only moves the hash ranges adjacent to
+ * that part's tokens; all other nodes keep their owners.
+ */
+final class PartRing {
+
+  private static int tokenSeed;
+  private static PartRing empty;
+
+  /**
+   * Sorted ring positions of all virtual nodes.
+   */
+  final int[] tokens;
+  /**
+   * Part that owns each virtual node, indexed in parallel with {@code tokens}.
+   */
+  final PartBinding[] parts;
+
+  PartRing(int[] tokens, PartBinding[] parts) {
+    this.tokens = tokens;
+    this.parts = parts;
+  }
+
+  static PartRing empty() {
+    if (empty == null) {
+      empty = new PartRing(new int[0], new PartBinding[0]);
+    }
+    return empty;
+  }
+
+  static int token(Value partKey, int index) {
+    if (tokenSeed == 0) {
+      tokenSeed = Murmur3.seed(PartRing.class);
+    }
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(tokenSeed, partKey.hashCode()), index));
+  }
+
+  boolean isEmpty() {
+    return this.tokens.length == 0;
+  }
+
+  boolean contains(PartBinding part) {
+    final PartBinding[] parts = this.parts;
+    for (int i = 0, n = parts.length; i < n; i += 1) {
+      if (parts[i] == part) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the part that owns {@code nodeHash}: the owner of the first
+   * virtual node at or after {@code nodeHash}, wrapping around the ring.
+   */
+  PartBinding get(int nodeHash) {
+    final int[] tokens = this.tokens;
+    final int n = tokens.length;
+    if (n == 0) {
+      return null;
+    }
+    int index = Arrays.binarySearch(tokens, nodeHash);
+    if (index < 0) {
+      index = -(index + 1);
+      if (index == n) {
+        index = 0;
+      }
+    }
+    return this.parts[index];
+  }
+
+  PartRing added(PartBinding part, int virtualNodes) {
+    if (virtualNodes <= 0 || contains(part)) {
+      return this;
+    }
+    final Value partKey = part.partKey();
+    final int[] oldTokens = this.tokens;
+    final PartBinding[] oldParts = this.parts;
+    final int oldSize = oldTokens.length;
+    final int[] newTokens = new int[oldSize + virtualNodes];
+    final PartBinding[] newParts = new PartBinding[oldSize + virtualNodes];
+    System.arraycopy(oldTokens, 0, newTokens, 0, oldSize);
+    System.arraycopy(oldParts, 0, newParts, 0, oldSize);
+    int size = oldSize;
+    for (int i = 0; i < virtualNodes; i += 1) {
+      // Insertion keeps the ring sorted; token collisions resolve in favor
+      // of the part already on the ring.
+      final int token = token(partKey, i);
+      int index = Arrays.binarySearch(newTokens, 0, size, token);
+      if (index < 0) {
+        index = -(index + 1);
+        System.arraycopy(newTokens, index, newTokens, index + 1, size - index);
+        System.arraycopy(newParts, index, newParts, index + 1, size - index);
+        newTokens[index] = token;
+        newParts[index] = part;
+        size += 1;
+      }
+    }
+    if (size < newTokens.length) {
+      return new PartRing(Arrays.copyOf(newTokens, size), Arrays.copyOf(newParts, size));
+    }
+    return new PartRing(newTokens, newParts);
+  }
+
+  PartRing removed(PartBinding part) {
+    final int[] oldTokens = this.tokens;
+    final PartBinding[] oldParts = this.parts;
+    final int oldSize = oldTokens.length;
+    int newSize = 0;
+    for (int i = 0; i < oldSize; i += 1) {
+      if (oldParts[i] != part) {
+        newSize += 1;
+      }
+    }
+    if (newSize == oldSize) {
+      return this;
+    }
+    final int[] newTokens = new int[newSize];
+    final PartBinding[] newParts = new PartBinding[newSize];
+    for (int i = 0, j = 0; i < oldSize; i += 1) {
+      if (oldParts[i] != part) {
+        newTokens[j] = oldTokens[i];
+        newParts[j] = oldParts[i];
+        j += 1;
+      }
+    }
+    return new PartRing(newTokens, newParts);
+  }
+
+}
@@ -513,6 +513,32 @@ public class PartTable extends AbstractTierBinding implements PartBinding {
     }
   }
 
+  boolean ownsNode(Uri nodeUri) {
+    final PartBinding part = mesh().getPart(nodeUri);
+    return part == null || partKey().equals(part.partKey());
+  }
+
+  /**
+   * Hands off all nodes that the mesh no longer routes to this part.  Uplinks
+   * to handed off nodes get reopened, which redirects them through the mesh
+   * to the nodes' new part, and local agents of handed off nodes get drained
+   * and closed, so that they reopen on their new owner.
+   */
+  public void rebalance() {
+    for (LinkBinding uplink : this.uplinks.values()) {
+      if (!ownsNode(uplink.nodeUri())) {
+        uplink.reopen();
+      }
+    }
+    final Iterator<HostBinding> hostsIterator = this.hosts.valueIterator();
+    while (hostsIterator.hasNext()) {
+      final HostBinding host = hostsIterator.next();
+      if (host instanceof HostTable) {
+        ((HostTable) host).migrateNodes();
+      }
+    }
+  }
+
   @Override
   public void openMetaHost(HostBinding host, NodeBinding metaHost) {
     this.partContext.openMetaHost(host, metaHost);
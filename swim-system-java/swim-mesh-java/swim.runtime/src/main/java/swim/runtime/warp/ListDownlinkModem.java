@@ -16,9 +16,11 @@ package swim.runtime.warp;
 
 import java.util.concurrent.ConcurrentLinkedQueue;
 import swim.runtime.Push;
+import swim.structure.Record;
 import swim.structure.Value;
 import swim.uri.Uri;
 import swim.warp.CommandMessage;
+import swim.warp.EventMessage;
 
 public abstract class ListDownlinkModem<View extends WarpDownlinkView> extends WarpDownlinkModel<View> {
 
@@ -55,6 +57,18 @@ public abstract class ListDownlinkModem<View extends WarpDownlinkView> extends W
     } while (true);
   }
 
+  @Override
+  protected void onEvent(EventMessage message) {
+    super.onEvent(message);
+    final Value syncSince = this.syncSince;
+    if (syncSince.isDefined()) {
+      // Each list event after a synced response carries the next lane delta,
+      // so count it towards the version from which to resume the next sync.
+      final long version = syncSince.get("version").longValue(0L) + 1L;
+      this.syncSince = Record.create(2).slot("epoch", syncSince.get("epoch")).slot("version", version);
+    }
+  }
+
   @Override
   protected Push<CommandMessage> nextUpQueue() {
     final ListLinkDelta delta = this.upQueue.poll();
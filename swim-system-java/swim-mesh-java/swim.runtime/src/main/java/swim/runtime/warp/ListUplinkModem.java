@@ -21,11 +21,12 @@ import swim.structure.Value;
 
 public abstract class ListUplinkModem extends WarpUplinkModem {
 
-  final ConcurrentLinkedQueue<ListLinkDelta> downQueue;
+  final ConcurrentLinkedQueue<ListLinkDeltaEntry> downQueue;
+  long downVersion;
 
   public ListUplinkModem(WarpBinding linkBinding, UplinkAddress uplinkAddress) {
     super(linkBinding, uplinkAddress);
-    this.downQueue = new ConcurrentLinkedQueue<ListLinkDelta>();
+    this.downQueue = new ConcurrentLinkedQueue<ListLinkDeltaEntry>();
   }
 
   @Override
@@ -34,11 +35,31 @@ public abstract class ListUplinkModem extends WarpUplinkModem {
   }
 
   public void queueDown(ListLinkDelta delta) {
-    this.downQueue.add(delta);
+    queueDown(delta, 0L);
+  }
+
+  /**
+   * Queues a delta tagged with the sync log {@code version} of the lane
+   * change it carries, or {@code 0} if the delta has no version of its own.
+   */
+  public void queueDown(ListLinkDelta delta, long version) {
+    this.downQueue.add(new ListLinkDeltaEntry(delta, version));
+  }
+
+  /**
+   * Returns the highest sync log version of the deltas sent down so far;
+   * only meaningful when called while pulling down events.
+   */
+  protected long downVersion() {
+    return this.downVersion;
   }
 
   public void sendDown(ListLinkDelta delta) {
     queueDown(delta);
+    feedDownQueue();
+  }
+
+  protected void feedDownQueue() {
     do {
       final int oldStatus = this.status;
       final int newStatus = oldStatus | FEEDING_DOWN;
@@ -55,8 +76,27 @@ public abstract class ListUplinkModem extends WarpUplinkModem {
 
   @Override
   protected Value nextDownQueue() {
-    final ListLinkDelta delta = this.downQueue.poll();
-    return delta != null ? delta.toValue() : null;
+    final ListLinkDeltaEntry entry = this.downQueue.poll();
+    if (entry != null) {
+      if (entry.version > this.downVersion) {
+        this.downVersion = entry.version;
+      }
+      return entry.delta.toValue();
+    } else {
+      return null;
+    }
+  }
+
+}
+
+final class ListLinkDeltaEntry {
+
+  final ListLinkDelta delta;
+  final long version;
+
+  ListLinkDeltaEntry(ListLinkDelta delta, long version) {
+    this.delta = delta;
+    this.version = version;
   }
 
 }
@@ -14,27 +14,36 @@
 
 package swim.runtime.warp;
 
+import java.util.Collection;
 import java.util.Iterator;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.collections.HashTrieSet;
 import swim.runtime.UplinkAddress;
 import swim.runtime.WarpBinding;
+import swim.structure.Record;
 import swim.structure.Value;
+import swim.warp.EventMessage;
 
 public abstract class MapUplinkModem extends WarpUplinkModem {
 
   @SuppressWarnings("unchecked")
   static final AtomicReferenceFieldUpdater<MapUplinkModem, HashTrieSet<Value>> KEY_QUEUE =
       AtomicReferenceFieldUpdater.newUpdater(MapUplinkModem.class, (Class<HashTrieSet<Value>>) (Class<?>) HashTrieSet.class, "keyQueue");
-  final ConcurrentLinkedQueue<Value> downQueue;
+  @SuppressWarnings("unchecked")
+  static final AtomicReferenceFieldUpdater<MapUplinkModem, Iterator<Value>> SYNC_QUEUE =
+      AtomicReferenceFieldUpdater.newUpdater(MapUplinkModem.class, (Class<Iterator<Value>>) (Class<?>) Iterator.class, "syncQueue");
+  static final AtomicIntegerFieldUpdater<MapUplinkModem> CLEAR_DOWN =
+      AtomicIntegerFieldUpdater.newUpdater(MapUplinkModem.class, "clearDown");
+  final WarpDownQueue downQueue;
+  volatile int clearDown;
   volatile Iterator<Value> syncQueue;
   volatile HashTrieSet<Value> keyQueue;
   volatile Value lastKey;
 
   public MapUplinkModem(WarpBinding linkBinding, UplinkAddress uplinkAddress) {
     super(linkBinding, uplinkAddress);
-    this.downQueue = new ConcurrentLinkedQueue<Value>();
+    this.downQueue = new WarpDownQueue();
     this.keyQueue = HashTrieSet.empty();
   }
 
@@ -45,7 +54,54 @@ public abstract class MapUplinkModem extends WarpUplinkModem {
 
   @Override
   protected void queueDown(Value body) {
-    this.downQueue.add(body);
+    queueDown(new EventMessage(nodeUri(), laneUri(), body));
+  }
+
+  @Override
+  protected void queueDown(EventMessage event) {
+    final int limit = downQueueLimit();
+    if (!this.downQueue.offer(event, limit, downQueueOverflow())) {
+      didOverflowDown();
+    } else if (limit > 0 && this.downQueue.size() > limit) {
+      // Only structural events remain queued, none of which can be dropped
+      // on its own; collapse them all into a resync of the lane.
+      resyncDown();
+    }
+  }
+
+  /**
+   * Returns an iterator over the current keys of the lane, with which to
+   * resync the uplink when its down queue overflows with structural events;
+   * returns {@code null} if the uplink can't resync, in which case structural
+   * events get queued past the {@link #downQueueLimit() limit}.
+   */
+  protected Iterator<Value> resyncKeys() {
+    return null;
+  }
+
+  /**
+   * Discards all queued events, and replaces them with a {@code @clear}
+   * followed by the current state of every key of the lane.
+   */
+  protected void resyncDown() {
+    final Iterator<Value> keys = resyncKeys();
+    if (keys != null) {
+      this.downQueue.drop();
+      // Flag the clear before publishing the sync queue, so that the clear
+      // is visible to any consumer that observes the new sync queue.
+      this.clearDown = 1;
+      this.syncQueue = keys;
+    }
+  }
+
+  @Override
+  public int downQueueSize() {
+    return this.downQueue.size();
+  }
+
+  @Override
+  public long downDropCount() {
+    return this.downQueue.dropCount();
   }
 
   public void syncDown(Iterator<Value> syncQueue) {
@@ -67,21 +123,52 @@ public abstract class MapUplinkModem extends WarpUplinkModem {
     } while (true);
   }
 
+  public void cueDownKeys(Collection<Value> keys) {
+    do {
+      final HashTrieSet<Value> oldKeyQueue = this.keyQueue;
+      HashTrieSet<Value> newKeyQueue = oldKeyQueue;
+      for (Value key : keys) {
+        newKeyQueue = newKeyQueue.added(key);
+      }
+      if (oldKeyQueue != newKeyQueue) {
+        if (KEY_QUEUE.compareAndSet(this, oldKeyQueue, newKeyQueue)) {
+          cueDown();
+          break;
+        }
+      } else {
+        break;
+      }
+    } while (true);
+  }
+
   protected abstract Value nextDownKey(Value key);
 
   @Override
   protected Value nextDownQueue() {
     final Iterator<Value> syncQueue = this.syncQueue;
     if (syncQueue != null) {
-      if (syncQueue.hasNext()) {
+      if (CLEAR_DOWN.compareAndSet(this, 1, 0)) {
+        return Record.create(1).attr("clear");
+      } else if (syncQueue.hasNext()) {
         final Value key = syncQueue.next();
         return nextDownKey(key);
       } else {
-        this.syncQueue = null;
+        // Keep any resync queued since the sync queue was exhausted.
+        SYNC_QUEUE.compareAndSet(this, syncQueue, null);
         return null;
       }
     }
-    return this.downQueue.poll();
+    final EventMessage event = this.downQueue.poll();
+    return event != null ? event.body() : null;
+  }
+
+  @Override
+  protected EventMessage nextDownQueueEvent() {
+    if (this.syncQueue != null) {
+      return super.nextDownQueueEvent();
+    }
+    final EventMessage event = this.downQueue.poll();
+    return event != null ? downEvent(event) : null;
   }
 
   @Override
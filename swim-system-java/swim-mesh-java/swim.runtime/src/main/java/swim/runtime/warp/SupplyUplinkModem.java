@@ -14,18 +14,18 @@
 
 package swim.runtime.warp;
 
-import java.util.concurrent.ConcurrentLinkedQueue;
 import swim.runtime.UplinkAddress;
 import swim.runtime.WarpBinding;
 import swim.structure.Value;
+import swim.warp.EventMessage;
 
 public abstract class SupplyUplinkModem extends WarpUplinkModem {
 
-  final ConcurrentLinkedQueue<Value> downQueue;
+  final WarpDownQueue downQueue;
 
   public SupplyUplinkModem(WarpBinding linkBinding, UplinkAddress uplinkAddress) {
     super(linkBinding, uplinkAddress);
-    this.downQueue = new ConcurrentLinkedQueue<Value>();
+    this.downQueue = new WarpDownQueue();
   }
 
   @Override
@@ -35,12 +35,36 @@ public abstract class SupplyUplinkModem extends WarpUplinkModem {
 
   @Override
   public void queueDown(Value body) {
-    this.downQueue.add(body);
+    queueDown(new EventMessage(nodeUri(), laneUri(), body));
+  }
+
+  @Override
+  protected void queueDown(EventMessage event) {
+    if (!this.downQueue.offer(event, downQueueLimit(), downQueueOverflow())) {
+      didOverflowDown();
+    }
   }
 
   @Override
   protected Value nextDownQueue() {
-    return this.downQueue.poll();
+    final EventMessage event = this.downQueue.poll();
+    return event != null ? event.body() : null;
+  }
+
+  @Override
+  protected EventMessage nextDownQueueEvent() {
+    final EventMessage event = this.downQueue.poll();
+    return event != null ? downEvent(event) : null;
+  }
+
+  @Override
+  public int downQueueSize() {
+    return this.downQueue.size();
+  }
+
+  @Override
+  public long downDropCount() {
+    return this.downQueue.dropCount();
   }
 
 }
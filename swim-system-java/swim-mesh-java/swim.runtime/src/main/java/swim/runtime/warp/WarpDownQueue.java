@@ -0,0 +1,203 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.runtime.warp;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import swim.api.policy.UplinkOverflow;
+import swim.structure.Value;
+import swim.warp.EventMessage;
+
+/**
+ * Optionally bounded queue of events awaiting delivery down an uplink.
+ * Events fanned out by a lane are shared by the queues of all its uplinks.
+ * Safe for concurrent producers and a single consumer.
+ */
+final class WarpDownQueue {
+
+  static final AtomicIntegerFieldUpdater<WarpDownQueue> SIZE =
+      AtomicIntegerFieldUpdater.newUpdater(WarpDownQueue.class, "size");
+  static final AtomicLongFieldUpdater<WarpDownQueue> DROP_COUNT =
+      AtomicLongFieldUpdater.newUpdater(WarpDownQueue.class, "dropCount");
+  static final AtomicIntegerFieldUpdater<WarpDownQueue> OVERFLOWED =
+      AtomicIntegerFieldUpdater.newUpdater(WarpDownQueue.class, "overflowed");
+  final ConcurrentLinkedQueue<EventMessage> queue;
+  volatile int size;
+  volatile long dropCount;
+  volatile int overflowed;
+
+  WarpDownQueue() {
+    this.queue = new ConcurrentLinkedQueue<EventMessage>();
+  }
+
+  boolean isEmpty() {
+    return this.queue.isEmpty();
+  }
+
+  int size() {
+    return Math.max(0, this.size);
+  }
+
+  long dropCount() {
+    return this.dropCount;
+  }
+
+  EventMessage poll() {
+    final EventMessage event = this.queue.poll();
+    if (event != null) {
+      SIZE.decrementAndGet(this);
+    }
+    return event;
+  }
+
+  /**
+   * Enqueues {@code event}, applying the {@code overflow} action if the queue
+   * already holds {@code limit} events.  Returns {@code false} exactly once,
+   * when a {@link UplinkOverflow#DISCONNECT DISCONNECT} overflow discards the
+   * queue, after which all further events are dropped.
+   * <p>
+   * Structural events, such as a map lane {@code @remove}, {@code @clear},
+   * {@code @drop}, or {@code @take}, are never dropped or conflated, since
+   * losing one would permanently desynchronize the remote replica.  When no
+   * droppable event remains queued, the event is enqueued past the limit;
+   * map uplinks then collapse the whole queue into a resync of the lane.
+   * Slots below the limit are reserved atomically, so concurrent producers
+   * never overfill the queue with droppable events.
+   */
+  boolean offer(EventMessage event, int limit, UplinkOverflow overflow) {
+    if (this.overflowed != 0) {
+      DROP_COUNT.incrementAndGet(this);
+      return true;
+    }
+    if (limit > 0) {
+      do {
+        final int oldSize = this.size;
+        if (oldSize < limit) {
+          if (SIZE.compareAndSet(this, oldSize, oldSize + 1)) {
+            break;
+          }
+        } else if (overflow == UplinkOverflow.DISCONNECT) {
+          if (OVERFLOWED.compareAndSet(this, 0, 1)) {
+            DROP_COUNT.addAndGet(this, 1L + (long) clear());
+            return false;
+          } else {
+            DROP_COUNT.incrementAndGet(this);
+            return true;
+          }
+        } else if (!evict(event.body(), overflow)) {
+          SIZE.incrementAndGet(this);
+          break;
+        }
+      } while (true);
+    } else {
+      SIZE.incrementAndGet(this);
+    }
+    this.queue.add(event);
+    return true;
+  }
+
+  /**
+   * Drops one queued event to make room for {@code body}, returning {@code
+   * false} if every queued event is structural.
+   */
+  boolean evict(Value body, UplinkOverflow overflow) {
+    return overflow == UplinkOverflow.CONFLATE && removeKey(eventKey(body)) || removeOldest();
+  }
+
+  /**
+   * Removes the oldest queued event that is not structural, returning {@code
+   * true} if such an event was removed.
+   */
+  boolean removeOldest() {
+    final Iterator<EventMessage> events = this.queue.iterator();
+    while (events.hasNext()) {
+      final EventMessage event = events.next();
+      if (!isStructural(event.body()) && this.queue.remove(event)) {
+        SIZE.decrementAndGet(this);
+        DROP_COUNT.incrementAndGet(this);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Removes the oldest event with the given {@code key} queued after the
+   * last structural event, returning {@code true} if such an event was
+   * removed.  Events queued before a structural event are never conflated,
+   * since a {@code @drop} or {@code @take} depends on the keys before it.
+   */
+  boolean removeKey(Value key) {
+    if (key.isDefined()) {
+      EventMessage conflated = null;
+      final Iterator<EventMessage> events = this.queue.iterator();
+      while (events.hasNext()) {
+        final EventMessage event = events.next();
+        final Value body = event.body();
+        if (isStructural(body)) {
+          conflated = null;
+        } else if (conflated == null && key.equals(eventKey(body))) {
+          conflated = event;
+        }
+      }
+      if (conflated != null && this.queue.remove(conflated)) {
+        SIZE.decrementAndGet(this);
+        DROP_COUNT.incrementAndGet(this);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Discards all queued events, counting them as dropped.
+   */
+  void drop() {
+    DROP_COUNT.addAndGet(this, (long) clear());
+  }
+
+  int clear() {
+    int count = 0;
+    while (poll() != null) {
+      count += 1;
+    }
+    return count;
+  }
+
+  /**
+   * Returns the {@code key} slot of the header attribute of an event {@code
+   * body}, such as the key of a map lane {@code @update} or {@code @remove}.
+   */
+  static Value eventKey(Value body) {
+    final String tag = body.tag();
+    if (tag != null) {
+      return body.header(tag).get("key");
+    } else {
+      return Value.absent();
+    }
+  }
+
+  /**
+   * Returns {@code true} if the event {@code body} changes the structure of
+   * a map, rather than the value of a single key.
+   */
+  static boolean isStructural(Value body) {
+    final String tag = body.tag();
+    return "remove".equals(tag) || "clear".equals(tag) || "drop".equals(tag) || "take".equals(tag);
+  }
+
+}
@@ -16,6 +16,7 @@ package swim.runtime.warp;
 
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
 import swim.concurrent.Cont;
 import swim.concurrent.Conts;
 import swim.runtime.CellContext;
@@ -29,6 +30,7 @@ import swim.runtime.Push;
 import swim.runtime.WarpBinding;
 import swim.runtime.WarpContext;
 import swim.runtime.profile.WarpDownlinkProfile;
+import swim.structure.Attr;
 import swim.structure.Value;
 import swim.uri.Uri;
 import swim.warp.CommandMessage;
@@ -77,15 +79,9 @@ public abstract class WarpDownlinkModem<View extends DownlinkView> extends Downl
   static final AtomicIntegerFieldUpdater<WarpDownlinkModem<?>> CLOSE_COUNT =
       AtomicIntegerFieldUpdater.newUpdater((Class<WarpDownlinkModem<?>>) (Class<?>) WarpDownlinkModem.class, "closeCount");
   @SuppressWarnings("unchecked")
-  static final AtomicIntegerFieldUpdater<WarpDownlinkModem<?>> EVENT_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater((Class<WarpDownlinkModem<?>>) (Class<?>) WarpDownlinkModem.class, "eventDelta");
-  @SuppressWarnings("unchecked")
   static final AtomicLongFieldUpdater<WarpDownlinkModem<?>> EVENT_COUNT =
       AtomicLongFieldUpdater.newUpdater((Class<WarpDownlinkModem<?>>) (Class<?>) WarpDownlinkModem.class, "eventCount");
   @SuppressWarnings("unchecked")
-  static final AtomicIntegerFieldUpdater<WarpDownlinkModem<?>> COMMAND_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater((Class<WarpDownlinkModem<?>>) (Class<?>) WarpDownlinkModem.class, "commandDelta");
-  @SuppressWarnings("unchecked")
   static final AtomicLongFieldUpdater<WarpDownlinkModem<?>> COMMAND_COUNT =
       AtomicLongFieldUpdater.newUpdater((Class<WarpDownlinkModem<?>>) (Class<?>) WarpDownlinkModem.class, "commandCount");
   @SuppressWarnings("unchecked")
@@ -97,14 +93,15 @@ public abstract class WarpDownlinkModem<View extends DownlinkView> extends Downl
   protected WarpContext linkContext;
   protected CellContext cellContext;
   protected volatile int status;
+  protected volatile Value syncSince;
   volatile long execDelta;
   volatile long execTime;
   volatile int openDelta;
   volatile int openCount;
   volatile int closeDelta;
   volatile int closeCount;
-  volatile int eventDelta;
-  volatile int commandDelta;
+  final LongAdder eventDelta;
+  final LongAdder commandDelta;
   volatile long eventCount;
   volatile long commandCount;
   volatile long lastReportTime;
@@ -115,6 +112,9 @@ public abstract class WarpDownlinkModem<View extends DownlinkView> extends Downl
     this.prio = prio;
     this.rate = rate;
     this.body = body;
+    this.syncSince = Value.absent();
+    this.eventDelta = new LongAdder();
+    this.commandDelta = new LongAdder();
   }
 
   @Override
@@ -157,6 +157,14 @@ public abstract class WarpDownlinkModem<View extends DownlinkView> extends Downl
     return this.body;
   }
 
+  /**
+   * Returns the {@code (epoch:, version:)} of the lane from which the next
+   * sync of this downlink resumes, or {@code Absent} if it has none.
+   */
+  public Value syncSince() {
+    return this.syncSince;
+  }
+
   @Override
   public abstract boolean keepLinked();
 
@@ -484,7 +492,15 @@ public abstract class WarpDownlinkModem<View extends DownlinkView> extends Downl
   }
 
   protected SyncRequest syncRequest() {
-    return new SyncRequest(this.nodeUri, this.laneUri, this.prio, this.rate, this.body);
+    final Value syncSince = this.syncSince;
+    final Value body;
+    if (syncSince.isDefined()) {
+      // Ask the uplink to resume from the lane version last synced.
+      body = Attr.of("since", syncSince).concat(this.body);
+    } else {
+      body = this.body;
+    }
+    return new SyncRequest(this.nodeUri, this.laneUri, this.prio, this.rate, body);
   }
 
   protected UnlinkRequest unlinkRequest() {
@@ -550,12 +566,12 @@ public abstract class WarpDownlinkModem<View extends DownlinkView> extends Downl
   }
 
   protected void onEvent(EventMessage message) {
-    EVENT_DELTA.incrementAndGet(this);
+    this.eventDelta.increment();
     didUpdateMetrics();
   }
 
   protected void onCommand(CommandMessage message) {
-    COMMAND_DELTA.incrementAndGet(this);
+    this.commandDelta.increment();
     didUpdateMetrics();
   }
 
@@ -574,10 +590,13 @@ public abstract class WarpDownlinkModem<View extends DownlinkView> extends Downl
   }
 
   protected void willSync(SyncRequest request) {
-    // stub
+    // Events received until the next synced response don't advance the
+    // synced version, so a sync interrupted by a disconnect starts over.
+    this.syncSince = Value.absent();
   }
 
   protected void didSync(SyncedResponse response) {
+    this.syncSince = response.body().header("since");
     do {
       final int oldStatus = this.status;
       final int newStatus = oldStatus & ~SYNCING;
@@ -707,10 +726,10 @@ public abstract class WarpDownlinkModem<View extends DownlinkView> extends Downl
     final int openCount = OPEN_COUNT.addAndGet(this, openDelta);
     final int closeDelta = CLOSE_DELTA.getAndSet(this, 0);
     final int closeCount = CLOSE_COUNT.addAndGet(this, closeDelta);
-    final int eventDelta = EVENT_DELTA.getAndSet(this, 0);
+    final int eventDelta = (int) this.eventDelta.sumThenReset();
     final int eventRate = (int) Math.ceil((1000.0 * (double) eventDelta) / (double) dt);
     final long eventCount = EVENT_COUNT.addAndGet(this, (long) eventDelta);
-    final int commandDelta = COMMAND_DELTA.getAndSet(this, 0);
+    final int commandDelta = (int) this.commandDelta.sumThenReset();
     final int commandRate = (int) Math.ceil((1000.0 * (double) commandDelta) / (double) dt);
     final long commandCount = COMMAND_COUNT.addAndGet(this, (long) commandDelta);
 
@@ -16,23 +16,34 @@ package swim.runtime.warp;
 
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.api.LaneException;
 import swim.api.auth.Identity;
+import swim.api.lane.DemandLane;
+import swim.api.lane.function.OnCue;
 import swim.api.warp.WarpUplink;
 import swim.collections.FingerTrieSeq;
 import swim.concurrent.Cont;
 import swim.concurrent.Conts;
+import swim.runtime.LaneBinding;
 import swim.runtime.LaneModel;
 import swim.runtime.LaneRelay;
+import swim.runtime.LatencyRecorder;
 import swim.runtime.LinkBinding;
 import swim.runtime.Metric;
 import swim.runtime.Push;
 import swim.runtime.WarpBinding;
+import swim.runtime.agent.AgentNode;
 import swim.runtime.profile.WarpDownlinkProfile;
 import swim.runtime.profile.WarpLaneProfile;
 import swim.runtime.profile.WarpUplinkProfile;
+import swim.runtime.reflect.LatencyHistogram;
+import swim.runtime.reflect.WarpDownlinkPulse;
+import swim.runtime.reflect.WarpLanePulse;
+import swim.runtime.reflect.WarpUplinkPulse;
 import swim.structure.Value;
 import swim.warp.CommandMessage;
+import swim.warp.EventMessage;
 
 public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUplinkModem> extends LaneModel<View, U> {
 
@@ -112,6 +123,9 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
   static final AtomicLongFieldUpdater<WarpLaneModel<?, ?>> UPLINK_COMMAND_COUNT =
       AtomicLongFieldUpdater.newUpdater((Class<WarpLaneModel<?, ?>>) (Class<?>) WarpLaneModel.class, "uplinkCommandCount");
   @SuppressWarnings("unchecked")
+  static final AtomicReferenceFieldUpdater<WarpLaneModel<?, ?>, LatencyHistogram> UPLINK_EVENT_DWELL =
+      AtomicReferenceFieldUpdater.newUpdater((Class<WarpLaneModel<?, ?>>) (Class<?>) WarpLaneModel.class, LatencyHistogram.class, "uplinkEventDwell");
+  @SuppressWarnings("unchecked")
   static final AtomicLongFieldUpdater<WarpLaneModel<?, ?>> LAST_REPORT_TIME =
       AtomicLongFieldUpdater.newUpdater((Class<WarpLaneModel<?, ?>>) (Class<?>) WarpLaneModel.class, "lastReportTime");
   volatile long execDelta;
@@ -139,7 +153,11 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
   volatile int uplinkCommandDelta;
   volatile int uplinkCommandRate;
   volatile long uplinkCommandCount;
+  volatile LatencyHistogram uplinkEventDwell = LatencyHistogram.empty();
+  final LatencyRecorder commandDispatch = new LatencyRecorder();
   volatile long lastReportTime;
+  WarpLanePulse pulse;
+  DemandLane<WarpLanePulse> metaPulse;
 
   @Override
   protected U createUplink(LinkBinding link) {
@@ -174,6 +192,9 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
 
   @SuppressWarnings("unchecked")
   public void sendDown(Value body) {
+    // Every uplink queues the same event, which gets encoded once, on first
+    // write, for all of them.
+    final EventMessage event = new EventMessage(nodeUri(), laneUri(), body);
     FingerTrieSeq<U> uplinks;
     FingerTrieSeq<Value> closedLinks = FingerTrieSeq.empty();
     do {
@@ -181,7 +202,7 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
       for (int i = 0, n = uplinks.size(); i < n; i += 1) {
         final U uplink = uplinks.get(i);
         if (uplink.isConnected()) {
-          uplink.sendDown(body);
+          uplink.sendDown(event);
         } else {
           closedLinks = closedLinks.appended(uplink.linkKey());
         }
@@ -206,7 +227,8 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
 
   @Override
   public void pushUpCommand(Push<CommandMessage> push) {
-    onCommand(push);
+    final Cont<CommandMessage> cont = new WarpLaneModelCommandDispatch(this.commandDispatch, System.nanoTime(), push.cont());
+    onCommand(push.cont(cont));
     COMMAND_DELTA.incrementAndGet(this);
     didUpdateMetrics();
   }
@@ -242,6 +264,15 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
     flushMetrics();
   }
 
+  @Override
+  protected void openReflectLanes(LaneBinding lane, AgentNode metaLane) {
+    super.openReflectLanes(lane, metaLane);
+    this.metaPulse = metaLane.demandLane()
+        .valueForm(WarpLanePulse.form())
+        .observe(new WarpLaneModelPulseController(this));
+    metaLane.openLane(WarpLanePulse.PULSE_URI, this.metaPulse);
+  }
+
   @Override
   public void reportDown(Metric metric) {
     if (metric instanceof WarpUplinkProfile) {
@@ -264,6 +295,19 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
     UPLINK_EVENT_RATE.addAndGet(this, profile.eventRate());
     UPLINK_COMMAND_DELTA.addAndGet(this, profile.commandDelta());
     UPLINK_COMMAND_RATE.addAndGet(this, profile.commandRate());
+    final LatencyHistogram eventDwell = profile.eventDwell();
+    if (eventDwell.isDefined()) {
+      do {
+        final LatencyHistogram oldEventDwell = this.uplinkEventDwell;
+        final LatencyHistogram newEventDwell = oldEventDwell.merged(eventDwell);
+        if (UPLINK_EVENT_DWELL.compareAndSet(this, oldEventDwell, newEventDwell)) {
+          break;
+        }
+      } while (true);
+    }
+    if (profile.downDropDelta() > 0) {
+      cueMetaUplink(profile.cellAddress().linkKey());
+    }
     didUpdateMetrics();
   }
 
@@ -355,6 +399,19 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
     final long execRate = (long) Math.ceil((1000.0 * (double) execDelta) / (double) dt) + downlinkExecRate;
     final long execTime = EXEC_TIME.addAndGet(this, execDelta);
 
+    final LatencyHistogram uplinkEventDwell = UPLINK_EVENT_DWELL.getAndSet(this, LatencyHistogram.empty());
+    final LatencyHistogram commandDispatch = this.commandDispatch.collect();
+    final WarpDownlinkPulse downlinkPulse = new WarpDownlinkPulse((long) (downlinkOpenCount - downlinkCloseCount),
+        downlinkEventRate, downlinkEventCount, downlinkCommandRate, downlinkCommandCount);
+    final WarpUplinkPulse uplinkPulse = new WarpUplinkPulse((long) (uplinkOpenCount - uplinkCloseCount),
+        uplinkEventRate, uplinkEventCount, uplinkCommandRate, uplinkCommandCount,
+        uplinkEventDwell, LatencyHistogram.empty());
+    this.pulse = new WarpLanePulse(1L, downlinkPulse, uplinkPulse, commandDispatch);
+    final DemandLane<WarpLanePulse> metaPulse = this.metaPulse;
+    if (metaPulse != null) {
+      metaPulse.cue();
+    }
+
     return new WarpLaneProfile(cellAddress(), execDelta, execRate, execTime,
         downlinkOpenDelta, downlinkOpenCount, downlinkCloseDelta, downlinkCloseCount,
         downlinkEventDelta, downlinkEventRate, downlinkEventCount,
@@ -366,6 +423,51 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
 
 }
 
+final class WarpLaneModelCommandDispatch implements Cont<CommandMessage> {
+
+  final LatencyRecorder commandDispatch;
+  final long startTime;
+  final Cont<CommandMessage> cont;
+
+  WarpLaneModelCommandDispatch(LatencyRecorder commandDispatch, long startTime, Cont<CommandMessage> cont) {
+    this.commandDispatch = commandDispatch;
+    this.startTime = startTime;
+    this.cont = cont;
+  }
+
+  @Override
+  public void bind(CommandMessage message) {
+    this.commandDispatch.record(System.nanoTime() - this.startTime);
+    if (this.cont != null) {
+      this.cont.bind(message);
+    }
+  }
+
+  @Override
+  public void trap(Throwable error) {
+    this.commandDispatch.record(System.nanoTime() - this.startTime);
+    if (this.cont != null) {
+      this.cont.trap(error);
+    }
+  }
+
+}
+
+final class WarpLaneModelPulseController implements OnCue<WarpLanePulse> {
+
+  final WarpLaneModel<?, ?> lane;
+
+  WarpLaneModelPulseController(WarpLaneModel<?, ?> lane) {
+    this.lane = lane;
+  }
+
+  @Override
+  public WarpLanePulse onCue(WarpUplink uplink) {
+    return this.lane.pulse;
+  }
+
+}
+
 final class WarpLaneRelayOnCommand<View extends WarpLaneView> extends LaneRelay<WarpLaneModel<View, ?>, View> {
 
   final CommandMessage message;
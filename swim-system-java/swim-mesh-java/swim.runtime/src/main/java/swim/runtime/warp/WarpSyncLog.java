@@ -0,0 +1,168 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.runtime.warp;
+
+import java.util.concurrent.ThreadLocalRandom;
+import swim.collections.FingerTrieSeq;
+import swim.structure.Record;
+import swim.structure.Value;
+
+/**
+ * Immutable, bounded log of the most recent changes made to a lane, used to
+ * resume the synchronization of a downlink from the last version it saw.
+ * Every change advances the {@link #version() version} of the log; the log
+ * retains at most {@link #capacity() capacity} changes, and forgets the
+ * oldest change each time a new change overflows it.  The {@link #epoch()
+ * epoch} of a log identifies the lifetime of its lane, so that versions seen
+ * by a downlink before the lane restarted are never mistaken for current ones.
+ * <p>
+ * Synced responses carry the {@link #toValue() version} of the log at the
+ * time the sync started, or of the last change sent ahead of the synced
+ * response if that's later, as an {@code @since(epoch:, version:)} body.  Sync
+ * requests that echo that body back get replayed only the changes made
+ * {@link #since(Value) since} that version; sync requests for a version the
+ * log no longer covers fall back to a full sync.
+ */
+public final class WarpSyncLog<T> {
+
+  final long epoch;
+  final long version;
+  final int capacity;
+  final FingerTrieSeq<T> changes;
+
+  WarpSyncLog(long epoch, long version, int capacity, FingerTrieSeq<T> changes) {
+    this.epoch = epoch;
+    this.version = version;
+    this.capacity = capacity;
+    this.changes = changes;
+  }
+
+  /**
+   * Returns the randomly chosen identifier of the lane lifetime whose changes
+   * this log records.
+   */
+  public long epoch() {
+    return this.epoch;
+  }
+
+  /**
+   * Returns the number of changes ever appended to this log.
+   */
+  public long version() {
+    return this.version;
+  }
+
+  /**
+   * Returns the maximum number of changes retained by this log.
+   */
+  public int capacity() {
+    return this.capacity;
+  }
+
+  /**
+   * Returns the oldest version from which this log can resume a sync.
+   */
+  public long baseVersion() {
+    return this.version - (long) this.changes.size();
+  }
+
+  /**
+   * Returns a copy of this log with {@code change} appended as the next
+   * version, forgetting the oldest retained change if the log is full.
+   */
+  public WarpSyncLog<T> appended(T change) {
+    if (this.capacity == 0) {
+      return new WarpSyncLog<T>(this.epoch, this.version + 1L, 0, this.changes);
+    }
+    FingerTrieSeq<T> changes = this.changes;
+    if (changes.size() >= this.capacity) {
+      changes = changes.tail();
+    }
+    changes = changes.appended(change);
+    return new WarpSyncLog<T>(this.epoch, this.version + 1L, this.capacity, changes);
+  }
+
+  /**
+   * Returns a copy of this log that retains no changes, so that only future
+   * changes can be replayed.  Used when a change, such as a clear, can't be
+   * expressed as a replayable delta.
+   */
+  public WarpSyncLog<T> truncated() {
+    return new WarpSyncLog<T>(this.epoch, this.version + 1L, this.capacity, FingerTrieSeq.<T>empty());
+  }
+
+  /**
+   * Returns the changes made after the version described by the
+   * {@code since} header of a sync request, in the order they were made;
+   * returns {@code null} if {@code since} is absent, belongs to a different
+   * epoch, or refers to a version no longer retained by this log.
+   */
+  public FingerTrieSeq<T> since(Value since) {
+    if (!since.isDefined()) {
+      return null;
+    }
+    final Value epoch = since.get("epoch");
+    final Value version = since.get("version");
+    if (!epoch.isDefined() || !version.isDefined() || epoch.longValue() != this.epoch) {
+      return null;
+    }
+    final long baseVersion = baseVersion();
+    final long sinceVersion = version.longValue();
+    if (sinceVersion < baseVersion || sinceVersion > this.version) {
+      return null;
+    }
+    return this.changes.drop((int) (sinceVersion - baseVersion));
+  }
+
+  /**
+   * Returns the {@code @since(epoch:, version:)} body that identifies the
+   * current version of this log in a synced response.
+   */
+  public Value toValue() {
+    return toValue(this.epoch, this.version);
+  }
+
+  /**
+   * Returns the {@code @since(epoch:, version:)} body that identifies the
+   * given {@code version} of a log with the given {@code epoch}.
+   */
+  public static Value toValue(long epoch, long version) {
+    final Record header = Record.create(2).slot("epoch", epoch).slot("version", version);
+    return Record.create(1).attr("since", header);
+  }
+
+  private static final int CAPACITY;
+
+  static {
+    // Initializes the default number of changes retained by each lane sync log.
+    int capacity;
+    try {
+      capacity = Integer.parseInt(System.getProperty("swim.lane.sync.log.capacity"));
+    } catch (NumberFormatException e) {
+      capacity = 1024;
+    }
+    CAPACITY = Math.max(0, capacity);
+  }
+
+  public static <T> WarpSyncLog<T> empty(int capacity) {
+    final long epoch = ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE;
+    return new WarpSyncLog<T>(epoch, 0L, capacity, FingerTrieSeq.<T>empty());
+  }
+
+  public static <T> WarpSyncLog<T> empty() {
+    return empty(CAPACITY);
+  }
+
+}
@@ -16,9 +16,16 @@ package swim.runtime.warp;
 
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
 import swim.api.Link;
 import swim.api.SwimContext;
 import swim.api.function.DidClose;
+import swim.api.lane.DemandLane;
+import swim.api.lane.function.OnCue;
+import swim.api.policy.LanePolicy;
+import swim.api.policy.Policy;
+import swim.api.policy.UplinkOverflow;
+import swim.api.policy.UplinkPolicy;
 import swim.api.warp.WarpUplink;
 import swim.api.warp.function.OnCommandMessage;
 import swim.api.warp.function.OnEventMessage;
@@ -29,15 +36,22 @@ import swim.api.warp.function.OnSyncedResponse;
 import swim.api.warp.function.OnUnlinkRequest;
 import swim.api.warp.function.OnUnlinkedResponse;
 import swim.concurrent.Conts;
+import swim.concurrent.TimerFunction;
+import swim.concurrent.TimerRef;
 import swim.runtime.AbstractUplinkContext;
+import swim.runtime.LatencyRecorder;
 import swim.runtime.LinkBinding;
 import swim.runtime.Metric;
 import swim.runtime.NodeBinding;
 import swim.runtime.Push;
 import swim.runtime.UplinkAddress;
+import swim.runtime.UplinkError;
 import swim.runtime.WarpBinding;
 import swim.runtime.WarpContext;
+import swim.runtime.agent.AgentNode;
 import swim.runtime.profile.WarpUplinkProfile;
+import swim.runtime.reflect.LatencyHistogram;
+import swim.runtime.reflect.WarpUplinkPulse;
 import swim.structure.Value;
 import swim.uri.Uri;
 import swim.warp.CommandMessage;
@@ -60,30 +74,45 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
   static final int FEEDING_DOWN = 1 << 5;
   static final int FEEDING_UP = 1 << 6;
   static final int PULLING_UP = 1 << 7;
+  static final int THROTTLING_DOWN = 1 << 8;
+  static final long NEVER_CUED_DOWN = Long.MIN_VALUE;
   static final AtomicIntegerFieldUpdater<WarpUplinkModem> STATUS =
       AtomicIntegerFieldUpdater.newUpdater(WarpUplinkModem.class, "status");
-  static final AtomicIntegerFieldUpdater<WarpUplinkModem> EVENT_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(WarpUplinkModem.class, "eventDelta");
   static final AtomicLongFieldUpdater<WarpUplinkModem> EVENT_COUNT =
       AtomicLongFieldUpdater.newUpdater(WarpUplinkModem.class, "eventCount");
-  static final AtomicIntegerFieldUpdater<WarpUplinkModem> COMMAND_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(WarpUplinkModem.class, "commandDelta");
   static final AtomicLongFieldUpdater<WarpUplinkModem> COMMAND_TOTAL =
       AtomicLongFieldUpdater.newUpdater(WarpUplinkModem.class, "commandCount");
   static final AtomicLongFieldUpdater<WarpUplinkModem> LAST_REPORT_TIME =
       AtomicLongFieldUpdater.newUpdater(WarpUplinkModem.class, "lastReportTime");
+  static final AtomicLongFieldUpdater<WarpUplinkModem> LAST_CUE_DOWN_TIME =
+      AtomicLongFieldUpdater.newUpdater(WarpUplinkModem.class, "lastCueDownTime");
   protected final WarpBinding linkBinding;
   protected final UplinkAddress uplinkAddress;
   protected volatile int status;
-  volatile int eventDelta;
+  final LongAdder eventDelta;
   volatile long eventCount;
-  volatile int commandDelta;
+  final LongAdder commandDelta;
   volatile long commandCount;
+  final LatencyRecorder eventDwell;
+  volatile long feedDownTime;
   volatile long lastReportTime;
+  volatile long lastCueDownTime;
+  TimerRef cueDownTimer;
+  long lastDropCount;
+  int downQueueLimit;
+  UplinkOverflow downQueueOverflow;
+  WarpUplinkPulse pulse;
+  DemandLane<WarpUplinkPulse> metaPulse;
 
   protected WarpUplinkModem(WarpBinding linkBinding, UplinkAddress uplinkAddress) {
     this.linkBinding = linkBinding;
     this.uplinkAddress = uplinkAddress;
+    this.eventDelta = new LongAdder();
+    this.commandDelta = new LongAdder();
+    this.eventDwell = new LatencyRecorder();
+    // System.nanoTime() has an arbitrary origin, so the first cue is flagged
+    // explicitly rather than compared against a zero timestamp.
+    this.lastCueDownTime = NEVER_CUED_DOWN;
   }
 
   @Override
@@ -579,10 +608,83 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
     return true;
   }
 
+  /**
+   * Returns the number of events currently queued for delivery down this
+   * uplink.
+   */
+  public int downQueueSize() {
+    return 0;
+  }
+
+  /**
+   * Returns the total number of events this uplink has dropped because its
+   * down queue overflowed.
+   */
+  public long downDropCount() {
+    return 0L;
+  }
+
+  /**
+   * Returns the maximum number of events to queue for delivery down this
+   * uplink, as specified by the lane's {@link UplinkPolicy}; non-positive
+   * if the down queue is unbounded.
+   */
+  protected int downQueueLimit() {
+    if (this.downQueueOverflow == null) {
+      loadUplinkPolicy();
+    }
+    return this.downQueueLimit;
+  }
+
+  /**
+   * Returns the action to take when an event would exceed the {@link
+   * #downQueueLimit()}, as specified by the lane's {@link UplinkPolicy}.
+   */
+  protected UplinkOverflow downQueueOverflow() {
+    UplinkOverflow downQueueOverflow = this.downQueueOverflow;
+    if (downQueueOverflow == null) {
+      loadUplinkPolicy();
+      downQueueOverflow = this.downQueueOverflow;
+    }
+    return downQueueOverflow;
+  }
+
+  void loadUplinkPolicy() {
+    final Policy policy = laneBinding().laneContext().policy();
+    final UplinkPolicy uplinkPolicy = policy instanceof LanePolicy ? ((LanePolicy) policy).uplinkPolicy(this) : null;
+    if (uplinkPolicy != null) {
+      final UplinkOverflow downQueueOverflow = uplinkPolicy.downQueueOverflow();
+      this.downQueueLimit = uplinkPolicy.downQueueLimit();
+      this.downQueueOverflow = downQueueOverflow != null ? downQueueOverflow : UplinkOverflow.DROP_OLDEST;
+    } else {
+      this.downQueueLimit = 0;
+      this.downQueueOverflow = UplinkOverflow.DROP_OLDEST;
+    }
+  }
+
+  /**
+   * Invoked when an event overflows the down queue of an uplink whose
+   * {@link #downQueueOverflow()} is {@link UplinkOverflow#DISCONNECT}, after
+   * the queued events have been discarded.  Unlinks the uplink with an error.
+   */
+  protected void didOverflowDown() {
+    UplinkError.rejectOverflow(this.linkBinding);
+    close();
+  }
+
   protected void queueDown(Value body) {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Enqueues an {@code event} that a lane fans out to all of its uplinks.
+   * Uplinks that queue whole events share the one instance, and so share
+   * its memoized encoding; by default, only the event body gets queued.
+   */
+  protected void queueDown(EventMessage event) {
+    queueDown(event.body());
+  }
+
   protected Value nextDownQueue() {
     return null;
   }
@@ -609,13 +711,38 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
     }
   }
 
+  /**
+   * Returns {@code event} if it's addressed to the node and lane of this
+   * uplink; otherwise returns a copy of {@code event} readdressed to this
+   * uplink.
+   */
+  protected EventMessage downEvent(EventMessage event) {
+    final Uri nodeUri = nodeUri();
+    final Uri laneUri = laneUri();
+    if (nodeUri.equals(event.nodeUri()) && laneUri.equals(event.laneUri())) {
+      return event;
+    } else {
+      return new EventMessage(nodeUri, laneUri, event.body());
+    }
+  }
+
   public void sendDown(Value body) {
     queueDown(body);
+    feedDownQueue();
+  }
+
+  public void sendDown(EventMessage event) {
+    queueDown(event);
+    feedDownQueue();
+  }
+
+  void feedDownQueue() {
     do {
       final int oldStatus = this.status;
       final int newStatus = oldStatus | FEEDING_DOWN;
       if (oldStatus != newStatus) {
         if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
+          this.feedDownTime = System.nanoTime();
           this.linkBinding.feedDown();
           break;
         }
@@ -626,6 +753,9 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
   }
 
   public void cueDown() {
+    if ((this.status & LINKED) != 0 && throttleCueDown()) {
+      return;
+    }
     do {
       final int oldStatus = this.status;
       final int newStatus;
@@ -634,6 +764,7 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
         if (oldStatus != newStatus) {
           if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
             if ((oldStatus & FEEDING_DOWN) == 0) {
+              this.feedDownTime = System.nanoTime();
               this.linkBinding.feedDown();
             }
             break;
@@ -650,6 +781,68 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
     } while (true);
   }
 
+  /**
+   * Returns the minimum number of nanoseconds between cued events, derived
+   * from the {@link #rate() rate} requested by the remote link; zero if cued
+   * events are not rate limited.
+   */
+  protected long cueDownInterval() {
+    final float rate = rate();
+    if (rate > 0.0f) {
+      return (long) (1000000000.0 / (double) rate);
+    } else {
+      return 0L;
+    }
+  }
+
+  /**
+   * Returns {@code true} if a cue must be deferred to honor the requested
+   * link rate, in which case a timer is scheduled to re-cue the uplink once
+   * the current interval elapses.  Cued events are pulled from the current
+   * lane state, so intermediate states are conflated while the cue waits.
+   */
+  boolean throttleCueDown() {
+    final long interval = cueDownInterval();
+    if (interval <= 0L) {
+      return false;
+    }
+    final long now = System.nanoTime();
+    long wait;
+    do {
+      final long lastCueDownTime = this.lastCueDownTime;
+      wait = lastCueDownTime != NEVER_CUED_DOWN ? interval - (now - lastCueDownTime) : 0L;
+      if (wait > 0L) {
+        break;
+      } else if (LAST_CUE_DOWN_TIME.compareAndSet(this, lastCueDownTime, now)) {
+        return false;
+      }
+    } while (true);
+    do {
+      final int oldStatus = this.status;
+      final int newStatus = oldStatus | THROTTLING_DOWN;
+      if (oldStatus == newStatus) {
+        break;
+      } else if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
+        final long delay = (wait + 999999L) / 1000000L;
+        this.cueDownTimer = laneBinding().schedule().setTimer(delay, new WarpUplinkModemCueDown(this));
+        break;
+      }
+    } while (true);
+    return true;
+  }
+
+  void runCueDown() {
+    do {
+      final int oldStatus = this.status;
+      final int newStatus = oldStatus & ~THROTTLING_DOWN;
+      if (oldStatus == newStatus || STATUS.compareAndSet(this, oldStatus, newStatus)) {
+        break;
+      }
+    } while (true);
+    this.cueDownTimer = null;
+    cueDown();
+  }
+
   @Override
   public void pullDown() {
     stage().execute(new WarpUplinkModemPullDown(this));
@@ -716,6 +909,9 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
           message = nextDownCueEvent();
         }
         if (message != null) {
+          final long pullTime = System.nanoTime();
+          this.eventDwell.record(pullTime - this.feedDownTime);
+          this.feedDownTime = pullTime;
           pullDownEvent(message);
           pushDown(message);
           do {
@@ -989,12 +1185,12 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
   }
 
   protected void onEvent(EventMessage message) {
-    EVENT_DELTA.incrementAndGet(this);
+    this.eventDelta.increment();
     didUpdateMetrics();
   }
 
   protected void onCommand(CommandMessage message) {
-    COMMAND_DELTA.incrementAndGet(this);
+    this.commandDelta.increment();
     didUpdateMetrics();
   }
 
@@ -1097,15 +1293,30 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
   @Override
   protected void didClose() {
     super.didClose();
+    final TimerRef cueDownTimer = this.cueDownTimer;
+    if (cueDownTimer != null) {
+      cueDownTimer.cancel();
+      this.cueDownTimer = null;
+    }
     dispatchDidClose();
     flushMetrics();
   }
 
   @Override
   public void openMetaUplink(LinkBinding uplink, NodeBinding metaUplink) {
+    if (metaUplink instanceof AgentNode) {
+      openMetaLanes(uplink, (AgentNode) metaUplink);
+    }
     laneBinding().openMetaUplink(uplink, metaUplink);
   }
 
+  protected void openMetaLanes(LinkBinding uplink, AgentNode metaUplink) {
+    this.metaPulse = metaUplink.demandLane()
+        .valueForm(WarpUplinkPulse.form())
+        .observe(new WarpUplinkModemPulseController(this));
+    metaUplink.openLane(WarpUplinkPulse.PULSE_URI, this.metaPulse);
+  }
+
   protected void didUpdateMetrics() {
     do {
       final long newReportTime = System.currentTimeMillis();
@@ -1151,16 +1362,44 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
   }
 
   protected WarpUplinkProfile collectProfile(long dt) {
-    final int eventDelta = EVENT_DELTA.getAndSet(this, 0);
+    final int eventDelta = (int) this.eventDelta.sumThenReset();
     final int eventRate = (int) Math.ceil((1000.0 * (double) eventDelta) / (double) dt);
     final long eventCount = EVENT_COUNT.addAndGet(this, (long) eventDelta);
-    final int commandDelta = COMMAND_DELTA.getAndSet(this, 0);
+    final int commandDelta = (int) this.commandDelta.sumThenReset();
     final int commandRate = (int) Math.ceil((1000.0 * (double) commandDelta) / (double) dt);
     final long commandCount = COMMAND_TOTAL.addAndGet(this, (long) commandDelta);
+    final int downQueueSize = downQueueSize();
+    final long downDropCount = downDropCount();
+    final int downDropDelta = (int) (downDropCount - this.lastDropCount);
+    this.lastDropCount = downDropCount;
+    final LatencyHistogram eventDwell = this.eventDwell.collect();
+
+    this.pulse = new WarpUplinkPulse(1L, eventRate, eventCount, commandRate, commandCount,
+                                     eventDwell, LatencyHistogram.empty());
+    final DemandLane<WarpUplinkPulse> metaPulse = this.metaPulse;
+    if (metaPulse != null) {
+      metaPulse.cue();
+    }
 
     return new WarpUplinkProfile(this.uplinkAddress,
         eventDelta, eventRate, eventCount,
-        commandDelta, commandRate, commandCount);
+        commandDelta, commandRate, commandCount,
+        downQueueSize, downDropDelta, downDropCount, eventDwell);
+  }
+
+}
+
+final class WarpUplinkModemPulseController implements OnCue<WarpUplinkPulse> {
+
+  final WarpUplinkModem uplink;
+
+  WarpUplinkModemPulseController(WarpUplinkModem uplink) {
+    this.uplink = uplink;
+  }
+
+  @Override
+  public WarpUplinkPulse onCue(WarpUplink uplink) {
+    return this.uplink.pulse;
   }
 
 }
@@ -1180,6 +1419,21 @@ final class WarpUplinkModemPullDown implements Runnable {
 
 }
 
+final class WarpUplinkModemCueDown implements TimerFunction {
+
+  final WarpUplinkModem uplink;
+
+  WarpUplinkModemCueDown(WarpUplinkModem uplink) {
+    this.uplink = uplink;
+  }
+
+  @Override
+  public void runTimer() {
+    uplink.runCueDown();
+  }
+
+}
+
 final class WarpUplinkModemOnCommand implements Runnable {
 
   final WarpUplinkModem uplink;
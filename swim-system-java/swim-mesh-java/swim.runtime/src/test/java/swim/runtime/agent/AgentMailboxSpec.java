@@ -0,0 +1,190 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.runtime.agent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.Test;
+import swim.concurrent.Stage;
+import swim.concurrent.TaskContext;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class AgentMailboxSpec {
+
+  @Test
+  public void testLazyRing() {
+    final AgentMailbox mailbox = new AgentMailbox(1024);
+    assertNull(mailbox.ring);
+    assertTrue(mailbox.isEmpty());
+    assertNull(mailbox.poll());
+    mailbox.add(new Command(0, 0, new int[1], new AtomicInteger()));
+    assertEquals(mailbox.capacity(), AgentMailbox.INITIAL_CAPACITY);
+    assertEquals(mailbox.size(), 1);
+  }
+
+  @Test
+  public void testFifoAcrossRingOverflow() {
+    final AgentMailbox mailbox = new AgentMailbox(64);
+    final int[] log = new int[1000];
+    final AtomicInteger logSize = new AtomicInteger();
+    int sequence = 0;
+    for (int round = 0; round < 10; round += 1) {
+      // Overfill the ring, then drain part of the mailbox.
+      for (int i = 0; i < 90; i += 1) {
+        mailbox.add(new Command(0, sequence, log, logSize));
+        sequence += 1;
+      }
+      for (int i = 0; i < 45; i += 1) {
+        mailbox.poll().run();
+      }
+    }
+    Runnable command = mailbox.poll();
+    while (command != null) {
+      command.run();
+      command = mailbox.poll();
+    }
+    assertTrue(mailbox.isEmpty());
+    assertEquals(logSize.get(), sequence);
+    for (int i = 0; i < sequence; i += 1) {
+      assertEquals(log[i], i);
+    }
+    assertTrue(mailbox.capacity() > AgentMailbox.INITIAL_CAPACITY && mailbox.capacity() <= 64);
+  }
+
+  @Test
+  public void testDrainBudget() {
+    final AtomicInteger cueCount = new AtomicInteger();
+    final AgentNode node = new AgentNode();
+    node.taskContext = new TaskContext() {
+      @Override
+      public Stage stage() {
+        return null;
+      }
+      @Override
+      public boolean isCued() {
+        return false;
+      }
+      @Override
+      public boolean cue() {
+        cueCount.incrementAndGet();
+        return true;
+      }
+      @Override
+      public boolean cancel() {
+        return false;
+      }
+    };
+    final int commandCount = 3 * AgentNode.DRAIN_COMMANDS;
+    final int[] log = new int[commandCount];
+    final AtomicInteger logSize = new AtomicInteger();
+    for (int i = 0; i < commandCount; i += 1) {
+      node.execute(new Command(0, i, log, logSize));
+    }
+    assertEquals(node.mailboxSize(), commandCount);
+
+    cueCount.set(0);
+    node.runTask();
+    final int drained = logSize.get();
+    assertTrue(drained > 0 && drained <= AgentNode.DRAIN_COMMANDS, "drained " + drained + " commands");
+    assertEquals(node.mailboxSize(), commandCount - drained);
+    assertEquals(cueCount.get(), 1);
+
+    int activations = 1;
+    while (node.mailboxSize() > 0) {
+      cueCount.set(0);
+      node.runTask();
+      activations += 1;
+      assertEquals(cueCount.get(), node.mailboxSize() > 0 ? 1 : 0);
+    }
+    assertTrue(activations >= 3, "drained in " + activations + " activations");
+    assertEquals(logSize.get(), commandCount);
+    for (int i = 0; i < commandCount; i += 1) {
+      assertEquals(log[i], i);
+    }
+  }
+
+  @Test
+  public void testConcurrentProducers() throws InterruptedException {
+    final AgentMailbox mailbox = new AgentMailbox(64);
+    final int producerCount = 4;
+    final int commandCount = 20000;
+    final CountDownLatch start = new CountDownLatch(1);
+    final Thread[] producers = new Thread[producerCount];
+    for (int p = 0; p < producerCount; p += 1) {
+      final int producer = p;
+      producers[p] = new Thread() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+          } catch (InterruptedException cause) {
+            return;
+          }
+          for (int i = 0; i < commandCount; i += 1) {
+            mailbox.add(new Command(producer, i, null, null));
+          }
+        }
+      };
+      producers[p].start();
+    }
+    start.countDown();
+
+    final int[] nextSequences = new int[producerCount];
+    int received = 0;
+    while (received < producerCount * commandCount) {
+      final Runnable command = mailbox.poll();
+      if (command != null) {
+        final Command next = (Command) command;
+        assertEquals(next.sequence, nextSequences[next.producer]);
+        nextSequences[next.producer] += 1;
+        received += 1;
+      } else {
+        Thread.yield();
+      }
+    }
+    for (int p = 0; p < producerCount; p += 1) {
+      producers[p].join();
+    }
+    assertTrue(mailbox.isEmpty());
+    assertNull(mailbox.poll());
+    for (int p = 0; p < producerCount; p += 1) {
+      assertEquals(nextSequences[p], commandCount);
+    }
+  }
+
+  static final class Command implements Runnable {
+
+    final int producer;
+    final int sequence;
+    final int[] log;
+    final AtomicInteger logSize;
+
+    Command(int producer, int sequence, int[] log, AtomicInteger logSize) {
+      this.producer = producer;
+      this.sequence = sequence;
+      this.log = log;
+      this.logSize = logSize;
+    }
+
+    @Override
+    public void run() {
+      this.log[this.logSize.getAndIncrement()] = this.sequence;
+    }
+
+  }
+
+}
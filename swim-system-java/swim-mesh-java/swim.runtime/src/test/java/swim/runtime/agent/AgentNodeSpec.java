@@ -0,0 +1,58 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package swim.runtime.agent;
+
+import org.testng.annotations.Test;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class AgentNodeSpec {
+
+  @Test
+  public void testRoutingBlocksPassivation() {
+    final AgentNode node = new AgentNode();
+    assertTrue(node.willRoute());
+    assertFalse(node.passivate());
+    assertFalse(node.isPassivating());
+    node.didRoute();
+    assertTrue(node.passivate());
+    assertTrue(node.isPassivating());
+  }
+
+  @Test
+  public void testPassivationBlocksRouting() {
+    final AgentNode node = new AgentNode();
+    assertTrue(node.passivate());
+    assertFalse(node.willRoute());
+    assertTrue(node.isPassivating());
+  }
+
+  @Test
+  public void testPendingCommandsBlockPassivation() {
+    final AgentNode node = new AgentNode();
+    node.mailbox.add(new Runnable() {
+      @Override
+      public void run() {
+        // nop
+      }
+    });
+    assertFalse(node.passivate());
+    assertFalse(node.isPassivating());
+    assertTrue(node.willRoute());
+    node.didRoute();
+  }
+
+}
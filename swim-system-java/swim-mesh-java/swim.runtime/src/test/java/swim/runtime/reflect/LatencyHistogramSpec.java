@@ -0,0 +1,175 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package swim.runtime.reflect;
+
+import org.testng.annotations.Test;
+import swim.recon.Recon;
+import swim.runtime.LatencyRecorder;
+import swim.structure.Value;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+
+public class LatencyHistogramSpec {
+
+  @Test
+  public void testBucketIndexBoundaries() {
+    assertEquals(LatencyHistogram.bucketIndex(0L), 0);
+    assertEquals(LatencyHistogram.bucketIndex(1L), 1);
+    assertEquals(LatencyHistogram.bucketIndex(2L), 2);
+    assertEquals(LatencyHistogram.bucketIndex(3L), 2);
+    assertEquals(LatencyHistogram.bucketIndex(4L), 3);
+    for (int i = 1; i < 63; i += 1) {
+      assertEquals(LatencyHistogram.bucketIndex(1L << i), i + 1);
+      assertEquals(LatencyHistogram.bucketIndex((1L << i) - 1L), i);
+    }
+    assertEquals(LatencyHistogram.bucketIndex(Long.MAX_VALUE), 63);
+  }
+
+  @Test
+  public void testRecordClampsNegativeSamples() {
+    final LatencyRecorder recorder = new LatencyRecorder();
+    recorder.record(-5L);
+    final LatencyHistogram histogram = recorder.collect();
+    assertEquals(histogram.count(), 1L);
+    assertEquals(histogram.bucketCount(0), 1L);
+    assertEquals(histogram.sum(), 0L);
+    assertEquals(histogram.max(), 0L);
+  }
+
+  @Test
+  public void testQuantile() {
+    final LatencyRecorder recorder = new LatencyRecorder();
+    for (int i = 0; i < 90; i += 1) {
+      recorder.record(100L);
+    }
+    for (int i = 0; i < 9; i += 1) {
+      recorder.record(5000L);
+    }
+    recorder.record(1000000L);
+    final LatencyHistogram histogram = recorder.collect();
+    assertEquals(histogram.count(), 100L);
+    assertEquals(histogram.sum(), 90L * 100L + 9L * 5000L + 1000000L);
+    assertEquals(histogram.max(), 1000000L);
+    assertEquals(histogram.mean(), histogram.sum() / 100L);
+    // Quantiles are the upper bounds of the buckets that contain them.
+    assertEquals(histogram.quantile(0.5), 127L);
+    assertEquals(histogram.quantile(0.9), 127L);
+    assertEquals(histogram.quantile(0.99), 8191L);
+    // The last bucket is capped at the largest sample.
+    assertEquals(histogram.quantile(1.0), 1000000L);
+    assertEquals(histogram.quantile(0.0), 127L);
+  }
+
+  @Test
+  public void testQuantileOfEmptyHistogram() {
+    final LatencyHistogram histogram = LatencyHistogram.empty();
+    assertFalse(histogram.isDefined());
+    assertEquals(histogram.quantile(0.5), 0L);
+    assertEquals(histogram.mean(), 0L);
+  }
+
+  @Test
+  public void testCollectResets() {
+    final LatencyRecorder recorder = new LatencyRecorder();
+    recorder.record(10L);
+    recorder.record(20L);
+    final LatencyHistogram first = recorder.collect();
+    assertEquals(first.count(), 2L);
+    assertEquals(first.sum(), 30L);
+    assertEquals(first.max(), 20L);
+
+    assertSame(recorder.collect(), LatencyHistogram.empty());
+
+    recorder.record(3L);
+    final LatencyHistogram second = recorder.collect();
+    assertEquals(second.count(), 1L);
+    assertEquals(second.sum(), 3L);
+    assertEquals(second.max(), 3L);
+
+    final LatencyHistogram merged = first.merged(second);
+    assertEquals(merged.count(), 3L);
+    assertEquals(merged.sum(), 33L);
+    assertEquals(merged.max(), 20L);
+    assertEquals(merged.bucketCount(LatencyHistogram.bucketIndex(3L)), 1L);
+    assertEquals(merged.bucketCount(LatencyHistogram.bucketIndex(10L)), 1L);
+    assertEquals(merged.bucketCount(LatencyHistogram.bucketIndex(20L)), 1L);
+    assertSame(first.merged(LatencyHistogram.empty()), first);
+    assertSame(LatencyHistogram.empty().merged(second), second);
+  }
+
+  @Test
+  public void testConcurrentRecord() throws InterruptedException {
+    final LatencyRecorder recorder = new LatencyRecorder();
+    final int threadCount = 4;
+    final int sampleCount = 10000;
+    final Thread[] threads = new Thread[threadCount];
+    for (int t = 0; t < threadCount; t += 1) {
+      final long sample = 1L << (4 * t);
+      threads[t] = new Thread() {
+        @Override
+        public void run() {
+          for (int i = 0; i < sampleCount; i += 1) {
+            recorder.record(sample);
+          }
+        }
+      };
+      threads[t].start();
+    }
+    for (int t = 0; t < threadCount; t += 1) {
+      threads[t].join();
+    }
+    final LatencyHistogram histogram = recorder.collect();
+    assertEquals(histogram.count(), (long) threadCount * sampleCount);
+    assertEquals(histogram.max(), 1L << (4 * (threadCount - 1)));
+    for (int t = 0; t < threadCount; t += 1) {
+      assertEquals(histogram.bucketCount(LatencyHistogram.bucketIndex(1L << (4 * t))), (long) sampleCount);
+    }
+  }
+
+  @Test
+  public void testMoldCastRoundTrip() {
+    final LatencyRecorder recorder = new LatencyRecorder();
+    recorder.record(0L);
+    recorder.record(7L);
+    recorder.record(300L);
+    recorder.record(300L);
+    recorder.record(Long.MAX_VALUE / 2L);
+    final LatencyHistogram histogram = recorder.collect();
+
+    final Value value = histogram.toValue();
+    assertEquals(value.get("count").longValue(), 5L);
+    assertEquals(value.get("p50").longValue(), histogram.quantile(0.5));
+    assertEquals(value.get("buckets").length(), 4);
+
+    final LatencyHistogram cast = LatencyHistogram.form().cast(Recon.parse(Recon.toString(value)));
+    assertEquals(cast.count(), histogram.count());
+    assertEquals(cast.sum(), histogram.sum());
+    assertEquals(cast.max(), histogram.max());
+    for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i += 1) {
+      assertEquals(cast.bucketCount(i), histogram.bucketCount(i));
+    }
+    assertEquals(cast.quantile(0.99), histogram.quantile(0.99));
+  }
+
+  @Test
+  public void testMoldEmptyHistogram() {
+    final Value value = LatencyHistogram.empty().toValue();
+    assertEquals(value.length(), 0);
+    assertFalse(LatencyHistogram.form().cast(value).isDefined());
+  }
+
+}
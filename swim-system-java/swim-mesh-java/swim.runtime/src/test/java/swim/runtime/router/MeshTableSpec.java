@@ -0,0 +1,175 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package swim.runtime.router;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.testng.annotations.Test;
+import swim.runtime.MeshAddress;
+import swim.runtime.NodeBinding;
+import swim.runtime.PartBinding;
+import swim.runtime.PartPredicate;
+import swim.runtime.agent.AgentNode;
+import swim.structure.Value;
+import swim.uri.Uri;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class MeshTableSpec {
+
+  static MeshTable mesh() {
+    final MeshTable mesh = new MeshTable();
+    mesh.setMeshContext(TestMeshContext.create(new MeshAddress("test", Uri.empty())));
+    return mesh;
+  }
+
+  static PartBinding addGateway(MeshTable mesh) {
+    final PartBinding gateway = mesh.addPart(Value.fromObject("gateway"), new PartTable(PartPredicate.any()));
+    mesh.setGateway(gateway);
+    return gateway;
+  }
+
+  static HostTable openHost(PartBinding part) {
+    return (HostTable) part.openHost(Uri.parse("warp://localhost"), new HostTable());
+  }
+
+  static AgentNode openNode(HostTable host, Uri nodeUri) {
+    final AgentNode node = new AgentNode();
+    host.openNode(nodeUri, node);
+    return node;
+  }
+
+  static void drain(AgentNode node) {
+    while (node.mailboxSize() > 0) {
+      node.runTask();
+    }
+  }
+
+  static List<Uri> nodeUris(int count) {
+    final List<Uri> nodeUris = new ArrayList<Uri>(count);
+    for (int i = 0; i < count; i += 1) {
+      nodeUris.add(Uri.parse("/node/" + i));
+    }
+    return nodeUris;
+  }
+
+  @Test
+  public void testRoutingPrecedence() {
+    final MeshTable mesh = mesh();
+    final Uri hashedUri = Uri.parse("/hashed");
+    final int hash = hashedUri.hashCode();
+    final PartBinding nodePart = mesh.addPart(Value.fromObject("node"), new PartTable(PartPredicate.node("/explicit/:id")));
+    final PartBinding hashPart = mesh.addPart(Value.fromObject("hash"), new PartTable(PartPredicate.hash(hash, hash + 1)));
+    final PartBinding gateway = addGateway(mesh);
+    assertSame(mesh.getPart(Uri.parse("/other")), gateway);
+
+    final PartBinding ringPart = mesh.addPart(Value.fromObject("ring"), new PartTable(PartPredicate.ring()));
+    assertSame(mesh.getPart(Uri.parse("/explicit/1")), nodePart);
+    assertSame(mesh.getPart(hashedUri), hashPart);
+    assertSame(mesh.getPart(Uri.parse("/other")), ringPart);
+
+    mesh.closePart(Value.fromObject("ring"));
+    assertSame(mesh.getPart(Uri.parse("/explicit/1")), nodePart);
+    assertSame(mesh.getPart(Uri.parse("/other")), gateway);
+  }
+
+  @Test
+  public void testRingWithoutGateway() {
+    final MeshTable mesh = mesh();
+    assertNull(mesh.getPart(Uri.parse("/other")));
+    final PartBinding ringPart = mesh.addPart(Value.fromObject("ring"), new PartTable(PartPredicate.ring()));
+    assertSame(mesh.getPart(Uri.parse("/other")), ringPart);
+  }
+
+  @Test
+  public void testJoinRingMigratesGatewayNodes() {
+    final MeshTable mesh = mesh();
+    final PartBinding gateway = addGateway(mesh);
+    final HostTable host = openHost(gateway);
+    final List<Uri> nodeUris = nodeUris(50);
+    final List<AgentNode> nodes = new ArrayList<AgentNode>();
+    for (Uri nodeUri : nodeUris) {
+      nodes.add(openNode(host, nodeUri));
+    }
+    assertEquals(host.nodes().size(), 50);
+
+    final PartBinding ringPart = mesh.addPart(Value.fromObject("ring"), new PartTable(PartPredicate.ring()));
+    for (Uri nodeUri : nodeUris) {
+      assertSame(mesh.getPart(nodeUri), ringPart);
+    }
+    // Migrated nodes leave the node table at once, and close once their
+    // agents drain the commands already in their mailboxes.
+    assertTrue(host.nodes().isEmpty());
+    for (AgentNode node : nodes) {
+      assertEquals(node.mailboxSize(), 1);
+      drain(node);
+    }
+  }
+
+  @Test
+  public void testRebalanceMovesOnlyReassignedNodes() {
+    final MeshTable mesh = mesh();
+    final int partCount = 3;
+    final HostTable[] hosts = new HostTable[partCount + 1];
+    for (int i = 0; i < partCount; i += 1) {
+      final PartBinding part = mesh.addPart(Value.fromObject("ring" + i), new PartTable(PartPredicate.ring()));
+      hosts[i] = openHost(part);
+    }
+    final List<Uri> nodeUris = nodeUris(300);
+    for (Uri nodeUri : nodeUris) {
+      final PartBinding owner = mesh.getPart(nodeUri);
+      openNode((HostTable) owner.getHost(Uri.parse("warp://localhost")), nodeUri);
+    }
+
+    final PartBinding newPart = mesh.addPart(Value.fromObject("ring" + partCount), new PartTable(PartPredicate.ring()));
+    hosts[partCount] = openHost(newPart);
+    int moved = 0;
+    for (Uri nodeUri : nodeUris) {
+      final PartBinding owner = mesh.getPart(nodeUri);
+      if (owner == newPart) {
+        moved += 1;
+        for (int i = 0; i < partCount; i += 1) {
+          assertNull(hosts[i].getNode(nodeUri));
+        }
+      } else {
+        final NodeBinding node = ((HostTable) owner.getHost(Uri.parse("warp://localhost"))).getNode(nodeUri);
+        assertTrue(node != null, "node " + nodeUri + " moved off of its unchanged owner");
+      }
+    }
+    assertTrue(moved > 0 && moved < nodeUris.size() / 2, "join moved " + moved + " nodes");
+    int resident = 0;
+    for (int i = 0; i < partCount; i += 1) {
+      resident += hosts[i].nodes().size();
+    }
+    assertEquals(resident + moved, nodeUris.size());
+
+    // Nodes opened on the departing part move back to its ring neighbors.
+    for (Uri nodeUri : nodeUris) {
+      if (mesh.getPart(nodeUri) == newPart) {
+        openNode(hosts[partCount], nodeUri);
+      }
+    }
+    assertEquals(hosts[partCount].nodes().size(), moved);
+    mesh.closePart(Value.fromObject("ring" + partCount));
+    assertTrue(hosts[partCount].nodes().isEmpty());
+    for (Uri nodeUri : nodeUris) {
+      assertTrue(mesh.getPart(nodeUri) != newPart);
+    }
+  }
+
+}
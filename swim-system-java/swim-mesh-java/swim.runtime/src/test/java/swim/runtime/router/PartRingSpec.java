@@ -0,0 +1,182 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package swim.runtime.router;
+
+import org.testng.annotations.Test;
+import swim.runtime.PartAddress;
+import swim.runtime.PartBinding;
+import swim.runtime.PartPredicate;
+import swim.structure.Value;
+import swim.uri.Uri;
+import swim.util.Murmur3;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class PartRingSpec {
+
+  static final int SAMPLE_COUNT = 100000;
+
+  static PartBinding part(MeshTable mesh, String partKey) {
+    final PartTable part = new PartTable(PartPredicate.ring());
+    part.setPartContext(new MeshTablePart(mesh, part, new PartAddress("test", Uri.empty(), Value.fromObject(partKey))));
+    return part;
+  }
+
+  static PartBinding[] parts(int count) {
+    final MeshTable mesh = new MeshTable();
+    final PartBinding[] parts = new PartBinding[count];
+    for (int i = 0; i < count; i += 1) {
+      parts[i] = part(mesh, "part" + i);
+    }
+    return parts;
+  }
+
+  static int sampleHash(int i) {
+    return Murmur3.mash(Murmur3.mix(0x5a17, i));
+  }
+
+  @Test
+  public void testEmptyRing() {
+    final PartRing ring = PartRing.empty();
+    assertTrue(ring.isEmpty());
+    assertNull(ring.get(0));
+    assertNull(ring.get(Integer.MIN_VALUE));
+  }
+
+  @Test
+  public void testSinglePartOwnsAllHashes() {
+    final PartBinding part = parts(1)[0];
+    final PartRing ring = PartRing.empty().added(part, 8);
+    assertEquals(ring.tokens.length, 8);
+    assertSame(ring.get(Integer.MIN_VALUE), part);
+    assertSame(ring.get(0), part);
+    assertSame(ring.get(Integer.MAX_VALUE), part);
+  }
+
+  @Test
+  public void testTokensAreSortedAndDeterministic() {
+    final PartBinding[] parts = parts(3);
+    PartRing ring = PartRing.empty();
+    for (int i = 0; i < parts.length; i += 1) {
+      ring = ring.added(parts[i], 64);
+    }
+    assertEquals(ring.tokens.length, 3 * 64);
+    for (int i = 1; i < ring.tokens.length; i += 1) {
+      assertTrue(ring.tokens[i - 1] < ring.tokens[i]);
+    }
+    PartRing reversed = PartRing.empty();
+    for (int i = parts.length - 1; i >= 0; i -= 1) {
+      reversed = reversed.added(parts[i], 64);
+    }
+    for (int i = 0; i < SAMPLE_COUNT; i += 1) {
+      final int hash = sampleHash(i);
+      assertSame(reversed.get(hash), ring.get(hash));
+    }
+  }
+
+  @Test
+  public void testAddAndRemoveAreIdempotent() {
+    final PartBinding[] parts = parts(2);
+    final PartRing ring = PartRing.empty().added(parts[0], 16);
+    assertSame(ring.added(parts[0], 16), ring);
+    assertSame(ring.added(parts[1], 0), ring);
+    assertSame(ring.removed(parts[1]), ring);
+    assertTrue(ring.contains(parts[0]));
+    assertFalse(ring.contains(parts[1]));
+    assertTrue(ring.removed(parts[0]).isEmpty());
+  }
+
+  @Test
+  public void testTokenDistribution() {
+    final int partCount = 4;
+    final PartBinding[] parts = parts(partCount);
+    PartRing ring = PartRing.empty();
+    for (int i = 0; i < partCount; i += 1) {
+      ring = ring.added(parts[i], 64);
+    }
+    final int[] counts = new int[partCount];
+    for (int i = 0; i < SAMPLE_COUNT; i += 1) {
+      final PartBinding owner = ring.get(sampleHash(i));
+      for (int j = 0; j < partCount; j += 1) {
+        if (owner == parts[j]) {
+          counts[j] += 1;
+        }
+      }
+    }
+    for (int j = 0; j < partCount; j += 1) {
+      final double share = (double) counts[j] / (double) SAMPLE_COUNT;
+      assertTrue(share > 0.15 && share < 0.35, "part" + j + " owns " + share + " of the ring");
+    }
+  }
+
+  @Test
+  public void testMinimalKeyMovementOnJoin() {
+    final PartBinding[] parts = parts(5);
+    PartRing oldRing = PartRing.empty();
+    for (int i = 0; i < 4; i += 1) {
+      oldRing = oldRing.added(parts[i], 64);
+    }
+    final PartRing newRing = oldRing.added(parts[4], 64);
+    int moved = 0;
+    for (int i = 0; i < SAMPLE_COUNT; i += 1) {
+      final int hash = sampleHash(i);
+      final PartBinding oldOwner = oldRing.get(hash);
+      final PartBinding newOwner = newRing.get(hash);
+      if (oldOwner != newOwner) {
+        assertSame(newOwner, parts[4]);
+        moved += 1;
+      }
+    }
+    final double share = (double) moved / (double) SAMPLE_COUNT;
+    assertTrue(share > 0.1 && share < 0.3, "join moved " + share + " of the ring");
+  }
+
+  @Test
+  public void testMinimalKeyMovementOnLeave() {
+    final PartBinding[] parts = parts(5);
+    PartRing oldRing = PartRing.empty();
+    for (int i = 0; i < parts.length; i += 1) {
+      oldRing = oldRing.added(parts[i], 64);
+    }
+    final PartRing newRing = oldRing.removed(parts[2]);
+    assertFalse(newRing.contains(parts[2]));
+    int moved = 0;
+    for (int i = 0; i < SAMPLE_COUNT; i += 1) {
+      final int hash = sampleHash(i);
+      final PartBinding oldOwner = oldRing.get(hash);
+      final PartBinding newOwner = newRing.get(hash);
+      if (oldOwner != newOwner) {
+        assertSame(oldOwner, parts[2]);
+        moved += 1;
+      }
+    }
+    final double share = (double) moved / (double) SAMPLE_COUNT;
+    assertTrue(share > 0.1 && share < 0.3, "leave moved " + share + " of the ring");
+  }
+
+  @Test
+  public void testRingPredicateRoundTrip() {
+    final PartPredicate predicate = PartPredicate.ring(32);
+    assertEquals(predicate.virtualNodes(), 32);
+    assertEquals(PartPredicate.fromValue(predicate.toValue()), predicate);
+    assertEquals(PartPredicate.ring().virtualNodes(), 64);
+    assertEquals(PartPredicate.any().virtualNodes(), 0);
+  }
+
+}
@@ -0,0 +1,112 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package swim.runtime.router;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import swim.concurrent.Stage;
+import swim.concurrent.Task;
+import swim.concurrent.TaskContext;
+import swim.runtime.MeshAddress;
+import swim.runtime.MeshContext;
+
+/**
+ * Mesh context that injects the bindings it's given, binds tasks to contexts
+ * that never run them, and otherwise does nothing, for testing routing
+ * tables without a kernel.  Tasks must be run by hand.
+ */
+final class TestMeshContext implements InvocationHandler {
+
+  final MeshAddress meshAddress;
+  final Stage stage;
+
+  TestMeshContext(MeshAddress meshAddress) {
+    this.meshAddress = meshAddress;
+    this.stage = stub(Stage.class, new InvocationHandler() {
+      @Override
+      public Object invoke(Object proxy, Method method, Object[] args) {
+        if ("task".equals(method.getName())) {
+          final TaskContext taskContext = stub(TaskContext.class, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+              if ("cue".equals(method.getName())) {
+                return Boolean.TRUE;
+              }
+              return defaultValue(proxy, method, args);
+            }
+          });
+          if (args[0] instanceof Task) {
+            ((Task) args[0]).setTaskContext(taskContext);
+          }
+          return taskContext;
+        }
+        return defaultValue(proxy, method, args);
+      }
+    });
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) {
+    switch (method.getName()) {
+      case "stage":
+        return this.stage;
+      case "cellAddress":
+        return this.meshAddress;
+      case "edgeName":
+        return this.meshAddress.edgeName();
+      case "meshUri":
+        return this.meshAddress.meshUri();
+      case "injectPart":
+      case "injectHost":
+      case "injectNode":
+      case "injectLane":
+        return args[1];
+      default:
+        return defaultValue(proxy, method, args);
+    }
+  }
+
+  static Object defaultValue(Object proxy, Method method, Object[] args) {
+    final Class<?> type = method.getReturnType();
+    if ("equals".equals(method.getName())) {
+      return proxy == args[0];
+    } else if ("hashCode".equals(method.getName())) {
+      return System.identityHashCode(proxy);
+    } else if ("toString".equals(method.getName())) {
+      return method.getDeclaringClass().getSimpleName();
+    } else if (type == Boolean.TYPE) {
+      return Boolean.FALSE;
+    } else if (type == Integer.TYPE) {
+      return Integer.valueOf(0);
+    } else if (type == Long.TYPE) {
+      return Long.valueOf(0L);
+    } else if (type == Double.TYPE) {
+      return Double.valueOf(0.0);
+    } else {
+      return null;
+    }
+  }
+
+  static <T> T stub(Class<T> type, InvocationHandler handler) {
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+  }
+
+  static MeshContext create(MeshAddress meshAddress) {
+    return stub(MeshContext.class, new TestMeshContext(meshAddress));
+  }
+
+}
@@ -0,0 +1,139 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.runtime.warp;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeMap;
+import org.testng.annotations.Test;
+import swim.api.policy.UplinkOverflow;
+import swim.concurrent.Stage;
+import swim.runtime.LaneBinding;
+import swim.structure.Attr;
+import swim.structure.Record;
+import swim.structure.Value;
+import swim.uri.Uri;
+import swim.warp.EventMessage;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class MapUplinkModemSpec {
+
+  static Value update(String key, int value) {
+    return Record.create(2).attr("update", Record.create(1).slot("key", key)).item(value);
+  }
+
+  static Value remove(String key) {
+    return Record.create(1).attr("remove", Record.create(1).slot("key", key));
+  }
+
+  static EventMessage event(Value body) {
+    return new EventMessage(Uri.parse("/node"), Uri.parse("lane"), body);
+  }
+
+  static List<Value> drain(MapUplinkModem uplink) {
+    final List<Value> bodies = new ArrayList<Value>();
+    while (!uplink.downQueueIsEmpty()) {
+      final Value body = uplink.nextDownQueue();
+      if (body != null) {
+        bodies.add(body);
+      }
+    }
+    return bodies;
+  }
+
+  @Test
+  public void testResyncFloodOfRemoves() {
+    final TestMapUplink uplink = new TestMapUplink(8);
+    uplink.state.put(Value.fromObject("a"), Value.fromObject(1));
+    uplink.state.put(Value.fromObject("b"), Value.fromObject(2));
+    for (int i = 0; i < 1000; i += 1) {
+      uplink.queueDown(event(remove("k" + i)));
+      assertTrue(uplink.downQueueSize() <= 8, "queued " + uplink.downQueueSize() + " events");
+    }
+    assertTrue(uplink.downDropCount() > 0L);
+    final List<Value> bodies = drain(uplink);
+    assertTrue(bodies.size() <= 8 + 3, "drained " + bodies.size() + " events");
+    assertEquals(bodies.get(0), Record.create(1).attr("clear"));
+    assertEquals(bodies.get(1), update("a", 1));
+    assertEquals(bodies.get(2), update("b", 2));
+    for (int i = 3; i < bodies.size(); i += 1) {
+      assertEquals(bodies.get(i).tag(), "remove");
+    }
+  }
+
+  @Test
+  public void testDropWithinLimit() {
+    final TestMapUplink uplink = new TestMapUplink(8);
+    for (int i = 0; i < 100; i += 1) {
+      uplink.queueDown(event(update("k" + i, i)));
+    }
+    assertEquals(uplink.downQueueSize(), 8);
+    assertEquals(uplink.downDropCount(), 92L);
+    final List<Value> bodies = drain(uplink);
+    assertEquals(bodies.size(), 8);
+    assertEquals(bodies.get(0), update("k92", 92));
+  }
+
+  static final class TestMapUplink extends MapUplinkModem {
+
+    final TreeMap<Value, Value> state;
+    final int limit;
+
+    TestMapUplink(int limit) {
+      super(null, null);
+      this.state = new TreeMap<Value, Value>();
+      this.limit = limit;
+    }
+
+    @Override
+    public LaneBinding laneBinding() {
+      return null;
+    }
+
+    @Override
+    public Stage stage() {
+      return null;
+    }
+
+    @Override
+    protected int downQueueLimit() {
+      return this.limit;
+    }
+
+    @Override
+    protected UplinkOverflow downQueueOverflow() {
+      return UplinkOverflow.DROP_OLDEST;
+    }
+
+    @Override
+    protected Value nextDownKey(Value key) {
+      final Value value = this.state.get(key);
+      if (value != null) {
+        return Attr.of("update", Record.create(1).slot("key", key)).concat(value);
+      } else {
+        return Record.create(1).attr("remove", Record.create(1).slot("key", key));
+      }
+    }
+
+    @Override
+    protected Iterator<Value> resyncKeys() {
+      return new ArrayList<Value>(this.state.keySet()).iterator();
+    }
+
+  }
+
+}
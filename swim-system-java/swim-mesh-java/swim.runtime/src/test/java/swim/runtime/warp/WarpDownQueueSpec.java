@@ -0,0 +1,197 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package swim.runtime.warp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.testng.annotations.Test;
+import swim.api.policy.UplinkOverflow;
+import swim.structure.Record;
+import swim.structure.Value;
+import swim.uri.Uri;
+import swim.warp.EventMessage;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class WarpDownQueueSpec {
+
+  static EventMessage event(Value body) {
+    return new EventMessage(Uri.parse("/node"), Uri.parse("lane"), body);
+  }
+
+  static Value update(String key, int value) {
+    return Record.create(2).attr("update", Record.create(1).slot("key", key)).item(value);
+  }
+
+  static Value remove(String key) {
+    return Record.create(1).attr("remove", Record.create(1).slot("key", key));
+  }
+
+  static List<Value> drain(WarpDownQueue queue) {
+    final List<Value> bodies = new ArrayList<Value>();
+    EventMessage event = queue.poll();
+    while (event != null) {
+      bodies.add(event.body());
+      event = queue.poll();
+    }
+    return bodies;
+  }
+
+  @Test
+  public void testUnboundedQueue() {
+    final WarpDownQueue queue = new WarpDownQueue();
+    for (int i = 0; i < 100; i += 1) {
+      assertTrue(queue.offer(event(Value.fromObject(i)), 0, UplinkOverflow.DISCONNECT));
+    }
+    assertEquals(queue.size(), 100);
+    assertEquals(queue.dropCount(), 0L);
+    for (int i = 0; i < 100; i += 1) {
+      assertEquals(queue.poll().body(), Value.fromObject(i));
+    }
+    assertTrue(queue.isEmpty());
+  }
+
+  @Test
+  public void testDropOldest() {
+    final WarpDownQueue queue = new WarpDownQueue();
+    for (int i = 0; i < 5; i += 1) {
+      assertTrue(queue.offer(event(Value.fromObject(i)), 3, UplinkOverflow.DROP_OLDEST));
+    }
+    assertEquals(queue.size(), 3);
+    assertEquals(queue.dropCount(), 2L);
+    final List<Value> bodies = drain(queue);
+    assertEquals(bodies.size(), 3);
+    assertEquals(bodies.get(0), Value.fromObject(2));
+    assertEquals(bodies.get(1), Value.fromObject(3));
+    assertEquals(bodies.get(2), Value.fromObject(4));
+  }
+
+  @Test
+  public void testConflate() {
+    final WarpDownQueue queue = new WarpDownQueue();
+    queue.offer(event(update("a", 1)), 3, UplinkOverflow.CONFLATE);
+    queue.offer(event(update("b", 1)), 3, UplinkOverflow.CONFLATE);
+    queue.offer(event(update("c", 1)), 3, UplinkOverflow.CONFLATE);
+    queue.offer(event(update("b", 2)), 3, UplinkOverflow.CONFLATE);
+    queue.offer(event(update("d", 1)), 3, UplinkOverflow.CONFLATE);
+    assertEquals(queue.dropCount(), 2L);
+    final List<Value> bodies = drain(queue);
+    assertEquals(bodies.size(), 3);
+    assertEquals(bodies.get(0), update("c", 1));
+    assertEquals(bodies.get(1), update("b", 2));
+    assertEquals(bodies.get(2), update("d", 1));
+  }
+
+  @Test
+  public void testDisconnect() {
+    final WarpDownQueue queue = new WarpDownQueue();
+    for (int i = 0; i < 3; i += 1) {
+      assertTrue(queue.offer(event(Value.fromObject(i)), 3, UplinkOverflow.DISCONNECT));
+    }
+    assertFalse(queue.offer(event(Value.fromObject(3)), 3, UplinkOverflow.DISCONNECT));
+    assertTrue(queue.isEmpty());
+    assertEquals(queue.dropCount(), 4L);
+    assertTrue(queue.offer(event(Value.fromObject(4)), 3, UplinkOverflow.DISCONNECT));
+    assertTrue(queue.isEmpty());
+    assertEquals(queue.dropCount(), 5L);
+  }
+
+  @Test
+  public void testDropOldestKeepsStructuralEvents() {
+    final WarpDownQueue queue = new WarpDownQueue();
+    queue.offer(event(remove("a")), 2, UplinkOverflow.DROP_OLDEST);
+    queue.offer(event(Record.create(1).attr("clear")), 2, UplinkOverflow.DROP_OLDEST);
+    queue.offer(event(update("b", 1)), 2, UplinkOverflow.DROP_OLDEST);
+    queue.offer(event(Record.create(1).attr("drop", 1)), 2, UplinkOverflow.DROP_OLDEST);
+    queue.offer(event(update("c", 1)), 2, UplinkOverflow.DROP_OLDEST);
+    queue.offer(event(Record.create(1).attr("take", 1)), 2, UplinkOverflow.DROP_OLDEST);
+    assertEquals(queue.dropCount(), 2L);
+    final List<Value> bodies = drain(queue);
+    assertEquals(bodies.size(), 4);
+    assertEquals(bodies.get(0), remove("a"));
+    assertEquals(bodies.get(1), Record.create(1).attr("clear"));
+    assertEquals(bodies.get(2), Record.create(1).attr("drop", 1));
+    assertEquals(bodies.get(3), Record.create(1).attr("take", 1));
+  }
+
+  @Test
+  public void testConflateKeepsStructuralEvents() {
+    final WarpDownQueue queue = new WarpDownQueue();
+    queue.offer(event(update("a", 1)), 2, UplinkOverflow.CONFLATE);
+    queue.offer(event(remove("a")), 2, UplinkOverflow.CONFLATE);
+    queue.offer(event(remove("b")), 2, UplinkOverflow.CONFLATE);
+    queue.offer(event(remove("a")), 2, UplinkOverflow.CONFLATE);
+    assertEquals(queue.dropCount(), 1L);
+    final List<Value> bodies = drain(queue);
+    assertEquals(bodies.size(), 3);
+    assertEquals(bodies.get(0), remove("a"));
+    assertEquals(bodies.get(1), remove("b"));
+    assertEquals(bodies.get(2), remove("a"));
+  }
+
+  @Test
+  public void testConflateAcrossStructuralEvents() {
+    final WarpDownQueue queue = new WarpDownQueue();
+    queue.offer(event(update("c", 1)), 4, UplinkOverflow.CONFLATE);
+    queue.offer(event(update("b", 1)), 4, UplinkOverflow.CONFLATE);
+    queue.offer(event(Record.create(1).attr("drop", 1)), 4, UplinkOverflow.CONFLATE);
+    queue.offer(event(update("a", 1)), 4, UplinkOverflow.CONFLATE);
+    queue.offer(event(update("b", 2)), 4, UplinkOverflow.CONFLATE);
+    assertEquals(queue.dropCount(), 1L);
+    final List<Value> bodies = drain(queue);
+    assertEquals(bodies.size(), 4);
+    assertEquals(bodies.get(0), update("b", 1));
+    assertEquals(bodies.get(1), Record.create(1).attr("drop", 1));
+    assertEquals(bodies.get(2), update("a", 1));
+    assertEquals(bodies.get(3), update("b", 2));
+  }
+
+  @Test
+  public void testConcurrentProducersRespectLimit() throws InterruptedException {
+    final WarpDownQueue queue = new WarpDownQueue();
+    final int producerCount = 8;
+    final int eventCount = 10000;
+    final int limit = 16;
+    final CountDownLatch start = new CountDownLatch(1);
+    final Thread[] producers = new Thread[producerCount];
+    for (int p = 0; p < producerCount; p += 1) {
+      producers[p] = new Thread() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+          } catch (InterruptedException cause) {
+            return;
+          }
+          for (int i = 0; i < eventCount; i += 1) {
+            queue.offer(event(Value.fromObject(i)), limit, UplinkOverflow.DROP_OLDEST);
+          }
+        }
+      };
+      producers[p].start();
+    }
+    start.countDown();
+    for (int p = 0; p < producerCount; p += 1) {
+      producers[p].join();
+    }
+    final List<Value> bodies = drain(queue);
+    assertTrue(bodies.size() <= limit, "queued " + bodies.size() + " events");
+    assertEquals(bodies.size() + queue.dropCount(), (long) producerCount * (long) eventCount);
+  }
+
+}
@@ -14,8 +14,13 @@
 
 package swim.server;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import org.testng.TestException;
 import org.testng.annotations.Test;
 import swim.actor.ActorSpaceDef;
 import swim.api.SwimLane;
@@ -29,10 +34,15 @@ import swim.api.http.function.DoRespondHttp;
 import swim.api.http.function.WillRequestHttp;
 import swim.api.http.function.WillRespondHttp;
 import swim.api.plane.AbstractPlane;
+import swim.codec.Binary;
+import swim.codec.Decoder;
 import swim.codec.Format;
 import swim.http.HttpRequest;
 import swim.http.HttpResponse;
 import swim.http.HttpStatus;
+import swim.http.header.AcceptEncoding;
+import swim.http.header.ContentEncoding;
+import swim.http.header.RawHeader;
 import swim.io.http.AbstractHttpClient;
 import swim.io.http.AbstractHttpRequester;
 import swim.kernel.Kernel;
@@ -40,6 +50,8 @@ import swim.service.web.WebService;
 import swim.service.web.WebServiceDef;
 import swim.uri.Uri;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
 public class HttpLaneSpec {
 
@@ -95,12 +107,95 @@ public class HttpLaneSpec {
     }
   }
 
+  @Test
+  public void testGzipLaneResponse() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    kernel.openSpace(ActorSpaceDef.fromName("test"))
+        .openPlane("test", TestHttpPlane.class);
+
+    final CountDownLatch clientResponse = new CountDownLatch(1);
+    final AbstractHttpRequester<byte[]> requester = new AbstractHttpRequester<byte[]>() {
+      @Override
+      public void doRequest() {
+        writeRequest(HttpRequest.get(Uri.parse("/http/test?lane=gzip"), AcceptEncoding.from("gzip")));
+      }
+
+      @Override
+      public Decoder<byte[]> contentDecoder(HttpResponse<?> response) {
+        return Binary.outputParser(Binary.byteArrayOutput());
+      }
+
+      @Override
+      public void didRespond(HttpResponse<byte[]> response) {
+        final ContentEncoding contentEncoding = response.getHeader(ContentEncoding.class);
+        assertNotNull(contentEncoding);
+        assertTrue(contentEncoding.contains("gzip"));
+        final byte[] compressed = response.entity().get();
+        assertTrue(compressed.length < GZIP_BODY.length());
+        assertEquals(gunzip(compressed), GZIP_BODY);
+        assertEquals(response.getHeader("Vary").value(), "Origin, Accept-Encoding");
+        clientResponse.countDown();
+      }
+    };
+    final AbstractHttpClient client = new AbstractHttpClient() {
+      @Override
+      public void didConnect() {
+        super.didConnect();
+        doRequest(requester);
+      }
+    };
+
+    try {
+      final WebService service = (WebService) kernel.openService(WebServiceDef.standard().port(53556).spaceName("test"));
+      kernel.start();
+      service.connectHttp("127.0.0.1", 53556, client);
+      clientResponse.await(1, TimeUnit.SECONDS);
+      assertEquals(clientResponse.getCount(), 0);
+    } finally {
+      client.close();
+      kernel.stop();
+    }
+  }
+
+  static final String GZIP_BODY;
+
+  static {
+    final StringBuilder body = new StringBuilder();
+    for (int i = 0; i < 1000; i += 1) {
+      body.append("Hello, world! ");
+    }
+    GZIP_BODY = body.toString();
+  }
+
+  static String gunzip(byte[] compressed) {
+    try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      final byte[] buffer = new byte[4096];
+      final StringBuilder output = new StringBuilder();
+      int count;
+      while ((count = input.read(buffer)) >= 0) {
+        output.append(new String(buffer, 0, count, StandardCharsets.UTF_8));
+      }
+      return output.toString();
+    } catch (IOException cause) {
+      throw new TestException(cause);
+    }
+  }
+
   static class TestHttpLaneAgent extends AbstractAgent {
 
     @SwimLane("http")
     HttpLane<Object> testHttp = httpLane()
         .observe(new TestHttpLaneController());
 
+    @SwimLane("gzip")
+    HttpLane<Object> testGzip = httpLane()
+        .observe(new DoRespondHttp<Object>() {
+          @Override
+          public HttpResponse<?> doRespond(HttpRequest<Object> request) {
+            return HttpResponse.from(HttpStatus.OK, RawHeader.from("Vary", "Origin")).body(GZIP_BODY);
+          }
+        });
+
     class TestHttpLaneController implements WillRequestHttp<Object>, DidRequestHttp<Object>,
         DoRespondHttp<Object>, WillRespondHttp<Object>, DidRespondHttp<Object> {
 
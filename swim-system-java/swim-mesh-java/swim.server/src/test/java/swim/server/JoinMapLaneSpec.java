@@ -14,6 +14,8 @@
 
 package swim.server;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import org.testng.annotations.Test;
@@ -48,6 +50,7 @@ import swim.observable.function.WillUpdateKey;
 import swim.recon.Recon;
 import swim.service.web.WebServiceDef;
 import swim.structure.Value;
+import swim.uri.Uri;
 import static org.testng.Assert.assertEquals;
 
 public class JoinMapLaneSpec {
@@ -179,6 +182,69 @@ public class JoinMapLaneSpec {
     }
   }
 
+  static final CountDownLatch JOIN_ALL_DID_SYNC = new CountDownLatch(1);
+
+  @Test
+  public void testDownlinkAllToJoinMapLane() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestJoinMapPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+        .openPlane("test", TestJoinMapPlane.class);
+
+    final CountDownLatch joinDidSync = new CountDownLatch(1);
+    try {
+      kernel.openService(WebServiceDef.standard().port(53556).spaceName("test"));
+      kernel.start();
+      final MapDownlink<String, String> xs = plane.downlinkMap()
+          .keyClass(String.class)
+          .valueClass(String.class)
+          .hostUri("warp://localhost:53556/")
+          .nodeUri("/map/xs")
+          .laneUri("map")
+          .open();
+      final MapDownlink<String, String> ys = plane.downlinkMap()
+          .keyClass(String.class)
+          .valueClass(String.class)
+          .hostUri("warp://localhost:53556/")
+          .nodeUri("/map/ys")
+          .laneUri("map")
+          .open();
+      xs.put("x0", "a");
+      xs.put("x1", "b");
+      ys.put("y0", "c");
+      ys.put("y1", "d");
+
+      // Linking to the join lane starts its agent, which joins both map lanes at once.
+      plane.downlinkMap()
+          .hostUri("warp://localhost:53556/")
+          .nodeUri("/join/all/all")
+          .laneUri("join")
+          .open();
+
+      JOIN_ALL_DID_SYNC.await(1, TimeUnit.SECONDS);
+      assertEquals(JOIN_ALL_DID_SYNC.getCount(), 0);
+      final MapDownlink<String, String> join = plane.downlinkMap()
+          .keyClass(String.class)
+          .valueClass(String.class)
+          .hostUri("warp://localhost:53556/")
+          .nodeUri("/join/all/all")
+          .laneUri("join")
+          .didSync(new DidSync() {
+            @Override
+            public void didSync() {
+              joinDidSync.countDown();
+            }
+          })
+          .open();
+      joinDidSync.await(1, TimeUnit.SECONDS);
+      assertEquals(joinDidSync.getCount(), 0);
+      assertEquals(join.size(), 4);
+      assertEquals(join.get("x0"), "a");
+      assertEquals(join.get("y1"), "d");
+    } finally {
+      kernel.stop();
+    }
+  }
+
   static class TestMapLaneAgent extends AbstractAgent {
 
     @SwimLane("map")
@@ -265,6 +331,30 @@ public class JoinMapLaneSpec {
 
   }
 
+  static class TestJoinMapAllLaneAgent extends AbstractAgent {
+
+    @SwimLane("join")
+    JoinMapLane<String, String, String> testJoinMap = this.<String, String, String>joinMapLane()
+        .didSync(new DidSync() {
+          @Override
+          public void didSync() {
+            System.out.println(nodeUri() + " didSync size: " + testJoinMap.size());
+            if (testJoinMap.size() == 4) {
+              JOIN_ALL_DID_SYNC.countDown();
+            }
+          }
+        });
+
+    @Override
+    public void didStart() {
+      final Map<String, Uri> nodeUris = new HashMap<String, Uri>();
+      nodeUris.put("xs", Uri.parse("/map/xs"));
+      nodeUris.put("ys", Uri.parse("/map/ys"));
+      testJoinMap.downlinkAll(Uri.parse("warp://localhost:53556"), Uri.parse("map"), nodeUris);
+    }
+
+  }
+
   static class TestJoinMapPlane extends AbstractPlane {
 
     @SwimRoute("/map/:name")
@@ -273,6 +363,9 @@ public class JoinMapLaneSpec {
     @SwimRoute("/join/map/:name")
     AgentRoute<TestJoinMapLaneAgent> joinMapRoute;
 
+    @SwimRoute("/join/all/:name")
+    AgentRoute<TestJoinMapAllLaneAgent> joinMapAllRoute;
+
   }
 
 }
@@ -14,6 +14,8 @@
 
 package swim.server;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import org.testng.annotations.Test;
@@ -47,9 +49,12 @@ import swim.observable.function.DidUpdateKey;
 import swim.observable.function.WillSet;
 import swim.observable.function.WillUpdateKey;
 import swim.recon.Recon;
+import swim.runtime.DownlinkView;
 import swim.service.web.WebServiceDef;
 import swim.structure.Value;
+import swim.uri.Uri;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 public class JoinValueLaneSpec {
 
@@ -174,6 +179,51 @@ public class JoinValueLaneSpec {
     }
   }
 
+  static final CountDownLatch JOIN_ALL_DID_SYNC = new CountDownLatch(1);
+  static final CountDownLatch JOIN_ALL_DID_UPDATE = new CountDownLatch(1);
+  static volatile boolean joinAllSharedLink;
+
+  @Test
+  public void testDownlinkAllToJoinValueLane() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestJoinValuePlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+        .openPlane("test", TestJoinValuePlane.class);
+
+    try {
+      kernel.openService(WebServiceDef.standard().port(53556).spaceName("test"));
+      kernel.start();
+      final ValueDownlink<String> x = plane.downlinkValue()
+          .valueClass(String.class)
+          .hostUri("warp://localhost:53556")
+          .nodeUri("/value/x")
+          .laneUri("value")
+          .open();
+      final ValueDownlink<String> y = plane.downlinkValue()
+          .valueClass(String.class)
+          .hostUri("warp://localhost:53556")
+          .nodeUri("/value/y")
+          .laneUri("value")
+          .open();
+      x.set("x0");
+      y.set("y0");
+
+      // Linking to the join lane starts its agent, which joins all keys at once.
+      plane.downlinkMap()
+          .hostUri("warp://localhost:53556")
+          .nodeUri("/join/all/all")
+          .laneUri("join")
+          .open();
+
+      JOIN_ALL_DID_SYNC.await(1, TimeUnit.SECONDS);
+      JOIN_ALL_DID_UPDATE.await(1, TimeUnit.SECONDS);
+      assertEquals(JOIN_ALL_DID_SYNC.getCount(), 0);
+      assertEquals(JOIN_ALL_DID_UPDATE.getCount(), 0);
+      assertTrue(joinAllSharedLink);
+    } finally {
+      kernel.stop();
+    }
+  }
+
   static class TestValueLaneAgent extends AbstractAgent {
 
     @SwimLane("value")
@@ -241,6 +291,46 @@ public class JoinValueLaneSpec {
 
   }
 
+  static class TestJoinValueAllLaneAgent extends AbstractAgent {
+
+    @SwimLane("join")
+    JoinValueLane<String, String> testJoinValue = this.<String, String>joinValueLane()
+        .keyClass(String.class)
+        .valueClass(String.class)
+        .didSync(new DidSync() {
+          @Override
+          public void didSync() {
+            System.out.println(nodeUri() + " didSync size: " + testJoinValue.size());
+            JOIN_ALL_DID_SYNC.countDown();
+          }
+        })
+        .didUpdate(new DidUpdateKey<String, String>() {
+          @Override
+          public void didUpdate(String key, String newValue, String oldValue) {
+            System.out.println(nodeUri() + " didUpdate key: " + Format.debug(key) + "; newValue: " + Format.debug(newValue));
+            if ("x0".equals(testJoinValue.get("x")) && "y0".equals(testJoinValue.get("y"))
+                && "x0".equals(testJoinValue.get("z"))) {
+              // Keys joined to the same remote lane share one link.
+              final DownlinkView x = (DownlinkView) testJoinValue.getDownlink("x");
+              final DownlinkView y = (DownlinkView) testJoinValue.getDownlink("y");
+              final DownlinkView z = (DownlinkView) testJoinValue.getDownlink("z");
+              joinAllSharedLink = x.downlinkModel() == z.downlinkModel() && x.downlinkModel() != y.downlinkModel();
+              JOIN_ALL_DID_UPDATE.countDown();
+            }
+          }
+        });
+
+    @Override
+    public void didStart() {
+      final Map<String, Uri> nodeUris = new HashMap<String, Uri>();
+      nodeUris.put("x", Uri.parse("/value/x"));
+      nodeUris.put("y", Uri.parse("/value/y"));
+      nodeUris.put("z", Uri.parse("/value/x"));
+      testJoinValue.downlinkAll(Uri.parse("warp://localhost:53556"), Uri.parse("value"), nodeUris);
+    }
+
+  }
+
   static class TestJoinValuePlane extends AbstractPlane {
 
     @SwimRoute("/value/:name")
@@ -249,6 +339,9 @@ public class JoinValueLaneSpec {
     @SwimRoute("/join/value/:name")
     AgentRoute<TestJoinValueLaneAgent> joinValue;
 
+    @SwimRoute("/join/all/:name")
+    AgentRoute<TestJoinValueAllLaneAgent> joinValueAll;
+
   }
 
 }
@@ -25,6 +25,7 @@ import swim.api.SwimRoute;
 import swim.api.agent.AbstractAgent;
 import swim.api.agent.AgentRoute;
 import swim.api.downlink.ListDownlink;
+import swim.api.lane.CommandLane;
 import swim.api.lane.ListLane;
 import swim.api.plane.AbstractPlane;
 import swim.api.warp.function.DidCommand;
@@ -44,7 +45,11 @@ import swim.observable.function.WillRemoveIndex;
 import swim.observable.function.WillTake;
 import swim.observable.function.WillUpdateIndex;
 import swim.recon.Recon;
+import swim.runtime.downlink.ListDownlinkView;
+import swim.runtime.lane.ListLaneView;
 import swim.service.web.WebServiceDef;
+import swim.structure.Num;
+import swim.structure.Record;
 import swim.structure.Value;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
@@ -79,6 +84,8 @@ public class ListLaneSpec {
   private static List<String> listLane1Copy = new ArrayList<String>();
   private static List<String> commandList = new ArrayList<String>();
 
+  private static volatile TestResumeListLaneAgent resumeAgent;
+
   @Test
   public void testInsert() throws InterruptedException {
     final Kernel kernel = ServerLoader.loadServerStack();
@@ -415,6 +422,70 @@ public class ListLaneSpec {
     }
   }
 
+  @Test
+  public void testResumeSyncWithEventsDuringSync() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestListPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+        .openPlane("test", TestListPlane.class);
+
+    laneDidUpdate = new CountDownLatch(1000);
+    try {
+      kernel.openService(WebServiceDef.standard().port(53556).spaceName("test"));
+      kernel.start();
+      plane.command("warp://localhost:53556", "/resume/items", "append", Num.from(1000));
+      laneDidUpdate.await(5, TimeUnit.SECONDS);
+      assertEquals(laneDidUpdate.getCount(), 0);
+
+      // Append items while the downlink syncs, so that live deltas get sent
+      // ahead of the synced response.
+      final CountDownLatch didSync = new CountDownLatch(1);
+      final ListDownlink<String> listLink = plane.downlinkList()
+          .valueClass(String.class)
+          .hostUri("warp://localhost:53556")
+          .nodeUri("/resume/items")
+          .laneUri("list")
+          .didSync(didSync::countDown)
+          .open();
+      plane.command("warp://localhost:53556", "/resume/items", "append", Num.from(50));
+      didSync.await(5, TimeUnit.SECONDS);
+      assertEquals(didSync.getCount(), 0);
+      awaitSize(listLink, 1050);
+      final Value since = ((ListDownlinkView<?>) listLink).downlinkModel().syncSince();
+      assertEquals(since.get("version").longValue(), resumeAgent.version());
+
+      plane.command("warp://localhost:53556", "/resume/items", "append", Num.from(5));
+      awaitSize(listLink, 1055);
+      assertEquals(((ListDownlinkView<?>) listLink).downlinkModel().syncSince().get("version").longValue(),
+                   resumeAgent.version());
+
+      // Resuming from the version synced replays only the deltas since then;
+      // link through another host address to get a downlink of its own.
+      final CountDownLatch resumeDidSync = new CountDownLatch(1);
+      final CountDownLatch resumeOnEvent = new CountDownLatch(6);
+      plane.downlink()
+          .hostUri("warp://127.0.0.1:53556")
+          .nodeUri("/resume/items")
+          .laneUri("list")
+          .body(Record.create(1).attr("since", since))
+          .keepSynced(true)
+          .onEvent(event -> resumeOnEvent.countDown())
+          .didSync(resumeDidSync::countDown)
+          .open();
+      resumeDidSync.await(5, TimeUnit.SECONDS);
+      assertEquals(resumeDidSync.getCount(), 0);
+      assertEquals(resumeOnEvent.getCount(), 1);
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  private static void awaitSize(ListDownlink<String> listLink, int size) throws InterruptedException {
+    for (int i = 0; i < 500 && listLink.size() < size; i += 1) {
+      Thread.sleep(10);
+    }
+    assertEquals(listLink.size(), size);
+  }
+
   static class TestListLaneAgent extends AbstractAgent {
 
     @SwimLane("list")
@@ -555,11 +626,41 @@ public class ListLaneSpec {
 
   }
 
+  static class TestResumeListLaneAgent extends AbstractAgent {
+
+    @SwimLane("list")
+    ListLane<String> testList = this.<String>listLane()
+        .valueClass(String.class)
+        .didUpdate((index, newValue, oldValue) -> laneDidUpdate.countDown());
+
+    @SwimLane("append")
+    CommandLane<Integer> append = this.<Integer>commandLane()
+        .valueClass(Integer.class)
+        .onCommand(count -> {
+          for (int i = 0; i < count; i += 1) {
+            this.testList.add(Integer.toString(this.testList.size()));
+          }
+        });
+
+    long version() {
+      return ((ListLaneView<?>) this.testList).laneBinding().syncLog().version();
+    }
+
+    @Override
+    public void didStart() {
+      resumeAgent = this;
+    }
+
+  }
+
   static class TestListPlane extends AbstractPlane {
 
     @SwimRoute("/list/:name")
     AgentRoute<TestListLaneAgent> listRoute;
 
+    @SwimRoute("/resume/:name")
+    AgentRoute<TestResumeListLaneAgent> resumeRoute;
+
   }
 
 }
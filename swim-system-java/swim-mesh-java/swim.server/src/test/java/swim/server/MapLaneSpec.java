@@ -14,6 +14,9 @@
 
 package swim.server;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import org.testng.annotations.Test;
@@ -23,6 +26,7 @@ import swim.api.SwimRoute;
 import swim.api.agent.AbstractAgent;
 import swim.api.agent.AgentRoute;
 import swim.api.downlink.MapDownlink;
+import swim.api.lane.CommandLane;
 import swim.api.lane.MapLane;
 import swim.api.plane.AbstractPlane;
 import swim.codec.Format;
@@ -37,7 +41,10 @@ import swim.observable.function.WillDrop;
 import swim.observable.function.WillRemoveKey;
 import swim.observable.function.WillTake;
 import swim.observable.function.WillUpdateKey;
+import swim.runtime.lane.MapLaneView;
 import swim.service.web.WebServiceDef;
+import swim.structure.Text;
+import swim.structure.Value;
 import swim.util.OrderedMap;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
@@ -60,9 +67,14 @@ public class MapLaneSpec {
   private static CountDownLatch laneWillClear = new CountDownLatch(DEF_LATCH_COUNT);
   private static CountDownLatch laneDidClear = new CountDownLatch(DEF_LATCH_COUNT);
 
+  private static CountDownLatch laneDidUpdateBatch = new CountDownLatch(DEF_LATCH_COUNT);
+  private static int laneDidUpdateBatchSize;
+
   private static OrderedMap<String, String> mapLaneCopy;
   private static OrderedMap<String, String> mapLane1Copy;
 
+  private static volatile TestResumeMapLaneAgent resumeAgent;
+
   @Test
   public void testPut() throws InterruptedException {
     final Kernel kernel = ServerLoader.loadServerStack();
@@ -285,6 +297,128 @@ public class MapLaneSpec {
     }
   }
 
+  @Test
+  public void testPutAllAndRemoveAll() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestMapPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+        .openPlane("test", TestMapPlane.class);
+
+    laneDidUpdate = new CountDownLatch(3);
+    laneDidRemove = new CountDownLatch(2);
+    laneDidUpdateBatch = new CountDownLatch(2);
+    try {
+      kernel.openService(WebServiceDef.standard().port(53556).spaceName("test"));
+      kernel.start();
+      final CountDownLatch linkDidSync = new CountDownLatch(1);
+      final CountDownLatch linkDidUpdate = new CountDownLatch(3);
+      final CountDownLatch linkDidRemove = new CountDownLatch(2);
+      final MapDownlink<String, String> mapLink = plane.downlinkMap()
+          .keyClass(String.class)
+          .valueClass(String.class)
+          .hostUri("warp://localhost:53556")
+          .nodeUri("/batch/words")
+          .laneUri("map")
+          .didSync(linkDidSync::countDown)
+          .didUpdate((key, newValue, oldValue) -> linkDidUpdate.countDown())
+          .didRemove((key, oldValue) -> linkDidRemove.countDown())
+          .open();
+      linkDidSync.await(1, TimeUnit.SECONDS);
+
+      plane.command("warp://localhost:53556", "/batch/words", "putAll", Text.from("alpha bravo charlie"));
+      laneDidUpdate.await(1, TimeUnit.SECONDS);
+      linkDidUpdate.await(1, TimeUnit.SECONDS);
+      assertEquals(laneDidUpdate.getCount(), 0);
+      assertEquals(laneDidUpdateBatch.getCount(), 1);
+      assertEquals(laneDidUpdateBatchSize, 3);
+      assertEquals(linkDidUpdate.getCount(), 0);
+      assertEquals(mapLink.size(), 3);
+      assertEquals(mapLink.get("bravo"), "BRAVO");
+
+      plane.command("warp://localhost:53556", "/batch/words", "removeAll", Text.from("alpha charlie"));
+      laneDidRemove.await(1, TimeUnit.SECONDS);
+      linkDidRemove.await(1, TimeUnit.SECONDS);
+      assertEquals(laneDidRemove.getCount(), 0);
+      assertEquals(laneDidUpdateBatch.getCount(), 0);
+      assertEquals(laneDidUpdateBatchSize, 2);
+      assertEquals(linkDidRemove.getCount(), 0);
+      assertEquals(mapLink.size(), 1);
+      assertEquals(mapLink.get("bravo"), "BRAVO");
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  @Test
+  public void testResumeSyncSinceVersion() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestMapPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+        .openPlane("test", TestMapPlane.class);
+
+    laneDidUpdate = new CountDownLatch(4);
+    laneDidRemove = new CountDownLatch(1);
+    try {
+      kernel.openService(WebServiceDef.standard().port(53556).spaceName("test"));
+      kernel.start();
+      plane.command("warp://localhost:53556", "/resume/words", "putAll", Text.from("alpha bravo charlie"));
+      while (laneDidUpdate.getCount() > 1) {
+        Thread.sleep(10);
+      }
+      final Value since = resumeAgent.since();
+
+      plane.command("warp://localhost:53556", "/resume/words", "putAll", Text.from("delta"));
+      laneDidUpdate.await(1, TimeUnit.SECONDS);
+      plane.command("warp://localhost:53556", "/resume/words", "removeAll", Text.from("alpha"));
+      laneDidRemove.await(1, TimeUnit.SECONDS);
+      assertEquals(laneDidUpdate.getCount(), 0);
+      assertEquals(laneDidRemove.getCount(), 0);
+
+      // A sync that resumes from a version the lane still remembers only
+      // replays the keys changed since then.
+      final CountDownLatch resumeDidSync = new CountDownLatch(1);
+      final CountDownLatch resumeWillUpdate = new CountDownLatch(4);
+      final CountDownLatch resumeWillRemove = new CountDownLatch(2);
+      plane.downlinkMap()
+          .keyClass(String.class)
+          .valueClass(String.class)
+          .hostUri("warp://localhost:53556")
+          .nodeUri("/resume/words")
+          .laneUri("map")
+          .body(since)
+          .willUpdate((key, newValue) -> {
+            resumeWillUpdate.countDown();
+            return newValue;
+          })
+          .willRemove(key -> resumeWillRemove.countDown())
+          .didSync(resumeDidSync::countDown)
+          .open();
+      resumeDidSync.await(1, TimeUnit.SECONDS);
+      assertEquals(resumeDidSync.getCount(), 0);
+      assertEquals(resumeWillUpdate.getCount(), 3);
+      assertEquals(resumeWillRemove.getCount(), 1);
+
+      // A sync without a known version falls back to a full sync.
+      final CountDownLatch fullDidSync = new CountDownLatch(1);
+      final CountDownLatch fullWillUpdate = new CountDownLatch(4);
+      plane.downlinkMap()
+          .keyClass(String.class)
+          .valueClass(String.class)
+          .hostUri("warp://localhost:53556")
+          .nodeUri("/resume/words")
+          .laneUri("map")
+          .willUpdate((key, newValue) -> {
+            fullWillUpdate.countDown();
+            return newValue;
+          })
+          .didSync(fullDidSync::countDown)
+          .open();
+      fullDidSync.await(1, TimeUnit.SECONDS);
+      assertEquals(fullDidSync.getCount(), 0);
+      assertEquals(fullWillUpdate.getCount(), 1);
+    } finally {
+      kernel.stop();
+    }
+  }
+
   private static class TestMapLaneAgent extends AbstractAgent {
 
     @SwimLane("map")
@@ -386,11 +520,87 @@ public class MapLaneSpec {
 
   }
 
+  private static class TestBatchMapLaneAgent extends AbstractAgent {
+
+    @SwimLane("map")
+    MapLane<String, String> testMap = this.<String, String>mapLane()
+        .keyClass(String.class)
+        .valueClass(String.class)
+        .didUpdate((key, newValue, oldValue) -> laneDidUpdate.countDown())
+        .didRemove((key, oldValue) -> laneDidRemove.countDown())
+        .didUpdateBatch(keys -> {
+          System.out.println("lane didUpdateBatch keys: " + Format.debug(keys));
+          laneDidUpdateBatchSize = keys.size();
+          laneDidUpdateBatch.countDown();
+        });
+
+    @SwimLane("putAll")
+    CommandLane<String> putAll = this.<String>commandLane()
+        .valueClass(String.class)
+        .onCommand(words -> {
+          final Map<String, String> entries = new HashMap<String, String>();
+          for (String word : words.split(" ")) {
+            entries.put(word, word.toUpperCase());
+          }
+          this.testMap.putAll(entries);
+        });
+
+    @SwimLane("removeAll")
+    CommandLane<String> removeAll = this.<String>commandLane()
+        .valueClass(String.class)
+        .onCommand(words -> this.testMap.removeAll(Arrays.asList(words.split(" "))));
+
+  }
+
+  private static class TestResumeMapLaneAgent extends AbstractAgent {
+
+    @SwimLane("map")
+    MapLane<String, String> testMap = this.<String, String>mapLane()
+        .keyClass(String.class)
+        .valueClass(String.class)
+        .didUpdate((key, newValue, oldValue) -> laneDidUpdate.countDown())
+        .didRemove((key, oldValue) -> laneDidRemove.countDown());
+
+    @SwimLane("putAll")
+    CommandLane<String> putAll = this.<String>commandLane()
+        .valueClass(String.class)
+        .onCommand(words -> {
+          for (String word : words.split(" ")) {
+            this.testMap.put(word, word.toUpperCase());
+          }
+        });
+
+    @SwimLane("removeAll")
+    CommandLane<String> removeAll = this.<String>commandLane()
+        .valueClass(String.class)
+        .onCommand(words -> {
+          for (String word : words.split(" ")) {
+            this.testMap.remove(word);
+          }
+        });
+
+    Value since() {
+      return ((MapLaneView<?, ?>) this.testMap).laneBinding().syncLog().toValue();
+    }
+
+    @Override
+    public void didStart() {
+      resumeAgent = this;
+    }
+
+  }
+
   static class TestMapPlane extends AbstractPlane {
 
     @SwimRoute("/map/:name")
     AgentRoute<TestMapLaneAgent> mapRoute;
 
+    @SwimRoute("/batch/:name")
+    AgentRoute<TestBatchMapLaneAgent> batchRoute;
+
+    @SwimRoute("/resume/:name")
+    AgentRoute<TestResumeMapLaneAgent> resumeRoute;
+
   }
 
 }
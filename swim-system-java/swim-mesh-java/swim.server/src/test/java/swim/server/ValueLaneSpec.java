@@ -16,6 +16,7 @@ package swim.server;
 
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.testng.annotations.Test;
 import swim.actor.ActorSpaceDef;
 import swim.api.SwimLane;
@@ -44,6 +45,7 @@ import swim.recon.Recon;
 import swim.service.web.WebServiceDef;
 import swim.structure.Value;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
 public class ValueLaneSpec {
@@ -250,6 +252,149 @@ public class ValueLaneSpec {
     }
   }
 
+  @Test
+  public void testRateLimitedLinkToValueLane() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestValuePlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+        .openPlane("test", TestValuePlane.class);
+
+    final int updateCount = 200;
+    final String lastValue = Integer.toString(updateCount);
+    final AtomicInteger receiveCount = new AtomicInteger();
+    final CountDownLatch linkDidReceiveLast = new CountDownLatch(1);
+    class RateLimitedLinkController implements DidReceive {
+
+      @Override
+      public void didReceive(Value body) {
+        System.out.println("rate limited link didReceive body: " + Recon.toString(body));
+        receiveCount.incrementAndGet();
+        if (lastValue.equals(body.stringValue(null))) {
+          linkDidReceiveLast.countDown();
+        }
+      }
+
+    }
+
+    try {
+      kernel.openService(WebServiceDef.standard().port(53556).spaceName("test"));
+      kernel.start();
+      final CountDownLatch rateLimitedLinkDidSync = new CountDownLatch(1);
+      plane.downlinkValue()
+          .valueClass(String.class)
+          .hostUri("warp://localhost:53556")
+          .nodeUri("/value/hello")
+          .laneUri("value")
+          .rate(10.0f)
+          .observe(new RateLimitedLinkController())
+          .didSync(rateLimitedLinkDidSync::countDown)
+          .open();
+      rateLimitedLinkDidSync.await(1, TimeUnit.SECONDS);
+      final ValueDownlink<String> valueLink = plane.downlinkValue()
+          .valueClass(String.class)
+          .hostUri("warp://localhost:53556")
+          .nodeUri("/value/hello")
+          .laneUri("value")
+          .keepLinked(false)
+          .open();
+      for (int i = 1; i <= updateCount; i += 1) {
+        valueLink.set(Integer.toString(i));
+      }
+      linkDidReceiveLast.await(2, TimeUnit.SECONDS);
+      assertEquals(linkDidReceiveLast.getCount(), 0);
+      assertTrue(receiveCount.get() < updateCount / 2, "received " + receiveCount.get() + " of " + updateCount + " updates");
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  @Test
+  public void testPassivateIdleValueLaneAgent() throws InterruptedException {
+    System.setProperty("swim.host.passivate.idle.millis", "100");
+    System.setProperty("swim.host.passivate.interval.millis", "50");
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestValuePlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+        .openPlane("test", TestValuePlane.class);
+    TestPassivatedAgent.startCount.set(0);
+    TestPassivatedAgent.didStart = new CountDownLatch(1);
+    TestPassivatedAgent.didClose = new CountDownLatch(1);
+    try {
+      kernel.openService(WebServiceDef.standard().port(53556).spaceName("test"));
+      kernel.start();
+      final ValueDownlink<String> commandLink = plane.downlinkValue()
+          .valueClass(String.class)
+          .hostUri("warp://localhost:53556")
+          .nodeUri("/passivated/hello")
+          .laneUri("value")
+          .keepLinked(false)
+          .open();
+      commandLink.set("persisted");
+      TestPassivatedAgent.didStart.await(1, TimeUnit.SECONDS);
+      TestPassivatedAgent.didClose.await(2, TimeUnit.SECONDS);
+      assertEquals(TestPassivatedAgent.didClose.getCount(), 0, "idle agent not passivated");
+
+      TestPassivatedAgent.didStart = new CountDownLatch(1);
+      final CountDownLatch linkDidSync = new CountDownLatch(1);
+      final ValueDownlink<String> valueLink = plane.downlinkValue()
+          .valueClass(String.class)
+          .hostUri("warp://localhost:53556")
+          .nodeUri("/passivated/hello")
+          .laneUri("value")
+          .didSync(linkDidSync::countDown)
+          .open();
+      linkDidSync.await(1, TimeUnit.SECONDS);
+      assertEquals(TestPassivatedAgent.didStart.getCount(), 0);
+      assertEquals(TestPassivatedAgent.startCount.get(), 2);
+      assertEquals(valueLink.get(), "persisted");
+    } finally {
+      kernel.stop();
+      System.clearProperty("swim.host.passivate.idle.millis");
+      System.clearProperty("swim.host.passivate.interval.millis");
+    }
+  }
+
+  @Test
+  public void testDoNotPassivateTransientValueLaneAgent() throws InterruptedException {
+    System.setProperty("swim.host.passivate.idle.millis", "100");
+    System.setProperty("swim.host.passivate.interval.millis", "50");
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestValuePlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+        .openPlane("test", TestValuePlane.class);
+    TestTransientAgent.startCount.set(0);
+    TestTransientAgent.didStart = new CountDownLatch(1);
+    TestTransientAgent.didClose = new CountDownLatch(1);
+    try {
+      kernel.openService(WebServiceDef.standard().port(53556).spaceName("test"));
+      kernel.start();
+      final ValueDownlink<String> commandLink = plane.downlinkValue()
+          .valueClass(String.class)
+          .hostUri("warp://localhost:53556")
+          .nodeUri("/transient/hello")
+          .laneUri("value")
+          .keepLinked(false)
+          .open();
+      commandLink.set("transient");
+      TestTransientAgent.didStart.await(1, TimeUnit.SECONDS);
+      TestTransientAgent.didClose.await(500, TimeUnit.MILLISECONDS);
+      assertEquals(TestTransientAgent.didClose.getCount(), 1, "agent with transient state passivated");
+
+      final CountDownLatch linkDidSync = new CountDownLatch(1);
+      final ValueDownlink<String> valueLink = plane.downlinkValue()
+          .valueClass(String.class)
+          .hostUri("warp://localhost:53556")
+          .nodeUri("/transient/hello")
+          .laneUri("value")
+          .didSync(linkDidSync::countDown)
+          .open();
+      linkDidSync.await(1, TimeUnit.SECONDS);
+      assertEquals(TestTransientAgent.startCount.get(), 1);
+      assertEquals(valueLink.get(), "transient");
+    } finally {
+      kernel.stop();
+      System.clearProperty("swim.host.passivate.idle.millis");
+      System.clearProperty("swim.host.passivate.interval.millis");
+    }
+  }
+
   static class TestValueLaneAgent extends AbstractAgent {
 
     @SwimLane("value")
@@ -274,11 +419,66 @@ public class ValueLaneSpec {
 
   }
 
+  static class TestPassivatedAgent extends AbstractAgent {
+
+    static final AtomicInteger startCount = new AtomicInteger();
+    static volatile CountDownLatch didStart;
+    static volatile CountDownLatch didClose;
+
+    @SwimLane("value")
+    ValueLane<String> testValue = valueLane()
+        .valueClass(String.class);
+
+    @Override
+    public void didStart() {
+      System.out.println("passivated agent didStart");
+      startCount.incrementAndGet();
+      didStart.countDown();
+    }
+
+    @Override
+    public void didClose() {
+      System.out.println("passivated agent didClose");
+      didClose.countDown();
+    }
+
+  }
+
+  static class TestTransientAgent extends AbstractAgent {
+
+    static final AtomicInteger startCount = new AtomicInteger();
+    static volatile CountDownLatch didStart;
+    static volatile CountDownLatch didClose;
+
+    @SwimLane("value")
+    ValueLane<String> testValue = valueLane()
+        .valueClass(String.class)
+        .isTransient(true);
+
+    @Override
+    public void didStart() {
+      startCount.incrementAndGet();
+      didStart.countDown();
+    }
+
+    @Override
+    public void didClose() {
+      didClose.countDown();
+    }
+
+  }
+
   static class TestValuePlane extends AbstractPlane {
 
     @SwimRoute("/value/:name")
     AgentRoute<TestValueLaneAgent> valueRoute;
 
+    @SwimRoute("/passivated/:name")
+    AgentRoute<TestPassivatedAgent> passivatedRoute;
+
+    @SwimRoute("/transient/:name")
+    AgentRoute<TestTransientAgent> transientRoute;
+
   }
 
 }
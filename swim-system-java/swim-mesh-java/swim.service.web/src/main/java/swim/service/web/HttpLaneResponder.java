@@ -36,6 +36,7 @@ import swim.runtime.LinkContext;
 import swim.runtime.NodeBinding;
 import swim.structure.Value;
 import swim.uri.Uri;
+import swim.web.WebContentEncoding;
 
 public class HttpLaneResponder implements HttpBinding, HttpResponder<Object> {
 
@@ -256,7 +257,8 @@ public class HttpLaneResponder implements HttpBinding, HttpResponder<Object> {
 
   @Override
   public void writeResponse(HttpResponse<?> response) {
-    this.httpResponderContext.writeResponse(response);
+    // Compress HTTP and REST lane responses for clients that accept gzip.
+    this.httpResponderContext.writeResponse(WebContentEncoding.negotiate(this.request, response));
   }
 
   @Override
@@ -26,6 +26,7 @@ import swim.http.HttpStatus;
 import swim.io.http.HttpResponder;
 import swim.io.http.StaticHttpResponder;
 import swim.io.warp.AbstractWarpServer;
+import swim.io.warp.WarpWebSocket;
 import swim.kernel.KernelContext;
 import swim.remote.RemoteHost;
 import swim.runtime.EdgeBinding;
@@ -103,7 +104,8 @@ public class WebServer extends AbstractWarpServer {
     // TODO: Refactor into WarpSpaceRoute.
     final WsRequest wsRequest = WsRequest.from(httpRequest);
     if (wsRequest != null) {
-      final WsResponse wsResponse = wsRequest.accept(this.wsSettings);
+      final String protocol = WarpWebSocket.acceptProtocol(wsRequest.protocols());
+      final WsResponse wsResponse = wsRequest.accept(this.wsSettings, protocol);
       if (wsResponse != null) {
         return warpWebSocketResponder(wsRequest, wsResponse);
       }